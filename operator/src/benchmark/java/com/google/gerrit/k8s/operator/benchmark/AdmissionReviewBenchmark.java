@@ -0,0 +1,177 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gerrit.k8s.operator.Constants.ClusterMode;
+import com.google.gerrit.k8s.operator.OperatorContext;
+import com.google.gerrit.k8s.operator.admission.servlet.GerritAdmissionWebhook;
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.server.AdmissionValidationCache;
+import io.fabric8.kubernetes.api.model.GroupVersionKind;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.admission.v1.AdmissionRequest;
+import io.fabric8.kubernetes.api.model.admission.v1.AdmissionReview;
+import io.fabric8.kubernetes.api.model.admission.v1.AdmissionReviewBuilder;
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the handling of an AdmissionReview for an update of a Gerrit by the validating webhook,
+ * i.e. decoding the review, validating the Gerrit and encoding the response.
+ *
+ * <p>The {@code fullReview} benchmark decodes and encodes the complete AdmissionReview including
+ * the old object as a reference for the allocations that are saved by only decoding the fields that
+ * are required for the validation.
+ *
+ * <p>Since the same review is sent repeatedly, the result of the validation is looked up in the
+ * AdmissionValidationCache by the {@code webhook} benchmark, as it is the case if the API server
+ * sends an unchanged spec again. The {@code webhookCacheMiss} benchmark clears the cache before
+ * every review.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdmissionReviewBenchmark {
+  @Param({"small", "large"})
+  public String fixture;
+
+  private final GerritAdmissionWebhook webhook =
+      new GerritAdmissionWebhook(ClusterMode.HIGH_AVAILABILITY);
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final HttpServletRequest request =
+      mock(HttpServletRequest.class, withSettings().stubOnly());
+  private final HttpServletResponse response =
+      mock(HttpServletResponse.class, withSettings().stubOnly());
+  private byte[] admissionReview;
+
+  @Setup
+  public void setup() throws IOException {
+    OperatorContext.createInstance(ClusterMode.HIGH_AVAILABILITY, "cluster.local");
+    Gerrit gerrit =
+        ReconcilerUtils.loadYaml(
+            Gerrit.class,
+            AdmissionReviewBenchmark.class,
+            String.format("gerrit_%s.yaml", fixture));
+    AdmissionRequest admissionRequest = new AdmissionRequest();
+    admissionRequest.setUid("705ab4f5-6393-11e8-b7cc-42010a800002");
+    admissionRequest.setKind(
+        new GroupVersionKind(
+            HasMetadata.getGroup(Gerrit.class),
+            HasMetadata.getKind(Gerrit.class),
+            HasMetadata.getVersion(Gerrit.class)));
+    admissionRequest.setOperation("UPDATE");
+    admissionRequest.setObject(gerrit);
+    admissionRequest.setOldObject(gerrit);
+    admissionReview =
+        mapper.writeValueAsBytes(new AdmissionReviewBuilder().withRequest(admissionRequest).build());
+    when(request.getInputStream()).thenAnswer(i -> new BytesServletInputStream(admissionReview));
+    when(response.getOutputStream()).thenReturn(new DiscardingServletOutputStream());
+  }
+
+  @Benchmark
+  public void webhook() throws IOException {
+    webhook.doPost(request, response);
+  }
+
+  @Benchmark
+  public void webhookCacheMiss() throws IOException {
+    AdmissionValidationCache.getCache().invalidateAll();
+    webhook.doPost(request, response);
+  }
+
+  @Benchmark
+  public byte[] fullReview() throws IOException {
+    AdmissionReview review = new ObjectMapper().readValue(admissionReview, AdmissionReview.class);
+    return new ObjectMapper().writeValueAsBytes(review);
+  }
+
+  private static class BytesServletInputStream extends ServletInputStream {
+    private final ByteArrayInputStream in;
+
+    BytesServletInputStream(byte[] bytes) {
+      this.in = new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    public int read() {
+      return in.read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      return in.read(b, off, len);
+    }
+
+    @Override
+    public boolean isFinished() {
+      return in.available() == 0;
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    @Override
+    public void setReadListener(ReadListener readListener) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  private static class DiscardingServletOutputStream extends ServletOutputStream {
+    @Override
+    public void write(int b) {}
+
+    @Override
+    public void write(byte[] b, int off, int len) {}
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
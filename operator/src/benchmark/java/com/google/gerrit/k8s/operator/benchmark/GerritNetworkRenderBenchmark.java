@@ -0,0 +1,101 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.benchmark;
+
+import com.google.gerrit.k8s.operator.Constants.ClusterMode;
+import com.google.gerrit.k8s.operator.OperatorContext;
+import com.google.gerrit.k8s.operator.api.model.network.GerritNetwork;
+import com.google.gerrit.k8s.operator.network.ambassador.dependent.GerritClusterMapping;
+import com.google.gerrit.k8s.operator.network.ambassador.dependent.GerritClusterMappingGETReplica;
+import com.google.gerrit.k8s.operator.network.ambassador.dependent.GerritClusterMappingPOSTReplica;
+import com.google.gerrit.k8s.operator.network.ambassador.dependent.GerritClusterMappingPrimary;
+import com.google.gerrit.k8s.operator.network.istio.dependent.GerritIstioVirtualService;
+import io.fabric8.istio.api.networking.v1beta1.VirtualService;
+import io.getambassador.v2.Mapping;
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the rendering of the desired state of the network resources managed for a
+ * GerritNetwork, which is done on every reconciliation.
+ *
+ * <p>The fixtures are:
+ *
+ * <ul>
+ *   <li>small: a network only routing to a primary Gerrit
+ *   <li>large: a network routing to a primary Gerrit and Gerrit replicas using TLS
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GerritNetworkRenderBenchmark {
+  @Param({"small", "large"})
+  public String fixture;
+
+  private final GerritIstioVirtualService virtualService = new GerritIstioVirtualService();
+  private final GerritClusterMapping mapping = new GerritClusterMapping();
+  private final GerritClusterMappingPrimary primaryMapping = new GerritClusterMappingPrimary();
+  private final GerritClusterMappingGETReplica getReplicaMapping =
+      new GerritClusterMappingGETReplica();
+  private final GerritClusterMappingPOSTReplica postReplicaMapping =
+      new GerritClusterMappingPOSTReplica();
+  private GerritNetwork gerritNetwork;
+
+  @Setup
+  public void setup() {
+    OperatorContext.createInstance(ClusterMode.HIGH_AVAILABILITY, "cluster.local");
+    gerritNetwork =
+        ReconcilerUtils.loadYaml(
+            GerritNetwork.class,
+            GerritNetworkRenderBenchmark.class,
+            String.format("gerritnetwork_%s.yaml", fixture));
+  }
+
+  @Benchmark
+  public VirtualService istioVirtualService() {
+    return virtualService.desired(gerritNetwork, null);
+  }
+
+  /** Renders the Mappings that the reconciler would manage for the fixture. */
+  @Benchmark
+  public List<Mapping> ambassadorMappings() {
+    List<Mapping> mappings = new ArrayList<>();
+    if (gerritNetwork.hasGerritReplica()) {
+      mappings.add(primaryMapping.desired(gerritNetwork, null));
+      mappings.add(getReplicaMapping.desired(gerritNetwork, null));
+      mappings.add(postReplicaMapping.desired(gerritNetwork, null));
+    } else {
+      mappings.add(mapping.desired(gerritNetwork, null));
+    }
+    return mappings;
+  }
+}
@@ -0,0 +1,111 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import com.google.gerrit.k8s.operator.Constants.ClusterMode;
+import com.google.gerrit.k8s.operator.OperatorContext;
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.gerrit.config.GerritConfigBuilder;
+import com.google.gerrit.k8s.operator.gerrit.config.InvalidGerritConfigException;
+import com.google.gerrit.k8s.operator.gerrit.dependent.GerritConfigMap;
+import com.google.gerrit.k8s.operator.gerrit.dependent.GerritInitConfigMap;
+import com.google.gerrit.k8s.operator.gerrit.dependent.GerritStatefulSet;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the rendering of the desired state of the resources managed for a Gerrit, which is done
+ * on every reconciliation.
+ *
+ * <p>The fixtures are:
+ *
+ * <ul>
+ *   <li>small: a single primary Gerrit with a single plugin
+ *   <li>large: a highly available primary Gerrit with 50 plugins, libraries and a large
+ *       gerrit.config
+ *   <li>multisite: a Gerrit with three replicas in a multisite setup
+ * </ul>
+ *
+ * <p>The cluster mode is a JVM-wide setting. Thus, each fixture has to be run in a separate fork.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GerritRenderBenchmark {
+  @Param({"small", "large", "multisite"})
+  public String fixture;
+
+  private final GerritStatefulSet statefulSet = new GerritStatefulSet();
+  private final GerritConfigMap configMap = new GerritConfigMap();
+  private final GerritInitConfigMap initConfigMap = new GerritInitConfigMap();
+  private final Context<Gerrit> context = createContext();
+  private Gerrit gerrit;
+
+  @Setup
+  public void setup() {
+    OperatorContext.createInstance(
+        fixture.equals("multisite") ? ClusterMode.MULTISITE : ClusterMode.HIGH_AVAILABILITY,
+        "cluster.local");
+    gerrit =
+        ReconcilerUtils.loadYaml(
+            Gerrit.class, GerritRenderBenchmark.class, String.format("gerrit_%s.yaml", fixture));
+  }
+
+  @Benchmark
+  public StatefulSet statefulSet() {
+    return statefulSet.desired(gerrit, context);
+  }
+
+  @Benchmark
+  public ConfigMap configMap() {
+    return configMap.desired(gerrit, context);
+  }
+
+  @Benchmark
+  public ConfigMap initConfigMap() {
+    return initConfigMap.desired(gerrit, context);
+  }
+
+  @Benchmark
+  public String gerritConfig() throws InvalidGerritConfigException {
+    return new GerritConfigBuilder(gerrit).build().toText();
+  }
+
+  /** Creates the context of a reconciliation without any existing secondary resources. */
+  @SuppressWarnings("unchecked")
+  private static Context<Gerrit> createContext() {
+    return mock(Context.class, withSettings().stubOnly());
+  }
+}
@@ -0,0 +1,67 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.startup;
+
+import com.google.common.flogger.FluentLogger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Training run of the operator against a mock API server, which records the classes loaded during
+ * the startup, the first reconciliation and the validation of a resource by the admission webhooks.
+ * The resulting class list is used to create an AppCDS archive, which is written to the {@code
+ * archive} subdirectory of the output directory and added to the images of the operator by Jib.
+ *
+ * <p>Usage: {@code AppCdsTraining <output directory>}
+ */
+public class AppCdsTraining {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+  public static final String CLASS_LIST = "classes.lst";
+  public static final String ARCHIVE_DIRECTORY = "archive";
+
+  public static void main(String[] args) throws Exception {
+    Path directory = Path.of(args.length > 0 ? args[0] : "target/appcds");
+    try (OperatorProcess operator = new OperatorProcess(directory)) {
+      Path classList = createClassList(operator, directory);
+      logger.atInfo().log("Class list written to %s", classList.toAbsolutePath());
+      Files.createDirectories(directory.resolve(ARCHIVE_DIRECTORY));
+    }
+    // The mock API server does not stop all of its threads.
+    System.exit(0);
+  }
+
+  /** Runs the operator once and writes the list of loaded classes to the directory. */
+  static Path createClassList(OperatorProcess operator, Path directory) throws Exception {
+    Path loadedClasses = directory.resolve("loaded-classes.lst");
+    Duration duration =
+        operator.run(
+            List.of("-XX:DumpLoadedClassList=" + loadedClasses), directory.resolve("training.log"));
+    logger.atInfo().log("Training run reconciled after %d ms", duration.toMillis());
+    Path classList = directory.resolve(CLASS_LIST);
+    Files.write(classList, filter(Files.readAllLines(loadedClasses)));
+    return classList;
+  }
+
+  /**
+   * Removes classes loaded by custom class loaders, since they are referenced by their location on
+   * the machine running the training, which does not exist when the archive is created.
+   */
+  private static List<String> filter(List<String> classes) {
+    return classes.stream().filter(c -> !c.contains(" source: ")).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,249 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.startup;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.flogger.FluentLogger;
+import com.google.gerrit.k8s.operator.Constants.ClusterMode;
+import com.google.gerrit.k8s.operator.Main;
+import com.google.gerrit.k8s.operator.admission.servlet.GerritClusterAdmissionWebhook;
+import com.google.gerrit.k8s.operator.api.model.cluster.GerritCluster;
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gitgc.GitGarbageCollection;
+import com.google.gerrit.k8s.operator.api.model.indexer.GerritIndexer;
+import com.google.gerrit.k8s.operator.api.model.maintenance.GerritMaintenance;
+import com.google.gerrit.k8s.operator.api.model.network.GerritNetwork;
+import com.google.gerrit.k8s.operator.api.model.receiver.Receiver;
+import com.google.gerrit.k8s.operator.api.model.tasks.incomingrepl.IncomingReplicationTask;
+import com.google.gerrit.k8s.operator.scale.OperatorScaleTest;
+import com.google.gerrit.k8s.operator.server.HttpServer;
+import io.fabric8.kubernetes.api.model.GroupVersionKind;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.admission.v1.AdmissionRequest;
+import io.fabric8.kubernetes.api.model.admission.v1.AdmissionReviewBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+/**
+ * Runs the operator, i.e. {@link Main}, in a separate JVM against a mock API server containing a
+ * GerritCluster and measures the time until the first reconciliation, i.e. until the StatefulSet of
+ * a Gerrit was created.
+ *
+ * <p>The classes of the operator are packaged into a jar, since class data sharing archives can
+ * only be created for classpaths consisting of jars.
+ */
+public class OperatorProcess implements AutoCloseable {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+  private static final String NAMESPACE = "gerrit";
+  private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+  private final Path workDirectory;
+  private final KubernetesServer kubernetesServer;
+  private final KubernetesClient client;
+  private final String classpath;
+
+  public OperatorProcess(Path workDirectory) throws IOException {
+    this.workDirectory = workDirectory;
+    Files.createDirectories(workDirectory);
+    this.classpath = createClasspath();
+
+    kubernetesServer =
+        new KubernetesServer(
+            false,
+            true,
+            Stream.of(
+                    GerritCluster.class,
+                    Gerrit.class,
+                    GitGarbageCollection.class,
+                    GerritMaintenance.class,
+                    GerritNetwork.class,
+                    Receiver.class,
+                    IncomingReplicationTask.class,
+                    GerritIndexer.class)
+                .map(CustomResourceDefinitionContext::fromCustomResourceType)
+                .collect(Collectors.toList()));
+    kubernetesServer.before();
+    client = kubernetesServer.getClient();
+    client
+        .resource(
+            ReconcilerUtils.loadYaml(
+                GerritCluster.class, OperatorScaleTest.class, "gerritcluster.yaml"))
+        .inNamespace(NAMESPACE)
+        .create();
+  }
+
+  /**
+   * Starts the operator, waits for the first reconciliation and stops the operator again.
+   *
+   * @param jvmArgs additional arguments of the JVM running the operator
+   * @param logFile file the output of the operator is written to
+   * @return time from starting the JVM until the first reconciliation
+   */
+  public Duration run(List<String> jvmArgs, Path logFile) throws Exception {
+    client.apps().statefulSets().inNamespace(NAMESPACE).delete();
+
+    List<String> command = new ArrayList<>();
+    command.add(getJava());
+    command.addAll(jvmArgs);
+    command.add("-Dkubernetes.master=" + client.getMasterUrl());
+    command.add("-Dkubernetes.auth.tryKubeConfig=false");
+    command.add("-Dkubernetes.auth.tryServiceAccount=false");
+    command.add("-cp");
+    command.add(classpath);
+    command.add(Main.class.getName());
+    ProcessBuilder processBuilder =
+        new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(logFile.toFile());
+    processBuilder.environment().put("NAMESPACE", "default");
+
+    long start = System.nanoTime();
+    Process process = processBuilder.start();
+    try {
+      while (client.apps().statefulSets().inNamespace(NAMESPACE).list().getItems().isEmpty()) {
+        if (!process.isAlive()) {
+          throw new IllegalStateException("Operator terminated. See " + logFile);
+        }
+        if (System.nanoTime() - start > TIMEOUT.toNanos()) {
+          throw new IllegalStateException("Operator did not reconcile in time. See " + logFile);
+        }
+        Thread.sleep(10);
+      }
+      Duration timeToFirstReconcile = Duration.ofNanos(System.nanoTime() - start);
+      sendAdmissionReview();
+      return timeToFirstReconcile;
+    } finally {
+      process.destroy();
+      if (!process.waitFor(30, TimeUnit.SECONDS)) {
+        process.destroyForcibly();
+      }
+    }
+  }
+
+  /** Validates the GerritCluster, so that the classes used by the webhooks are loaded as well. */
+  private void sendAdmissionReview() throws Exception {
+    GerritCluster gerritCluster =
+        client.resources(GerritCluster.class).inNamespace(NAMESPACE).withName("gerrit").get();
+    AdmissionRequest request = new AdmissionRequest();
+    request.setUid(UUID.randomUUID().toString());
+    request.setKind(
+        new GroupVersionKind(
+            HasMetadata.getGroup(GerritCluster.class),
+            HasMetadata.getKind(GerritCluster.class),
+            HasMetadata.getVersion(GerritCluster.class)));
+    request.setOperation("UPDATE");
+    request.setObject(gerritCluster);
+    String review = Serialization.asJson(new AdmissionReviewBuilder().withRequest(request).build());
+
+    SSLContext sslContext = SSLContext.getInstance("TLS");
+    sslContext.init(null, new TrustManager[] {new TrustAllManager()}, null);
+    HttpsURLConnection http =
+        (HttpsURLConnection)
+            new URL(
+                    String.format(
+                        "https://localhost:%d%s",
+                        HttpServer.PORT,
+                        new GerritClusterAdmissionWebhook(ClusterMode.HIGH_AVAILABILITY).getURI()))
+                .openConnection();
+    http.setSSLSocketFactory(sslContext.getSocketFactory());
+    // The certificate is issued for the name of the Service of the operator.
+    http.setHostnameVerifier((hostname, session) -> true);
+    http.setRequestMethod("POST");
+    http.setRequestProperty("Content-Type", "application/json");
+    http.setDoOutput(true);
+    try (OutputStream out = http.getOutputStream()) {
+      out.write(review.getBytes(UTF_8));
+    }
+    logger.atFine().log("Admission review responded with %d", http.getResponseCode());
+  }
+
+  /**
+   * Packages the classes of the operator into a jar and returns a classpath consisting of this jar
+   * and all jars of the current classpath.
+   */
+  private String createClasspath() throws IOException {
+    Path classes =
+        Path.of(Main.class.getProtectionDomain().getCodeSource().getLocation().getPath());
+    Path jar = workDirectory.resolve("operator.jar");
+    try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar));
+        Stream<Path> files = Files.walk(classes)) {
+      for (Path file : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+        out.putNextEntry(
+            new JarEntry(classes.relativize(file).toString().replace(File.separatorChar, '/')));
+        Files.copy(file, out);
+        out.closeEntry();
+      }
+    }
+
+    List<String> entries = new ArrayList<>();
+    entries.add(jar.toString());
+    for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+      if (entry.endsWith(".jar")) {
+        entries.add(entry);
+      }
+    }
+    return String.join(File.pathSeparator, entries);
+  }
+
+  /** The java executable of the current JVM, which is also used to run the operator. */
+  public static String getJava() {
+    return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+  }
+
+  /** The classpath used to run the operator. */
+  public String getClasspath() {
+    return classpath;
+  }
+
+  @Override
+  public void close() {
+    kubernetesServer.after();
+  }
+
+  private static class TrustAllManager implements X509TrustManager {
+    @Override
+    public void checkClientTrusted(X509Certificate[] chain, String authType) {}
+
+    @Override
+    public void checkServerTrusted(X509Certificate[] chain, String authType) {}
+
+    @Override
+    public X509Certificate[] getAcceptedIssuers() {
+      return new X509Certificate[0];
+    }
+  }
+}
@@ -0,0 +1,97 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.startup;
+
+import com.google.common.flogger.FluentLogger;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compares the time from starting the JVM of the operator until its first reconciliation with and
+ * without an AppCDS archive. The archive is created from the classes loaded during a training run
+ * using the JVM running the benchmark.
+ *
+ * <p>Usage: {@code StartupBenchmark <output directory>}. The number of measured runs per variant
+ * can be configured with the system property {@code startupBenchmark.runs} (default: 5).
+ */
+public class StartupBenchmark {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  public static void main(String[] args) throws Exception {
+    Path directory = Path.of(args.length > 0 ? args[0] : "target/appcds");
+    int runs = Integer.getInteger("startupBenchmark.runs", 5);
+    try (OperatorProcess operator = new OperatorProcess(directory)) {
+      // Also serves as warm-up, e.g. to generate and store the keystore of the operator.
+      Path classList = AppCdsTraining.createClassList(operator, directory);
+      Path archive = directory.resolve("operator.jsa");
+      dumpArchive(operator, classList, archive);
+
+      List<String> withArchive = List.of("-Xshare:on", "-XX:SharedArchiveFile=" + archive);
+      List<Duration> defaultDurations = new ArrayList<>();
+      List<Duration> archiveDurations = new ArrayList<>();
+      for (int i = 0; i < runs; i++) {
+        defaultDurations.add(operator.run(List.of(), directory.resolve("default-" + i + ".log")));
+        archiveDurations.add(operator.run(withArchive, directory.resolve("appcds-" + i + ".log")));
+      }
+      print("Default CDS archive", defaultDurations);
+      print("AppCDS archive", archiveDurations);
+      System.out.printf(
+          "Median time to first reconcile reduced by %.1f%%%n",
+          100.0 * (1 - (double) median(archiveDurations) / median(defaultDurations)));
+    }
+    // The mock API server does not stop all of its threads.
+    System.exit(0);
+  }
+
+  private static void dumpArchive(OperatorProcess operator, Path classList, Path archive)
+      throws Exception {
+    Process process =
+        new ProcessBuilder(
+                OperatorProcess.getJava(),
+                "-Xshare:dump",
+                "-XX:SharedClassListFile=" + classList,
+                "-XX:SharedArchiveFile=" + archive,
+                "-cp",
+                operator.getClasspath())
+            .redirectErrorStream(true)
+            .redirectOutput(archive.resolveSibling("dump.log").toFile())
+            .start();
+    if (process.waitFor() != 0) {
+      throw new IllegalStateException(
+          "Failed to create archive. See " + archive.resolveSibling("dump.log"));
+    }
+    logger.atInfo().log("Created archive %s", archive.toAbsolutePath());
+  }
+
+  private static void print(String variant, List<Duration> durations) {
+    List<Duration> sorted = new ArrayList<>(durations);
+    Collections.sort(sorted);
+    System.out.printf(
+        "%-20s time to first reconcile: min %5d ms, median %5d ms, max %5d ms%n",
+        variant,
+        sorted.get(0).toMillis(),
+        median(durations),
+        sorted.get(sorted.size() - 1).toMillis());
+  }
+
+  private static long median(List<Duration> durations) {
+    List<Duration> sorted = new ArrayList<>(durations);
+    Collections.sort(sorted);
+    return sorted.get(sorted.size() / 2).toMillis();
+  }
+}
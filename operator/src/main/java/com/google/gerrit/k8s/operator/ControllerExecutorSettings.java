@@ -0,0 +1,97 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator;
+
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+import io.javaoperatorsdk.operator.api.reconciler.Reconciler;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Settings for the thread pools of each controller. Each controller uses its own thread pools, so
+ * that slow reconciliations of one controller cannot delay the reconciliations of other
+ * controllers. Controllers that only manage maintenance tasks have a low priority and thus by
+ * default get smaller thread pools than controllers managing Gerrit deployments.
+ *
+ * <p>The defaults can be overridden by the environment variables `RECONCILIATION_THREADS`,
+ * `WORKFLOW_THREADS`, `LOW_PRIORITY_RECONCILIATION_THREADS` and `LOW_PRIORITY_WORKFLOW_THREADS`.
+ * The settings of a single controller can be overridden by prefixing the environment variables with
+ * the upper-case name of the controller, e.g. `GERRITRECONCILER_RECONCILIATION_THREADS`.
+ */
+public class ControllerExecutorSettings {
+  public static final int DEFAULT_THREADS = 10;
+  public static final int DEFAULT_LOW_PRIORITY_THREADS = 2;
+
+  static final String RECONCILIATION_THREADS = "RECONCILIATION_THREADS";
+  static final String WORKFLOW_THREADS = "WORKFLOW_THREADS";
+  static final String LOW_PRIORITY_PREFIX = "LOW_PRIORITY_";
+
+  public enum Priority {
+    HIGH,
+    LOW
+  }
+
+  private final Map<String, String> env;
+
+  @SuppressWarnings("rawtypes")
+  private final Set<Class<? extends Reconciler>> lowPriorityReconcilers;
+
+  @SuppressWarnings("rawtypes")
+  public ControllerExecutorSettings(
+      Map<String, String> env, Set<Class<? extends Reconciler>> lowPriorityReconcilers) {
+    this.env = env;
+    this.lowPriorityReconcilers = lowPriorityReconcilers;
+  }
+
+  public Priority getPriority(Reconciler<?> reconciler) {
+    return lowPriorityReconcilers.contains(reconciler.getClass()) ? Priority.LOW : Priority.HIGH;
+  }
+
+  public int getReconciliationThreads(Reconciler<?> reconciler) {
+    return getThreads(reconciler, RECONCILIATION_THREADS);
+  }
+
+  public int getWorkflowThreads(Reconciler<?> reconciler) {
+    return getThreads(reconciler, WORKFLOW_THREADS);
+  }
+
+  private int getThreads(Reconciler<?> reconciler, String key) {
+    String controllerKey = toEnvName(ReconcilerUtils.getNameFor(reconciler)) + "_" + key;
+    if (env.containsKey(controllerKey)) {
+      return parseThreads(controllerKey);
+    }
+    if (getPriority(reconciler) == Priority.LOW) {
+      String lowPriorityKey = LOW_PRIORITY_PREFIX + key;
+      return env.containsKey(lowPriorityKey)
+          ? parseThreads(lowPriorityKey)
+          : DEFAULT_LOW_PRIORITY_THREADS;
+    }
+    return env.containsKey(key) ? parseThreads(key) : DEFAULT_THREADS;
+  }
+
+  private int parseThreads(String key) {
+    int threads = Integer.parseInt(env.get(key));
+    if (threads < 1) {
+      throw new IllegalArgumentException(
+          String.format("%s has to be at least 1, but was %d", key, threads));
+    }
+    return threads;
+  }
+
+  private static String toEnvName(String controllerName) {
+    return controllerName.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", "_");
+  }
+}
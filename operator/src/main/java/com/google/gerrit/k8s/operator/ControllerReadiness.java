@@ -0,0 +1,86 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.javaoperatorsdk.operator.RegisteredController;
+import io.javaoperatorsdk.operator.health.InformerHealthIndicator;
+import io.javaoperatorsdk.operator.health.InformerWrappingEventSourceHealthIndicator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks whether the controllers of the operator are ready, i.e. whether they were started and the
+ * caches of all running informers are synced and watching. Informers that are not running, e.g.
+ * because another replica of the operator is the leader of the controller, are ignored.
+ */
+@Singleton
+public class ControllerReadiness {
+  private final MeterRegistry meterRegistry;
+  private final Map<String, RegisteredController<?>> controllers = new ConcurrentHashMap<>();
+  private final Set<String> startedControllers = ConcurrentHashMap.newKeySet();
+
+  @Inject
+  public ControllerReadiness(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  public void register(String name, RegisteredController<?> controller) {
+    controllers.put(name, controller);
+    Gauge.builder("gerrit.operator.controller.ready", () -> isReady(name) ? 1 : 0)
+        .description("Whether the controller was started and its caches are synced")
+        .tag("controller", name)
+        .register(meterRegistry);
+  }
+
+  public void markStarted(String name) {
+    startedControllers.add(name);
+  }
+
+  /** Whether at least one controller is registered and all registered controllers are ready. */
+  public boolean isReady() {
+    return !controllers.isEmpty() && controllers.keySet().stream().allMatch(this::isReady);
+  }
+
+  public boolean isReady(String name) {
+    RegisteredController<?> controller = controllers.get(name);
+    if (controller == null || !startedControllers.contains(name)) {
+      return false;
+    }
+    for (InformerWrappingEventSourceHealthIndicator<?> eventSource :
+        controller.getControllerHealthInfo().informerEventSourceHealthIndicators().values()) {
+      for (InformerHealthIndicator informer : eventSource.informerHealthIndicators().values()) {
+        if (informer.isRunning() && !(informer.hasSynced() && informer.isWatching())) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /** The readiness of all registered controllers, sorted by the name of the controller. */
+  public Map<String, Boolean> getReadiness() {
+    Map<String, Boolean> readiness = new TreeMap<>();
+    for (String name : controllers.keySet()) {
+      readiness.put(name, isReady(name));
+    }
+    return readiness;
+  }
+}
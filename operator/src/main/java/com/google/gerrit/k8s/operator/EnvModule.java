@@ -33,5 +33,15 @@ public class EnvModule extends AbstractModule {
             ? IngressType.NONE
             : IngressType.valueOf(ingressTypeEnv.toUpperCase());
     bind(IngressType.class).annotatedWith(Names.named("IngressType")).toInstance(ingressType);
+
+    bind(Boolean.class)
+        .annotatedWith(Names.named("ServerSideApply"))
+        .toInstance(Boolean.parseBoolean(System.getenv("SERVER_SIDE_APPLY")));
+
+    bind(Boolean.class)
+        .annotatedWith(Names.named("LeaderElection"))
+        .toInstance(Boolean.parseBoolean(System.getenv("LEADER_ELECTION")));
+
+    bind(OperatorShard.class).toInstance(OperatorShard.fromEnv(System.getenv()));
   }
 }
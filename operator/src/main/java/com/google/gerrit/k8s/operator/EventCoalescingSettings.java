@@ -0,0 +1,59 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings for coalescing events of secondary resources, which are not managed by the operator,
+ * e.g. Secrets referenced by Gerrits. If such resources are updated in a burst, e.g. when a secret
+ * manager rotates multiple Secrets at once, the primary resource is only reconciled once after the
+ * coalescing window has passed, instead of once per event.
+ *
+ * <p>The window is configured by the environment variable
+ * `SECONDARY_EVENT_COALESCING_WINDOW_SECONDS`. By default, events are not coalesced.
+ */
+public class EventCoalescingSettings {
+  public static final EventCoalescingSettings DISABLED = new EventCoalescingSettings(Map.of());
+
+  static final String WINDOW_SECONDS = "SECONDARY_EVENT_COALESCING_WINDOW_SECONDS";
+
+  private final Duration window;
+
+  public EventCoalescingSettings(Map<String, String> env) {
+    this.window = Duration.ofSeconds(parseWindow(env));
+  }
+
+  public Duration getWindow() {
+    return window;
+  }
+
+  public boolean isEnabled() {
+    return !window.isZero();
+  }
+
+  private static long parseWindow(Map<String, String> env) {
+    if (!env.containsKey(WINDOW_SECONDS)) {
+      return 0;
+    }
+    long seconds = Long.parseLong(env.get(WINDOW_SECONDS));
+    if (seconds < 0) {
+      throw new IllegalArgumentException(
+          String.format("%s must not be negative, but was %d", WINDOW_SECONDS, seconds));
+    }
+    return seconds;
+  }
+}
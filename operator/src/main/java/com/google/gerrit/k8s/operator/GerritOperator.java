@@ -15,20 +15,36 @@
 package com.google.gerrit.k8s.operator;
 
 import static com.google.gerrit.k8s.operator.server.HttpServer.PORT;
+import static io.javaoperatorsdk.operator.api.reconciler.Constants.DEFAULT_NAMESPACES_SET;
 
+import com.google.common.base.Throwables;
 import com.google.common.flogger.FluentLogger;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.ServiceBuilder;
 import io.fabric8.kubernetes.api.model.ServicePort;
 import io.fabric8.kubernetes.api.model.ServicePortBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.Operator;
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+import io.javaoperatorsdk.operator.RegisteredController;
+import io.javaoperatorsdk.operator.api.config.LeaderElectionConfiguration;
 import io.javaoperatorsdk.operator.api.reconciler.Reconciler;
+import io.javaoperatorsdk.operator.monitoring.micrometer.MicrometerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @Singleton
 public class GerritOperator {
@@ -43,8 +59,16 @@ public class GerritOperator {
   private final Set<Reconciler> reconcilers;
 
   private final String namespace;
+  private final boolean serverSideApply;
+  private final MeterRegistry meterRegistry;
+  private final ControllerExecutorSettings executorSettings;
+  private final boolean leaderElection;
+  private final OperatorShard shard;
+  private final NamespaceShardManager namespaceShardManager;
+  private final ControllerReadiness readiness;
+  private final StartupTimings startupTimings;
+  private final Map<String, Operator> operators = new LinkedHashMap<>();
 
-  private Operator operator;
   private Service svc;
 
   @Inject
@@ -53,25 +77,75 @@ public class GerritOperator {
       LifecycleManager lifecycleManager,
       KubernetesClient client,
       Set<Reconciler> reconcilers,
-      @Named("Namespace") String namespace) {
+      @Named("Namespace") String namespace,
+      @Named("ServerSideApply") Boolean serverSideApply,
+      MeterRegistry meterRegistry,
+      ControllerExecutorSettings executorSettings,
+      @Named("LeaderElection") Boolean leaderElection,
+      OperatorShard shard,
+      NamespaceShardManager namespaceShardManager,
+      ControllerReadiness readiness,
+      StartupTimings startupTimings) {
     this.lifecycleManager = lifecycleManager;
     this.client = client;
     this.reconcilers = reconcilers;
     this.namespace = namespace;
+    this.serverSideApply = serverSideApply;
+    this.meterRegistry = meterRegistry;
+    this.executorSettings = executorSettings;
+    this.leaderElection = leaderElection;
+    this.shard = shard;
+    this.namespaceShardManager = namespaceShardManager;
+    this.readiness = readiness;
+    this.startupTimings = startupTimings;
   }
 
   public void start() throws Exception {
-    operator =
-        new Operator(
-            overrider ->
-                overrider
-                    .withSSABasedCreateUpdateMatchForDependentResources(false)
-                    .withKubernetesClient(client));
+    logger.atInfo().log("Server-side apply of dependent resources enabled: %s", serverSideApply);
+    logger.atInfo().log("Leader election enabled: %s; Shard: %s", leaderElection, shard);
+    Set<String> watchedNamespaces =
+        shard.isSharded() ? namespaceShardManager.start() : DEFAULT_NAMESPACES_SET;
+    MicrometerMetrics metrics = MicrometerMetrics.withoutPerResourceMetrics(meterRegistry);
     for (Reconciler<?> reconciler : reconcilers) {
-      logger.atInfo().log("Registering reconciler: %s", reconciler.getClass().getSimpleName());
-      operator.register(reconciler);
+      int reconciliationThreads = executorSettings.getReconciliationThreads(reconciler);
+      int workflowThreads = executorSettings.getWorkflowThreads(reconciler);
+      logger.atInfo().log(
+          "Registering reconciler: %s (priority: %s, reconciliation threads: %d, workflow threads: %d)",
+          reconciler.getClass().getSimpleName(),
+          executorSettings.getPriority(reconciler),
+          reconciliationThreads,
+          workflowThreads);
+      Operator operator =
+          new Operator(
+              overrider ->
+                  overrider
+                      .withSSABasedCreateUpdateMatchForDependentResources(serverSideApply)
+                      .withMetrics(metrics)
+                      .withKubernetesClient(client)
+                      .withCloseClientOnStop(false)
+                      // The SDK uses fixed thread pools with the maximum number of threads.
+                      // The minimum has to be lower than the maximum to pass validation.
+                      .withMinConcurrentReconciliationThreads(0)
+                      .withConcurrentReconciliationThreads(reconciliationThreads)
+                      .withMinConcurrentWorkflowExecutorThreads(0)
+                      .withConcurrentWorkflowExecutorThreads(workflowThreads)
+                      .withLeaderElectionConfiguration(
+                          leaderElection
+                              ? new LeaderElectionConfiguration(getLeaseName(reconciler), namespace)
+                              : null));
+      RegisteredController<?> controller =
+          registerReconciler(operator, reconciler, watchedNamespaces);
+      if (shard.isSharded()) {
+        namespaceShardManager.manage(controller);
+      }
+      String name = ReconcilerUtils.getNameFor(reconciler);
+      readiness.register(name, controller);
+      operators.put(name, operator);
     }
-    operator.start();
+    // The Service is also used by the API server to call the admission webhooks, which are
+    // already served while the controllers are started.
+    applyService();
+    startOperators();
     lifecycleManager.addShutdownHook(
         new Runnable() {
           @Override
@@ -79,12 +153,84 @@ public class GerritOperator {
             shutdown();
           }
         });
-    applyService();
+  }
+
+  /**
+   * Starts the operators of all controllers concurrently. Starting an operator waits for the caches
+   * of its informers to be synced, which may take long on large clusters. Since the controllers do
+   * not depend on each other, the caches can be synced in parallel.
+   */
+  private void startOperators() throws Exception {
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.max(1, operators.size()),
+            new ThreadFactoryBuilder()
+                .setNameFormat("controller-startup-%d")
+                .setDaemon(true)
+                .build());
+    try {
+      List<Future<?>> startups = new ArrayList<>();
+      for (Map.Entry<String, Operator> operator : operators.entrySet()) {
+        String name = operator.getKey();
+        startups.add(
+            executor.submit(
+                () -> {
+                  startupTimings.measure("controller-" + name, operator.getValue()::start);
+                  readiness.markStarted(name);
+                  return null;
+                }));
+      }
+      for (Future<?> startup : startups) {
+        try {
+          startup.get();
+        } catch (ExecutionException e) {
+          Throwables.throwIfInstanceOf(e.getCause(), Exception.class);
+          throw e;
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private <P extends HasMetadata> RegisteredController<P> registerReconciler(
+      Operator operator, Reconciler<P> reconciler, Set<String> namespaces) {
+    return operator.register(
+        reconciler,
+        overrider ->
+            overrider.withFieldManager(getFieldManager(reconciler)).settingNamespaces(namespaces));
+  }
+
+  /**
+   * Each controller uses its own lease, so that the controllers can be led by different replicas of
+   * the operator. If the operator is sharded, each shard uses its own leases.
+   */
+  private String getLeaseName(Reconciler<?> reconciler) {
+    String leaseName = SERVICE_NAME + "-" + ReconcilerUtils.getNameFor(reconciler);
+    if (shard.isSharded()) {
+      leaseName += "-shard-" + shard.getIndex();
+    }
+    return leaseName;
+  }
+
+  /**
+   * The field manager used for server-side apply. It has to be stable across operator versions,
+   * since it is used to determine which fields of a resource are owned by the operator.
+   */
+  public static String getFieldManager(Reconciler<?> reconciler) {
+    return SERVICE_NAME + "/" + ReconcilerUtils.getNameFor(reconciler);
   }
 
   public void shutdown() {
-    client.resource(svc).delete();
-    operator.stop();
+    if (!leaderElection && !shard.isSharded()) {
+      // Other replicas still use the Service, if there are multiple replicas.
+      client.resource(svc).delete();
+    }
+    namespaceShardManager.stop();
+    for (Operator operator : operators.values()) {
+      operator.stop();
+    }
+    client.close();
   }
 
   private void applyService() {
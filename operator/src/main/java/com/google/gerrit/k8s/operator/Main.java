@@ -14,20 +14,28 @@
 
 package com.google.gerrit.k8s.operator;
 
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Throwables;
 import com.google.common.flogger.FluentLogger;
 import com.google.gerrit.k8s.operator.Constants.ClusterMode;
 import com.google.gerrit.k8s.operator.admission.ValidationWebhookConfigs;
 import com.google.gerrit.k8s.operator.server.HttpServer;
+import com.google.gerrit.k8s.operator.server.KeyStoreRefresher;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Stage;
 import io.javaoperatorsdk.operator.OperatorException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class Main {
 
   private static final FluentLogger logger = FluentLogger.forEnclosingClass();
 
   public static void main(String[] args) throws Exception {
+    Duration jvmStartup = getUptime();
     try {
       String getClusterModeEnv = System.getenv("CLUSTER_MODE");
       String clusterDomain = System.getenv().getOrDefault("CLUSTER_DOMAIN", "cluster.local");
@@ -38,12 +46,42 @@ public class Main {
       OperatorContext.createInstance(clusterMode, clusterDomain);
       logger.atInfo().log("Cluster mode: %s", clusterMode);
 
+      Stopwatch stopwatch = Stopwatch.createStarted();
       Injector injector = Guice.createInjector(Stage.PRODUCTION, new OperatorModule(clusterMode));
-      injector.getInstance(HttpServer.class).start();
-      injector.getInstance(ValidationWebhookConfigs.class).apply();
-      injector.getInstance(GerritOperator.class).start();
+      StartupTimings timings = injector.getInstance(StartupTimings.class);
+      timings.record("jvm", jvmStartup);
+      timings.record("injector", stopwatch.elapsed());
+      timings.measure("http-server", () -> injector.getInstance(HttpServer.class).start());
+
+      // The webhooks are served by the HTTP server, i.e. they do not have to wait for the
+      // controllers, which first have to sync their caches.
+      CompletableFuture<Void> webhooks =
+          CompletableFuture.runAsync(
+              () -> {
+                try {
+                  timings.measure(
+                      "webhook-configs",
+                      () -> injector.getInstance(ValidationWebhookConfigs.class).apply());
+                  injector.getInstance(KeyStoreRefresher.class).start();
+                } catch (Exception e) {
+                  throw new CompletionException(e);
+                }
+              });
+      timings.measure("controllers", () -> injector.getInstance(GerritOperator.class).start());
+      try {
+        webhooks.join();
+      } catch (CompletionException e) {
+        Throwables.throwIfInstanceOf(e.getCause(), Exception.class);
+        throw e;
+      }
+      timings.record("total", getUptime());
     } catch (OperatorException e) {
       System.exit(1);
     }
   }
+
+  /** Time since the start of the JVM, including e.g. loading the classes of the operator. */
+  private static Duration getUptime() {
+    return Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime());
+  }
 }
@@ -0,0 +1,114 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator;
+
+import com.google.common.flogger.FluentLogger;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.javaoperatorsdk.operator.RegisteredController;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the namespaces watched by the controllers in sync with the namespaces assigned to the shard
+ * of this operator replica.
+ */
+@Singleton
+public class NamespaceShardManager implements ResourceEventHandler<Namespace> {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  /**
+   * The operator SDK interprets an empty set of namespaces as all namespaces. If no namespace is
+   * assigned to this shard, the controllers watch this namespace instead, which is not expected to
+   * exist.
+   */
+  static final String NO_NAMESPACE = "gerrit-operator-no-namespace-assigned";
+
+  private final KubernetesClient client;
+  private final OperatorShard shard;
+
+  @SuppressWarnings("rawtypes")
+  private final List<RegisteredController> controllers = new ArrayList<>();
+
+  private SharedIndexInformer<Namespace> informer;
+  private Set<String> namespaces = Set.of(NO_NAMESPACE);
+
+  @Inject
+  public NamespaceShardManager(KubernetesClient client, OperatorShard shard) {
+    this.client = client;
+    this.shard = shard;
+  }
+
+  public synchronized Set<String> start() {
+    informer = client.namespaces().inform(this);
+    namespaces = computeNamespaces();
+    logger.atInfo().log("Shard %s is responsible for namespaces: %s", shard, namespaces);
+    return namespaces;
+  }
+
+  public synchronized void manage(RegisteredController<?> controller) {
+    controllers.add(controller);
+  }
+
+  public void stop() {
+    if (informer != null) {
+      informer.close();
+    }
+  }
+
+  @Override
+  public void onAdd(Namespace namespace) {
+    update();
+  }
+
+  @Override
+  public void onUpdate(Namespace oldNamespace, Namespace newNamespace) {}
+
+  @Override
+  public void onDelete(Namespace namespace, boolean deletedFinalStateUnknown) {
+    update();
+  }
+
+  @SuppressWarnings("rawtypes")
+  private synchronized void update() {
+    if (informer == null || !informer.hasSynced()) {
+      return;
+    }
+    Set<String> updatedNamespaces = computeNamespaces();
+    if (updatedNamespaces.equals(namespaces)) {
+      return;
+    }
+    logger.atInfo().log("Shard %s is responsible for namespaces: %s", shard, updatedNamespaces);
+    namespaces = updatedNamespaces;
+    for (RegisteredController controller : controllers) {
+      controller.changeNamespaces(namespaces);
+    }
+  }
+
+  private Set<String> computeNamespaces() {
+    Set<String> assigned =
+        shard.filter(
+            informer.getStore().list().stream()
+                .map(ns -> ns.getMetadata().getName())
+                .collect(Collectors.toList()));
+    return assigned.isEmpty() ? Set.of(NO_NAMESPACE) : assigned;
+  }
+}
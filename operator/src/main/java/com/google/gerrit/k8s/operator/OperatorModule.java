@@ -22,6 +22,7 @@ import com.google.gerrit.k8s.operator.gerrit.GerritReconciler;
 import com.google.gerrit.k8s.operator.gitgc.GitGarbageCollectionReconciler;
 import com.google.gerrit.k8s.operator.indexer.GerritIndexerReconciler;
 import com.google.gerrit.k8s.operator.maintenance.GerritMaintenanceReconciler;
+import com.google.gerrit.k8s.operator.metrics.MetricsModule;
 import com.google.gerrit.k8s.operator.network.GerritNetworkReconcilerProvider;
 import com.google.gerrit.k8s.operator.network.istio.GerritIstioReconciler;
 import com.google.gerrit.k8s.operator.receiver.ReceiverReconciler;
@@ -34,8 +35,17 @@ import io.fabric8.kubernetes.client.ConfigBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientBuilder;
 import io.javaoperatorsdk.operator.api.reconciler.Reconciler;
+import java.util.Set;
 
 public class OperatorModule extends AbstractModule {
+  /** Reconcilers managing maintenance tasks, which may be delayed in favor of other work. */
+  @SuppressWarnings("rawtypes")
+  public static final Set<Class<? extends Reconciler>> LOW_PRIORITY_RECONCILERS =
+      Set.of(
+          GitGarbageCollectionReconciler.class,
+          GerritMaintenanceReconciler.class,
+          IncomingReplicationTaskReconciler.class,
+          GerritIndexerReconciler.class);
 
   private final ClusterMode clusterMode;
 
@@ -47,6 +57,7 @@ public class OperatorModule extends AbstractModule {
   @Override
   protected void configure() {
     install(new EnvModule());
+    install(new MetricsModule());
     install(new ServerModule());
 
     bind(KubernetesClient.class).toInstance(getKubernetesClient());
@@ -54,6 +65,9 @@ public class OperatorModule extends AbstractModule {
     bind(GerritOperator.class);
 
     bind(ClusterMode.class).toInstance(clusterMode);
+    bind(ControllerExecutorSettings.class)
+        .toInstance(new ControllerExecutorSettings(System.getenv(), LOW_PRIORITY_RECONCILERS));
+    bind(EventCoalescingSettings.class).toInstance(new EventCoalescingSettings(System.getenv()));
 
     install(new AdmissionWebhookModule());
 
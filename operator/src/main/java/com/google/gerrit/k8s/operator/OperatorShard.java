@@ -0,0 +1,111 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.hash.Hashing;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Identifies the shard an operator replica is responsible for. If multiple shards are configured,
+ * namespaces are distributed between the shards using consistent hashing, i.e. if the number of
+ * shards changes, only a minimal number of namespaces is moved to a different shard.
+ *
+ * <p>The number of shards is configured by the environment variable `SHARD_COUNT`. The index of the
+ * shard is configured by the environment variable `SHARD_INDEX`. If the operator is deployed as a
+ * StatefulSet, the index can instead be derived from the ordinal of the pod name by setting
+ * `SHARD_INDEX_FROM_POD_NAME` to `true`. Pod names of other workloads, e.g. Deployments, end with
+ * random suffixes and can therefore not be used to derive the index.
+ */
+public class OperatorShard {
+  private static final Pattern ORDINAL_PATTERN = Pattern.compile(".*-(\\d+)$");
+
+  private final int index;
+  private final int count;
+
+  public OperatorShard(int index, int count) {
+    if (count < 1) {
+      throw new IllegalArgumentException(
+          String.format("The number of shards has to be at least 1, but was %d", count));
+    }
+    if (index < 0 || index >= count) {
+      throw new IllegalArgumentException(
+          String.format(
+              "The shard index has to be between 0 and %d, but was %d", count - 1, index));
+    }
+    this.index = index;
+    this.count = count;
+  }
+
+  public static OperatorShard fromEnv(Map<String, String> env) {
+    int count = Integer.parseInt(env.getOrDefault("SHARD_COUNT", "1"));
+    if (count == 1) {
+      return new OperatorShard(0, 1);
+    }
+    if (env.containsKey("SHARD_INDEX")) {
+      return new OperatorShard(Integer.parseInt(env.get("SHARD_INDEX")), count);
+    }
+    if (!Boolean.parseBoolean(env.get("SHARD_INDEX_FROM_POD_NAME"))) {
+      throw new IllegalArgumentException(
+          String.format(
+              "SHARD_COUNT is set to %d, but SHARD_INDEX is not set. Set SHARD_INDEX or, if the"
+                  + " operator is deployed as a StatefulSet, set SHARD_INDEX_FROM_POD_NAME to true"
+                  + " to derive it from the ordinal of the pod name.",
+              count));
+    }
+    String podName = env.getOrDefault("POD_NAME", env.get("HOSTNAME"));
+    Matcher matcher = ORDINAL_PATTERN.matcher(podName == null ? "" : podName);
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException(
+          String.format(
+              "SHARD_INDEX cannot be derived from the pod name %s, since it does not end with the"
+                  + " ordinal of a StatefulSet pod",
+              podName));
+    }
+    return new OperatorShard(Integer.parseInt(matcher.group(1)), count);
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  public boolean isSharded() {
+    return count > 1;
+  }
+
+  public boolean isResponsibleFor(String namespace) {
+    return Hashing.consistentHash(Hashing.murmur3_128().hashString(namespace, UTF_8), count)
+        == index;
+  }
+
+  public Set<String> filter(Collection<String> namespaces) {
+    return namespaces.stream().filter(this::isResponsibleFor).collect(Collectors.toSet());
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d/%d", index, count);
+  }
+}
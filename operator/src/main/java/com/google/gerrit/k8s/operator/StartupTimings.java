@@ -0,0 +1,75 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.flogger.FluentLogger;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the duration of the phases of the startup of the operator. The durations are logged and
+ * exported as gauges. Phases may overlap, e.g. controllers are started concurrently.
+ */
+@Singleton
+public class StartupTimings {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  private final MeterRegistry meterRegistry;
+  private final Map<String, Duration> durations = new ConcurrentHashMap<>();
+
+  @Inject
+  public StartupTimings(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @FunctionalInterface
+  public interface Phase {
+    void run() throws Exception;
+  }
+
+  /** Runs the phase and records its duration, even if it failed. */
+  public void measure(String phase, Phase runnable) throws Exception {
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    try {
+      runnable.run();
+    } finally {
+      record(phase, stopwatch.elapsed());
+    }
+  }
+
+  public void record(String phase, Duration duration) {
+    durations.put(phase, duration);
+    TimeGauge.builder(
+            "gerrit.operator.startup.duration",
+            durations,
+            TimeUnit.MILLISECONDS,
+            d -> d.getOrDefault(phase, Duration.ZERO).toMillis())
+        .description("Duration of a phase of the startup of the operator")
+        .tag("phase", phase)
+        .register(meterRegistry);
+    logger.atInfo().log("Startup phase %s took %d ms", phase, duration.toMillis());
+  }
+
+  public Map<String, Duration> getDurations() {
+    return Map.copyOf(durations);
+  }
+}
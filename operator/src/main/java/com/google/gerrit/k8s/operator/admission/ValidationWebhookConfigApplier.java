@@ -38,6 +38,8 @@ import java.security.cert.CertificateEncodingException;
 import java.security.cert.CertificateException;
 import java.util.Base64;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 public class ValidationWebhookConfigApplier {
   private static final FluentLogger logger = FluentLogger.forEnclosingClass();
@@ -109,7 +111,7 @@ public class ValidationWebhookConfigApplier {
           NoSuchAlgorithmException,
           CertificateException,
           IOException {
-    return Base64.getEncoder().encodeToString(keyStoreProvider.getCertificate().getBytes());
+    return Base64.getEncoder().encodeToString(keyStoreProvider.getCaBundle().getBytes());
   }
 
   public ValidatingWebhookConfiguration build() {
@@ -132,8 +134,49 @@ public class ValidationWebhookConfigApplier {
           IOException,
           NoSuchAlgorithmException,
           CertificateException {
-    logger.atInfo().log("Applying webhook config %s", cfg);
-    client.resource(cfg).createOrReplace();
+    ValidatingWebhookConfiguration desired = build();
+    ValidatingWebhookConfiguration existing = client.resource(desired).get();
+    if (existing != null && isUpToDate(existing, desired)) {
+      logger.atInfo().log("Webhook config %s is up to date", customResourceName);
+      return;
+    }
+    logger.atInfo().log("Applying webhook config %s", desired);
+    client.resource(desired).createOrReplace();
+  }
+
+  /**
+   * Only compares the fields set by the operator, since the API server sets defaults for other
+   * fields.
+   */
+  private static boolean isUpToDate(
+      ValidatingWebhookConfiguration existing, ValidatingWebhookConfiguration desired) {
+    if (existing.getWebhooks().size() != desired.getWebhooks().size()) {
+      return false;
+    }
+    for (ValidatingWebhook desiredWebhook : desired.getWebhooks()) {
+      Optional<ValidatingWebhook> existingWebhook =
+          existing.getWebhooks().stream()
+              .filter(w -> w.getName().equals(desiredWebhook.getName()))
+              .findFirst();
+      if (existingWebhook.isEmpty()
+          || !Objects.equals(
+              existingWebhook.get().getClientConfig(), desiredWebhook.getClientConfig())
+          || !Objects.equals(existingWebhook.get().getRules(), desiredWebhook.getRules())
+          || !Objects.equals(
+              existingWebhook.get().getAdmissionReviewVersions(),
+              desiredWebhook.getAdmissionReviewVersions())
+          || !Objects.equals(
+              existingWebhook.get().getFailurePolicy(), desiredWebhook.getFailurePolicy())
+          || !Objects.equals(
+              existingWebhook.get().getMatchPolicy(), desiredWebhook.getMatchPolicy())
+          || !Objects.equals(
+              existingWebhook.get().getTimeoutSeconds(), desiredWebhook.getTimeoutSeconds())
+          || !Objects.equals(
+              existingWebhook.get().getSideEffects(), desiredWebhook.getSideEffects())) {
+        return false;
+      }
+    }
+    return true;
   }
 
   public void delete() {
@@ -17,10 +17,14 @@ package com.google.gerrit.k8s.operator.admission;
 import static com.google.gerrit.k8s.operator.Constants.RESOURCES_WITH_VALIDATING_WEBHOOK;
 
 import com.google.gerrit.k8s.operator.LifecycleManager;
+import com.google.gerrit.k8s.operator.OperatorShard;
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 import java.util.ArrayList;
 import java.util.List;
 
+@Singleton
 public class ValidationWebhookConfigs {
 
   private final List<ValidationWebhookConfigApplier> configAppliers;
@@ -28,13 +32,20 @@ public class ValidationWebhookConfigs {
   @Inject
   public ValidationWebhookConfigs(
       LifecycleManager lifecycleManager,
-      ValidationWebhookConfigApplier.Factory configApplierFactory) {
+      ValidationWebhookConfigApplier.Factory configApplierFactory,
+      @Named("LeaderElection") Boolean leaderElection,
+      OperatorShard shard) {
     this.configAppliers = new ArrayList<>();
 
     for (String customResourceName : RESOURCES_WITH_VALIDATING_WEBHOOK) {
       this.configAppliers.add(configApplierFactory.create(customResourceName));
     }
 
+    // Other replicas of the operator still serve the webhooks.
+    if (leaderElection || shard.isSharded()) {
+      return;
+    }
+
     lifecycleManager.addShutdownHook(
         new Runnable() {
 
@@ -21,21 +21,23 @@ import static com.google.gerrit.k8s.operator.api.model.shared.GlobalRefDbConfig.
 import com.google.gerrit.k8s.operator.Constants;
 import com.google.gerrit.k8s.operator.Constants.ClusterMode;
 import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritTemplateSpec.GerritMode;
 import com.google.gerrit.k8s.operator.api.model.shared.EventsBrokerConfig;
 import com.google.gerrit.k8s.operator.api.model.shared.GlobalRefDbConfig;
 import com.google.gerrit.k8s.operator.gerrit.config.GerritConfigBuilder;
 import com.google.gerrit.k8s.operator.gerrit.config.InvalidGerritConfigException;
+import com.google.gerrit.k8s.operator.gerrit.dependent.GerritHorizontalPodAutoscaler;
 import com.google.gerrit.k8s.operator.server.ValidatingAdmissionWebhookServlet;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
-import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.Status;
 import io.fabric8.kubernetes.api.model.StatusBuilder;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.Locale;
+import java.util.Optional;
 
 @Singleton
-public class GerritAdmissionWebhook extends ValidatingAdmissionWebhookServlet {
+public class GerritAdmissionWebhook extends ValidatingAdmissionWebhookServlet<Gerrit> {
   private static final long serialVersionUID = 1L;
 
   private final ClusterMode clusterMode;
@@ -46,21 +48,25 @@ public class GerritAdmissionWebhook extends ValidatingAdmissionWebhookServlet {
   public static final String NO_EVENTS_BROKER_CONFIGURED_MSG =
       "An events-broker is required to run Gerrit in multisite mode: .spec.eventsBroker.brokerType != NONE";
 
+  public static final String AUTOSCALING_NOT_SUPPORTED_MSG =
+      "Autoscaling is only supported for Gerrit replicas: .spec.mode == REPLICA";
+
+  public static final String INVALID_AUTOSCALING_REPLICAS_MSG =
+      "The maximum number of replicas has to be set and must not be lower than the minimum number of replicas: .spec.autoscaling.maxReplicas >= .spec.autoscaling.minReplicas";
+
   @Inject
   public GerritAdmissionWebhook(ClusterMode clusterMode) {
+    super(Gerrit.class);
     this.clusterMode = clusterMode;
   }
 
   @Override
-  public Status validate(HasMetadata resource) {
-    if (!(resource instanceof Gerrit)) {
-      return new StatusBuilder()
-          .withCode(HttpServletResponse.SC_BAD_REQUEST)
-          .withMessage("Invalid resource. Expected Gerrit-resource for validation.")
-          .build();
-    }
+  protected Optional<String> getValidationCacheScope() {
+    return Optional.of(clusterMode.name());
+  }
 
-    Gerrit gerrit = (Gerrit) resource;
+  @Override
+  public Status validate(Gerrit gerrit) {
 
     try {
       invalidGerritConfiguration(gerrit);
@@ -85,6 +91,20 @@ public class GerritAdmissionWebhook extends ValidatingAdmissionWebhookServlet {
           .build();
     }
 
+    if (autoscalingNotSupported(gerrit)) {
+      return new StatusBuilder()
+          .withCode(HttpServletResponse.SC_BAD_REQUEST)
+          .withMessage(AUTOSCALING_NOT_SUPPORTED_MSG)
+          .build();
+    }
+
+    if (invalidAutoscalingReplicas(gerrit)) {
+      return new StatusBuilder()
+          .withCode(HttpServletResponse.SC_BAD_REQUEST)
+          .withMessage(INVALID_AUTOSCALING_REPLICAS_MSG)
+          .build();
+    }
+
     if (missingRefdbConfig(gerrit)) {
       String refDbName = "";
       switch (gerrit.getSpec().getRefdb().getDatabase()) {
@@ -128,6 +148,20 @@ public class GerritAdmissionWebhook extends ValidatingAdmissionWebhookServlet {
             .equals(EventsBrokerConfig.BrokerType.NONE);
   }
 
+  private boolean autoscalingNotSupported(Gerrit gerrit) {
+    return gerrit.getSpec().getAutoscaling().isEnabled()
+        && gerrit.getSpec().getMode() != GerritMode.REPLICA;
+  }
+
+  private boolean invalidAutoscalingReplicas(Gerrit gerrit) {
+    if (!gerrit.getSpec().isAutoscaled()) {
+      return false;
+    }
+    Integer maxReplicas = gerrit.getSpec().getAutoscaling().getMaxReplicas();
+    return maxReplicas == null
+        || maxReplicas < GerritHorizontalPodAutoscaler.getMinReplicas(gerrit);
+  }
+
   private boolean missingRefdbConfig(Gerrit gerrit) {
     GlobalRefDbConfig refDbConfig = gerrit.getSpec().getRefdb();
     switch (refDbConfig.getDatabase()) {
@@ -25,18 +25,19 @@ import com.google.gerrit.k8s.operator.api.model.maintenance.GerritMaintenanceSpe
 import com.google.gerrit.k8s.operator.server.ValidatingAdmissionWebhookServlet;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
-import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.Status;
 import io.fabric8.kubernetes.api.model.StatusBuilder;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Singleton
-public class GerritClusterAdmissionWebhook extends ValidatingAdmissionWebhookServlet {
+public class GerritClusterAdmissionWebhook
+    extends ValidatingAdmissionWebhookServlet<GerritCluster> {
 
   public static final String GERRIT_MULTISITE_MISCONFIGURED =
       "Gerrit Cluster in multisite mode should be configured as Primary Gerrit and have spec.gerrits[0].specs.replicas value > 1.";
@@ -45,21 +46,19 @@ public class GerritClusterAdmissionWebhook extends ValidatingAdmissionWebhookSer
 
   @Inject
   public GerritClusterAdmissionWebhook(ClusterMode clusterMode) {
+    super(GerritCluster.class);
     this.clusterMode = clusterMode;
   }
 
   private static final long serialVersionUID = 1L;
 
   @Override
-  public Status validate(HasMetadata resource) {
-    if (!(resource instanceof GerritCluster)) {
-      return new StatusBuilder()
-          .withCode(HttpServletResponse.SC_BAD_REQUEST)
-          .withMessage("Invalid resource. Expected GerritCluster-resource for validation.")
-          .build();
-    }
+  protected Optional<String> getValidationCacheScope() {
+    return Optional.of(clusterMode.name());
+  }
 
-    GerritCluster gerritCluster = (GerritCluster) resource;
+  @Override
+  public Status validate(GerritCluster gerritCluster) {
 
     if (clusterMode == ClusterMode.MULTISITE) {
 
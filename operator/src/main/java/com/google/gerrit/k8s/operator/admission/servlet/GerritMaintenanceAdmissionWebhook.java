@@ -21,28 +21,30 @@ import com.google.gerrit.k8s.operator.maintenance.dependent.GerritMaintenanceCro
 import com.google.gerrit.k8s.operator.maintenance.dependent.GerritMaintenanceTaskConflictException;
 import com.google.gerrit.k8s.operator.server.ValidatingAdmissionWebhookServlet;
 import com.google.inject.Singleton;
-import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.Status;
 import io.fabric8.kubernetes.api.model.StatusBuilder;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.List;
+import java.util.Optional;
 import org.eclipse.jgit.errors.ConfigInvalidException;
 import org.eclipse.jgit.lib.Config;
 
 @Singleton
-public class GerritMaintenanceAdmissionWebhook extends ValidatingAdmissionWebhookServlet {
+public class GerritMaintenanceAdmissionWebhook
+    extends ValidatingAdmissionWebhookServlet<GerritMaintenance> {
   private static final long serialVersionUID = 1L;
 
+  public GerritMaintenanceAdmissionWebhook() {
+    super(GerritMaintenance.class);
+  }
+
   @Override
-  public Status validate(HasMetadata resource) {
-    if (!(resource instanceof GerritMaintenance)) {
-      return new StatusBuilder()
-          .withCode(HttpServletResponse.SC_BAD_REQUEST)
-          .withMessage("Invalid resource. Expected GerritMaintenance-resource for validation.")
-          .build();
-    }
+  protected Optional<String> getValidationCacheScope() {
+    return Optional.of("");
+  }
 
-    GerritMaintenance gm = (GerritMaintenance) resource;
+  @Override
+  public Status validate(GerritMaintenance gm) {
     List<GitGcTask> gcTasks = gm.getSpec().getProjects().getGc();
     try {
       GerritMaintenanceCronJobs.checkForConflict(gcTasks);
@@ -20,7 +20,6 @@ import com.google.gerrit.k8s.operator.api.model.gitgc.GitGarbageCollection;
 import com.google.gerrit.k8s.operator.server.ValidatingAdmissionWebhookServlet;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
-import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.Status;
 import io.fabric8.kubernetes.api.model.StatusBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
@@ -33,7 +32,7 @@ import java.util.stream.Collectors;
 
 @Singleton
 @Deprecated
-public class GitGcAdmissionWebhook extends ValidatingAdmissionWebhookServlet {
+public class GitGcAdmissionWebhook extends ValidatingAdmissionWebhookServlet<GitGarbageCollection> {
   private static final FluentLogger logger = FluentLogger.forEnclosingClass();
   private static final long serialVersionUID = 1L;
   private static final Status OK_STATUS =
@@ -43,19 +42,12 @@ public class GitGcAdmissionWebhook extends ValidatingAdmissionWebhookServlet {
 
   @Inject
   public GitGcAdmissionWebhook(KubernetesClient client) {
+    super(GitGarbageCollection.class);
     this.client = client;
   }
 
   @Override
-  public Status validate(HasMetadata resource) {
-    if (!(resource instanceof GitGarbageCollection)) {
-      return new StatusBuilder()
-          .withCode(HttpServletResponse.SC_BAD_REQUEST)
-          .withMessage("Invalid resource. Expected GitGarbageCollection-resource for validation.")
-          .build();
-    }
-
-    GitGarbageCollection gitGc = (GitGarbageCollection) resource;
+  public Status validate(GitGarbageCollection gitGc) {
 
     String gitGcUid = gitGc.getMetadata().getUid();
     List<GitGarbageCollection> gitGcs =
@@ -21,6 +21,7 @@ import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.model.annotation.Group;
 import io.fabric8.kubernetes.model.annotation.ShortNames;
 import io.fabric8.kubernetes.model.annotation.Version;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -50,4 +51,14 @@ public class Gerrit extends CustomResource<GerritSpec, GerritStatus> implements
         .filter(s -> s != null)
         .collect(Collectors.toSet());
   }
+
+  @JsonIgnore
+  public Set<String> getReferencedSecretNames() {
+    Set<String> secretNames = new HashSet<>(getModuleDataSecretNames());
+    String secretRef = getSpec().getSecretRef();
+    if (secretRef != null && !secretRef.isBlank()) {
+      secretNames.add(secretRef);
+    }
+    return secretNames;
+  }
 }
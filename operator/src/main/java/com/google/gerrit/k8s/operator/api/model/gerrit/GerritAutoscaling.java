@@ -0,0 +1,130 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.api.model.gerrit;
+
+import io.fabric8.generator.annotation.Max;
+import io.fabric8.generator.annotation.Min;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class GerritAutoscaling {
+  private boolean enabled = false;
+
+  @Min(1)
+  private Integer minReplicas;
+
+  @Min(1)
+  private Integer maxReplicas;
+
+  @Min(1)
+  @Max(100)
+  private int targetCpuUtilizationPercentage = 80;
+
+  private List<GerritAutoscalingMetric> metrics = new ArrayList<>();
+
+  @Min(0)
+  private int scaleDownStabilizationWindowSeconds = 300;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public Integer getMinReplicas() {
+    return minReplicas;
+  }
+
+  public void setMinReplicas(Integer minReplicas) {
+    this.minReplicas = minReplicas;
+  }
+
+  public Integer getMaxReplicas() {
+    return maxReplicas;
+  }
+
+  public void setMaxReplicas(Integer maxReplicas) {
+    this.maxReplicas = maxReplicas;
+  }
+
+  public int getTargetCpuUtilizationPercentage() {
+    return targetCpuUtilizationPercentage;
+  }
+
+  public void setTargetCpuUtilizationPercentage(int targetCpuUtilizationPercentage) {
+    this.targetCpuUtilizationPercentage = targetCpuUtilizationPercentage;
+  }
+
+  public List<GerritAutoscalingMetric> getMetrics() {
+    return metrics;
+  }
+
+  public void setMetrics(List<GerritAutoscalingMetric> metrics) {
+    this.metrics = metrics;
+  }
+
+  public int getScaleDownStabilizationWindowSeconds() {
+    return scaleDownStabilizationWindowSeconds;
+  }
+
+  public void setScaleDownStabilizationWindowSeconds(int scaleDownStabilizationWindowSeconds) {
+    this.scaleDownStabilizationWindowSeconds = scaleDownStabilizationWindowSeconds;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(
+        enabled,
+        maxReplicas,
+        metrics,
+        minReplicas,
+        scaleDownStabilizationWindowSeconds,
+        targetCpuUtilizationPercentage);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) return true;
+    if (obj == null) return false;
+    if (getClass() != obj.getClass()) return false;
+    GerritAutoscaling other = (GerritAutoscaling) obj;
+    return enabled == other.enabled
+        && Objects.equals(maxReplicas, other.maxReplicas)
+        && Objects.equals(metrics, other.metrics)
+        && Objects.equals(minReplicas, other.minReplicas)
+        && scaleDownStabilizationWindowSeconds == other.scaleDownStabilizationWindowSeconds
+        && targetCpuUtilizationPercentage == other.targetCpuUtilizationPercentage;
+  }
+
+  @Override
+  public String toString() {
+    return "GerritAutoscaling [enabled="
+        + enabled
+        + ", minReplicas="
+        + minReplicas
+        + ", maxReplicas="
+        + maxReplicas
+        + ", targetCpuUtilizationPercentage="
+        + targetCpuUtilizationPercentage
+        + ", metrics="
+        + metrics
+        + ", scaleDownStabilizationWindowSeconds="
+        + scaleDownStabilizationWindowSeconds
+        + "]";
+  }
+}
@@ -0,0 +1,59 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.api.model.gerrit;
+
+import io.fabric8.generator.annotation.Required;
+import io.fabric8.kubernetes.api.model.Quantity;
+import java.util.Objects;
+
+public class GerritAutoscalingMetric {
+  @Required private String name;
+  @Required private Quantity averageValue;
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public Quantity getAverageValue() {
+    return averageValue;
+  }
+
+  public void setAverageValue(Quantity averageValue) {
+    this.averageValue = averageValue;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(averageValue, name);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) return true;
+    if (obj == null) return false;
+    if (getClass() != obj.getClass()) return false;
+    GerritAutoscalingMetric other = (GerritAutoscalingMetric) obj;
+    return Objects.equals(averageValue, other.averageValue) && Objects.equals(name, other.name);
+  }
+
+  @Override
+  public String toString() {
+    return "GerritAutoscalingMetric [name=" + name + ", averageValue=" + averageValue + "]";
+  }
+}
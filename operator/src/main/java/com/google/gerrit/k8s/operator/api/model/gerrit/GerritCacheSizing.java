@@ -0,0 +1,69 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.api.model.gerrit;
+
+import io.fabric8.generator.annotation.Max;
+import io.fabric8.generator.annotation.Min;
+import java.util.Objects;
+
+public class GerritCacheSizing {
+  private Workload workload = Workload.NONE;
+
+  @Min(0)
+  @Max(80)
+  private int diskPercentage = 30;
+
+  public Workload getWorkload() {
+    return workload;
+  }
+
+  public void setWorkload(Workload workload) {
+    this.workload = workload;
+  }
+
+  public int getDiskPercentage() {
+    return diskPercentage;
+  }
+
+  public void setDiskPercentage(int diskPercentage) {
+    this.diskPercentage = diskPercentage;
+  }
+
+  public enum Workload {
+    NONE,
+    REVIEW_HEAVY,
+    FETCH_HEAVY,
+    REPLICA
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(diskPercentage, workload);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) return true;
+    if (obj == null) return false;
+    if (getClass() != obj.getClass()) return false;
+    GerritCacheSizing other = (GerritCacheSizing) obj;
+    return diskPercentage == other.diskPercentage && workload == other.workload;
+  }
+
+  @Override
+  public String toString() {
+    return "GerritCacheSizing [workload=" + workload + ", diskPercentage=" + diskPercentage + "]";
+  }
+}
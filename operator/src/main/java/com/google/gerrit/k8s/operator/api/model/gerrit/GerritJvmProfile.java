@@ -0,0 +1,85 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.api.model.gerrit;
+
+import io.fabric8.generator.annotation.Max;
+import io.fabric8.generator.annotation.Min;
+import java.util.Objects;
+
+public class GerritJvmProfile {
+  private boolean enabled;
+  private GarbageCollector garbageCollector = GarbageCollector.AUTO;
+
+  @Min(0)
+  @Max(50)
+  private int offHeapPackCachePercentage = 10;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public GarbageCollector getGarbageCollector() {
+    return garbageCollector;
+  }
+
+  public void setGarbageCollector(GarbageCollector garbageCollector) {
+    this.garbageCollector = garbageCollector;
+  }
+
+  public int getOffHeapPackCachePercentage() {
+    return offHeapPackCachePercentage;
+  }
+
+  public void setOffHeapPackCachePercentage(int offHeapPackCachePercentage) {
+    this.offHeapPackCachePercentage = offHeapPackCachePercentage;
+  }
+
+  public enum GarbageCollector {
+    AUTO,
+    G1,
+    ZGC
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(enabled, garbageCollector, offHeapPackCachePercentage);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) return true;
+    if (obj == null) return false;
+    if (getClass() != obj.getClass()) return false;
+    GerritJvmProfile other = (GerritJvmProfile) obj;
+    return enabled == other.enabled
+        && garbageCollector == other.garbageCollector
+        && offHeapPackCachePercentage == other.offHeapPackCachePercentage;
+  }
+
+  @Override
+  public String toString() {
+    return "GerritJvmProfile [enabled="
+        + enabled
+        + ", garbageCollector="
+        + garbageCollector
+        + ", offHeapPackCachePercentage="
+        + offHeapPackCachePercentage
+        + "]";
+  }
+}
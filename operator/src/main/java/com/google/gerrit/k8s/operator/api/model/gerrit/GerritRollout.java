@@ -0,0 +1,84 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.api.model.gerrit;
+
+import io.fabric8.generator.annotation.Min;
+import java.util.Objects;
+
+public class GerritRollout {
+  private RolloutStrategy strategy = RolloutStrategy.KUBERNETES;
+
+  @Min(0)
+  private int warmUpSeconds = 300;
+
+  @Min(1)
+  private int progressDeadlineSeconds = 600;
+
+  public RolloutStrategy getStrategy() {
+    return strategy;
+  }
+
+  public void setStrategy(RolloutStrategy strategy) {
+    this.strategy = strategy;
+  }
+
+  public int getWarmUpSeconds() {
+    return warmUpSeconds;
+  }
+
+  public void setWarmUpSeconds(int warmUpSeconds) {
+    this.warmUpSeconds = warmUpSeconds;
+  }
+
+  public int getProgressDeadlineSeconds() {
+    return progressDeadlineSeconds;
+  }
+
+  public void setProgressDeadlineSeconds(int progressDeadlineSeconds) {
+    this.progressDeadlineSeconds = progressDeadlineSeconds;
+  }
+
+  public enum RolloutStrategy {
+    KUBERNETES,
+    PROGRESSIVE
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(progressDeadlineSeconds, strategy, warmUpSeconds);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) return true;
+    if (obj == null) return false;
+    if (getClass() != obj.getClass()) return false;
+    GerritRollout other = (GerritRollout) obj;
+    return progressDeadlineSeconds == other.progressDeadlineSeconds
+        && strategy == other.strategy
+        && warmUpSeconds == other.warmUpSeconds;
+  }
+
+  @Override
+  public String toString() {
+    return "GerritRollout [strategy="
+        + strategy
+        + ", warmUpSeconds="
+        + warmUpSeconds
+        + ", progressDeadlineSeconds="
+        + progressDeadlineSeconds
+        + "]";
+  }
+}
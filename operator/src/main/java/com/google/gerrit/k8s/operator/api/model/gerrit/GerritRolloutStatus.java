@@ -0,0 +1,116 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.api.model.gerrit;
+
+import java.util.Objects;
+
+public class GerritRolloutStatus {
+  private String revision;
+  private RolloutPhase phase;
+  private Integer partition;
+  private int updatedReplicas;
+  private String stepStartedAt;
+  private String message;
+
+  public String getRevision() {
+    return revision;
+  }
+
+  public void setRevision(String revision) {
+    this.revision = revision;
+  }
+
+  public RolloutPhase getPhase() {
+    return phase;
+  }
+
+  public void setPhase(RolloutPhase phase) {
+    this.phase = phase;
+  }
+
+  public Integer getPartition() {
+    return partition;
+  }
+
+  public void setPartition(Integer partition) {
+    this.partition = partition;
+  }
+
+  public int getUpdatedReplicas() {
+    return updatedReplicas;
+  }
+
+  public void setUpdatedReplicas(int updatedReplicas) {
+    this.updatedReplicas = updatedReplicas;
+  }
+
+  public String getStepStartedAt() {
+    return stepStartedAt;
+  }
+
+  public void setStepStartedAt(String stepStartedAt) {
+    this.stepStartedAt = stepStartedAt;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public void setMessage(String message) {
+    this.message = message;
+  }
+
+  public enum RolloutPhase {
+    COMPLETED,
+    PROGRESSING,
+    FAILED
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(message, partition, phase, revision, stepStartedAt, updatedReplicas);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) return true;
+    if (obj == null) return false;
+    if (getClass() != obj.getClass()) return false;
+    GerritRolloutStatus other = (GerritRolloutStatus) obj;
+    return Objects.equals(message, other.message)
+        && Objects.equals(partition, other.partition)
+        && phase == other.phase
+        && Objects.equals(revision, other.revision)
+        && Objects.equals(stepStartedAt, other.stepStartedAt)
+        && updatedReplicas == other.updatedReplicas;
+  }
+
+  @Override
+  public String toString() {
+    return "GerritRolloutStatus [revision="
+        + revision
+        + ", phase="
+        + phase
+        + ", partition="
+        + partition
+        + ", updatedReplicas="
+        + updatedReplicas
+        + ", stepStartedAt="
+        + stepStartedAt
+        + ", message="
+        + message
+        + "]";
+  }
+}
@@ -21,6 +21,8 @@ import java.util.Objects;
 public class GerritSite implements Serializable {
   private static final long serialVersionUID = 1L;
   Quantity size;
+  GerritSiteVolume cache;
+  GerritSiteVolume index;
 
   public Quantity getSize() {
     return size;
@@ -30,9 +32,25 @@ public class GerritSite implements Serializable {
     this.size = size;
   }
 
+  public GerritSiteVolume getCache() {
+    return cache;
+  }
+
+  public void setCache(GerritSiteVolume cache) {
+    this.cache = cache;
+  }
+
+  public GerritSiteVolume getIndex() {
+    return index;
+  }
+
+  public void setIndex(GerritSiteVolume index) {
+    this.index = index;
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(size);
+    return Objects.hash(cache, index, size);
   }
 
   @Override
@@ -41,11 +59,13 @@ public class GerritSite implements Serializable {
     if (obj == null) return false;
     if (getClass() != obj.getClass()) return false;
     GerritSite other = (GerritSite) obj;
-    return Objects.equals(size, other.size);
+    return Objects.equals(cache, other.cache)
+        && Objects.equals(index, other.index)
+        && Objects.equals(size, other.size);
   }
 
   @Override
   public String toString() {
-    return "GerritSite [size=" + size + "]";
+    return "GerritSite [size=" + size + ", cache=" + cache + ", index=" + index + "]";
   }
 }
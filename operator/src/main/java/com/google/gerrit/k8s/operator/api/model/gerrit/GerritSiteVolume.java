@@ -0,0 +1,85 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.api.model.gerrit;
+
+import io.fabric8.generator.annotation.Required;
+import io.fabric8.kubernetes.api.model.Quantity;
+import java.io.Serializable;
+import java.util.Objects;
+
+public class GerritSiteVolume implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private VolumeType type = VolumeType.PERSISTENT;
+  private String storageClassName;
+  @Required private Quantity size;
+
+  public VolumeType getType() {
+    return type;
+  }
+
+  public void setType(VolumeType type) {
+    this.type = type;
+  }
+
+  public String getStorageClassName() {
+    return storageClassName;
+  }
+
+  public void setStorageClassName(String storageClassName) {
+    this.storageClassName = storageClassName;
+  }
+
+  public Quantity getSize() {
+    return size;
+  }
+
+  public void setSize(Quantity size) {
+    this.size = size;
+  }
+
+  public enum VolumeType {
+    PERSISTENT,
+    EPHEMERAL,
+    EMPTY_DIR
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(size, storageClassName, type);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) return true;
+    if (obj == null) return false;
+    if (getClass() != obj.getClass()) return false;
+    GerritSiteVolume other = (GerritSiteVolume) obj;
+    return Objects.equals(size, other.size)
+        && Objects.equals(storageClassName, other.storageClassName)
+        && type == other.type;
+  }
+
+  @Override
+  public String toString() {
+    return "GerritSiteVolume [type="
+        + type
+        + ", storageClassName="
+        + storageClassName
+        + ", size="
+        + size
+        + "]";
+  }
+}
@@ -17,11 +17,14 @@ package com.google.gerrit.k8s.operator.api.model.gerrit;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 public class GerritStatus {
   private boolean ready = false;
   private Map<String, String> appliedConfigMapVersions = new HashMap<>();
   private Map<String, String> appliedSecretVersions = new HashMap<>();
+  private Map<String, String> cacheBudgets = new TreeMap<>();
+  private GerritRolloutStatus rollout;
 
   public boolean isReady() {
     return ready;
@@ -47,9 +50,26 @@ public class GerritStatus {
     this.appliedSecretVersions = appliedSecretVersions;
   }
 
+  public Map<String, String> getCacheBudgets() {
+    return cacheBudgets;
+  }
+
+  public void setCacheBudgets(Map<String, String> cacheBudgets) {
+    this.cacheBudgets = cacheBudgets;
+  }
+
+  public GerritRolloutStatus getRollout() {
+    return rollout;
+  }
+
+  public void setRollout(GerritRolloutStatus rollout) {
+    this.rollout = rollout;
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(appliedConfigMapVersions, appliedSecretVersions, ready);
+    return Objects.hash(
+        appliedConfigMapVersions, appliedSecretVersions, cacheBudgets, ready, rollout);
   }
 
   @Override
@@ -60,7 +80,9 @@ public class GerritStatus {
     GerritStatus other = (GerritStatus) obj;
     return Objects.equals(appliedConfigMapVersions, other.appliedConfigMapVersions)
         && Objects.equals(appliedSecretVersions, other.appliedSecretVersions)
-        && ready == other.ready;
+        && Objects.equals(cacheBudgets, other.cacheBudgets)
+        && ready == other.ready
+        && Objects.equals(rollout, other.rollout);
   }
 
   @Override
@@ -71,6 +93,10 @@ public class GerritStatus {
         + appliedConfigMapVersions
         + ", appliedSecretVersions="
         + appliedSecretVersions
+        + ", cacheBudgets="
+        + cacheBudgets
+        + ", rollout="
+        + rollout
         + "]";
   }
 }
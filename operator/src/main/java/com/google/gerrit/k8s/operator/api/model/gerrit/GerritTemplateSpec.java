@@ -41,6 +41,8 @@ public class GerritTemplateSpec {
 
   private int replicas = 1;
   private int updatePartition = 0;
+  private GerritAutoscaling autoscaling = new GerritAutoscaling();
+  private GerritRollout rollout = new GerritRollout();
 
   private ResourceRequirements resources;
 
@@ -61,6 +63,8 @@ public class GerritTemplateSpec {
   private GerritMode mode = GerritMode.PRIMARY;
 
   private GerritDebugConfig debug = new GerritDebugConfig();
+  private GerritJvmProfile jvmProfile = new GerritJvmProfile();
+  private GerritCacheSizing cacheSizing = new GerritCacheSizing();
 
   public GerritTemplateSpec() {}
 
@@ -73,6 +77,8 @@ public class GerritTemplateSpec {
 
     this.replicas = templateSpec.replicas;
     this.updatePartition = templateSpec.updatePartition;
+    this.autoscaling = templateSpec.autoscaling;
+    this.rollout = templateSpec.rollout;
 
     this.resources = templateSpec.resources;
 
@@ -93,6 +99,8 @@ public class GerritTemplateSpec {
     this.mode = templateSpec.mode;
 
     this.debug = templateSpec.debug;
+    this.jvmProfile = templateSpec.jvmProfile;
+    this.cacheSizing = templateSpec.cacheSizing;
   }
 
   public String getServiceAccount() {
@@ -152,6 +160,22 @@ public class GerritTemplateSpec {
     this.updatePartition = updatePartition;
   }
 
+  public GerritAutoscaling getAutoscaling() {
+    return autoscaling;
+  }
+
+  public void setAutoscaling(GerritAutoscaling autoscaling) {
+    this.autoscaling = autoscaling;
+  }
+
+  public GerritRollout getRollout() {
+    return rollout;
+  }
+
+  public void setRollout(GerritRollout rollout) {
+    this.rollout = rollout;
+  }
+
   public ResourceRequirements getResources() {
     return resources;
   }
@@ -274,6 +298,22 @@ public class GerritTemplateSpec {
     this.debug = debug;
   }
 
+  public GerritJvmProfile getJvmProfile() {
+    return jvmProfile;
+  }
+
+  public void setJvmProfile(GerritJvmProfile jvmProfile) {
+    this.jvmProfile = jvmProfile;
+  }
+
+  public GerritCacheSizing getCacheSizing() {
+    return cacheSizing;
+  }
+
+  public void setCacheSizing(GerritCacheSizing cacheSizing) {
+    this.cacheSizing = cacheSizing;
+  }
+
   public enum GerritMode {
     PRIMARY,
     REPLICA
@@ -286,14 +326,26 @@ public class GerritTemplateSpec {
         && OperatorContext.getClusterMode() == ClusterMode.HIGH_AVAILABILITY;
   }
 
+  /**
+   * Whether the number of replicas is managed by a HorizontalPodAutoscaler. Only Gerrit replicas
+   * can be autoscaled.
+   */
+  @JsonIgnore
+  public boolean isAutoscaled() {
+    return getMode().equals(GerritMode.REPLICA) && getAutoscaling().isEnabled();
+  }
+
   @Override
   public int hashCode() {
     return Objects.hash(
         affinity,
+        autoscaling,
+        cacheSizing,
         configFiles,
         debug,
         envVars,
         gracefulStopTimeout,
+        jvmProfile,
         libs,
         livenessProbe,
         mode,
@@ -302,6 +354,7 @@ public class GerritTemplateSpec {
         readinessProbe,
         replicas,
         resources,
+        rollout,
         secretRef,
         service,
         serviceAccount,
@@ -319,10 +372,13 @@ public class GerritTemplateSpec {
     if (getClass() != obj.getClass()) return false;
     GerritTemplateSpec other = (GerritTemplateSpec) obj;
     return Objects.equals(affinity, other.affinity)
+        && Objects.equals(autoscaling, other.autoscaling)
+        && Objects.equals(cacheSizing, other.cacheSizing)
         && Objects.equals(configFiles, other.configFiles)
         && Objects.equals(envVars, other.envVars)
         && Objects.equals(debug, other.debug)
         && gracefulStopTimeout == other.gracefulStopTimeout
+        && Objects.equals(jvmProfile, other.jvmProfile)
         && Objects.equals(libs, other.libs)
         && Objects.equals(livenessProbe, other.livenessProbe)
         && mode == other.mode
@@ -331,6 +387,7 @@ public class GerritTemplateSpec {
         && Objects.equals(readinessProbe, other.readinessProbe)
         && replicas == other.replicas
         && Objects.equals(resources, other.resources)
+        && Objects.equals(rollout, other.rollout)
         && Objects.equals(secretRef, other.secretRef)
         && Objects.equals(service, other.service)
         && Objects.equals(serviceAccount, other.serviceAccount)
@@ -357,6 +414,10 @@ public class GerritTemplateSpec {
         + replicas
         + ", updatePartition="
         + updatePartition
+        + ", autoscaling="
+        + autoscaling
+        + ", rollout="
+        + rollout
         + ", resources="
         + resources
         + ", startupProbe="
@@ -385,6 +446,10 @@ public class GerritTemplateSpec {
         + mode
         + ", debug="
         + debug
+        + ", jvmProfile="
+        + jvmProfile
+        + ", cacheSizing="
+        + cacheSizing
         + "]";
   }
 }
@@ -22,6 +22,11 @@ import java.util.Map;
 public class GerritClusterLabelFactory {
   private static final FluentLogger logger = FluentLogger.forEnclosingClass();
 
+  public static final String MANAGED_BY_LABEL = "app.kubernetes.io/managed-by";
+  public static final String MANAGED_BY_VALUE = "gerrit-operator";
+  public static final String MANAGED_RESOURCES_SELECTOR = MANAGED_BY_LABEL + "=" + MANAGED_BY_VALUE;
+  public static final String REFERENCED_SECRET_LABEL = "gerritoperator.google.com/referenced";
+
   public static Map<String, String> create(
       GerritCluster cluster, String component, String createdBy) {
     return create(cluster.getMetadata().getName(), component, createdBy);
@@ -44,11 +49,28 @@ public class GerritClusterLabelFactory {
     labels.put("app.kubernetes.io/instance", instance);
     labels.put("app.kubernetes.io/component", component);
     labels.put("app.kubernetes.io/part-of", instance);
-    labels.put("app.kubernetes.io/managed-by", "gerrit-operator");
+    labels.put(MANAGED_BY_LABEL, MANAGED_BY_VALUE);
 
     return labels;
   }
 
+  /**
+   * Label selector matching all resources created by the operator. Informers for secondary
+   * resources should use it to avoid caching unrelated resources in the watched namespaces.
+   */
+  public static String managedResourcesSelector() {
+    return MANAGED_RESOURCES_SELECTOR;
+  }
+
+  /**
+   * Label selector matching user-provided Secrets that are referenced by a resource managed by the
+   * operator. The operator adds the label to such Secrets, when reconciling the resource
+   * referencing them.
+   */
+  public static String referencedSecretsSelector() {
+    return String.format("%s=true", REFERENCED_SECRET_LABEL);
+  }
+
   private static String version() {
     String version = GerritCluster.class.getPackage().getImplementationVersion();
     if (version == null || version.isBlank()) {
@@ -26,6 +26,7 @@ import com.google.gerrit.k8s.operator.cluster.dependent.ClusterManagedGerrit;
 import com.google.gerrit.k8s.operator.cluster.dependent.ClusterManagedGerritCondition;
 import com.google.gerrit.k8s.operator.cluster.dependent.ClusterManagedGerritNetwork;
 import com.google.gerrit.k8s.operator.cluster.dependent.ClusterManagedGerritNetworkCondition;
+import com.google.gerrit.k8s.operator.util.StatusUpdates;
 import com.google.inject.Singleton;
 import io.javaoperatorsdk.operator.api.config.informer.InformerConfiguration;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
@@ -87,7 +88,8 @@ public class GerritClusterMultisiteReconciler
     members.put(
         "gerrit",
         managedGerrits.stream().map(g -> g.getMetadata().getName()).collect(Collectors.toList()));
-    return UpdateControl.patchStatus(updateStatus(gerritCluster, members));
+    GerritClusterStatus previousStatus = StatusUpdates.snapshot(context.getClient(), gerritCluster);
+    return StatusUpdates.patchStatusIfChanged(updateStatus(gerritCluster, members), previousStatus);
   }
 
   private GerritCluster updateStatus(
@@ -44,6 +44,7 @@ import com.google.gerrit.k8s.operator.cluster.dependent.NfsIdmapdConfigMap;
 import com.google.gerrit.k8s.operator.cluster.dependent.NfsWorkaroundCondition;
 import com.google.gerrit.k8s.operator.cluster.dependent.SharedPVC;
 import com.google.gerrit.k8s.operator.cluster.dependent.SharedPVCCondition;
+import com.google.gerrit.k8s.operator.util.StatusUpdates;
 import com.google.inject.Singleton;
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
@@ -113,11 +114,17 @@ public class GerritClusterReconciler
   public Map<String, EventSource> prepareEventSources(EventSourceContext<GerritCluster> context) {
     InformerEventSource<ConfigMap, GerritCluster> cmEventSource =
         new InformerEventSource<>(
-            InformerConfiguration.from(ConfigMap.class, context).build(), context);
+            InformerConfiguration.from(ConfigMap.class, context)
+                .withLabelSelector(GerritClusterLabelFactory.managedResourcesSelector())
+                .build(),
+            context);
 
     InformerEventSource<PersistentVolumeClaim, GerritCluster> pvcEventSource =
         new InformerEventSource<>(
-            InformerConfiguration.from(PersistentVolumeClaim.class, context).build(), context);
+            InformerConfiguration.from(PersistentVolumeClaim.class, context)
+                .withLabelSelector(GerritClusterLabelFactory.managedResourcesSelector())
+                .build(),
+            context);
 
     InformerEventSource<Gerrit, GerritCluster> clusterManagedGerritEventSource =
         new InformerEventSource<>(
@@ -169,7 +176,8 @@ public class GerritClusterReconciler
     if (managedReceiver != null) {
       members.put("receiver", List.of(managedReceiver.getMetadata().getName()));
     }
-    return UpdateControl.patchStatus(updateStatus(gerritCluster, members));
+    GerritClusterStatus previousStatus = StatusUpdates.snapshot(context.getClient(), gerritCluster);
+    return StatusUpdates.patchStatusIfChanged(updateStatus(gerritCluster, members), previousStatus);
   }
 
   private GerritCluster updateStatus(
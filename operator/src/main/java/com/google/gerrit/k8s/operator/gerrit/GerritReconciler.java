@@ -18,19 +18,34 @@ import static com.google.gerrit.k8s.operator.gerrit.GerritReconciler.CONFIG_MAP_
 import static com.google.gerrit.k8s.operator.gerrit.GerritReconciler.GERRIT_SERVICE_EVENT_SOURCE;
 
 import com.google.common.flogger.FluentLogger;
+import com.google.gerrit.k8s.operator.EventCoalescingSettings;
 import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritRolloutStatus;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritRolloutStatus.RolloutPhase;
 import com.google.gerrit.k8s.operator.api.model.gerrit.GerritStatus;
+import com.google.gerrit.k8s.operator.cluster.GerritClusterLabelFactory;
+import com.google.gerrit.k8s.operator.gerrit.config.CacheProfile;
+import com.google.gerrit.k8s.operator.gerrit.config.InvalidGerritConfigException;
 import com.google.gerrit.k8s.operator.gerrit.dependent.FluentBitConfigMap;
+import com.google.gerrit.k8s.operator.gerrit.dependent.GerritAutoscalingCondition;
 import com.google.gerrit.k8s.operator.gerrit.dependent.GerritConfigMap;
 import com.google.gerrit.k8s.operator.gerrit.dependent.GerritHeadlessService;
+import com.google.gerrit.k8s.operator.gerrit.dependent.GerritHorizontalPodAutoscaler;
 import com.google.gerrit.k8s.operator.gerrit.dependent.GerritInitConfigMap;
 import com.google.gerrit.k8s.operator.gerrit.dependent.GerritService;
 import com.google.gerrit.k8s.operator.gerrit.dependent.GerritStatefulSet;
+import com.google.gerrit.k8s.operator.util.CoalescingEventSource;
+import com.google.gerrit.k8s.operator.util.MountedDataDigest;
+import com.google.gerrit.k8s.operator.util.ReferencedSecretLabeler;
+import com.google.gerrit.k8s.operator.util.SecondaryResourceLookup;
+import com.google.gerrit.k8s.operator.util.StatusUpdates;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.api.config.informer.InformerConfiguration;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
@@ -45,7 +60,10 @@ import io.javaoperatorsdk.operator.processing.event.ResourceID;
 import io.javaoperatorsdk.operator.processing.event.source.EventSource;
 import io.javaoperatorsdk.operator.processing.event.source.SecondaryToPrimaryMapper;
 import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -80,19 +98,35 @@ import java.util.stream.Collectors;
           name = "gerrit-service-headless",
           type = GerritHeadlessService.class,
           useEventSourceWithName = GERRIT_SERVICE_EVENT_SOURCE,
+          dependsOn = {"gerrit-statefulset"}),
+      @Dependent(
+          name = "gerrit-hpa",
+          type = GerritHorizontalPodAutoscaler.class,
+          reconcilePrecondition = GerritAutoscalingCondition.class,
           dependsOn = {"gerrit-statefulset"})
     })
 public class GerritReconciler implements Reconciler<Gerrit>, EventSourceInitializer<Gerrit> {
   public static final String GERRIT_SECRET_EVENT_SOURCE = "gerrit-secret-event-source";
+  public static final String GERRIT_SECRET_COALESCING_EVENT_SOURCE =
+      "gerrit-secret-coalescing-event-source";
   public static final String CONFIG_MAP_EVENT_SOURCE = "configmap-event-source";
   public static final String GERRIT_SERVICE_EVENT_SOURCE = "gerrit-service-event-source";
+  public static final String GERRIT_POD_EVENT_SOURCE = "gerrit-pod-event-source";
+  private static final String SECRET_REF_INDEX = "secret-ref-index";
   private static final FluentLogger logger = FluentLogger.forEnclosingClass();
 
   private final KubernetesClient client;
+  private final EventCoalescingSettings eventCoalescingSettings;
 
-  @Inject
   public GerritReconciler(KubernetesClient client) {
+    this(client, EventCoalescingSettings.DISABLED);
+  }
+
+  @Inject
+  public GerritReconciler(
+      KubernetesClient client, EventCoalescingSettings eventCoalescingSettings) {
     this.client = client;
+    this.eventCoalescingSettings = eventCoalescingSettings;
   }
 
   @Override
@@ -101,28 +135,80 @@ public class GerritReconciler implements Reconciler<Gerrit>, EventSourceInitiali
 
     InformerEventSource<ConfigMap, Gerrit> configmapEventSource =
         new InformerEventSource<>(
-            InformerConfiguration.from(ConfigMap.class, context).build(), context);
+            InformerConfiguration.from(ConfigMap.class, context)
+                .withLabelSelector(GerritClusterLabelFactory.managedResourcesSelector())
+                .build(),
+            context);
     eventSources.put(CONFIG_MAP_EVENT_SOURCE, configmapEventSource);
 
     InformerEventSource<Service, Gerrit> gerritServiceEventSource =
         new InformerEventSource<>(
-            InformerConfiguration.from(Service.class, context).build(), context);
+            InformerConfiguration.from(Service.class, context)
+                .withLabelSelector(GerritClusterLabelFactory.managedResourcesSelector())
+                .build(),
+            context);
     eventSources.put(GERRIT_SERVICE_EVENT_SOURCE, gerritServiceEventSource);
 
-    SecondaryToPrimaryMapper<Secret> secretMapper = new SecretToGerritMapper(context);
-    InformerEventSource<Secret, Gerrit> moduleMetaDataEventSource =
+    // The pods of Gerrits using a progressive rollout are watched, so that the next step of the
+    // rollout is started as soon as the updated pods become ready.
+    InformerEventSource<Pod, Gerrit> gerritPodEventSource =
         new InformerEventSource<>(
-            InformerConfiguration.from(Secret.class, context)
-                .withSecondaryToPrimaryMapper(secretMapper)
+            InformerConfiguration.from(Pod.class, context)
+                .withLabelSelector(GerritClusterLabelFactory.managedResourcesSelector())
+                .withSecondaryToPrimaryMapper(new PodToGerritMapper(context))
+                .withOnUpdateFilter(GerritReconciler::hasRolloutStateChanged)
                 .build(),
             context);
+    eventSources.put(GERRIT_POD_EVENT_SOURCE, gerritPodEventSource);
+
+    context
+        .getPrimaryCache()
+        .addIndexer(
+            SECRET_REF_INDEX,
+            gerrit ->
+                gerrit.getReferencedSecretNames().stream()
+                    .map(name -> secretIndexKey(name, gerrit.getMetadata().getNamespace()))
+                    .collect(Collectors.toList()));
+
+    SecondaryToPrimaryMapper<Secret> secretMapper = new SecretToGerritMapper(context);
+    InformerConfiguration.InformerConfigurationBuilder<Secret> secretConfig =
+        InformerConfiguration.from(Secret.class, context)
+            .withLabelSelector(GerritClusterLabelFactory.referencedSecretsSelector())
+            .withSecondaryToPrimaryMapper(secretMapper);
+    if (eventCoalescingSettings.isEnabled()) {
+      // Secrets are often rotated in bursts. Instead of propagating each event directly, which
+      // might restart Gerrit multiple times in a row, the Gerrits are reconciled once per window.
+      CoalescingEventSource coalescingEventSource =
+          new CoalescingEventSource(eventCoalescingSettings.getWindow());
+      secretConfig
+          .withOnAddFilter(
+              secret -> coalesce(coalescingEventSource, secretMapper.toPrimaryResourceIDs(secret)))
+          .withOnUpdateFilter(
+              (secret, oldSecret) ->
+                  coalesce(coalescingEventSource, secretMapper.toPrimaryResourceIDs(secret)))
+          .withOnDeleteFilter(
+              (secret, unknownState) ->
+                  coalesce(coalescingEventSource, secretMapper.toPrimaryResourceIDs(secret)));
+      eventSources.put(GERRIT_SECRET_COALESCING_EVENT_SOURCE, coalescingEventSource);
+    }
+    InformerEventSource<Secret, Gerrit> moduleMetaDataEventSource =
+        new InformerEventSource<>(secretConfig.build(), context);
     eventSources.put(GERRIT_SECRET_EVENT_SOURCE, moduleMetaDataEventSource);
     return eventSources;
   }
 
   @Override
   public UpdateControl<Gerrit> reconcile(Gerrit gerrit, Context<Gerrit> context) throws Exception {
-    return UpdateControl.patchStatus(updateStatus(gerrit, context));
+    GerritStatus previousStatus = StatusUpdates.snapshot(client, gerrit);
+    UpdateControl<Gerrit> updateControl =
+        StatusUpdates.patchStatusIfChanged(updateStatus(gerrit, context), previousStatus);
+    Instant now = Instant.now();
+    Optional<Instant> nextRolloutCheck = getNextRolloutCheck(gerrit, context, now);
+    if (nextRolloutCheck.isPresent()) {
+      Duration delay = Duration.between(now, nextRolloutCheck.get());
+      updateControl.rescheduleAfter(delay.isNegative() ? Duration.ZERO : delay);
+    }
+    return updateControl;
   }
 
   private Gerrit updateStatus(Gerrit gerrit, Context<Gerrit> context) {
@@ -138,105 +224,168 @@ public class GerritReconciler implements Reconciler<Gerrit>, EventSourceInitiali
       status.setReady(false);
     }
 
-    addConfigMapsStatus(gerrit, status);
+    addConfigMapsStatus(gerrit, context, status);
     addSecretsStatus(gerrit, context, status);
+    try {
+      status.setCacheBudgets(CacheProfile.of(gerrit).getBudgets());
+    } catch (InvalidGerritConfigException e) {
+      logger.atWarning().withCause(e).log("Unable to compute cache budgets");
+      status.setCacheBudgets(Map.of());
+    }
+    status.setRollout(getRolloutStatus(gerrit, context));
 
     gerrit.setStatus(status);
     return gerrit;
   }
 
-  public void addConfigMapsStatus(Gerrit gerrit, GerritStatus status) {
+  private GerritRolloutStatus getRolloutStatus(Gerrit gerrit, Context<Gerrit> context) {
+    if (!ProgressiveRollout.isEnabled(gerrit)) {
+      return null;
+    }
+    Optional<StatefulSet> sts = context.getSecondaryResource(StatefulSet.class);
+    if (sts.isEmpty()) {
+      return gerrit.getStatus() == null ? null : gerrit.getStatus().getRollout();
+    }
+    List<Pod> pods = ProgressiveRollout.isPending(sts.get()) ? getPods(gerrit, context) : List.of();
+    return ProgressiveRollout.evaluate(gerrit, sts.get(), pods, Instant.now());
+  }
+
+  private Optional<Instant> getNextRolloutCheck(
+      Gerrit gerrit, Context<Gerrit> context, Instant now) {
+    GerritRolloutStatus rollout = gerrit.getStatus().getRollout();
+    if (rollout == null || rollout.getPhase() != RolloutPhase.PROGRESSING) {
+      return Optional.empty();
+    }
+    Optional<StatefulSet> sts = context.getSecondaryResource(StatefulSet.class);
+    if (sts.isEmpty()) {
+      return Optional.empty();
+    }
+    return ProgressiveRollout.getNextCheck(
+        gerrit, sts.get(), getPods(gerrit, context), rollout, now);
+  }
+
+  private static List<Pod> getPods(Gerrit gerrit, Context<Gerrit> context) {
+    return SecondaryResourceLookup.list(
+        context,
+        Pod.class,
+        GERRIT_POD_EVENT_SOURCE,
+        gerrit.getMetadata().getNamespace(),
+        GerritStatefulSet.getSelectorLabels(gerrit));
+  }
+
+  /** Only changes of the revision or readiness of a pod affect the rollout. */
+  private static boolean hasRolloutStateChanged(Pod pod, Pod oldPod) {
+    return !Objects.equals(
+            pod.getMetadata().getLabels().get(ProgressiveRollout.REVISION_LABEL),
+            oldPod.getMetadata().getLabels().get(ProgressiveRollout.REVISION_LABEL))
+        || ProgressiveRollout.isReady(pod) != ProgressiveRollout.isReady(oldPod);
+  }
+
+  public void addConfigMapsStatus(Gerrit gerrit, Context<Gerrit> context, GerritStatus status) {
     Map<String, String> cmVersions = new HashMap<>();
-    cmVersions.put(
-        GerritConfigMap.getName(gerrit),
-        client
-            .configMaps()
-            .inNamespace(gerrit.getMetadata().getNamespace())
-            .withName(GerritConfigMap.getName(gerrit))
-            .get()
-            .getMetadata()
-            .getResourceVersion());
-
-    cmVersions.put(
-        GerritInitConfigMap.getName(gerrit),
-        client
-            .configMaps()
-            .inNamespace(gerrit.getMetadata().getNamespace())
-            .withName(GerritInitConfigMap.getName(gerrit))
-            .get()
-            .getMetadata()
-            .getResourceVersion());
-
-    logger.atFine().log("Adding ConfigMap versions: %s", cmVersions);
+    for (String configMapName :
+        List.of(GerritConfigMap.getName(gerrit), GerritInitConfigMap.getName(gerrit))) {
+      Optional<ConfigMap> configMap = getConfigMap(gerrit, configMapName, context);
+      if (configMap.isPresent()) {
+        cmVersions.put(configMapName, MountedDataDigest.of(configMap.get()));
+      }
+    }
+
+    logger.atFine().log("Adding ConfigMap digests: %s", cmVersions);
     status.setAppliedConfigMapVersions(cmVersions);
   }
 
   public void addSecretsStatus(Gerrit gerrit, Context<Gerrit> context, GerritStatus status) {
-    // GerritSecret
     Map<String, String> secretVersions = new HashMap<>();
-    String gerritSecretName = gerrit.getSpec().getSecretRef();
-    if (gerritSecretName != null && !gerritSecretName.isBlank()) {
-      Optional<Secret> gerritSecret =
-          Optional.ofNullable(
-              client
-                  .secrets()
-                  .inNamespace(gerrit.getMetadata().getNamespace())
-                  .withName(gerritSecretName)
-                  .get());
-      if (gerritSecret.isPresent()) {
-        secretVersions.put(gerritSecretName, gerritSecret.get().getMetadata().getResourceVersion());
+    for (String secretName : gerrit.getReferencedSecretNames()) {
+      Optional<Secret> secret = getSecret(gerrit, secretName, context);
+      if (secret.isPresent()) {
+        ReferencedSecretLabeler.ensureLabeled(client, secret.get());
+        secretVersions.put(secretName, MountedDataDigest.of(secret.get()));
       }
     }
 
-    // GerritModuleData secrets
-    for (String secretName : gerrit.getModuleDataSecretNames()) {
-      secretVersions.put(
-          secretName,
-          client
-              .secrets()
-              .inNamespace(gerrit.getMetadata().getNamespace())
-              .withName(secretName)
-              .get()
-              .getMetadata()
-              .getResourceVersion());
-    }
-
-    logger.atFine().log("Adding Secret versions: %s", secretVersions);
+    logger.atFine().log("Adding Secret digests: %s", secretVersions);
     status.setAppliedSecretVersions(secretVersions);
   }
 
-  private static class SecretToGerritMapper implements SecondaryToPrimaryMapper<Secret> {
+  public static Optional<ConfigMap> getConfigMap(
+      Gerrit gerrit, String name, Context<Gerrit> context) {
+    return SecondaryResourceLookup.get(
+        context,
+        ConfigMap.class,
+        CONFIG_MAP_EVENT_SOURCE,
+        gerrit.getMetadata().getNamespace(),
+        name);
+  }
+
+  public static Optional<Secret> getSecret(Gerrit gerrit, String name, Context<Gerrit> context) {
+    return SecondaryResourceLookup.get(
+        context,
+        Secret.class,
+        GERRIT_SECRET_EVENT_SOURCE,
+        gerrit.getMetadata().getNamespace(),
+        name);
+  }
+
+  /**
+   * Hands the event over to the coalescing event source. The informer event source must not
+   * propagate the event itself.
+   */
+  private static boolean coalesce(
+      CoalescingEventSource coalescingEventSource, Set<ResourceID> primaryResourceIDs) {
+    coalescingEventSource.trigger(primaryResourceIDs);
+    return false;
+  }
+
+  private static String secretIndexKey(String name, String namespace) {
+    return name + "#" + namespace;
+  }
+
+  private static class PodToGerritMapper implements SecondaryToPrimaryMapper<Pod> {
     private final EventSourceContext<Gerrit> context;
 
-    public SecretToGerritMapper(EventSourceContext<Gerrit> context) {
+    public PodToGerritMapper(EventSourceContext<Gerrit> context) {
       this.context = context;
     }
 
     @Override
-    public Set<ResourceID> toPrimaryResourceIDs(Secret secret) {
+    public Set<ResourceID> toPrimaryResourceIDs(Pod pod) {
+      Map<String, String> labels = pod.getMetadata().getLabels();
+      String gerritName = labels.get("app.kubernetes.io/instance");
+      if (gerritName == null
+          || !labels
+              .entrySet()
+              .containsAll(GerritStatefulSet.getSelectorLabels(gerritName).entrySet())) {
+        return Set.of();
+      }
+      ResourceID gerrit = new ResourceID(gerritName, pod.getMetadata().getNamespace());
       return context
           .getPrimaryCache()
-          .list(
-              gerrit ->
-                  isGerritSecretConfig(gerrit, secret) || isGerritModuleDataSecret(gerrit, secret))
-          .map(ResourceID::fromResource)
-          .collect(Collectors.toSet());
+          .get(gerrit)
+          .filter(ProgressiveRollout::isEnabled)
+          .map(g -> Set.of(gerrit))
+          .orElse(Set.of());
     }
+  }
+
+  static class SecretToGerritMapper implements SecondaryToPrimaryMapper<Secret> {
+    private final EventSourceContext<Gerrit> context;
 
-    private boolean isGerritSecretConfig(Gerrit gerrit, Secret secret) {
-      return gerrit.getSpec().getSecretRef().equals(secret.getMetadata().getName());
+    SecretToGerritMapper(EventSourceContext<Gerrit> context) {
+      this.context = context;
     }
 
-    private boolean isGerritModuleDataSecret(Gerrit gerrit, Secret secret) {
-      return gerrit.getSpec().getAllGerritModules().stream()
-          .anyMatch(
-              gerritModule ->
-                  Objects.nonNull(gerritModule.getModuleData())
-                      && Objects.nonNull(gerritModule.getModuleData().getSecretRef())
-                      && gerritModule
-                          .getModuleData()
-                          .getSecretRef()
-                          .equals(secret.getMetadata().getName()));
+    @Override
+    public Set<ResourceID> toPrimaryResourceIDs(Secret secret) {
+      return context
+          .getPrimaryCache()
+          .byIndex(
+              SECRET_REF_INDEX,
+              secretIndexKey(secret.getMetadata().getName(), secret.getMetadata().getNamespace()))
+          .stream()
+          .map(ResourceID::fromResource)
+          .collect(Collectors.toSet());
     }
   }
 }
@@ -0,0 +1,285 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.gerrit;
+
+import com.google.common.flogger.FluentLogger;
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritRollout;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritRollout.RolloutStrategy;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritRolloutStatus;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritRolloutStatus.RolloutPhase;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodCondition;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Rolls out a new revision of the pod template of a Gerrit one pod at a time, starting with the pod
+ * with the highest ordinal.
+ *
+ * <p>While no rollout is in progress, the partition of the StatefulSet is set to the number of
+ * replicas, so that changes of the pod template are not applied by Kubernetes. As soon as the
+ * StatefulSet reports a new update revision, the partition is lowered by one. The next pod is only
+ * updated, after all updated pods are ready, i.e. the healthcheck plugin used by the readiness
+ * probe reports them as healthy, and have been ready for the warm-up period. If an updated pod does
+ * not become ready within the progress deadline, the rollout is halted, so that at most one pod is
+ * running the faulty revision. Pods with an ordinal lower than the configured update partition are
+ * never updated.
+ *
+ * <p>The rollout is driven by events of the pods of the StatefulSet. Only the application of a new
+ * step to the StatefulSet, the end of the warm-up period and the progress deadline have to be
+ * checked at a given time.
+ */
+public class ProgressiveRollout {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  static final String REVISION_LABEL = "controller-revision-hash";
+
+  private ProgressiveRollout() {}
+
+  public static boolean isEnabled(Gerrit gerrit) {
+    return gerrit.getSpec().getRollout().getStrategy() == RolloutStrategy.PROGRESSIVE;
+  }
+
+  /** Whether Kubernetes reports pods, that still have to be updated to the latest revision. */
+  public static boolean isPending(StatefulSet sts) {
+    if (sts.getStatus() == null || sts.getStatus().getUpdateRevision() == null) {
+      return false;
+    }
+    return !sts.getStatus().getUpdateRevision().equals(sts.getStatus().getCurrentRevision());
+  }
+
+  /** The partition of the StatefulSet with the given number of replicas. */
+  public static int getPartition(Gerrit gerrit, int replicas) {
+    if (!isEnabled(gerrit)) {
+      return gerrit.getSpec().getUpdatePartition();
+    }
+    GerritRolloutStatus rollout =
+        gerrit.getStatus() == null ? null : gerrit.getStatus().getRollout();
+    if (rollout == null
+        || rollout.getPartition() == null
+        || rollout.getPhase() == RolloutPhase.COMPLETED) {
+      return replicas;
+    }
+    return clamp(rollout.getPartition(), getFloor(gerrit, replicas), replicas);
+  }
+
+  /**
+   * Computes the next state of the rollout from the previous state, the StatefulSet and its pods.
+   * The pods are only required, if a rollout is pending.
+   */
+  public static GerritRolloutStatus evaluate(
+      Gerrit gerrit, StatefulSet sts, List<Pod> pods, Instant now) {
+    GerritRollout config = gerrit.getSpec().getRollout();
+    GerritRolloutStatus previous =
+        gerrit.getStatus() == null ? null : gerrit.getStatus().getRollout();
+    int replicas = sts.getSpec().getReplicas() == null ? 0 : sts.getSpec().getReplicas();
+    int floor = getFloor(gerrit, replicas);
+
+    if (!isPending(sts)) {
+      GerritRolloutStatus completed = new GerritRolloutStatus();
+      completed.setRevision(sts.getStatus() == null ? null : sts.getStatus().getUpdateRevision());
+      completed.setPhase(RolloutPhase.COMPLETED);
+      completed.setPartition(replicas);
+      completed.setUpdatedReplicas(replicas);
+      return completed;
+    }
+
+    String revision = sts.getStatus().getUpdateRevision();
+    if (previous != null
+        && revision.equals(previous.getRevision())
+        && previous.getPhase() == RolloutPhase.FAILED) {
+      return previous;
+    }
+
+    GerritRolloutStatus next = new GerritRolloutStatus();
+    next.setRevision(revision);
+    next.setPhase(RolloutPhase.PROGRESSING);
+    next.setUpdatedReplicas(
+        (int) pods.stream().filter(pod -> revision.equals(getRevision(pod))).count());
+
+    boolean started =
+        previous != null
+            && revision.equals(previous.getRevision())
+            && previous.getPhase() == RolloutPhase.PROGRESSING
+            && previous.getPartition() != null
+            && previous.getStepStartedAt() != null;
+    int partition = started ? clamp(previous.getPartition(), floor, replicas) : replicas;
+    Instant stepStartedAt = started ? Instant.parse(previous.getStepStartedAt()) : now;
+
+    if (partition == replicas) {
+      if (replicas > floor) {
+        return nextStep(gerrit, sts, next, replicas - 1, now);
+      }
+      next.setPartition(partition);
+      next.setStepStartedAt(stepStartedAt.toString());
+      next.setMessage(String.format("Paused at update partition %d", floor));
+      return next;
+    }
+
+    next.setPartition(partition);
+    next.setStepStartedAt(stepStartedAt.toString());
+
+    Map<String, Pod> podsByName =
+        pods.stream()
+            .collect(Collectors.toMap(p -> p.getMetadata().getName(), Function.identity()));
+    for (int ordinal = replicas - 1; ordinal >= partition; ordinal--) {
+      String podName = getPodName(sts, ordinal);
+      Pod pod = podsByName.get(podName);
+      Optional<Instant> readySince =
+          pod != null && revision.equals(getRevision(pod)) ? getReadySince(pod) : Optional.empty();
+      if (readySince.isEmpty()) {
+        if (!now.isBefore(stepStartedAt.plusSeconds(config.getProgressDeadlineSeconds()))) {
+          next.setPhase(RolloutPhase.FAILED);
+          next.setMessage(
+              String.format(
+                  "Pod %s did not become healthy within %d seconds. Rollout halted.",
+                  podName, config.getProgressDeadlineSeconds()));
+          logger.atWarning().log(
+              "Rollout of revision %s of Gerrit %s/%s failed: %s",
+              revision,
+              gerrit.getMetadata().getNamespace(),
+              gerrit.getMetadata().getName(),
+              next.getMessage());
+          return next;
+        }
+        next.setMessage(String.format("Waiting for pod %s to become healthy", podName));
+        return next;
+      }
+      Instant warm = readySince.get().plusSeconds(config.getWarmUpSeconds());
+      if (now.isBefore(warm)) {
+        next.setMessage(String.format("Warming up pod %s until %s", podName, warm));
+        return next;
+      }
+    }
+
+    if (partition > floor) {
+      return nextStep(gerrit, sts, next, partition - 1, now);
+    }
+    next.setMessage(
+        floor > 0
+            ? String.format("Paused at update partition %d", floor)
+            : "Waiting for the StatefulSet to complete the rollout");
+    return next;
+  }
+
+  /**
+   * The time at which the given rollout has to be evaluated again, since the warm-up period of an
+   * updated pod ends or the progress deadline of the current step is reached. Other changes of the
+   * rollout are triggered by events of the pods.
+   *
+   * <p>A new step of the rollout is only recorded in the status of the Gerrit. Updates of the
+   * status do not trigger a reconciliation, thus the rollout has to be reconciled again right away
+   * to apply the partition of the step to the StatefulSet.
+   */
+  public static Optional<Instant> getNextCheck(
+      Gerrit gerrit, StatefulSet sts, List<Pod> pods, GerritRolloutStatus rollout, Instant now) {
+    if (rollout == null
+        || rollout.getPhase() != RolloutPhase.PROGRESSING
+        || rollout.getPartition() == null
+        || rollout.getStepStartedAt() == null) {
+      return Optional.empty();
+    }
+    if (!rollout.getPartition().equals(getAppliedPartition(sts))) {
+      return Optional.of(now);
+    }
+    GerritRollout config = gerrit.getSpec().getRollout();
+    int replicas = sts.getSpec().getReplicas() == null ? 0 : sts.getSpec().getReplicas();
+    Map<String, Pod> podsByName =
+        pods.stream()
+            .collect(Collectors.toMap(p -> p.getMetadata().getName(), Function.identity()));
+    Instant deadline =
+        Instant.parse(rollout.getStepStartedAt()).plusSeconds(config.getProgressDeadlineSeconds());
+    Optional<Instant> nextCheck = Optional.empty();
+    for (int ordinal = replicas - 1; ordinal >= rollout.getPartition(); ordinal--) {
+      Pod pod = podsByName.get(getPodName(sts, ordinal));
+      Optional<Instant> readySince =
+          pod != null && rollout.getRevision().equals(getRevision(pod))
+              ? getReadySince(pod)
+              : Optional.empty();
+      Instant check =
+          readySince.isPresent()
+              ? readySince.get().plusSeconds(config.getWarmUpSeconds())
+              : deadline;
+      if (check.isAfter(now) && (nextCheck.isEmpty() || check.isBefore(nextCheck.get()))) {
+        nextCheck = Optional.of(check);
+      }
+    }
+    return nextCheck;
+  }
+
+  private static Integer getAppliedPartition(StatefulSet sts) {
+    if (sts.getSpec().getUpdateStrategy() == null
+        || sts.getSpec().getUpdateStrategy().getRollingUpdate() == null) {
+      return null;
+    }
+    return sts.getSpec().getUpdateStrategy().getRollingUpdate().getPartition();
+  }
+
+  private static GerritRolloutStatus nextStep(
+      Gerrit gerrit, StatefulSet sts, GerritRolloutStatus next, int partition, Instant now) {
+    String podName = getPodName(sts, partition);
+    logger.atInfo().log(
+        "Rolling out revision %s of Gerrit %s/%s to pod %s",
+        next.getRevision(),
+        gerrit.getMetadata().getNamespace(),
+        gerrit.getMetadata().getName(),
+        podName);
+    next.setPartition(partition);
+    next.setStepStartedAt(now.toString());
+    next.setMessage(String.format("Updating pod %s", podName));
+    return next;
+  }
+
+  private static int getFloor(Gerrit gerrit, int replicas) {
+    return clamp(gerrit.getSpec().getUpdatePartition(), 0, replicas);
+  }
+
+  private static int clamp(int value, int min, int max) {
+    return Math.max(min, Math.min(value, max));
+  }
+
+  private static String getPodName(StatefulSet sts, int ordinal) {
+    return sts.getMetadata().getName() + "-" + ordinal;
+  }
+
+  private static String getRevision(Pod pod) {
+    Map<String, String> labels = pod.getMetadata().getLabels();
+    return labels == null ? null : labels.get(REVISION_LABEL);
+  }
+
+  static boolean isReady(Pod pod) {
+    return getReadySince(pod).isPresent();
+  }
+
+  private static Optional<Instant> getReadySince(Pod pod) {
+    if (pod.getStatus() == null || pod.getStatus().getConditions() == null) {
+      return Optional.empty();
+    }
+    for (PodCondition condition : pod.getStatus().getConditions()) {
+      if ("Ready".equals(condition.getType())
+          && "True".equals(condition.getStatus())
+          && condition.getLastTransitionTime() != null) {
+        return Optional.of(Instant.parse(condition.getLastTransitionTime()));
+      }
+    }
+    return Optional.empty();
+  }
+}
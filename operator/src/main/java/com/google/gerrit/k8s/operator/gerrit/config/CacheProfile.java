@@ -0,0 +1,228 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.gerrit.config;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritCacheSizing;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritCacheSizing.Workload;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritSite;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import org.eclipse.jgit.lib.Config;
+
+/**
+ * Sizes the caches of Gerrit and the pack file cache of JGit from the heap of Gerrit and the size
+ * of the volume containing the persistent caches, depending on the workload of Gerrit.
+ *
+ * <p>Only caches whose limits are measured in bytes are sized, i.e. the caches of diffs. The limits
+ * of other caches are measured in entries and thus independent of the available memory. Options
+ * that are explicitly set in the `gerrit.config` take precedence.
+ */
+public class CacheProfile {
+  static final long MIB = 1024L * 1024L;
+
+  /** Share of the memory and disk budget of the diff caches used by each cache in percent. */
+  static final ImmutableMap<String, Integer> DIFF_CACHE_SHARES =
+      ImmutableMap.of(
+          "diff_intraline", 15,
+          "diff_summary", 10,
+          "gerrit_file_diff", 30,
+          "git_file_diff", 30,
+          "git_modified_files", 5,
+          "modified_files", 10);
+
+  private final GerritCacheSizing sizing;
+  private final Quantity cacheVolumeSize;
+  private final Config baseConfig;
+  private final OptionalLong heap;
+
+  public CacheProfile(
+      GerritCacheSizing sizing, Quantity cacheVolumeSize, Config baseConfig, OptionalLong heap) {
+    this.sizing = sizing;
+    this.cacheVolumeSize = cacheVolumeSize;
+    this.baseConfig = baseConfig;
+    this.heap = heap;
+  }
+
+  /**
+   * Creates the cache profile of the Gerrit container of the given Gerrit.
+   *
+   * @throws InvalidGerritConfigException if the heap size set in the `gerrit.config` is invalid
+   */
+  public static CacheProfile of(Gerrit gerrit) throws InvalidGerritConfigException {
+    Config baseConfig =
+        GerritConfigBuilder.parseQuietly(
+            gerrit.getSpec().getConfigFiles().getOrDefault("gerrit.config", ""));
+    return new CacheProfile(
+        gerrit.getSpec().getCacheSizing(),
+        getCacheVolumeSize(gerrit.getSpec().getSite()),
+        baseConfig,
+        getHeap(gerrit, gerrit.getSpec().getResources(), baseConfig));
+  }
+
+  /**
+   * The heap of a container of the given Gerrit with the given resources. The heap is only
+   * computed, if the caches are sized, i.e. explicit JVM options are not parsed otherwise.
+   */
+  static OptionalLong getHeap(Gerrit gerrit, ResourceRequirements resources, Config baseConfig)
+      throws InvalidGerritConfigException {
+    if (gerrit.getSpec().getCacheSizing().getWorkload() == Workload.NONE) {
+      return OptionalLong.empty();
+    }
+    return new JvmProfile(
+            gerrit.getSpec().getJvmProfile(),
+            resources,
+            GerritConfigBuilder.explicitJavaOptions(baseConfig))
+        .getEffectiveHeap();
+  }
+
+  /**
+   * The size of the volume containing the persistent caches, i.e. of the dedicated cache volume if
+   * configured and of the site volume otherwise.
+   */
+  static Quantity getCacheVolumeSize(GerritSite site) {
+    if (site.getCache() != null) {
+      return site.getCache().getSize();
+    }
+    return site.getSize();
+  }
+
+  /** The computed options, that were not explicitly set. */
+  List<RequiredOption<String>> getOptions() {
+    List<RequiredOption<String>> options = new ArrayList<>();
+    Workload workload = sizing.getWorkload();
+    if (workload == Workload.NONE) {
+      return options;
+    }
+    addUnlessSet(options, "core", null, "packedGitWindowSize", getPackedGitWindowSize(workload));
+    if (heap.isPresent()) {
+      addUnlessSet(
+          options,
+          "core",
+          null,
+          "packedGitLimit",
+          toMiB(heap.getAsLong() * getPackedGitPercentage(workload) / 100));
+    }
+    int diffCachePercentage = getDiffCachePercentage(workload);
+    if (diffCachePercentage == 0) {
+      return options;
+    }
+    OptionalLong disk = getDiskBudget();
+    for (Map.Entry<String, Integer> cache : DIFF_CACHE_SHARES.entrySet()) {
+      if (heap.isPresent()) {
+        long memoryLimit = heap.getAsLong() * diffCachePercentage / 100 * cache.getValue() / 100;
+        addUnlessSet(options, "cache", cache.getKey(), "memoryLimit", toMiB(memoryLimit));
+      }
+      if (disk.isPresent()) {
+        long diskLimit = disk.getAsLong() * cache.getValue() / 100;
+        addUnlessSet(options, "cache", cache.getKey(), "diskLimit", toMiB(diskLimit));
+      }
+    }
+    return options;
+  }
+
+  /**
+   * The effective values of all options managed by the cache profile, including explicitly set
+   * values, keyed by the name of the option, e.g. `cache.diff_summary.memoryLimit`.
+   */
+  public Map<String, String> getBudgets() {
+    Map<String, String> budgets = new TreeMap<>();
+    if (sizing.getWorkload() == Workload.NONE) {
+      return budgets;
+    }
+    for (RequiredOption<String> option : getOptions()) {
+      budgets.put(toName(option), option.getExpected());
+    }
+    for (String name : List.of("packedGitWindowSize", "packedGitLimit")) {
+      putIfSet(budgets, "core", null, name);
+    }
+    for (String cache : DIFF_CACHE_SHARES.keySet()) {
+      putIfSet(budgets, "cache", cache, "memoryLimit");
+      putIfSet(budgets, "cache", cache, "diskLimit");
+    }
+    return budgets;
+  }
+
+  /** Review-heavy workloads mostly compute diffs. Fetches mostly read pack files. */
+  static int getPackedGitPercentage(Workload workload) {
+    return switch (workload) {
+      case REVIEW_HEAVY -> 10;
+      case FETCH_HEAVY -> 25;
+      case REPLICA -> 35;
+      case NONE -> 0;
+    };
+  }
+
+  /** Replicas do not serve diffs. */
+  static int getDiffCachePercentage(Workload workload) {
+    return switch (workload) {
+      case REVIEW_HEAVY -> 25;
+      case FETCH_HEAVY -> 10;
+      case REPLICA, NONE -> 0;
+    };
+  }
+
+  /** Larger windows reduce the number of reads when streaming whole pack files. */
+  static String getPackedGitWindowSize(Workload workload) {
+    return workload == Workload.REVIEW_HEAVY ? "8k" : "64k";
+  }
+
+  private OptionalLong getDiskBudget() {
+    if (cacheVolumeSize == null) {
+      return OptionalLong.empty();
+    }
+    long size = Quantity.getAmountInBytes(cacheVolumeSize).longValue();
+    return OptionalLong.of(size * sizing.getDiskPercentage() / 100);
+  }
+
+  private void addUnlessSet(
+      List<RequiredOption<String>> options,
+      String section,
+      String subSection,
+      String key,
+      String value) {
+    if (!baseConfig.getNames(section, subSection).contains(key)) {
+      options.add(new RequiredOption<>(section, subSection, key, value));
+    }
+  }
+
+  private void putIfSet(
+      Map<String, String> budgets, String section, String subSection, String key) {
+    if (baseConfig.getNames(section, subSection).contains(key)) {
+      budgets.put(toName(section, subSection, key), baseConfig.getString(section, subSection, key));
+    }
+  }
+
+  private static String toName(RequiredOption<?> option) {
+    return toName(option.getSection(), option.getSubSection(), option.getKey());
+  }
+
+  private static String toName(String section, String subSection, String key) {
+    return subSection == null
+        ? String.join(".", section, key)
+        : String.join(".", section, subSection, key);
+  }
+
+  /** Limits of 0 would disable the cache, thus at least 1 MiB is used. */
+  private static String toMiB(long bytes) {
+    return Math.max(bytes / MIB, 1) + "m";
+  }
+}
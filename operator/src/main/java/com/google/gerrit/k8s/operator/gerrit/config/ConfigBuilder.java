@@ -17,6 +17,7 @@ package com.google.gerrit.k8s.operator.gerrit.config;
 import com.google.common.collect.ImmutableList;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import org.eclipse.jgit.errors.ConfigInvalidException;
@@ -37,13 +38,8 @@ public abstract class ConfigBuilder {
     this.requiredOptions = requiredOptions;
   }
 
-  public Config build() {
-    ConfigValidator configValidator = new ConfigValidator(requiredOptions);
-    try {
-      configValidator.check(config);
-    } catch (InvalidGerritConfigException e) {
-      throw new IllegalStateException(e);
-    }
+  public Config build() throws InvalidGerritConfigException {
+    validate();
     setRequiredOptions();
     return config;
   }
@@ -83,9 +79,11 @@ public abstract class ConfigBuilder {
             new ArrayList<String>(
                 Arrays.asList(
                     config.getStringList(opt.getSection(), opt.getSubSection(), opt.getKey())));
+        // Sort the missing values to render the same config independent of the type of the set.
         List<String> expectedSet = new ArrayList<String>();
         expectedSet.addAll((Set<String>) opt.getExpected());
         expectedSet.removeAll(values);
+        Collections.sort(expectedSet);
         values.addAll(expectedSet);
         config.setStringList(opt.getSection(), opt.getSubSection(), opt.getKey(), values);
       }
@@ -0,0 +1,84 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.gerrit.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.jgit.errors.ConfigInvalidException;
+import org.eclipse.jgit.lib.Config;
+
+/**
+ * Compares the content of config files independent of the order of their options. Older versions of
+ * the operator did not render the options and the values of set-valued required options in a
+ * canonical order. An existing config file, that only differs in that order from the rendered one,
+ * is kept to not restart Gerrit after an upgrade of the operator.
+ */
+public class ConfigEquivalence {
+  private ConfigEquivalence() {}
+
+  /**
+   * Whether both texts contain the same options. The order of the values of multi-valued options is
+   * only ignored for the given set-valued required options.
+   */
+  public static boolean isEquivalent(
+      String existing, String desired, Collection<RequiredOption<?>> requiredOptions) {
+    Set<List<String>> setValuedOptions = new HashSet<>();
+    for (RequiredOption<?> opt : requiredOptions) {
+      if (opt.getExpected() instanceof Set) {
+        setValuedOptions.add(key(opt.getSection(), opt.getSubSection(), opt.getKey()));
+      }
+    }
+    try {
+      return getOptions(existing, setValuedOptions).equals(getOptions(desired, setValuedOptions));
+    } catch (ConfigInvalidException e) {
+      return false;
+    }
+  }
+
+  private static Map<List<String>, List<String>> getOptions(
+      String text, Set<List<String>> setValuedOptions) throws ConfigInvalidException {
+    Config config = new Config();
+    config.fromText(text);
+    Map<List<String>, List<String>> options = new HashMap<>();
+    for (String section : config.getSections()) {
+      List<String> subsections = new ArrayList<>(config.getSubsections(section));
+      subsections.add(null);
+      for (String subsection : subsections) {
+        for (String name : config.getNames(section, subsection)) {
+          List<String> values =
+              new ArrayList<>(Arrays.asList(config.getStringList(section, subsection, name)));
+          List<String> key = key(section, subsection, name);
+          if (setValuedOptions.contains(key)) {
+            Collections.sort(values);
+          }
+          options.put(key, values);
+        }
+      }
+    }
+    return options;
+  }
+
+  private static List<String> key(String section, String subsection, String name) {
+    return Arrays.asList(section.toLowerCase(Locale.US), subsection, name.toLowerCase(Locale.US));
+  }
+}
@@ -28,31 +28,91 @@ import com.google.gerrit.k8s.operator.api.model.shared.GlobalRefDbConfig.RefData
 import com.google.gerrit.k8s.operator.api.model.shared.IndexType;
 import com.google.gerrit.k8s.operator.api.model.shared.IngressConfig;
 import com.google.gerrit.k8s.operator.api.model.shared.RemoteIndexConfig;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
+import java.util.OptionalLong;
 import java.util.Set;
+import java.util.TreeSet;
 import org.eclipse.jgit.errors.ConfigInvalidException;
 import org.eclipse.jgit.lib.Config;
 
 public class GerritConfigBuilder extends ConfigBuilder {
+  private final InvalidGerritConfigException invalidHeap;
 
   public GerritConfigBuilder(Gerrit gerrit) {
-    super(
+    this(
+        gerrit,
         gerrit.getSpec().getConfigFiles().getOrDefault("gerrit.config", ""),
-        ImmutableList.copyOf(collectRequiredOptions(gerrit)));
+        gerrit.getSpec().getResources());
   }
 
   public GerritConfigBuilder(GerritIndexer gerritIndexer, Gerrit gerrit) {
-    super(
+    this(
+        gerrit,
         gerritIndexer.getSpec().getConfigFiles().getOrDefault("gerrit.config", ""),
-        ImmutableList.copyOf(collectRequiredOptions(gerrit)));
+        gerritIndexer.getSpec().getResources());
   }
 
-  private static List<RequiredOption<?>> collectRequiredOptions(Gerrit gerrit) {
+  private GerritConfigBuilder(Gerrit gerrit, String baseConfig, ResourceRequirements resources) {
+    this(baseConfig, new RequiredOptions(gerrit, parseQuietly(baseConfig), resources));
+  }
+
+  private GerritConfigBuilder(String baseConfig, RequiredOptions requiredOptions) {
+    super(baseConfig, ImmutableList.copyOf(requiredOptions.options));
+    this.invalidHeap = requiredOptions.invalidHeap;
+  }
+
+  /**
+   * In addition to the required options, the heap size that was explicitly set in the {@code
+   * gerrit.config} has to be valid, since the caches are sized based on it.
+   */
+  @Override
+  public void validate() throws InvalidGerritConfigException {
+    if (invalidHeap != null) {
+      throw invalidHeap;
+    }
+    super.validate();
+  }
+
+  /**
+   * The options required by the operator. If the heap size cannot be determined, the caches are not
+   * sized based on it and the error is reported by {@link #validate()} and {@link #build()}.
+   */
+  private static class RequiredOptions {
+    private final List<RequiredOption<?>> options;
+    private final InvalidGerritConfigException invalidHeap;
+
+    RequiredOptions(Gerrit gerrit, Config baseConfig, ResourceRequirements resources) {
+      OptionalLong heap;
+      InvalidGerritConfigException invalidHeap = null;
+      try {
+        heap = CacheProfile.getHeap(gerrit, resources, baseConfig);
+      } catch (InvalidGerritConfigException e) {
+        heap = OptionalLong.empty();
+        invalidHeap = e;
+      }
+      this.options = collectRequiredOptions(gerrit, baseConfig, resources, heap);
+      this.invalidHeap = invalidHeap;
+    }
+  }
+
+  private static List<RequiredOption<?>> collectRequiredOptions(
+      Gerrit gerrit, Config baseConfig, ResourceRequirements resources, OptionalLong heap) {
+    JvmProfile jvmProfile =
+        new JvmProfile(
+            gerrit.getSpec().getJvmProfile(), resources, explicitJavaOptions(baseConfig));
+    CacheProfile cacheProfile =
+        new CacheProfile(
+            gerrit.getSpec().getCacheSizing(),
+            CacheProfile.getCacheVolumeSize(gerrit.getSpec().getSite()),
+            baseConfig,
+            heap);
     List<RequiredOption<?>> requiredOptions = new ArrayList<>();
     requiredOptions.addAll(cacheSection(gerrit));
-    requiredOptions.addAll(containerSection(gerrit));
+    requiredOptions.addAll(cacheProfile.getOptions());
+    requiredOptions.addAll(containerSection(gerrit, jvmProfile));
     if (gerrit.getSpec().getIndex().getType().isRemote()) {
       requiredOptions.addAll(searchIndexSection(gerrit));
     }
@@ -72,7 +132,7 @@ public class GerritConfigBuilder extends ConfigBuilder {
     return requiredOptions;
   }
 
-  private static List<RequiredOption<?>> containerSection(Gerrit gerrit) {
+  private static List<RequiredOption<?>> containerSection(Gerrit gerrit, JvmProfile jvmProfile) {
     List<RequiredOption<?>> requiredOptions = new ArrayList<>();
     requiredOptions.add(new RequiredOption<String>("container", "user", "gerrit"));
     requiredOptions.add(
@@ -80,7 +140,7 @@ public class GerritConfigBuilder extends ConfigBuilder {
             "container", "replica", gerrit.getSpec().getMode().equals(GerritMode.REPLICA)));
     requiredOptions.add(
         new RequiredOption<String>("container", "javaHome", "/usr/lib/jvm/java-11-openjdk"));
-    requiredOptions.add(javaOptions(gerrit));
+    requiredOptions.add(javaOptions(gerrit, jvmProfile));
     return requiredOptions;
   }
 
@@ -221,7 +281,7 @@ public class GerritConfigBuilder extends ConfigBuilder {
 
   private static List<RequiredOption<?>> pluginsSection(Gerrit gerrit) {
     List<RequiredOption<?>> requiredOptions = new ArrayList<>();
-    Set<String> mandatoryPlugins = new HashSet<>();
+    Set<String> mandatoryPlugins = new TreeSet<>();
     mandatoryPlugins.add("healthcheck");
     if (gerrit.getSpec().isHighlyAvailablePrimary()) {
       mandatoryPlugins.add("high-availability");
@@ -269,8 +329,8 @@ public class GerritConfigBuilder extends ConfigBuilder {
     return requiredOptions;
   }
 
-  private static RequiredOption<Set<String>> javaOptions(Gerrit gerrit) {
-    Set<String> javaOptions = new HashSet<>();
+  private static RequiredOption<Set<String>> javaOptions(Gerrit gerrit, JvmProfile jvmProfile) {
+    Set<String> javaOptions = new TreeSet<>();
     javaOptions.add("-Djavax.net.ssl.trustStore=/var/gerrit/etc/keystore");
     javaOptions.add("-Djava.io.tmpdir=/var/gerrit/tmp/java");
     if (gerrit.getSpec().isHighlyAvailablePrimary()) {
@@ -286,9 +346,28 @@ public class GerritConfigBuilder extends ConfigBuilder {
       }
       javaOptions.add(debugServerCfg);
     }
+    javaOptions.addAll(jvmProfile.getOptions());
     return new RequiredOption<Set<String>>("container", "javaOptions", javaOptions);
   }
 
+  /**
+   * Parses the configuration provided by the user. An invalid configuration is parsed as empty
+   * configuration, since it is reported when building the configuration.
+   */
+  static Config parseQuietly(String text) {
+    Config config = new Config();
+    try {
+      config.fromText(text);
+    } catch (ConfigInvalidException e) {
+      return new Config();
+    }
+    return config;
+  }
+
+  static List<String> explicitJavaOptions(Config baseConfig) {
+    return Arrays.asList(baseConfig.getStringList("container", null, "javaOptions"));
+  }
+
   private static RequiredOption<String> listenUrl(IngressConfig ingressConfig) {
     StringBuilder listenUrlBuilder = new StringBuilder();
     listenUrlBuilder.append("proxy-");
@@ -18,10 +18,10 @@ import com.google.common.collect.ImmutableList;
 import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
 import com.google.gerrit.k8s.operator.gerrit.dependent.GerritStatefulSet;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 public class HighAvailabilityPluginConfigBuilder extends ConfigBuilder {
   public HighAvailabilityPluginConfigBuilder(Gerrit gerrit) {
@@ -70,7 +70,7 @@ public class HighAvailabilityPluginConfigBuilder extends ConfigBuilder {
   private static Set<String> getLabels(Gerrit gerrit) {
     Map<String, String> selectorLabels =
         GerritStatefulSet.getSelectorLabels(gerrit.getMetadata().getName());
-    Set<String> labels = new HashSet<>();
+    Set<String> labels = new TreeSet<>();
     for (Map.Entry<String, String> label : selectorLabels.entrySet()) {
       labels.add(label.getKey() + "=" + label.getValue());
     }
@@ -17,6 +17,10 @@ package com.google.gerrit.k8s.operator.gerrit.config;
 public class InvalidGerritConfigException extends Exception {
   private static final long serialVersionUID = 1L;
 
+  public InvalidGerritConfigException(String message) {
+    super(message);
+  }
+
   public InvalidGerritConfigException(String value, RequiredOption<?> opt) {
     super(
         String.format(
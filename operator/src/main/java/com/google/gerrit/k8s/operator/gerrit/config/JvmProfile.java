@@ -0,0 +1,274 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.gerrit.config;
+
+import com.google.common.collect.Lists;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritJvmProfile;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritJvmProfile.GarbageCollector;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Derives JVM options from the resources of the Gerrit container, so that the JVM is retuned
+ * whenever the resources are changed.
+ *
+ * <p>The memory limit is split into the heap and the memory used outside of the heap, i.e.
+ * metaspace, direct buffers, native memory of the JVM (e.g. thread stacks, code cache and GC data
+ * structures) and the headroom reserved for memory-mapped pack files of JGit. Options that are
+ * explicitly set in `container.javaOptions` take precedence over derived options.
+ */
+public class JvmProfile {
+  static final long MIB = 1024L * 1024L;
+  static final long ZGC_MIN_HEAP = 16L * 1024L * MIB;
+  static final int ZGC_MIN_CPUS = 4;
+
+  private static final Pattern SIZE = Pattern.compile("(\\d+)([kKmMgGtT]?)");
+  private static final Pattern GC_OPTION = Pattern.compile("-XX:[+-]Use\\w*GC");
+  private static final String MAX_RAM_PERCENTAGE = "-XX:MaxRAMPercentage=";
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final List<String> HEAP_SIZING_OPTIONS =
+      List.of("-Xmx", "-Xms", "-XX:MaxRAMPercentage", "-XX:InitialRAMPercentage");
+
+  private final GerritJvmProfile profile;
+  private final OptionalLong memory;
+  private final OptionalInt cpus;
+  private final List<String> explicitOptions;
+
+  public JvmProfile(
+      GerritJvmProfile profile,
+      ResourceRequirements resources,
+      Collection<String> explicitJavaOptions) {
+    this.profile = profile;
+    this.memory = getMemory(resources);
+    this.cpus = getCpus(resources);
+    this.explicitOptions =
+        explicitJavaOptions.stream()
+            .flatMap(o -> Arrays.stream(WHITESPACE.split(o.trim())))
+            .filter(o -> !o.isEmpty())
+            .toList();
+  }
+
+  /** The JVM options derived from the resources, that were not explicitly set. */
+  public List<String> getOptions() {
+    List<String> options = new ArrayList<>();
+    if (!profile.isEnabled()) {
+      return options;
+    }
+    GarbageCollector gc = getGarbageCollector();
+    if (!isExplicitlySet(GC_OPTION)) {
+      options.add(gc == GarbageCollector.ZGC ? "-XX:+UseZGC" : "-XX:+UseG1GC");
+    }
+    if (cpus.isPresent()) {
+      addUnlessSet(options, "-XX:ActiveProcessorCount=", cpus.getAsInt());
+    }
+    if (memory.isPresent()) {
+      if (HEAP_SIZING_OPTIONS.stream().noneMatch(this::isExplicitlySet)) {
+        long heap = getHeap(gc);
+        options.add("-Xmx" + toMiB(heap) + "m");
+        options.add("-Xms" + toMiB(heap) + "m");
+      }
+      addUnlessSet(options, "-XX:MaxDirectMemorySize=", toMiB(getDirectMemory()) + "m");
+      addUnlessSet(options, "-XX:MaxMetaspaceSize=", toMiB(getMetaspace()) + "m");
+    }
+    return options;
+  }
+
+  /**
+   * The maximum heap size the JVM will use, i.e. the explicitly set maximum, the heap derived from
+   * the memory limit, if the profile is enabled, or the default of the JVM (a quarter of the memory
+   * limit). Empty, if neither the maximum heap size nor the memory limit is known.
+   *
+   * @throws InvalidGerritConfigException if the explicitly set heap size cannot be parsed
+   */
+  public OptionalLong getEffectiveHeap() throws InvalidGerritConfigException {
+    for (String option : Lists.reverse(explicitOptions)) {
+      if (option.startsWith("-Xmx")) {
+        return OptionalLong.of(parseSize(option));
+      }
+    }
+    if (memory.isEmpty()) {
+      return OptionalLong.empty();
+    }
+    for (String option : Lists.reverse(explicitOptions)) {
+      if (option.startsWith(MAX_RAM_PERCENTAGE)) {
+        double percentage = parsePercentage(option);
+        return OptionalLong.of(roundToMiB((long) (memory.getAsLong() * percentage / 100)));
+      }
+    }
+    if (profile.isEnabled()) {
+      return OptionalLong.of(getHeap(getGarbageCollector()));
+    }
+    return OptionalLong.of(roundToMiB(memory.getAsLong() / 4));
+  }
+
+  /**
+   * The garbage collector to be used. ZGC is automatically chosen for large heaps, if enough CPUs
+   * are available for the concurrent GC threads.
+   */
+  GarbageCollector getGarbageCollector() {
+    for (String option : Lists.reverse(explicitOptions)) {
+      if (option.equals("-XX:+UseZGC")) {
+        return GarbageCollector.ZGC;
+      } else if (option.equals("-XX:+UseG1GC")) {
+        return GarbageCollector.G1;
+      }
+    }
+    if (profile.getGarbageCollector() != GarbageCollector.AUTO) {
+      return profile.getGarbageCollector();
+    }
+    if (memory.isPresent()
+        && getHeap(GarbageCollector.ZGC) >= ZGC_MIN_HEAP
+        && cpus.orElse(ZGC_MIN_CPUS) >= ZGC_MIN_CPUS) {
+      return GarbageCollector.ZGC;
+    }
+    return GarbageCollector.G1;
+  }
+
+  /**
+   * The heap size, i.e. the memory limit without the memory used outside of the heap. At least a
+   * quarter of the memory limit is used for the heap.
+   */
+  long getHeap(GarbageCollector gc) {
+    long limit = memory.getAsLong();
+    long heap =
+        limit - getMetaspace() - getDirectMemory() - getNativeMemory(gc) - getPackCacheHeadroom();
+    return roundToMiB(Math.max(heap, limit / 4));
+  }
+
+  long getMetaspace() {
+    return roundToMiB(clamp(memory.getAsLong() / 16, 128 * MIB, 512 * MIB));
+  }
+
+  long getDirectMemory() {
+    return roundToMiB(clamp(memory.getAsLong() / 16, 64 * MIB, 1024 * MIB));
+  }
+
+  /** ZGC requires more native memory for its data structures than G1. */
+  long getNativeMemory(GarbageCollector gc) {
+    int percentage = gc == GarbageCollector.ZGC ? 15 : 10;
+    return roundToMiB(Math.max(memory.getAsLong() * percentage / 100, 256 * MIB));
+  }
+
+  long getPackCacheHeadroom() {
+    return roundToMiB(memory.getAsLong() * profile.getOffHeapPackCachePercentage() / 100);
+  }
+
+  private void addUnlessSet(List<String> options, String prefix, Object value) {
+    if (explicitOptions.stream().noneMatch(o -> o.startsWith(prefix))) {
+      options.add(prefix + value);
+    }
+  }
+
+  private boolean isExplicitlySet(String prefix) {
+    return explicitOptions.stream().anyMatch(o -> o.startsWith(prefix));
+  }
+
+  private boolean isExplicitlySet(Pattern pattern) {
+    return explicitOptions.stream().anyMatch(o -> pattern.matcher(o).matches());
+  }
+
+  private static OptionalLong getMemory(ResourceRequirements resources) {
+    return getResource(resources, "memory")
+        .map(q -> OptionalLong.of(Quantity.getAmountInBytes(q).longValue()))
+        .orElse(OptionalLong.empty());
+  }
+
+  private static OptionalInt getCpus(ResourceRequirements resources) {
+    return getResource(resources, "cpu")
+        .map(
+            q ->
+                OptionalInt.of(
+                    Math.max(
+                        1,
+                        Quantity.getAmountInBytes(q).setScale(0, RoundingMode.CEILING).intValue())))
+        .orElse(OptionalInt.empty());
+  }
+
+  /** The limit of the resource or, if no limit is set, the requested amount. */
+  private static Optional<Quantity> getResource(ResourceRequirements resources, String name) {
+    if (resources == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(get(resources.getLimits(), name))
+        .or(() -> Optional.ofNullable(get(resources.getRequests(), name)))
+        .filter(q -> Quantity.getAmountInBytes(q).compareTo(BigDecimal.ZERO) > 0);
+  }
+
+  private static Quantity get(Map<String, Quantity> quantities, String name) {
+    return quantities == null ? null : quantities.get(name);
+  }
+
+  /** Parses the size of an option as accepted by the JVM, e.g. `-Xmx2g` or `-Xmx2048m`. */
+  static long parseSize(String option) throws InvalidGerritConfigException {
+    Matcher matcher = SIZE.matcher(option.substring("-Xmx".length()));
+    if (!matcher.matches()) {
+      throw invalidOption(option);
+    }
+    long multiplier =
+        switch (matcher.group(2).toLowerCase()) {
+          case "k" -> 1024L;
+          case "m" -> MIB;
+          case "g" -> 1024L * MIB;
+          case "t" -> 1024L * 1024L * MIB;
+          default -> 1L;
+        };
+    try {
+      return Math.multiplyExact(Long.parseLong(matcher.group(1)), multiplier);
+    } catch (ArithmeticException | NumberFormatException e) {
+      throw invalidOption(option);
+    }
+  }
+
+  private static double parsePercentage(String option) throws InvalidGerritConfigException {
+    try {
+      double percentage = Double.parseDouble(option.substring(MAX_RAM_PERCENTAGE.length()));
+      if (!(percentage >= 0 && percentage <= 100)) {
+        throw invalidOption(option);
+      }
+      return percentage;
+    } catch (NumberFormatException e) {
+      throw invalidOption(option);
+    }
+  }
+
+  private static InvalidGerritConfigException invalidOption(String option) {
+    return new InvalidGerritConfigException(
+        String.format("Option container.javaOptions contains invalid JVM option %s.", option));
+  }
+
+  private static long clamp(long value, long min, long max) {
+    return Math.min(Math.max(value, min), max);
+  }
+
+  private static long roundToMiB(long bytes) {
+    return bytes / MIB * MIB;
+  }
+
+  private static long toMiB(long bytes) {
+    return bytes / MIB;
+  }
+}
@@ -15,6 +15,7 @@
 package com.google.gerrit.k8s.operator.gerrit.config;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
 import java.util.List;
 import java.util.Map;
@@ -24,7 +25,7 @@ public class MultisitePluginConfigBuilder extends ConfigBuilder {
 
   private static final String BROKER = "broker";
   private static final Map<String, String> TOPIC_NAMES =
-      Map.of(
+      ImmutableMap.of(
           "indexEventTopic", "index_event",
           "batchIndexEventTopic", "batch_index",
           "streamEventTopic", "stream_event",
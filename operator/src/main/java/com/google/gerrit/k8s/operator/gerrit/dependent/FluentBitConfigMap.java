@@ -14,6 +14,7 @@
 
 package com.google.gerrit.k8s.operator.gerrit.dependent;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
 import com.google.gerrit.k8s.operator.cluster.GerritClusterLabelFactory;
 import io.fabric8.kubernetes.api.model.ConfigMap;
@@ -21,7 +22,6 @@ import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
-import java.util.Map;
 import org.eclipse.jgit.errors.ConfigInvalidException;
 import org.eclipse.jgit.lib.Config;
 
@@ -114,9 +114,7 @@ public class FluentBitConfigMap extends CRUDKubernetesDependentResource<ConfigMa
             GerritClusterLabelFactory.create(
                 gerrit.getMetadata().getName(), getName(gerrit), this.getClass().getSimpleName()))
         .endMetadata()
-        .withData(
-            Map.ofEntries(
-                Map.entry("fluent-bit.conf", config), Map.entry("parsers.conf", parserConfig)))
+        .withData(ImmutableMap.of("fluent-bit.conf", config, "parsers.conf", parserConfig))
         .build();
   }
 }
@@ -19,11 +19,15 @@ import com.google.gerrit.k8s.operator.Constants;
 import com.google.gerrit.k8s.operator.OperatorContext;
 import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
 import com.google.gerrit.k8s.operator.cluster.GerritClusterLabelFactory;
+import com.google.gerrit.k8s.operator.gerrit.GerritReconciler;
+import com.google.gerrit.k8s.operator.gerrit.config.ConfigEquivalence;
 import com.google.gerrit.k8s.operator.gerrit.config.DynamoDbRefDbPluginConfigBuilder;
 import com.google.gerrit.k8s.operator.gerrit.config.GerritConfigBuilder;
 import com.google.gerrit.k8s.operator.gerrit.config.HighAvailabilityPluginConfigBuilder;
+import com.google.gerrit.k8s.operator.gerrit.config.InvalidGerritConfigException;
 import com.google.gerrit.k8s.operator.gerrit.config.MultisitePluginConfigBuilder;
 import com.google.gerrit.k8s.operator.gerrit.config.PullReplicationPluginConfigBuilder;
+import com.google.gerrit.k8s.operator.gerrit.config.RequiredOption;
 import com.google.gerrit.k8s.operator.gerrit.config.SpannerRefDbPluginConfigBuilder;
 import com.google.gerrit.k8s.operator.gerrit.config.ZookeeperRefDbPluginConfigBuilder;
 import com.google.gerrit.k8s.operator.util.CRUDReconcileAddKubernetesDependentResource;
@@ -31,7 +35,11 @@ import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 
 @KubernetesDependent(resourceDiscriminator = GerritConfigMapDiscriminator.class)
 public class GerritConfigMap
@@ -56,46 +64,62 @@ public class GerritConfigMap
       configFiles.put("gerrit.config", "");
     }
 
-    configFiles.put("gerrit.config", new GerritConfigBuilder(gerrit).build().toText());
+    List<RequiredOption<?>> requiredOptions = new ArrayList<>();
+    try {
+      GerritConfigBuilder gerritConfigBuilder = new GerritConfigBuilder(gerrit);
+      requiredOptions.addAll(gerritConfigBuilder.getRequiredOptions());
+      configFiles.put("gerrit.config", gerritConfigBuilder.build().toText());
 
-    if (gerrit.getSpec().isHighlyAvailablePrimary()) {
-      configFiles.put(
-          "high-availability.config",
-          new HighAvailabilityPluginConfigBuilder(gerrit).build().toText());
-    }
+      if (gerrit.getSpec().isHighlyAvailablePrimary()) {
+        HighAvailabilityPluginConfigBuilder haConfigBuilder =
+            new HighAvailabilityPluginConfigBuilder(gerrit);
+        requiredOptions.addAll(haConfigBuilder.getRequiredOptions());
+        configFiles.put("high-availability.config", haConfigBuilder.build().toText());
+      }
+
+      switch (gerrit.getSpec().getRefdb().getDatabase()) {
+        case ZOOKEEPER:
+          configFiles.put(
+              "zookeeper-refdb.config",
+              new ZookeeperRefDbPluginConfigBuilder(gerrit).build().toText());
+          break;
+        case SPANNER:
+          configFiles.put(
+              "spanner-refdb.config", new SpannerRefDbPluginConfigBuilder(gerrit).build().toText());
+          break;
+        case DYNAMODB:
+          configFiles.put(
+              "aws-dynamodb-refdb.config",
+              new DynamoDbRefDbPluginConfigBuilder(gerrit).build().toText());
+          break;
+        default:
+          break;
+      }
 
-    switch (gerrit.getSpec().getRefdb().getDatabase()) {
-      case ZOOKEEPER:
-        configFiles.put(
-            "zookeeper-refdb.config",
-            new ZookeeperRefDbPluginConfigBuilder(gerrit).build().toText());
-        break;
-      case SPANNER:
-        configFiles.put(
-            "spanner-refdb.config", new SpannerRefDbPluginConfigBuilder(gerrit).build().toText());
-        break;
-      case DYNAMODB:
-        configFiles.put(
-            "aws-dynamodb-refdb.config",
-            new DynamoDbRefDbPluginConfigBuilder(gerrit).build().toText());
-        break;
-      default:
-        break;
+      if (OperatorContext.getClusterMode() == Constants.ClusterMode.MULTISITE) {
+        PullReplicationPluginConfigBuilder cfgBuilder =
+            new PullReplicationPluginConfigBuilder(gerrit);
+        MultisitePluginConfigBuilder multisiteConfigBuilder =
+            new MultisitePluginConfigBuilder(gerrit);
+        requiredOptions.addAll(cfgBuilder.getRequiredOptions());
+        requiredOptions.addAll(multisiteConfigBuilder.getRequiredOptions());
+        configFiles.putAll(
+            Map.of(
+                "multi-site.config", multisiteConfigBuilder.build().toText(),
+                "replication.config",
+                    cfgBuilder.makeRemoteSections(cfgBuilder.build(), gerrit).toText()));
+      }
+    } catch (InvalidGerritConfigException e) {
+      // The configuration of the Gerrit was already validated by the admission webhook.
+      throw new IllegalStateException(e);
     }
 
     if (!configFiles.containsKey("healthcheck.config")) {
       configFiles.put("healthcheck.config", DEFAULT_HEALTHCHECK_CONFIG);
     }
 
-    if (OperatorContext.getClusterMode() == Constants.ClusterMode.MULTISITE) {
-      PullReplicationPluginConfigBuilder cfgBuilder =
-          new PullReplicationPluginConfigBuilder(gerrit);
-      configFiles.putAll(
-          Map.of(
-              "multi-site.config", new MultisitePluginConfigBuilder(gerrit).build().toText(),
-              "replication.config",
-                  cfgBuilder.makeRemoteSections(cfgBuilder.build(), gerrit).toText()));
-    }
+    Map<String, String> data = new TreeMap<>(configFiles);
+    keepEquivalentConfigFiles(gerrit, context, data, requiredOptions);
 
     return new ConfigMapBuilder()
         .withApiVersion("v1")
@@ -104,10 +128,38 @@ public class GerritConfigMap
         .withNamespace(gerrit.getMetadata().getNamespace())
         .withLabels(gerritLabels)
         .endMetadata()
-        .withData(configFiles)
+        .withData(data)
         .build();
   }
 
+  /**
+   * Keeps the config files of the existing ConfigMap, that only differ from the desired ones in the
+   * order of their options. Otherwise, Gerrit would be restarted after an upgrade of the operator,
+   * which changed the order in which the options are rendered.
+   */
+  private static void keepEquivalentConfigFiles(
+      Gerrit gerrit,
+      Context<Gerrit> context,
+      Map<String, String> configFiles,
+      List<RequiredOption<?>> requiredOptions) {
+    if (context == null) {
+      return;
+    }
+    Optional<ConfigMap> existing = GerritReconciler.getConfigMap(gerrit, getName(gerrit), context);
+    if (existing.isEmpty() || existing.get().getData() == null) {
+      return;
+    }
+    for (Map.Entry<String, String> configFile : configFiles.entrySet()) {
+      String existingConfig = existing.get().getData().get(configFile.getKey());
+      if (existingConfig != null
+          && !existingConfig.equals(configFile.getValue())
+          && ConfigEquivalence.isEquivalent(
+              existingConfig, configFile.getValue(), requiredOptions)) {
+        configFile.setValue(existingConfig);
+      }
+    }
+  }
+
   public static String getName(Gerrit gerrit) {
     return String.format("%s-configmap", gerrit.getMetadata().getName());
   }
@@ -0,0 +1,117 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.gerrit.dependent;
+
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritAutoscaling;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritAutoscalingMetric;
+import com.google.gerrit.k8s.operator.cluster.GerritClusterLabelFactory;
+import com.google.gerrit.k8s.operator.gerrit.GerritReconciler;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.HorizontalPodAutoscaler;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.HorizontalPodAutoscalerBuilder;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.MetricSpec;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.MetricSpecBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
+import java.util.ArrayList;
+import java.util.List;
+
+@KubernetesDependent(labelSelector = GerritClusterLabelFactory.MANAGED_RESOURCES_SELECTOR)
+public class GerritHorizontalPodAutoscaler
+    extends CRUDKubernetesDependentResource<HorizontalPodAutoscaler, Gerrit> {
+
+  public GerritHorizontalPodAutoscaler() {
+    super(HorizontalPodAutoscaler.class);
+  }
+
+  @Override
+  protected HorizontalPodAutoscaler desired(Gerrit gerrit, Context<Gerrit> context) {
+    GerritAutoscaling autoscaling = gerrit.getSpec().getAutoscaling();
+    String name = gerrit.getMetadata().getName();
+    return new HorizontalPodAutoscalerBuilder()
+        .withNewMetadata()
+        .withName(getName(gerrit))
+        .withNamespace(gerrit.getMetadata().getNamespace())
+        .withLabels(
+            GerritClusterLabelFactory.create(
+                name, getComponentName(name), GerritReconciler.class.getSimpleName()))
+        .endMetadata()
+        .withNewSpec()
+        .withNewScaleTargetRef()
+        .withApiVersion("apps/v1")
+        .withKind("StatefulSet")
+        .withName(GerritStatefulSet.getName(gerrit))
+        .endScaleTargetRef()
+        .withMinReplicas(getMinReplicas(gerrit))
+        .withMaxReplicas(autoscaling.getMaxReplicas())
+        .withMetrics(getMetrics(autoscaling))
+        .withNewBehavior()
+        .withNewScaleDown()
+        .withStabilizationWindowSeconds(autoscaling.getScaleDownStabilizationWindowSeconds())
+        .endScaleDown()
+        .endBehavior()
+        .endSpec()
+        .build();
+  }
+
+  public static String getName(Gerrit gerrit) {
+    return gerrit.getMetadata().getName();
+  }
+
+  private static String getComponentName(String gerritName) {
+    return String.format("gerrit-hpa-%s", gerritName);
+  }
+
+  /**
+   * The lower bound of replicas. If not configured explicitly, the number of replicas configured in
+   * the Gerrit is used.
+   */
+  public static int getMinReplicas(Gerrit gerrit) {
+    Integer minReplicas = gerrit.getSpec().getAutoscaling().getMinReplicas();
+    return minReplicas != null ? minReplicas : gerrit.getSpec().getReplicas();
+  }
+
+  private static List<MetricSpec> getMetrics(GerritAutoscaling autoscaling) {
+    List<MetricSpec> metrics = new ArrayList<>();
+    metrics.add(
+        new MetricSpecBuilder()
+            .withType("Resource")
+            .withNewResource()
+            .withName("cpu")
+            .withNewTarget()
+            .withType("Utilization")
+            .withAverageUtilization(autoscaling.getTargetCpuUtilizationPercentage())
+            .endTarget()
+            .endResource()
+            .build());
+    for (GerritAutoscalingMetric metric : autoscaling.getMetrics()) {
+      metrics.add(
+          new MetricSpecBuilder()
+              .withType("Pods")
+              .withNewPods()
+              .withNewMetric()
+              .withName(metric.getName())
+              .endMetric()
+              .withNewTarget()
+              .withType("AverageValue")
+              .withAverageValue(metric.getAverageValue())
+              .endTarget()
+              .endPods()
+              .build());
+    }
+    return metrics;
+  }
+}
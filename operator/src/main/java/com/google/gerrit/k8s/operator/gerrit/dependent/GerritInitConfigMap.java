@@ -46,7 +46,7 @@ public class GerritInitConfigMap
   }
 
   @Override
-  protected ConfigMap desired(Gerrit gerrit, Context<Gerrit> context) {
+  public ConfigMap desired(Gerrit gerrit, Context<Gerrit> context) {
     Map<String, String> gerritLabels =
         GerritClusterLabelFactory.create(
             gerrit.getMetadata().getName(), getName(gerrit), this.getClass().getSimpleName());
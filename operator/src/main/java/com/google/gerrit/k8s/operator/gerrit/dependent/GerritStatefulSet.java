@@ -21,18 +21,32 @@ import com.google.gerrit.k8s.operator.api.model.cluster.GerritCluster;
 import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
 import com.google.gerrit.k8s.operator.api.model.gerrit.GerritModule;
 import com.google.gerrit.k8s.operator.api.model.gerrit.GerritModuleData;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritSite;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritSiteVolume;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritSiteVolume.VolumeType;
 import com.google.gerrit.k8s.operator.api.model.shared.ContainerImageConfig;
 import com.google.gerrit.k8s.operator.api.model.shared.NfsWorkaroundConfig;
 import com.google.gerrit.k8s.operator.cluster.GerritClusterLabelFactory;
 import com.google.gerrit.k8s.operator.components.GerritSecurityContext;
 import com.google.gerrit.k8s.operator.gerrit.GerritReconciler;
+import com.google.gerrit.k8s.operator.gerrit.ProgressiveRollout;
 import com.google.gerrit.k8s.operator.util.CRUDReconcileAddKubernetesDependentResource;
+import com.google.gerrit.k8s.operator.util.MountedDataDigest;
+import com.google.gerrit.k8s.operator.util.PodSpecOrdering;
+import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.ContainerBuilder;
 import io.fabric8.kubernetes.api.model.ContainerPort;
+import io.fabric8.kubernetes.api.model.DeletionPropagation;
 import io.fabric8.kubernetes.api.model.EmptyDirVolumeSourceBuilder;
 import io.fabric8.kubernetes.api.model.EnvVar;
 import io.fabric8.kubernetes.api.model.EnvVarBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimSpec;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimSpecBuilder;
 import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.Volume;
@@ -41,18 +55,22 @@ import io.fabric8.kubernetes.api.model.VolumeMount;
 import io.fabric8.kubernetes.api.model.VolumeMountBuilder;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @KubernetesDependent
 public class GerritStatefulSet
@@ -61,6 +79,8 @@ public class GerritStatefulSet
   private static final SimpleDateFormat RFC3339 = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
 
   private static final String SITE_VOLUME_NAME = "gerrit-site";
+  private static final String CACHE_VOLUME_NAME = "gerrit-cache";
+  private static final String INDEX_VOLUME_NAME = "gerrit-index";
   private static final String TMP_VOLUME_NAME = "tmp";
   private static final Quantity HOME_DIR_SIZE_LIMIT = new Quantity("500", "Mi");
   public static final int HTTP_PORT = 8080;
@@ -73,7 +93,7 @@ public class GerritStatefulSet
   }
 
   @Override
-  protected StatefulSet desired(Gerrit gerrit, Context<Gerrit> context) {
+  public StatefulSet desired(Gerrit gerrit, Context<Gerrit> context) {
     StatefulSetBuilder stsBuilder = new StatefulSetBuilder();
 
     List<Container> initContainers = new ArrayList<>();
@@ -127,6 +147,7 @@ public class GerritStatefulSet
       }
     }
 
+    int replicas = getReplicas(gerrit, context);
     stsBuilder
         .withApiVersion("apps/v1")
         .withNewMetadata()
@@ -136,10 +157,10 @@ public class GerritStatefulSet
         .endMetadata()
         .withNewSpec()
         .withServiceName(new GerritHeadlessService().getName(gerrit))
-        .withReplicas(gerrit.getSpec().getReplicas())
+        .withReplicas(replicas)
         .withNewUpdateStrategy()
         .withNewRollingUpdate()
-        .withPartition(gerrit.getSpec().getUpdatePartition())
+        .withPartition(ProgressiveRollout.getPartition(gerrit, replicas))
         .endRollingUpdate()
         .endUpdateStrategy()
         .withNewSelector()
@@ -157,7 +178,9 @@ public class GerritStatefulSet
         .withAffinity(gerrit.getSpec().getAffinity())
         .withPriorityClassName(gerrit.getSpec().getPriorityClassName())
         .withTerminationGracePeriodSeconds(gerrit.getSpec().getGracefulStopTimeout())
-        .addAllToImagePullSecrets(gerrit.getSpec().getContainerImages().getImagePullSecrets())
+        .addAllToImagePullSecrets(
+            PodSpecOrdering.sortImagePullSecrets(
+                gerrit.getSpec().getContainerImages().getImagePullSecrets()))
         .withSecurityContext(GerritSecurityContext.forPod())
         .addAllToInitContainers(initContainers)
         .addNewInitContainer()
@@ -198,22 +221,84 @@ public class GerritStatefulSet
         .addAllToVolumes(getVolumes(gerrit))
         .endSpec()
         .endTemplate()
-        .addNewVolumeClaimTemplate()
-        .withNewMetadata()
-        .withName(SITE_VOLUME_NAME)
-        .withLabels(getSelectorLabels(gerrit))
-        .endMetadata()
-        .withNewSpec()
-        .withAccessModes("ReadWriteOnce")
-        .withNewResources()
-        .withRequests(Map.of("storage", gerrit.getSpec().getSite().getSize()))
-        .endResources()
-        .withStorageClassName(gerrit.getSpec().getStorage().getStorageClasses().getReadWriteOnce())
-        .endSpec()
-        .endVolumeClaimTemplate()
+        .addAllToVolumeClaimTemplates(getVolumeClaimTemplates(gerrit))
         .endSpec();
 
-    return stsBuilder.build();
+    StatefulSet sts = stsBuilder.build();
+    Optional<StatefulSet> existingSts = context.getSecondaryResource(StatefulSet.class);
+    if (existingSts.isPresent() && existingSts.get().getSpec().getTemplate().getSpec() != null) {
+      PodSpecOrdering.keepExistingOrder(
+          sts.getSpec().getTemplate().getSpec(),
+          existingSts.get().getSpec().getTemplate().getSpec());
+    }
+    return sts;
+  }
+
+  /**
+   * The volumeClaimTemplates of a StatefulSet are immutable. If they changed, e.g. because a
+   * persistent volume for the cache or index was added or removed, the StatefulSet is deleted
+   * without deleting its pods and recreated. The recreated StatefulSet adopts the existing pods and
+   * PersistentVolumeClaims. Existing PersistentVolumeClaims are not resized or moved to another
+   * storage class.
+   */
+  @Override
+  public StatefulSet update(
+      StatefulSet actual, StatefulSet target, Gerrit gerrit, Context<Gerrit> context) {
+    if (haveVolumeClaimTemplatesChanged(actual, target)) {
+      logger.atInfo().log(
+          "Recreating StatefulSet %s/%s, since its volumeClaimTemplates changed.",
+          actual.getMetadata().getNamespace(), actual.getMetadata().getName());
+      deleteOrphaningDependents(context.getClient(), actual);
+      return create(target, gerrit, context);
+    }
+    return super.update(actual, target, gerrit, context);
+  }
+
+  static boolean haveVolumeClaimTemplatesChanged(StatefulSet actual, StatefulSet target) {
+    return !getVolumeClaimTemplateKeys(actual).equals(getVolumeClaimTemplateKeys(target));
+  }
+
+  private static Map<String, List<Object>> getVolumeClaimTemplateKeys(StatefulSet sts) {
+    Map<String, List<Object>> keys = new HashMap<>();
+    for (PersistentVolumeClaim pvc : sts.getSpec().getVolumeClaimTemplates()) {
+      PersistentVolumeClaimSpec spec = pvc.getSpec();
+      Quantity size =
+          spec.getResources() == null || spec.getResources().getRequests() == null
+              ? null
+              : spec.getResources().getRequests().get("storage");
+      keys.put(
+          pvc.getMetadata().getName(),
+          Arrays.asList(
+              spec.getStorageClassName(),
+              size == null ? null : Quantity.getAmountInBytes(size).toBigInteger()));
+    }
+    return keys;
+  }
+
+  static void deleteOrphaningDependents(KubernetesClient client, StatefulSet sts) {
+    client
+        .apps()
+        .statefulSets()
+        .inNamespace(sts.getMetadata().getNamespace())
+        .withName(sts.getMetadata().getName())
+        .withPropagationPolicy(DeletionPropagation.ORPHAN)
+        .withTimeout(1, TimeUnit.MINUTES)
+        .delete();
+  }
+
+  /**
+   * The number of replicas of the StatefulSet. If the Gerrit is autoscaled, the number of replicas
+   * is managed by the HorizontalPodAutoscaler and the current number is kept.
+   */
+  private int getReplicas(Gerrit gerrit, Context<Gerrit> context) {
+    if (!gerrit.getSpec().isAutoscaled()) {
+      return gerrit.getSpec().getReplicas();
+    }
+    Optional<StatefulSet> existingSts = context.getSecondaryResource(StatefulSet.class);
+    if (existingSts.isPresent() && existingSts.get().getSpec().getReplicas() != null) {
+      return existingSts.get().getSpec().getReplicas();
+    }
+    return GerritHorizontalPodAutoscaler.getMinReplicas(gerrit);
   }
 
   public static String getName(Gerrit gerrit) {
@@ -242,8 +327,104 @@ public class GerritStatefulSet
         name, getComponentName(name), GerritReconciler.class.getSimpleName());
   }
 
-  private Set<Volume> getVolumes(Gerrit gerrit) {
-    Set<Volume> volumes = new HashSet<>();
+  private List<PersistentVolumeClaim> getVolumeClaimTemplates(Gerrit gerrit) {
+    List<PersistentVolumeClaim> volumeClaimTemplates = new ArrayList<>();
+    volumeClaimTemplates.add(
+        new PersistentVolumeClaimBuilder()
+            .withMetadata(getVolumeClaimTemplateMetadata(gerrit, SITE_VOLUME_NAME))
+            .withSpec(
+                getVolumeClaimSpec(
+                    gerrit.getSpec().getStorage().getStorageClasses().getReadWriteOnce(),
+                    gerrit.getSpec().getSite().getSize()))
+            .build());
+
+    for (Map.Entry<String, GerritSiteVolume> siteVolume : getSiteVolumes(gerrit).entrySet()) {
+      if (siteVolume.getValue().getType() == VolumeType.PERSISTENT) {
+        volumeClaimTemplates.add(
+            new PersistentVolumeClaimBuilder()
+                .withMetadata(getVolumeClaimTemplateMetadata(gerrit, siteVolume.getKey()))
+                .withSpec(getVolumeClaimSpec(gerrit, siteVolume.getValue()))
+                .build());
+      }
+    }
+    return volumeClaimTemplates;
+  }
+
+  private ObjectMeta getVolumeClaimTemplateMetadata(Gerrit gerrit, String name) {
+    return new ObjectMetaBuilder().withName(name).withLabels(getSelectorLabels(gerrit)).build();
+  }
+
+  private PersistentVolumeClaimSpec getVolumeClaimSpec(Gerrit gerrit, GerritSiteVolume volume) {
+    String storageClassName = volume.getStorageClassName();
+    if (storageClassName == null) {
+      storageClassName = gerrit.getSpec().getStorage().getStorageClasses().getReadWriteOnce();
+    }
+    return getVolumeClaimSpec(storageClassName, volume.getSize());
+  }
+
+  private PersistentVolumeClaimSpec getVolumeClaimSpec(String storageClassName, Quantity size) {
+    return new PersistentVolumeClaimSpecBuilder()
+        .withAccessModes("ReadWriteOnce")
+        .withNewResources()
+        .withRequests(Map.of("storage", size))
+        .endResources()
+        .withStorageClassName(storageClassName)
+        .build();
+  }
+
+  /**
+   * The optional volumes for directories of the site, which are mounted on top of the site volume,
+   * by the name of their volume.
+   */
+  private static Map<String, GerritSiteVolume> getSiteVolumes(Gerrit gerrit) {
+    Map<String, GerritSiteVolume> siteVolumes = new LinkedHashMap<>();
+    GerritSite site = gerrit.getSpec().getSite();
+    if (site.getCache() != null) {
+      siteVolumes.put(CACHE_VOLUME_NAME, site.getCache());
+    }
+    if (site.getIndex() != null) {
+      siteVolumes.put(INDEX_VOLUME_NAME, site.getIndex());
+    }
+    return siteVolumes;
+  }
+
+  private static String getSiteVolumeMountPath(String volumeName) {
+    return CACHE_VOLUME_NAME.equals(volumeName) ? "/var/gerrit/cache" : "/var/gerrit/index";
+  }
+
+  private List<Volume> getVolumes(Gerrit gerrit) {
+    Set<Volume> volumes = new LinkedHashSet<>();
+
+    for (Map.Entry<String, GerritSiteVolume> siteVolume : getSiteVolumes(gerrit).entrySet()) {
+      GerritSiteVolume volume = siteVolume.getValue();
+      switch (volume.getType()) {
+        case EPHEMERAL:
+          volumes.add(
+              new VolumeBuilder()
+                  .withName(siteVolume.getKey())
+                  .withNewEphemeral()
+                  .withNewVolumeClaimTemplate()
+                  .withNewMetadata()
+                  .withLabels(getSelectorLabels(gerrit))
+                  .endMetadata()
+                  .withSpec(getVolumeClaimSpec(gerrit, volume))
+                  .endVolumeClaimTemplate()
+                  .endEphemeral()
+                  .build());
+          break;
+        case EMPTY_DIR:
+          volumes.add(
+              new VolumeBuilder()
+                  .withName(siteVolume.getKey())
+                  .withEmptyDir(
+                      new EmptyDirVolumeSourceBuilder().withSizeLimit(volume.getSize()).build())
+                  .build());
+          break;
+        case PERSISTENT:
+        default:
+          break;
+      }
+    }
 
     if (OperatorContext.getClusterMode() == ClusterMode.HIGH_AVAILABILITY) {
       volumes.add(
@@ -312,13 +493,20 @@ public class GerritStatefulSet
             .withName(TMP_VOLUME_NAME)
             .build());
 
-    return volumes;
+    return PodSpecOrdering.sortVolumes(volumes);
   }
 
-  private Set<VolumeMount> getVolumeMounts(Gerrit gerrit, boolean isInitContainer) {
-    Set<VolumeMount> volumeMounts = new HashSet<>();
+  private List<VolumeMount> getVolumeMounts(Gerrit gerrit, boolean isInitContainer) {
+    Set<VolumeMount> volumeMounts = new LinkedHashSet<>();
     volumeMounts.add(
         new VolumeMountBuilder().withName(SITE_VOLUME_NAME).withMountPath("/var/gerrit").build());
+    for (String siteVolume : getSiteVolumes(gerrit).keySet()) {
+      volumeMounts.add(
+          new VolumeMountBuilder()
+              .withName(siteVolume)
+              .withMountPath(getSiteVolumeMountPath(siteVolume))
+              .build());
+    }
     if (gerrit.getSpec().isHighlyAvailablePrimary()) {
       volumeMounts.add(GerritCluster.getHAShareVolumeMount());
     }
@@ -384,11 +572,11 @@ public class GerritStatefulSet
       volumeMounts.add(GerritCluster.getNfsImapdConfigVolumeMount());
     }
 
-    return volumeMounts;
+    return PodSpecOrdering.sortVolumeMounts(volumeMounts);
   }
 
-  private Set<VolumeMount> getFluentbitVolumeMounts(Gerrit gerrit) {
-    Set<VolumeMount> volumeMounts = new HashSet<>();
+  private List<VolumeMount> getFluentbitVolumeMounts(Gerrit gerrit) {
+    Set<VolumeMount> volumeMounts = new LinkedHashSet<>();
     volumeMounts.add(
         new VolumeMountBuilder()
             .withName(FluentBitConfigMap.getName(gerrit))
@@ -402,7 +590,7 @@ public class GerritStatefulSet
             .withMountPath("/var/mnt/logs")
             .build());
 
-    return volumeMounts;
+    return PodSpecOrdering.sortVolumeMounts(volumeMounts);
   }
 
   private List<ContainerPort> getContainerPorts(Gerrit gerrit) {
@@ -453,44 +641,29 @@ public class GerritStatefulSet
 
   private boolean wasConfigMapUpdated(
       String configMapName, Gerrit gerrit, Context<Gerrit> context) {
-    String configMapVersion =
-        context
-            .getClient()
-            .configMaps()
-            .inNamespace(gerrit.getMetadata().getNamespace())
-            .withName(configMapName)
-            .get()
-            .getMetadata()
-            .getResourceVersion();
-    String knownConfigMapVersion =
-        gerrit.getStatus().getAppliedConfigMapVersions().get(configMapName);
-    if (!configMapVersion.equals(knownConfigMapVersion)) {
-      logger.atInfo().log(
-          "Looking up ConfigMap: %s; Installed configmap resource version: %s; Resource version known to Gerrit: %s",
-          configMapName, configMapVersion, knownConfigMapVersion);
-      return true;
+    Optional<ConfigMap> configMap = GerritReconciler.getConfigMap(gerrit, configMapName, context);
+    if (configMap.isEmpty()) {
+      return false;
     }
-    return false;
+    return wasMountedDataUpdated(
+        "ConfigMap",
+        configMapName,
+        MountedDataDigest.of(configMap.get()),
+        configMap.get().getMetadata().getResourceVersion(),
+        gerrit.getStatus().getAppliedConfigMapVersions().get(configMapName));
   }
 
   public boolean wasSecretUpdated(Gerrit gerrit, Context<Gerrit> context) {
     String secretName = gerrit.getSpec().getSecretRef();
-    Optional<Secret> gerritSecret =
-        Optional.ofNullable(
-            context
-                .getClient()
-                .secrets()
-                .inNamespace(gerrit.getMetadata().getNamespace())
-                .withName(secretName)
-                .get());
-    if (gerritSecret.isPresent()) {
-      String secVersion = gerritSecret.get().getMetadata().getResourceVersion();
-      if (!secVersion.equals(gerrit.getStatus().getAppliedSecretVersions().get(secretName))) {
-        logger.atFine().log(
-            "Looking up Secret: %s; Installed secret resource version: %s; Resource version known to Gerrit: %s",
-            secretName, secVersion, gerrit.getStatus().getAppliedSecretVersions().get(secretName));
-        return true;
-      }
+    Optional<Secret> gerritSecret = GerritReconciler.getSecret(gerrit, secretName, context);
+    if (gerritSecret.isPresent()
+        && wasMountedDataUpdated(
+            "Secret",
+            secretName,
+            MountedDataDigest.of(gerritSecret.get()),
+            gerritSecret.get().getMetadata().getResourceVersion(),
+            gerrit.getStatus().getAppliedSecretVersions().get(secretName))) {
+      return true;
     }
 
     return wasModuleDataSecretUpdated(gerrit, context);
@@ -498,23 +671,43 @@ public class GerritStatefulSet
 
   public boolean wasModuleDataSecretUpdated(Gerrit gerrit, Context<Gerrit> context) {
     for (String secretName : gerrit.getModuleDataSecretNames()) {
-      String appliedVersion = gerrit.getStatus().getAppliedSecretVersions().get(secretName);
-      String actualVersion =
-          context
-              .getClient()
-              .secrets()
-              .inNamespace(gerrit.getMetadata().getNamespace())
-              .withName(secretName)
-              .get()
-              .getMetadata()
-              .getResourceVersion();
-      if (!actualVersion.equals(appliedVersion)) {
+      Optional<Secret> secret = GerritReconciler.getSecret(gerrit, secretName, context);
+      if (secret.isPresent()
+          && wasMountedDataUpdated(
+              "Secret",
+              secretName,
+              MountedDataDigest.of(secret.get()),
+              secret.get().getMetadata().getResourceVersion(),
+              gerrit.getStatus().getAppliedSecretVersions().get(secretName))) {
         return true;
       }
     }
     return false;
   }
 
+  private boolean wasMountedDataUpdated(
+      String kind, String name, String digest, String resourceVersion, String knownDigest) {
+    if (knownDigest != null && !MountedDataDigest.isDigest(knownDigest)) {
+      if (knownDigest.equals(resourceVersion)) {
+        logger.atInfo().log(
+            "Status of Gerrit contains resource version instead of digest for %s %s. Migrating without restart.",
+            kind, name);
+        return false;
+      }
+      logger.atInfo().log(
+          "Looking up %s: %s; Installed resource version: %s; Resource version known to Gerrit: %s",
+          kind, name, resourceVersion, knownDigest);
+      return true;
+    }
+    if (!digest.equals(knownDigest)) {
+      logger.atInfo().log(
+          "Looking up %s: %s; Installed data digest: %s; Data digest known to Gerrit: %s",
+          kind, name, digest, knownDigest);
+      return true;
+    }
+    return false;
+  }
+
   public EnvVar getPodNameEnvVar() {
     return new EnvVarBuilder()
         .withName("POD_NAME")
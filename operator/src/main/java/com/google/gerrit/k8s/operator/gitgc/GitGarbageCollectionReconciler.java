@@ -20,6 +20,7 @@ import com.google.gerrit.k8s.operator.api.model.gitgc.GitGarbageCollection;
 import com.google.gerrit.k8s.operator.api.model.gitgc.GitGarbageCollectionStatus;
 import com.google.gerrit.k8s.operator.api.model.gitgc.GitGarbageCollectionStatus.GitGcState;
 import com.google.gerrit.k8s.operator.gitgc.dependent.GitGarbageCollectionCronJob;
+import com.google.gerrit.k8s.operator.util.StatusUpdates;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import io.fabric8.kubernetes.client.KubernetesClient;
@@ -98,12 +99,13 @@ public class GitGarbageCollectionReconciler
   @Override
   public UpdateControl<GitGarbageCollection> reconcile(
       GitGarbageCollection gitGc, Context<GitGarbageCollection> context) {
+    GitGarbageCollectionStatus previousStatus = StatusUpdates.snapshot(client, gitGc);
     if (gitGc.getSpec().getProjects().isEmpty()) {
       gitGc = excludeProjectsHandledSeparately(gitGc);
     }
 
     dependentCronJob.reconcile(gitGc, context);
-    return UpdateControl.updateStatus(updateGitGcStatus(gitGc));
+    return StatusUpdates.updateStatusIfChanged(updateGitGcStatus(gitGc), previousStatus);
   }
 
   private GitGarbageCollection updateGitGcStatus(GitGarbageCollection gitGc) {
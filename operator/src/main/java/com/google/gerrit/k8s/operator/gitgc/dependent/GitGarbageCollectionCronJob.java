@@ -14,12 +14,14 @@
 
 package com.google.gerrit.k8s.operator.gitgc.dependent;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.flogger.FluentLogger;
 import com.google.gerrit.k8s.operator.api.model.cluster.GerritCluster;
 import com.google.gerrit.k8s.operator.api.model.gitgc.GitGarbageCollection;
 import com.google.gerrit.k8s.operator.cluster.GerritClusterLabelFactory;
 import com.google.gerrit.k8s.operator.components.GerritSecurityContext;
 import com.google.gerrit.k8s.operator.util.CRUDReconcileAddKubernetesDependentResource;
+import com.google.gerrit.k8s.operator.util.PodSpecOrdering;
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.ContainerBuilder;
 import io.fabric8.kubernetes.api.model.Volume;
@@ -76,7 +78,7 @@ public class GitGarbageCollectionCronJob
             .withNewTemplate()
             .withNewMetadata()
             .withAnnotations(
-                Map.of(
+                ImmutableMap.of(
                     "sidecar.istio.io/inject",
                     "false",
                     "cluster-autoscaler.kubernetes.io/safe-to-evict",
@@ -87,7 +89,8 @@ public class GitGarbageCollectionCronJob
             .withTolerations(gitGc.getSpec().getTolerations())
             .withAffinity(gitGc.getSpec().getAffinity())
             .addAllToImagePullSecrets(
-                gerritCluster.getSpec().getContainerImages().getImagePullSecrets())
+                PodSpecOrdering.sortImagePullSecrets(
+                    gerritCluster.getSpec().getContainerImages().getImagePullSecrets()))
             .withRestartPolicy("OnFailure")
             .withSecurityContext(GerritSecurityContext.forPod())
             .addAllToInitContainers(initContainers)
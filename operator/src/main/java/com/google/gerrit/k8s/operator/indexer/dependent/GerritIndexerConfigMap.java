@@ -14,8 +14,10 @@
 
 package com.google.gerrit.k8s.operator.indexer.dependent;
 
+import com.google.common.flogger.FluentLogger;
 import com.google.gerrit.k8s.operator.api.model.cluster.GerritCluster;
 import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritCacheSizing.Workload;
 import com.google.gerrit.k8s.operator.api.model.gerrit.GerritSpec;
 import com.google.gerrit.k8s.operator.api.model.gerrit.GerritTemplate;
 import com.google.gerrit.k8s.operator.api.model.gerrit.GerritTemplateSpec.GerritMode;
@@ -23,15 +25,18 @@ import com.google.gerrit.k8s.operator.api.model.indexer.GerritIndexer;
 import com.google.gerrit.k8s.operator.api.model.shared.IndexConfig;
 import com.google.gerrit.k8s.operator.cluster.GerritClusterLabelFactory;
 import com.google.gerrit.k8s.operator.gerrit.config.GerritConfigBuilder;
+import com.google.gerrit.k8s.operator.gerrit.config.InvalidGerritConfigException;
 import com.google.gerrit.k8s.operator.util.CRUDReconcileAddKubernetesDependentResource;
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import java.util.Map;
+import java.util.TreeMap;
 
 public class GerritIndexerConfigMap
     extends CRUDReconcileAddKubernetesDependentResource<ConfigMap, GerritIndexer> {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
 
   public GerritIndexerConfigMap() {
     super(ConfigMap.class);
@@ -59,8 +64,7 @@ public class GerritIndexerConfigMap
       primary.setSpec(primarySpec);
     }
 
-    configFiles.put(
-        "gerrit.config", new GerritConfigBuilder(gerritIndexer, primary).build().toText());
+    configFiles.put("gerrit.config", buildGerritConfig(gerritIndexer, primary));
 
     return new ConfigMapBuilder()
         .withApiVersion("v1")
@@ -69,7 +73,7 @@ public class GerritIndexerConfigMap
         .withNamespace(gerritIndexer.getMetadata().getNamespace())
         .withLabels(gerritIndexerLabels)
         .endMetadata()
-        .withData(configFiles)
+        .withData(new TreeMap<>(configFiles))
         .build();
   }
 
@@ -81,6 +85,25 @@ public class GerritIndexerConfigMap
     return gerritIndexerName + "-configmap";
   }
 
+  /**
+   * The GerritIndexer is not validated by an admission webhook. Thus, if the heap size set in its
+   * gerrit.config is invalid, the caches are not sized instead of failing the reconciliation.
+   */
+  private String buildGerritConfig(GerritIndexer gerritIndexer, Gerrit primary) {
+    try {
+      return new GerritConfigBuilder(gerritIndexer, primary).build().toText();
+    } catch (InvalidGerritConfigException e) {
+      if (primary.getSpec().getCacheSizing().getWorkload() == Workload.NONE) {
+        throw new IllegalStateException(e);
+      }
+      logger.atWarning().withCause(e).log(
+          "Invalid gerrit.config of GerritIndexer %s/%s. Caches will not be sized.",
+          gerritIndexer.getMetadata().getNamespace(), gerritIndexer.getMetadata().getName());
+      primary.getSpec().getCacheSizing().setWorkload(Workload.NONE);
+      return buildGerritConfig(gerritIndexer, primary);
+    }
+  }
+
   private Gerrit getPrimaryGerrit(GerritIndexer gerritIndexer, Context<GerritIndexer> context) {
     String ns = gerritIndexer.getMetadata().getNamespace();
     KubernetesClient client = context.getClient();
@@ -14,6 +14,7 @@
 
 package com.google.gerrit.k8s.operator.indexer.dependent;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.gerrit.k8s.operator.api.model.cluster.GerritCluster;
 import com.google.gerrit.k8s.operator.api.model.gerrit.GerritTemplate;
 import com.google.gerrit.k8s.operator.api.model.gerrit.GerritTemplateSpec.GerritMode;
@@ -25,6 +26,7 @@ import com.google.gerrit.k8s.operator.components.GerritSecurityContext;
 import com.google.gerrit.k8s.operator.gerrit.dependent.GerritInitConfigMap;
 import com.google.gerrit.k8s.operator.indexer.GerritIndexerReconciler;
 import com.google.gerrit.k8s.operator.util.CRUDReconcileAddKubernetesDependentResource;
+import com.google.gerrit.k8s.operator.util.PodSpecOrdering;
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.ContainerBuilder;
 import io.fabric8.kubernetes.api.model.EmptyDirVolumeSourceBuilder;
@@ -79,7 +81,7 @@ public class GerritIndexerJob
         .withNewTemplate()
         .withNewMetadata()
         .withAnnotations(
-            Map.of(
+            ImmutableMap.of(
                 "cluster-autoscaler.kubernetes.io/safe-to-evict", "false",
                 "sidecar.istio.io/inject", "false"))
         .withLabels(getLabels(gerritIndexer))
@@ -88,7 +90,8 @@ public class GerritIndexerJob
         .withAffinity(indexerSpec.getAffinity())
         .withTolerations(indexerSpec.getTolerations())
         .addAllToImagePullSecrets(
-            gerritCluster.getSpec().getContainerImages().getImagePullSecrets())
+            PodSpecOrdering.sortImagePullSecrets(
+                gerritCluster.getSpec().getContainerImages().getImagePullSecrets()))
         .withRestartPolicy("OnFailure")
         .withSecurityContext(GerritSecurityContext.forPod())
         .withInitContainers(buildGerritInitContainer(indexerSpec, gerritCluster))
@@ -14,6 +14,7 @@
 
 package com.google.gerrit.k8s.operator.maintenance.dependent;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.flogger.FluentLogger;
 import com.google.gerrit.k8s.operator.api.model.cluster.GerritCluster;
 import com.google.gerrit.k8s.operator.api.model.maintenance.GerritMaintenance;
@@ -23,6 +24,7 @@ import com.google.gerrit.k8s.operator.api.model.shared.NfsWorkaroundConfig;
 import com.google.gerrit.k8s.operator.cluster.GerritClusterLabelFactory;
 import com.google.gerrit.k8s.operator.components.GerritSecurityContext;
 import com.google.gerrit.k8s.operator.maintenance.GerritMaintenanceReconciler;
+import com.google.gerrit.k8s.operator.util.PodSpecOrdering;
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.ContainerBuilder;
 import io.fabric8.kubernetes.api.model.Volume;
@@ -73,7 +75,7 @@ public class GitGarbageCollectionCronJob {
             .withNewTemplate()
             .withNewMetadata()
             .withAnnotations(
-                Map.of(
+                ImmutableMap.of(
                     "sidecar.istio.io/inject",
                     "false",
                     "cluster-autoscaler.kubernetes.io/safe-to-evict",
@@ -84,7 +86,8 @@ public class GitGarbageCollectionCronJob {
             .withTolerations(gitGcTask.getTolerations())
             .withAffinity(gitGcTask.getAffinity())
             .addAllToImagePullSecrets(
-                gerritMaintenance.getSpec().getContainerImages().getImagePullSecrets())
+                PodSpecOrdering.sortImagePullSecrets(
+                    gerritMaintenance.getSpec().getContainerImages().getImagePullSecrets()))
             .withRestartPolicy("OnFailure")
             .withSecurityContext(GerritSecurityContext.forPod())
             .addAllToInitContainers(initContainers)
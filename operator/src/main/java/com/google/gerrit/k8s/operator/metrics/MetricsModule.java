@@ -0,0 +1,100 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.metrics;
+
+import com.google.gerrit.k8s.operator.server.AdmissionValidationCache;
+import com.google.gerrit.k8s.operator.util.CoalescingEventSource;
+import com.google.gerrit.k8s.operator.util.SecondaryResourceLookup;
+import com.google.gerrit.k8s.operator.util.StatusUpdates;
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ClassLoaderMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
+import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
+import io.micrometer.core.instrument.binder.system.UptimeMetrics;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+public class MetricsModule extends AbstractModule {
+  public static final String OPERATOR_SDK_METRICS_PREFIX = "operator.sdk.";
+
+  @Override
+  protected void configure() {
+    bind(MeterRegistry.class).to(PrometheusMeterRegistry.class);
+  }
+
+  @Provides
+  @Singleton
+  PrometheusMeterRegistry providePrometheusMeterRegistry() {
+    PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    registry.config().meterFilter(timerHistogramFilter());
+
+    new ClassLoaderMetrics().bindTo(registry);
+    new JvmMemoryMetrics().bindTo(registry);
+    new JvmGcMetrics().bindTo(registry);
+    new JvmThreadMetrics().bindTo(registry);
+    new ProcessorMetrics().bindTo(registry);
+    new UptimeMetrics().bindTo(registry);
+
+    FunctionCounter.builder(
+            "gerrit.operator.secondary.resource.lookups.direct",
+            SecondaryResourceLookup.class,
+            c -> SecondaryResourceLookup.getDirectApiCalls())
+        .description("Lookups of secondary resources that could not be served from a cache")
+        .register(registry);
+    FunctionCounter.builder(
+            "gerrit.operator.secondary.events.coalesced",
+            CoalescingEventSource.class,
+            c -> CoalescingEventSource.getCoalescedEvents())
+        .description("Events of secondary resources that were merged into a pending event")
+        .register(registry);
+    FunctionCounter.builder(
+            "gerrit.operator.status.updates.skipped",
+            StatusUpdates.class,
+            c -> StatusUpdates.getSkippedUpdates())
+        .description("Status updates that were skipped, because the status did not change")
+        .register(registry);
+    GuavaCacheMetrics.monitor(
+        registry, AdmissionValidationCache.getCache(), "gerrit.operator.admission.validations");
+    return registry;
+  }
+
+  /** Publishes histograms for the durations of reconciliations measured by the operator SDK. */
+  private static MeterFilter timerHistogramFilter() {
+    return new MeterFilter() {
+      @Override
+      public DistributionStatisticConfig configure(
+          Meter.Id id, DistributionStatisticConfig config) {
+        if (id.getType() == Meter.Type.TIMER
+            && id.getName().startsWith(OPERATOR_SDK_METRICS_PREFIX)) {
+          return DistributionStatisticConfig.builder()
+              .percentilesHistogram(true)
+              .build()
+              .merge(config);
+        }
+        return config;
+      }
+    };
+  }
+}
@@ -59,7 +59,7 @@ public class GerritIstioVirtualService
   }
 
   @Override
-  protected VirtualService desired(GerritNetwork gerritNetwork, Context<GerritNetwork> context) {
+  public VirtualService desired(GerritNetwork gerritNetwork, Context<GerritNetwork> context) {
     String gerritClusterHost = gerritNetwork.getSpec().getIngress().getHost();
     String namespace = gerritNetwork.getMetadata().getNamespace();
 
@@ -17,8 +17,11 @@ package com.google.gerrit.k8s.operator.receiver;
 import com.google.common.flogger.FluentLogger;
 import com.google.gerrit.k8s.operator.api.model.receiver.Receiver;
 import com.google.gerrit.k8s.operator.api.model.receiver.ReceiverStatus;
+import com.google.gerrit.k8s.operator.cluster.GerritClusterLabelFactory;
 import com.google.gerrit.k8s.operator.receiver.dependent.ReceiverDeployment;
 import com.google.gerrit.k8s.operator.receiver.dependent.ReceiverService;
+import com.google.gerrit.k8s.operator.util.ReferencedSecretLabeler;
+import com.google.gerrit.k8s.operator.util.StatusUpdates;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import io.fabric8.kubernetes.api.model.Secret;
@@ -76,6 +79,7 @@ public class ReceiverReconciler implements Reconciler<Receiver>, EventSourceInit
     InformerEventSource<Secret, Receiver> secretEventSource =
         new InformerEventSource<>(
             InformerConfiguration.from(Secret.class, context)
+                .withLabelSelector(GerritClusterLabelFactory.referencedSecretsSelector())
                 .withSecondaryToPrimaryMapper(secretMapper)
                 .build(),
             context);
@@ -88,11 +92,12 @@ public class ReceiverReconciler implements Reconciler<Receiver>, EventSourceInit
   @Override
   public UpdateControl<Receiver> reconcile(Receiver receiver, Context<Receiver> context)
       throws Exception {
+    ReceiverStatus previousStatus = StatusUpdates.snapshot(client, receiver);
     if (receiver.getStatus() != null && isReceiverRestartRequired(receiver, context)) {
       restartReceiverDeployment(receiver);
     }
 
-    return UpdateControl.patchStatus(updateStatus(receiver, context));
+    return StatusUpdates.patchStatusIfChanged(updateStatus(receiver, context), previousStatus);
   }
 
   void restartReceiverDeployment(Receiver receiver) {
@@ -121,6 +126,8 @@ public class ReceiverReconciler implements Reconciler<Receiver>, EventSourceInit
             .get();
 
     if (sec != null) {
+      // Labeling the Secret changes its resource version.
+      sec = ReferencedSecretLabeler.ensureLabeled(client, sec);
       status.setAppliedCredentialSecretVersion(sec.getMetadata().getResourceVersion());
     }
 
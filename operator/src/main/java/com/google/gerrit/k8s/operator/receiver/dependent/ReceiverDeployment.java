@@ -21,6 +21,7 @@ import com.google.gerrit.k8s.operator.cluster.GerritClusterLabelFactory;
 import com.google.gerrit.k8s.operator.components.GerritSecurityContext;
 import com.google.gerrit.k8s.operator.receiver.ReceiverReconciler;
 import com.google.gerrit.k8s.operator.util.CRUDReconcileAddKubernetesDependentResource;
+import com.google.gerrit.k8s.operator.util.PodSpecOrdering;
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.ContainerPort;
 import io.fabric8.kubernetes.api.model.EmptyDirVolumeSourceBuilder;
@@ -34,9 +35,10 @@ import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 @KubernetesDependent
@@ -97,7 +99,9 @@ public class ReceiverDeployment
         .withTopologySpreadConstraints(receiver.getSpec().getTopologySpreadConstraints())
         .withAffinity(receiver.getSpec().getAffinity())
         .withPriorityClassName(receiver.getSpec().getPriorityClassName())
-        .addAllToImagePullSecrets(receiver.getSpec().getContainerImages().getImagePullSecrets())
+        .addAllToImagePullSecrets(
+            PodSpecOrdering.sortImagePullSecrets(
+                receiver.getSpec().getContainerImages().getImagePullSecrets()))
         .withSecurityContext(GerritSecurityContext.forPod())
         .addAllToInitContainers(initContainers)
         .addNewContainer()
@@ -121,7 +125,16 @@ public class ReceiverDeployment
         .endTemplate()
         .endSpec();
 
-    return deploymentBuilder.build();
+    Deployment deployment = deploymentBuilder.build();
+    Optional<Deployment> existingDeployment =
+        context == null ? Optional.empty() : context.getSecondaryResource(Deployment.class);
+    if (existingDeployment.isPresent()
+        && existingDeployment.get().getSpec().getTemplate().getSpec() != null) {
+      PodSpecOrdering.keepExistingOrder(
+          deployment.getSpec().getTemplate().getSpec(),
+          existingDeployment.get().getSpec().getTemplate().getSpec());
+    }
+    return deployment;
   }
 
   private static String getComponentName(Receiver receiver) {
@@ -140,8 +153,8 @@ public class ReceiverDeployment
         ReceiverReconciler.class.getSimpleName());
   }
 
-  private Set<Volume> getVolumes(Receiver receiver) {
-    Set<Volume> volumes = new HashSet<>();
+  private List<Volume> getVolumes(Receiver receiver) {
+    Set<Volume> volumes = new LinkedHashSet<>();
     volumes.add(
         GerritCluster.getSharedVolume(
             receiver.getSpec().getStorage().getSharedStorage().getExternalPVC()));
@@ -167,11 +180,11 @@ public class ReceiverDeployment
             .withName("apache-run-dir")
             .build());
 
-    return volumes;
+    return PodSpecOrdering.sortVolumes(volumes);
   }
 
-  private Set<VolumeMount> getVolumeMounts(Receiver receiver, boolean isInitContainer) {
-    Set<VolumeMount> volumeMounts = new HashSet<>();
+  private List<VolumeMount> getVolumeMounts(Receiver receiver, boolean isInitContainer) {
+    Set<VolumeMount> volumeMounts = new LinkedHashSet<>();
     volumeMounts.add(GerritCluster.getGitRepositoriesVolumeMount("/var/gerrit/git"));
 
     volumeMounts.add(
@@ -190,7 +203,7 @@ public class ReceiverDeployment
     volumeMounts.add(
         new VolumeMountBuilder().withName("apache-run-dir").withMountPath("/run/apache2").build());
 
-    return volumeMounts;
+    return PodSpecOrdering.sortVolumeMounts(volumeMounts);
   }
 
   private List<ContainerPort> getContainerPorts(Receiver receiver) {
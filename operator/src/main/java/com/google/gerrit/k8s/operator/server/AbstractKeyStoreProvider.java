@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
+import java.security.cert.Certificate;
 import java.security.cert.CertificateEncodingException;
 import java.security.cert.CertificateException;
 import java.util.Base64;
@@ -38,11 +39,24 @@ public abstract class AbstractKeyStoreProvider implements KeyStoreProvider {
           NoSuchAlgorithmException,
           CertificateException,
           IOException {
+    return toPem(getKeyStore().getCertificate(getAlias()));
+  }
+
+  @Override
+  public String getCaBundle()
+      throws CertificateEncodingException,
+          KeyStoreException,
+          NoSuchAlgorithmException,
+          CertificateException,
+          IOException {
+    return getCertificate();
+  }
+
+  static String toPem(Certificate certificate) throws CertificateEncodingException {
     StringBuilder cert = new StringBuilder();
     cert.append(CERT_PREFIX);
     cert.append("\n");
-    cert.append(
-        Base64.getEncoder().encodeToString(getKeyStore().getCertificate(getAlias()).getEncoded()));
+    cert.append(Base64.getEncoder().encodeToString(certificate.getEncoded()));
     cert.append("\n");
     cert.append(CERT_SUFFIX);
     return cert.toString();
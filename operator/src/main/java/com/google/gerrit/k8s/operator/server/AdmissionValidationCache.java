@@ -0,0 +1,83 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.fabric8.kubernetes.api.model.Status;
+import java.util.function.Supplier;
+
+/**
+ * Caches the results of validations done by admission webhooks. The API server sends the complete
+ * resource for every update, e.g. also if only the status or metadata was changed or if a
+ * server-side apply is retried. If the validation only depends on the name, namespace and spec of
+ * the resource and on the configuration of the webhook, e.g. the cluster mode, the result is reused
+ * as long as these did not change.
+ *
+ * <p>The results are keyed by a SHA-256 digest of the spec as sent by the API server. Thus, a
+ * cached result can be found without decoding the resource.
+ */
+public class AdmissionValidationCache {
+  public static final long MAXIMUM_SIZE = 1000;
+
+  private static final Cache<String, Status> cache =
+      CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE).recordStats().build();
+
+  private AdmissionValidationCache() {}
+
+  /**
+   * Returns the cached result of the validation of the resource or runs the validation, if no
+   * result is cached.
+   *
+   * @param kind kind of the validated resource
+   * @param scope configuration of the webhook the validation depends on
+   * @param request AdmissionRequest containing the validated resource
+   * @param validation validation that is run if no result is cached
+   */
+  static Status get(
+      String kind, String scope, ScannedAdmissionRequest request, Supplier<Status> validation) {
+    String key = digest(kind, scope, request);
+    Status status = cache.getIfPresent(key);
+    if (status == null) {
+      status = validation.get();
+      cache.put(key, status);
+    }
+    return status;
+  }
+
+  /** The underlying cache, e.g. to monitor it. */
+  public static Cache<String, Status> getCache() {
+    return cache;
+  }
+
+  private static String digest(String kind, String scope, ScannedAdmissionRequest request) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    put(hasher, kind);
+    put(hasher, scope);
+    put(hasher, request.getNamespace());
+    put(hasher, request.getName());
+    hasher.putBytes(request.getSpec());
+    return hasher.hash().toString();
+  }
+
+  private static void put(Hasher hasher, String value) {
+    hasher.putString(Strings.nullToEmpty(value), UTF_8).putByte((byte) 0);
+  }
+}
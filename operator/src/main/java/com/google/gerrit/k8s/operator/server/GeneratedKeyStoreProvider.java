@@ -16,24 +16,38 @@ package com.google.gerrit.k8s.operator.server;
 
 import static com.google.gerrit.k8s.operator.GerritOperator.SERVICE_NAME;
 
+import com.google.common.flogger.FluentLogger;
+import com.google.gerrit.k8s.operator.server.KeyStoreSettings.KeyAlgorithm;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
-import java.io.FileOutputStream;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.net.HttpURLConnection;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.GeneralSecurityException;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.KeyStore;
-import java.security.KeyStoreException;
-import java.security.NoSuchAlgorithmException;
 import java.security.Security;
 import java.security.cert.Certificate;
+import java.security.cert.CertificateEncodingException;
 import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.bouncycastle.asn1.ASN1Encodable;
 import org.bouncycastle.asn1.DERSequence;
@@ -49,18 +63,37 @@ import org.bouncycastle.operator.ContentSigner;
 import org.bouncycastle.operator.OperatorCreationException;
 import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 
+/**
+ * Provides a keystore with a self-signed certificate, if no keystore was provided.
+ *
+ * <p>The keystore is stored in a Secret in the namespace of the operator and reused by restarted or
+ * additional replicas of the operator, as long as the renewal of the certificate is not due. When a
+ * new keystore is generated, the previous certificate is kept in the Secret and still trusted in
+ * the CA bundle of the webhooks until it expires, so that replicas still using the previous
+ * keystore can still be reached.
+ */
 @Singleton
 public class GeneratedKeyStoreProvider extends AbstractKeyStoreProvider {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
   private static final Path KEYSTORE_PATH = Path.of("/tmp/keystore.jks");
 
+  static final String KEYSTORE_KEY = "keystore.jks";
+  static final String PASSWORD_KEY = "keystore.password";
+  static final String PREVIOUS_CERTIFICATE_KEY = "previous.crt";
+
+  private final KubernetesClient client;
   private final String namespace;
-  private final String password;
+  private final KeyStoreSettings settings;
+
+  private GeneratedKeyStore keyStore;
 
   @Inject
-  public GeneratedKeyStoreProvider(@Named("Namespace") String namespace) {
+  public GeneratedKeyStoreProvider(
+      KubernetesClient client, @Named("Namespace") String namespace, KeyStoreSettings settings) {
+    this.client = client;
     this.namespace = namespace;
-    this.password = generatePassword();
-    generateKeyStore();
+    this.settings = settings;
+    refresh();
   }
 
   @Override
@@ -69,8 +102,156 @@ public class GeneratedKeyStoreProvider extends AbstractKeyStoreProvider {
   }
 
   @Override
-  public String getKeyStorePassword() {
-    return password;
+  public synchronized String getKeyStorePassword() {
+    return keyStore.password;
+  }
+
+  @Override
+  public synchronized String getCaBundle() throws CertificateEncodingException {
+    if (keyStore.previousCertificate.isEmpty()) {
+      return toPem(keyStore.certificate);
+    }
+    return toPem(keyStore.certificate) + "\n" + toPem(keyStore.previousCertificate.get());
+  }
+
+  /**
+   * Loads the keystore from the Secret, if it was changed by another replica, or generates a new
+   * keystore, if the renewal of the certificate is due.
+   *
+   * @return whether the keystore was changed
+   */
+  @Override
+  public synchronized boolean refresh() {
+    Secret secret = getSecret();
+    Optional<GeneratedKeyStore> stored = secret == null ? Optional.empty() : load(secret);
+    if (stored.isPresent() && !isRenewalDue(stored.get().certificate)) {
+      return use(stored.get());
+    }
+
+    GeneratedKeyStore generated =
+        generateKeyStore(stored.map(s -> s.certificate).filter(c -> !isExpired(c)));
+    try {
+      store(secret, generated);
+    } catch (KubernetesClientException e) {
+      if (e.getCode() != HttpURLConnection.HTTP_CONFLICT) {
+        throw e;
+      }
+      logger.atInfo().log("Keystore was concurrently stored by another replica.");
+      return use(
+          load(getSecret())
+              .orElseThrow(() -> new IllegalStateException("Failed to load stored keystore.")));
+    }
+    return use(generated);
+  }
+
+  private boolean use(GeneratedKeyStore newKeyStore) {
+    if (keyStore != null && keyStore.certificate.equals(newKeyStore.certificate)) {
+      return false;
+    }
+    try {
+      KEYSTORE_PATH.getParent().toFile().mkdirs();
+      Files.write(KEYSTORE_PATH, newKeyStore.content);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to write keystore.", e);
+    }
+    logger.atInfo().log(
+        "Using keystore with certificate valid until %s", newKeyStore.certificate.getNotAfter());
+    keyStore = newKeyStore;
+    return true;
+  }
+
+  private Secret getSecret() {
+    return client.secrets().inNamespace(namespace).withName(settings.getSecretName()).get();
+  }
+
+  private Optional<GeneratedKeyStore> load(Secret secret) {
+    Map<String, String> data = secret.getData();
+    if (data == null || !data.containsKey(KEYSTORE_KEY) || !data.containsKey(PASSWORD_KEY)) {
+      return Optional.empty();
+    }
+    try {
+      byte[] content = Base64.getDecoder().decode(data.get(KEYSTORE_KEY));
+      String password = new String(Base64.getDecoder().decode(data.get(PASSWORD_KEY)));
+      KeyStore ks = KeyStore.getInstance(KeyStore.getDefaultType());
+      ks.load(new ByteArrayInputStream(content), password.toCharArray());
+      X509Certificate certificate = (X509Certificate) ks.getCertificate(getAlias());
+      if (certificate == null
+          || !certificate.getSubjectX500Principal().getName().equalsIgnoreCase("cn=" + getCN())
+          || !certificate
+              .getPublicKey()
+              .getAlgorithm()
+              .equals(settings.getKeyAlgorithm().getAlgorithm())) {
+        logger.atInfo().log(
+            "Stored keystore does not match the configuration of the operator. Replacing it.");
+        return Optional.empty();
+      }
+      Optional<X509Certificate> previousCertificate = Optional.empty();
+      if (data.containsKey(PREVIOUS_CERTIFICATE_KEY)) {
+        previousCertificate =
+            Optional.of(
+                    (X509Certificate)
+                        CertificateFactory.getInstance("X.509")
+                            .generateCertificate(
+                                new ByteArrayInputStream(
+                                    Base64.getDecoder()
+                                        .decode(data.get(PREVIOUS_CERTIFICATE_KEY)))))
+                .filter(c -> !isExpired(c));
+      }
+      return Optional.of(
+          new GeneratedKeyStore(content, password, certificate, previousCertificate));
+    } catch (GeneralSecurityException | IOException | IllegalArgumentException e) {
+      logger.atWarning().withCause(e).log("Failed to load stored keystore. Replacing it.");
+      return Optional.empty();
+    }
+  }
+
+  private void store(Secret existing, GeneratedKeyStore generated)
+      throws KubernetesClientException {
+    Map<String, String> data =
+        new HashMap<>(
+            Map.of(
+                KEYSTORE_KEY,
+                Base64.getEncoder().encodeToString(generated.content),
+                PASSWORD_KEY,
+                Base64.getEncoder().encodeToString(generated.password.getBytes())));
+    try {
+      if (generated.previousCertificate.isPresent()) {
+        data.put(
+            PREVIOUS_CERTIFICATE_KEY,
+            Base64.getEncoder().encodeToString(generated.previousCertificate.get().getEncoded()));
+      }
+    } catch (CertificateEncodingException e) {
+      throw new IllegalStateException("Failed to encode previous certificate.", e);
+    }
+    Secret secret =
+        new SecretBuilder()
+            .withNewMetadata()
+            .withName(settings.getSecretName())
+            .withNamespace(namespace)
+            .withResourceVersion(
+                existing == null ? null : existing.getMetadata().getResourceVersion())
+            .endMetadata()
+            .withData(data)
+            .build();
+    if (existing == null) {
+      logger.atInfo().log("Storing generated keystore in Secret %s", settings.getSecretName());
+      client.resource(secret).create();
+    } else {
+      logger.atInfo().log("Replacing keystore in Secret %s", settings.getSecretName());
+      client.resource(secret).update();
+    }
+  }
+
+  private boolean isRenewalDue(X509Certificate certificate) {
+    return certificate
+        .getNotAfter()
+        .toInstant()
+        .minus(settings.getRenewBefore())
+        .isBefore(Instant.now());
+  }
+
+  private static boolean isExpired(X509Certificate certificate) {
+    return certificate.getNotAfter().toInstant().isBefore(Instant.now());
   }
 
   private String getCN() {
@@ -81,7 +262,7 @@ public class GeneratedKeyStoreProvider extends AbstractKeyStoreProvider {
     return RandomStringUtils.randomAlphabetic(10);
   }
 
-  private Certificate generateCertificate(KeyPair keyPair)
+  private X509Certificate generateCertificate(KeyPair keyPair)
       throws OperatorCreationException, CertificateException, CertIOException {
     BouncyCastleProvider bcProvider = new BouncyCastleProvider();
     Security.addProvider(bcProvider);
@@ -96,37 +277,56 @@ public class GeneratedKeyStoreProvider extends AbstractKeyStoreProvider {
                 dnName,
                 BigInteger.valueOf(start.toEpochMilli()),
                 Date.from(start),
-                Date.from(start.plus(365, ChronoUnit.DAYS)),
+                Date.from(start.plus(settings.getValidity())),
                 dnName,
                 keyPair.getPublic())
             .addExtension(Extension.subjectAlternativeName, true, subjectAlternativeNames);
 
     ContentSigner contentSigner =
-        new JcaContentSignerBuilder("SHA256WithRSA").build(keyPair.getPrivate());
+        new JcaContentSignerBuilder(settings.getKeyAlgorithm().getSignatureAlgorithm())
+            .build(keyPair.getPrivate());
     return new JcaX509CertificateConverter()
         .setProvider(bcProvider)
         .getCertificate(certBuilder.build(contentSigner));
   }
 
-  private void generateKeyStore() {
-    KEYSTORE_PATH.getParent().toFile().mkdirs();
-    try (FileOutputStream fos = new FileOutputStream(KEYSTORE_PATH.toFile())) {
-      KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
-      keyPairGenerator.initialize(4096);
+  private GeneratedKeyStore generateKeyStore(Optional<X509Certificate> previousCertificate) {
+    KeyAlgorithm keyAlgorithm = settings.getKeyAlgorithm();
+    logger.atInfo().log("Generating keystore using %s keys", keyAlgorithm);
+    String password = generatePassword();
+    try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+      KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(keyAlgorithm.getAlgorithm());
+      keyPairGenerator.initialize(keyAlgorithm.getKeySize());
       KeyPair keyPair = keyPairGenerator.generateKeyPair();
 
-      Certificate[] chain = {generateCertificate(keyPair)};
+      X509Certificate certificate = generateCertificate(keyPair);
+      Certificate[] chain = {certificate};
 
       KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
       keyStore.load(null, null);
       keyStore.setKeyEntry(getAlias(), keyPair.getPrivate(), password.toCharArray(), chain);
-      keyStore.store(fos, password.toCharArray());
-    } catch (IOException
-        | NoSuchAlgorithmException
-        | CertificateException
-        | KeyStoreException
-        | OperatorCreationException e) {
+      keyStore.store(out, password.toCharArray());
+      return new GeneratedKeyStore(out.toByteArray(), password, certificate, previousCertificate);
+    } catch (IOException | GeneralSecurityException | OperatorCreationException e) {
       throw new IllegalStateException("Failed to create keystore.", e);
     }
   }
+
+  private static class GeneratedKeyStore {
+    private final byte[] content;
+    private final String password;
+    private final X509Certificate certificate;
+    private final Optional<X509Certificate> previousCertificate;
+
+    GeneratedKeyStore(
+        byte[] content,
+        String password,
+        X509Certificate certificate,
+        Optional<X509Certificate> previousCertificate) {
+      this.content = content;
+      this.password = password;
+      this.certificate = certificate;
+      this.previousCertificate = previousCertificate;
+    }
+  }
 }
@@ -14,18 +14,56 @@
 
 package com.google.gerrit.k8s.operator.server;
 
+import com.google.gerrit.k8s.operator.ControllerReadiness;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
 
+/**
+ * Reports the health of the operator. The {@code /health} endpoint is used as readiness probe and
+ * the {@code /live} endpoint as liveness probe. Both report the operator to be healthy as soon as
+ * the HTTP server is running, so that the admission webhooks are served via the Service of the
+ * operator, while the caches of the controllers are still syncing, which may take long on large
+ * clusters. The {@code /controllers} endpoint reports, whether all controllers were started and
+ * their caches are synced, and lists the readiness of each controller. It is not meant to be used
+ * as a probe.
+ */
+@Singleton
 public class HealthcheckServlet extends HttpServlet {
   private static final long serialVersionUID = 1L;
+  public static final String READINESS_PATH = "/health";
+  public static final String LIVENESS_PATH = "/live";
+  public static final String CONTROLLERS_PATH = "/controllers";
 
+  private final transient ControllerReadiness readiness;
+
+  @Inject
+  public HealthcheckServlet(ControllerReadiness readiness) {
+    this.readiness = readiness;
+  }
+
+  @Override
   protected void doGet(HttpServletRequest request, HttpServletResponse response)
       throws IOException {
     response.setContentType("application/text");
-    response.setStatus(HttpServletResponse.SC_OK);
-    response.getWriter().println("ALL GOOD.");
+    if (!CONTROLLERS_PATH.equals(request.getServletPath())) {
+      response.setStatus(HttpServletResponse.SC_OK);
+      response.getWriter().println("ALL GOOD.");
+      return;
+    }
+
+    boolean ready = readiness.isReady();
+    response.setStatus(
+        ready ? HttpServletResponse.SC_OK : HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    PrintWriter writer = response.getWriter();
+    writer.println(ready ? "ALL GOOD." : "NOT READY.");
+    for (Map.Entry<String, Boolean> controller : readiness.getReadiness().entrySet()) {
+      writer.printf("%s: %s%n", controller.getKey(), controller.getValue() ? "ready" : "not ready");
+    }
   }
 }
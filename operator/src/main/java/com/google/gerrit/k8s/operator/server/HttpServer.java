@@ -14,9 +14,14 @@
 
 package com.google.gerrit.k8s.operator.server;
 
+import com.google.common.flogger.FluentLogger;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.util.Set;
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
+import org.eclipse.jetty.server.ConnectionFactory;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.CustomRequestLog;
 import org.eclipse.jetty.server.HttpConfiguration;
@@ -24,51 +29,145 @@ import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.SecureRequestCustomizer;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.servlet.ServletHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.util.VirtualThreads;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 
 @Singleton
 public class HttpServer {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
   public static final String KEYSTORE_PATH = "/operator/keystore.jks";
   public static final String KEYSTORE_PWD_FILE = "/operator/keystore.password";
   public static final int PORT = 8080;
 
-  private final Server server = new Server();
   private final KeyStoreProvider keyStoreProvider;
   private final Set<AdmissionWebhookServlet> admissionWebhookServlets;
+  private final MetricsServlet metricsServlet;
+  private final HealthcheckServlet healthcheckServlet;
+  private final HttpServerSettings settings;
+  private final Server server;
+  private ServerConnector connector;
+  private SslContextFactory.Server ssl;
 
   @Inject
   public HttpServer(
-      KeyStoreProvider keyStoreProvider, Set<AdmissionWebhookServlet> admissionWebhookServlets) {
+      KeyStoreProvider keyStoreProvider,
+      Set<AdmissionWebhookServlet> admissionWebhookServlets,
+      MetricsServlet metricsServlet,
+      HealthcheckServlet healthcheckServlet,
+      HttpServerSettings settings) {
     this.keyStoreProvider = keyStoreProvider;
     this.admissionWebhookServlets = admissionWebhookServlets;
+    this.metricsServlet = metricsServlet;
+    this.healthcheckServlet = healthcheckServlet;
+    this.settings = settings;
+    this.server = new Server(createThreadPool());
   }
 
   public void start() throws Exception {
-    SslContextFactory.Server ssl = new SslContextFactory.Server();
+    ssl = new SslContextFactory.Server();
     ssl.setKeyStorePath(keyStoreProvider.getKeyStorePath().toString());
     ssl.setTrustStorePath(keyStoreProvider.getKeyStorePath().toString());
     ssl.setKeyStorePassword(keyStoreProvider.getKeyStorePassword());
     ssl.setTrustStorePassword(keyStoreProvider.getKeyStorePassword());
     ssl.setSniRequired(false);
+    ssl.setSessionCachingEnabled(settings.isTlsSessionResumption());
+    ssl.setSslSessionCacheSize(settings.getTlsSessionCacheSize());
+    ssl.setSslSessionTimeout(settings.getTlsSessionTimeoutSeconds());
 
     HttpConfiguration sslConfiguration = new HttpConfiguration();
     sslConfiguration.addCustomizer(new SecureRequestCustomizer(false));
     HttpConnectionFactory httpConnectionFactory = new HttpConnectionFactory(sslConfiguration);
 
-    ServerConnector connector = new ServerConnector(server, ssl, httpConnectionFactory);
-    connector.setPort(PORT);
+    connector =
+        new ServerConnector(
+            server,
+            settings.getAcceptors(),
+            settings.getSelectors(),
+            createConnectionFactories(ssl, sslConfiguration, httpConnectionFactory));
+    connector.setPort(settings.getPort());
+    connector.setIdleTimeout(settings.getIdleTimeout().toMillis());
+    connector.setAcceptQueueSize(settings.getAcceptQueueSize());
     server.setConnectors(new Connector[] {connector});
 
     ServletHandler servletHandler = new ServletHandler();
     for (AdmissionWebhookServlet servlet : admissionWebhookServlets) {
       servletHandler.addServletWithMapping(new ServletHolder(servlet), servlet.getURI());
     }
-    servletHandler.addServletWithMapping(HealthcheckServlet.class, "/health");
+    ServletHolder healthcheck = new ServletHolder(healthcheckServlet);
+    servletHandler.addServletWithMapping(healthcheck, HealthcheckServlet.READINESS_PATH);
+    servletHandler.addServletWithMapping(healthcheck, HealthcheckServlet.LIVENESS_PATH);
+    servletHandler.addServletWithMapping(healthcheck, HealthcheckServlet.CONTROLLERS_PATH);
+    servletHandler.addServletWithMapping(new ServletHolder(metricsServlet), "/metrics");
     server.setHandler(servletHandler);
     server.setRequestLog(new CustomRequestLog());
 
     server.start();
   }
+
+  public void stop() throws Exception {
+    server.stop();
+  }
+
+  /** Reloads the keystore, e.g. after the certificate was renewed. */
+  public void reloadKeyStore() throws Exception {
+    ssl.setKeyStorePassword(keyStoreProvider.getKeyStorePassword());
+    ssl.setTrustStorePassword(keyStoreProvider.getKeyStorePassword());
+    ssl.reload(sslContextFactory -> {});
+  }
+
+  /** The port the server is listening on. */
+  public int getLocalPort() {
+    return connector.getLocalPort();
+  }
+
+  /**
+   * Creates the connection factories of the connector. If HTTP/2 is enabled, the protocol is
+   * negotiated using ALPN during the TLS handshake. Clients not supporting HTTP/2 or ALPN fall back
+   * to HTTP/1.1.
+   */
+  private ConnectionFactory[] createConnectionFactories(
+      SslContextFactory.Server ssl,
+      HttpConfiguration sslConfiguration,
+      HttpConnectionFactory httpConnectionFactory) {
+    if (!settings.isHttp2()) {
+      return new ConnectionFactory[] {
+        new SslConnectionFactory(ssl, httpConnectionFactory.getProtocol()), httpConnectionFactory
+      };
+    }
+    ssl.setCipherComparator(HTTP2Cipher.COMPARATOR);
+
+    HTTP2ServerConnectionFactory http2ConnectionFactory =
+        new HTTP2ServerConnectionFactory(sslConfiguration);
+    http2ConnectionFactory.setMaxConcurrentStreams(settings.getHttp2MaxConcurrentStreams());
+
+    ALPNServerConnectionFactory alpn = new ALPNServerConnectionFactory();
+    alpn.setDefaultProtocol(httpConnectionFactory.getProtocol());
+
+    return new ConnectionFactory[] {
+      new SslConnectionFactory(ssl, alpn.getProtocol()),
+      alpn,
+      http2ConnectionFactory,
+      httpConnectionFactory
+    };
+  }
+
+  private QueuedThreadPool createThreadPool() {
+    QueuedThreadPool threadPool =
+        new QueuedThreadPool(settings.getMaxThreads(), settings.getMinThreads());
+    threadPool.setName("http-server");
+    if (settings.isVirtualThreads()) {
+      if (VirtualThreads.areSupported()) {
+        threadPool.setVirtualThreadsExecutor(VirtualThreads.getDefaultVirtualThreadsExecutor());
+      } else {
+        logger.atWarning().log(
+            "Virtual threads are not supported by the Java runtime. Using platform threads.");
+      }
+    }
+    return threadPool;
+  }
 }
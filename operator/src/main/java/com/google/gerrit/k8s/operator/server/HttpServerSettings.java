@@ -0,0 +1,174 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.server;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings of the HTTP server serving the admission webhooks. During mass updates of resources,
+ * e.g. when applying many resources at once, the API server sends many concurrent admission
+ * requests, which have to be answered within the timeout of the webhook.
+ *
+ * <p>The settings are read from the following environment variables:
+ *
+ * <ul>
+ *   <li>`HTTP_SERVER_MIN_THREADS` / `HTTP_SERVER_MAX_THREADS`: size of the thread pool
+ *   <li>`HTTP_SERVER_VIRTUAL_THREADS`: whether to handle requests on virtual threads, if supported
+ *       by the Java runtime
+ *   <li>`HTTP_SERVER_ACCEPTORS` / `HTTP_SERVER_SELECTORS`: number of acceptor and selector threads
+ *       of the connector, -1 to derive them from the number of CPUs
+ *   <li>`HTTP_SERVER_ACCEPT_QUEUE_SIZE`: size of the queue of connections waiting to be accepted, 0
+ *       to use the default of the operating system
+ *   <li>`HTTP_SERVER_IDLE_TIMEOUT_SECONDS`: time after which idle connections are closed
+ *   <li>`HTTP_SERVER_HTTP2`: whether HTTP/2 is negotiated with clients supporting it
+ *   <li>`HTTP_SERVER_HTTP2_MAX_CONCURRENT_STREAMS`: maximum number of concurrent requests per
+ *       HTTP/2 connection
+ *   <li>`HTTP_SERVER_TLS_SESSION_RESUMPTION`: whether TLS sessions are cached to be resumed by new
+ *       connections without a full handshake
+ *   <li>`HTTP_SERVER_TLS_SESSION_CACHE_SIZE` / `HTTP_SERVER_TLS_SESSION_TIMEOUT_SECONDS`: size and
+ *       timeout of the TLS session cache, -1 to use the defaults of the Java runtime
+ * </ul>
+ */
+public class HttpServerSettings {
+  public static final int DEFAULT_MIN_THREADS = 8;
+  public static final int DEFAULT_MAX_THREADS = 200;
+  public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofSeconds(30);
+  public static final int DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS = 128;
+
+  static final String MIN_THREADS = "HTTP_SERVER_MIN_THREADS";
+  static final String MAX_THREADS = "HTTP_SERVER_MAX_THREADS";
+  static final String VIRTUAL_THREADS = "HTTP_SERVER_VIRTUAL_THREADS";
+  static final String ACCEPTORS = "HTTP_SERVER_ACCEPTORS";
+  static final String SELECTORS = "HTTP_SERVER_SELECTORS";
+  static final String ACCEPT_QUEUE_SIZE = "HTTP_SERVER_ACCEPT_QUEUE_SIZE";
+  static final String IDLE_TIMEOUT_SECONDS = "HTTP_SERVER_IDLE_TIMEOUT_SECONDS";
+  static final String HTTP2 = "HTTP_SERVER_HTTP2";
+  static final String HTTP2_MAX_CONCURRENT_STREAMS = "HTTP_SERVER_HTTP2_MAX_CONCURRENT_STREAMS";
+  static final String TLS_SESSION_RESUMPTION = "HTTP_SERVER_TLS_SESSION_RESUMPTION";
+  static final String TLS_SESSION_CACHE_SIZE = "HTTP_SERVER_TLS_SESSION_CACHE_SIZE";
+  static final String TLS_SESSION_TIMEOUT_SECONDS = "HTTP_SERVER_TLS_SESSION_TIMEOUT_SECONDS";
+
+  private final int port;
+  private final int minThreads;
+  private final int maxThreads;
+  private final boolean virtualThreads;
+  private final int acceptors;
+  private final int selectors;
+  private final int acceptQueueSize;
+  private final Duration idleTimeout;
+  private final boolean http2;
+  private final int http2MaxConcurrentStreams;
+  private final boolean tlsSessionResumption;
+  private final int tlsSessionCacheSize;
+  private final int tlsSessionTimeoutSeconds;
+
+  public HttpServerSettings(Map<String, String> env) {
+    this(env, HttpServer.PORT);
+  }
+
+  HttpServerSettings(Map<String, String> env, int port) {
+    this.port = port;
+    this.minThreads = getInt(env, MIN_THREADS, DEFAULT_MIN_THREADS, 1);
+    this.maxThreads = getInt(env, MAX_THREADS, DEFAULT_MAX_THREADS, 1);
+    this.virtualThreads = getBoolean(env, VIRTUAL_THREADS, false);
+    this.acceptors = getInt(env, ACCEPTORS, -1, -1);
+    this.selectors = getInt(env, SELECTORS, -1, -1);
+    this.acceptQueueSize = getInt(env, ACCEPT_QUEUE_SIZE, 0, 0);
+    this.idleTimeout =
+        Duration.ofSeconds(
+            getInt(env, IDLE_TIMEOUT_SECONDS, (int) DEFAULT_IDLE_TIMEOUT.toSeconds(), 1));
+    this.http2 = getBoolean(env, HTTP2, true);
+    this.http2MaxConcurrentStreams =
+        getInt(env, HTTP2_MAX_CONCURRENT_STREAMS, DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS, 1);
+    this.tlsSessionResumption = getBoolean(env, TLS_SESSION_RESUMPTION, true);
+    this.tlsSessionCacheSize = getInt(env, TLS_SESSION_CACHE_SIZE, -1, -1);
+    this.tlsSessionTimeoutSeconds = getInt(env, TLS_SESSION_TIMEOUT_SECONDS, -1, -1);
+    if (minThreads > maxThreads) {
+      throw new IllegalArgumentException(
+          String.format(
+              "%s (%d) must not be larger than %s (%d)",
+              MIN_THREADS, minThreads, MAX_THREADS, maxThreads));
+    }
+  }
+
+  public int getPort() {
+    return port;
+  }
+
+  public int getMinThreads() {
+    return minThreads;
+  }
+
+  public int getMaxThreads() {
+    return maxThreads;
+  }
+
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  public int getAcceptors() {
+    return acceptors;
+  }
+
+  public int getSelectors() {
+    return selectors;
+  }
+
+  public int getAcceptQueueSize() {
+    return acceptQueueSize;
+  }
+
+  public Duration getIdleTimeout() {
+    return idleTimeout;
+  }
+
+  public boolean isHttp2() {
+    return http2;
+  }
+
+  public int getHttp2MaxConcurrentStreams() {
+    return http2MaxConcurrentStreams;
+  }
+
+  public boolean isTlsSessionResumption() {
+    return tlsSessionResumption;
+  }
+
+  public int getTlsSessionCacheSize() {
+    return tlsSessionCacheSize;
+  }
+
+  public int getTlsSessionTimeoutSeconds() {
+    return tlsSessionTimeoutSeconds;
+  }
+
+  private static boolean getBoolean(Map<String, String> env, String key, boolean defaultValue) {
+    return env.containsKey(key) ? Boolean.parseBoolean(env.get(key)) : defaultValue;
+  }
+
+  private static int getInt(Map<String, String> env, String key, int defaultValue, int min) {
+    if (!env.containsKey(key)) {
+      return defaultValue;
+    }
+    int value = Integer.parseInt(env.get(key));
+    if (value < min) {
+      throw new IllegalArgumentException(
+          String.format("%s has to be at least %d, but was %d", key, min, value));
+    }
+    return value;
+  }
+}
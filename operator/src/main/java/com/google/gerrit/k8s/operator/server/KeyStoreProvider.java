@@ -32,4 +32,21 @@ public interface KeyStoreProvider {
           NoSuchAlgorithmException,
           CertificateException,
           IOException;
+
+  /** Certificates to be trusted by clients of the webhooks, i.e. the API server. */
+  String getCaBundle()
+      throws CertificateEncodingException,
+          KeyStoreException,
+          NoSuchAlgorithmException,
+          CertificateException,
+          IOException;
+
+  /**
+   * Reloads the keystore, if it was changed, and renews it, if required.
+   *
+   * @return whether the keystore was changed
+   */
+  default boolean refresh() {
+    return false;
+  }
 }
@@ -0,0 +1,70 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.server;
+
+import com.google.common.flogger.FluentLogger;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gerrit.k8s.operator.admission.ValidationWebhookConfigs;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically refreshes the keystore of the HTTP server, so that certificates are renewed before
+ * they expire and replicas of the operator pick up certificates renewed by other replicas. If the
+ * keystore changed, the CA bundle of the webhooks is updated before the HTTP server starts using
+ * the new certificate.
+ */
+@Singleton
+public class KeyStoreRefresher {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+  static final Duration INTERVAL = Duration.ofHours(1);
+
+  private final KeyStoreProvider keyStoreProvider;
+  private final HttpServer httpServer;
+  private final ValidationWebhookConfigs webhookConfigs;
+  private final ScheduledExecutorService executor =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder().setNameFormat("keystore-refresher").setDaemon(true).build());
+
+  @Inject
+  public KeyStoreRefresher(
+      KeyStoreProvider keyStoreProvider,
+      HttpServer httpServer,
+      ValidationWebhookConfigs webhookConfigs) {
+    this.keyStoreProvider = keyStoreProvider;
+    this.httpServer = httpServer;
+    this.webhookConfigs = webhookConfigs;
+  }
+
+  public void start() {
+    executor.scheduleWithFixedDelay(
+        this::refresh, INTERVAL.toMinutes(), INTERVAL.toMinutes(), TimeUnit.MINUTES);
+  }
+
+  void refresh() {
+    try {
+      if (keyStoreProvider.refresh()) {
+        webhookConfigs.apply();
+        httpServer.reloadKeyStore();
+      }
+    } catch (Exception e) {
+      logger.atSevere().withCause(e).log("Failed to refresh keystore.");
+    }
+  }
+}
@@ -0,0 +1,116 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.server;
+
+import static com.google.gerrit.k8s.operator.GerritOperator.SERVICE_NAME;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Settings of the keystore that is generated, if no keystore is provided. The generated keystore is
+ * stored in a Secret in the namespace of the operator and reused on restarts until the renewal of
+ * the certificate is due.
+ *
+ * <p>The settings are read from the following environment variables:
+ *
+ * <ul>
+ *   <li>`KEYSTORE_KEY_ALGORITHM`: algorithm of the generated key pair, `RSA` (4096 bit) or `EC`
+ *       (P-256)
+ *   <li>`KEYSTORE_VALIDITY_DAYS`: validity of the generated certificate
+ *   <li>`KEYSTORE_RENEW_BEFORE_DAYS`: time before the expiry of the certificate, from which on a
+ *       new keystore is generated
+ *   <li>`KEYSTORE_SECRET`: name of the Secret storing the generated keystore
+ * </ul>
+ */
+public class KeyStoreSettings {
+  public static final Duration DEFAULT_VALIDITY = Duration.ofDays(365);
+  public static final Duration DEFAULT_RENEW_BEFORE = Duration.ofDays(30);
+  public static final String DEFAULT_SECRET = SERVICE_NAME + "-keystore";
+
+  static final String KEY_ALGORITHM = "KEYSTORE_KEY_ALGORITHM";
+  static final String VALIDITY_DAYS = "KEYSTORE_VALIDITY_DAYS";
+  static final String RENEW_BEFORE_DAYS = "KEYSTORE_RENEW_BEFORE_DAYS";
+  static final String SECRET = "KEYSTORE_SECRET";
+
+  public enum KeyAlgorithm {
+    RSA("RSA", 4096, "SHA256WithRSA"),
+    EC("EC", 256, "SHA256WithECDSA");
+
+    private final String algorithm;
+    private final int keySize;
+    private final String signatureAlgorithm;
+
+    KeyAlgorithm(String algorithm, int keySize, String signatureAlgorithm) {
+      this.algorithm = algorithm;
+      this.keySize = keySize;
+      this.signatureAlgorithm = signatureAlgorithm;
+    }
+
+    public String getAlgorithm() {
+      return algorithm;
+    }
+
+    public int getKeySize() {
+      return keySize;
+    }
+
+    public String getSignatureAlgorithm() {
+      return signatureAlgorithm;
+    }
+  }
+
+  private final Map<String, String> env;
+
+  public KeyStoreSettings(Map<String, String> env) {
+    this.env = env;
+    if (!getRenewBefore().minus(getValidity()).isNegative()) {
+      throw new IllegalArgumentException(
+          String.format("%s has to be smaller than %s", RENEW_BEFORE_DAYS, VALIDITY_DAYS));
+    }
+  }
+
+  public KeyAlgorithm getKeyAlgorithm() {
+    String algorithm = env.get(KEY_ALGORITHM);
+    return algorithm == null
+        ? KeyAlgorithm.RSA
+        : KeyAlgorithm.valueOf(algorithm.toUpperCase(Locale.ROOT));
+  }
+
+  public Duration getValidity() {
+    return getDays(VALIDITY_DAYS, DEFAULT_VALIDITY);
+  }
+
+  public Duration getRenewBefore() {
+    return getDays(RENEW_BEFORE_DAYS, DEFAULT_RENEW_BEFORE);
+  }
+
+  public String getSecretName() {
+    return env.getOrDefault(SECRET, DEFAULT_SECRET);
+  }
+
+  private Duration getDays(String key, Duration defaultValue) {
+    if (!env.containsKey(key)) {
+      return defaultValue;
+    }
+    int days = Integer.parseInt(env.get(key));
+    if (days < 0) {
+      throw new IllegalArgumentException(
+          String.format("%s has to be at least 0, but was %d", key, days));
+    }
+    return Duration.ofDays(days);
+  }
+}
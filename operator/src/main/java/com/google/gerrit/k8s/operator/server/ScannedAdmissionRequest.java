@@ -0,0 +1,159 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.server;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.fabric8.kubernetes.api.model.GroupVersionKind;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Fields of an AdmissionRequest read by only tokenizing the AdmissionReview without binding it to
+ * objects. The spec of the object is not decoded, but its location in the AdmissionReview is
+ * recorded, so that it can be hashed as sent by the API server.
+ */
+class ScannedAdmissionRequest {
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final byte[] review;
+  private String uid;
+  private GroupVersionKind kind;
+  private boolean hasObject;
+  private String namespace;
+  private String name;
+  private int specStart = -1;
+  private int specEnd = -1;
+
+  private ScannedAdmissionRequest(byte[] review) {
+    this.review = review;
+  }
+
+  static ScannedAdmissionRequest scan(byte[] review) throws IOException {
+    ScannedAdmissionRequest scanned = new ScannedAdmissionRequest(review);
+    try (JsonParser parser = JSON_FACTORY.createParser(review)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return scanned;
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        if (parser.nextToken() == JsonToken.START_OBJECT && "request".equals(field)) {
+          scanned.scanRequest(parser);
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+    return scanned;
+  }
+
+  private void scanRequest(JsonParser parser) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      JsonToken token = parser.nextToken();
+      if ("uid".equals(field) && token == JsonToken.VALUE_STRING) {
+        uid = parser.getText();
+      } else if ("kind".equals(field) && token == JsonToken.START_OBJECT) {
+        kind = scanKind(parser);
+      } else if ("object".equals(field) && token == JsonToken.START_OBJECT) {
+        hasObject = true;
+        scanObject(parser);
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private static GroupVersionKind scanKind(JsonParser parser) throws IOException {
+    GroupVersionKind kind = new GroupVersionKind();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      switch (field) {
+        case "group":
+          kind.setGroup(parser.getValueAsString());
+          break;
+        case "version":
+          kind.setVersion(parser.getValueAsString());
+          break;
+        case "kind":
+          kind.setKind(parser.getValueAsString());
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+    return kind;
+  }
+
+  private void scanObject(JsonParser parser) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      JsonToken token = parser.nextToken();
+      if ("metadata".equals(field) && token == JsonToken.START_OBJECT) {
+        scanMetadata(parser);
+      } else if ("spec".equals(field) && token == JsonToken.START_OBJECT) {
+        specStart = (int) parser.getTokenLocation().getByteOffset();
+        parser.skipChildren();
+        specEnd = (int) parser.getTokenLocation().getByteOffset() + 1;
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private void scanMetadata(JsonParser parser) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      if ("namespace".equals(field)) {
+        namespace = parser.getValueAsString();
+      } else if ("name".equals(field)) {
+        name = parser.getValueAsString();
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  String getUid() {
+    return uid;
+  }
+
+  GroupVersionKind getKind() {
+    return kind;
+  }
+
+  boolean hasObject() {
+    return hasObject;
+  }
+
+  String getNamespace() {
+    return namespace;
+  }
+
+  String getName() {
+    return name;
+  }
+
+  /** The JSON of the spec as contained in the AdmissionReview. Empty, if the object has no spec. */
+  ByteBuffer getSpec() {
+    if (specStart < 0) {
+      return ByteBuffer.allocate(0);
+    }
+    return ByteBuffer.wrap(review, specStart, specEnd - specStart).asReadOnlyBuffer();
+  }
+}
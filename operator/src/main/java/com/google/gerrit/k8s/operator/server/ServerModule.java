@@ -31,6 +31,8 @@ public class ServerModule extends AbstractModule {
     } else {
       bind(KeyStoreProvider.class).to(GeneratedKeyStoreProvider.class);
     }
+    bind(KeyStoreSettings.class).toInstance(new KeyStoreSettings(System.getenv()));
+    bind(HttpServerSettings.class).toInstance(new HttpServerSettings(System.getenv()));
     bind(HttpServer.class);
     Multibinder<AdmissionWebhookServlet> admissionWebhookServlets =
         Multibinder.newSetBinder(binder(), AdmissionWebhookServlet.class);
@@ -14,49 +14,200 @@
 
 package com.google.gerrit.k8s.operator.server;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.common.flogger.FluentLogger;
 import com.google.gerrit.k8s.operator.Constants;
+import io.fabric8.kubernetes.api.model.GroupVersionKind;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.Status;
+import io.fabric8.kubernetes.api.model.StatusBuilder;
+import io.fabric8.kubernetes.api.model.admission.v1.AdmissionResponse;
 import io.fabric8.kubernetes.api.model.admission.v1.AdmissionResponseBuilder;
 import io.fabric8.kubernetes.api.model.admission.v1.AdmissionReview;
+import io.fabric8.kubernetes.api.model.admission.v1.AdmissionReviewBuilder;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
 
-public abstract class ValidatingAdmissionWebhookServlet extends AdmissionWebhookServlet {
+/**
+ * Validates resources of a single type sent by the API server in AdmissionReviews.
+ *
+ * <p>Only the uid and the object of the AdmissionRequest are decoded, directly into the type of the
+ * validated resource. All other fields, e.g. the old object, are skipped. The AdmissionReview sent
+ * back only contains the AdmissionResponse.
+ *
+ * <p>If the validation only depends on the resource itself, the results are cached in the {@link
+ * AdmissionValidationCache}. In this case, the AdmissionReview is first only tokenized to look up
+ * the result and only decoded, if no result was cached.
+ */
+public abstract class ValidatingAdmissionWebhookServlet<T extends HasMetadata>
+    extends AdmissionWebhookServlet {
   private static final long serialVersionUID = 1L;
   private static final FluentLogger logger = FluentLogger.forEnclosingClass();
 
-  public abstract Status validate(HasMetadata resource);
+  private static final ObjectMapper OBJECT_MAPPER =
+      new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+  private static final ObjectWriter REVIEW_WRITER = OBJECT_MAPPER.writerFor(AdmissionReview.class);
+
+  private final Class<T> resourceType;
+  private final transient ObjectReader reviewReader;
+
+  protected ValidatingAdmissionWebhookServlet(Class<T> resourceType) {
+    this.resourceType = resourceType;
+    this.reviewReader =
+        OBJECT_MAPPER.readerFor(
+            OBJECT_MAPPER
+                .getTypeFactory()
+                .constructParametricType(TypedAdmissionReview.class, resourceType));
+  }
+
+  public abstract Status validate(T resource);
+
+  /**
+   * Identifies the configuration of the webhook the validation depends on besides the name,
+   * namespace and spec of the resource, e.g. the cluster mode. If empty, results of the validation
+   * are not cached, e.g. because the validation depends on other resources.
+   */
+  protected Optional<String> getValidationCacheScope() {
+    return Optional.empty();
+  }
 
   @Override
   public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
-    ObjectMapper objectMapper = new ObjectMapper();
-    AdmissionReview admissionReq =
-        objectMapper.readValue(request.getInputStream(), AdmissionReview.class);
+    byte[] review = request.getInputStream().readAllBytes();
+    Optional<String> scope = getValidationCacheScope();
+    if (scope.isPresent()) {
+      ScannedAdmissionRequest scanned = ScannedAdmissionRequest.scan(review);
+      if (scanned.hasObject() && isExpectedKind(scanned.getKind())) {
+        Status validationStatus =
+            AdmissionValidationCache.get(
+                HasMetadata.getKind(resourceType),
+                scope.get(),
+                scanned,
+                () -> decodeAndValidate(review).validationStatus);
+        respond(response, scanned.getUid(), validationStatus);
+        return;
+      }
+    }
 
-    logger.atFine().log("Admission request received: %s", admissionReq.toString());
+    DecodedValidation validation = decodeAndValidate(review);
+    respond(response, validation.uid, validation.validationStatus);
+  }
 
-    response.setContentType("application/json");
-    AdmissionResponseBuilder admissionRespBuilder =
-        new AdmissionResponseBuilder().withUid(admissionReq.getRequest().getUid());
-    Status validationStatus = validate((HasMetadata) admissionReq.getRequest().getObject());
-    response.setStatus(HttpServletResponse.SC_OK);
+  private DecodedValidation decodeAndValidate(byte[] review) {
+    TypedAdmissionReview<T> admissionReq;
+    try {
+      admissionReq = reviewReader.readValue(review);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    T resource = admissionReq.getRequest().getObject();
+    logger.atFine().log("Admission request received for: %s", resource);
+
+    Status validationStatus;
+    if (resource == null || !isExpectedKind(admissionReq.getRequest().getKind())) {
+      validationStatus =
+          new StatusBuilder()
+              .withCode(HttpServletResponse.SC_BAD_REQUEST)
+              .withMessage(
+                  String.format(
+                      "Invalid resource. Expected %s-resource for validation.",
+                      HasMetadata.getKind(resourceType)))
+              .build();
+    } else {
+      validationStatus = validate(resource);
+    }
+    return new DecodedValidation(admissionReq.getRequest().getUid(), validationStatus);
+  }
+
+  private void respond(HttpServletResponse response, String uid, Status validationStatus)
+      throws IOException {
+    AdmissionResponseBuilder admissionRespBuilder = new AdmissionResponseBuilder().withUid(uid);
     if (validationStatus.getCode() < 400) {
       admissionRespBuilder = admissionRespBuilder.withAllowed(true);
     } else {
       admissionRespBuilder = admissionRespBuilder.withAllowed(false).withStatus(validationStatus);
     }
-    admissionReq.setResponse(admissionRespBuilder.build());
-    objectMapper.writeValue(response.getWriter(), admissionReq);
-    logger.atFine().log(
-        "Admission request responded with %s", admissionReq.getResponse().toString());
+    AdmissionResponse admissionResp = admissionRespBuilder.build();
+
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentType("application/json");
+    REVIEW_WRITER.writeValue(
+        response.getOutputStream(),
+        new AdmissionReviewBuilder().withResponse(admissionResp).build());
+    logger.atFine().log("Admission request responded with %s", admissionResp);
+  }
+
+  /**
+   * The kind of the object cannot be read from the decoded resource, since it is fixed by the
+   * resource class. Thus, the kind of the request set by the API server is used.
+   */
+  private boolean isExpectedKind(GroupVersionKind kind) {
+    return kind == null
+        || (HasMetadata.getKind(resourceType).equals(kind.getKind())
+            && HasMetadata.getGroup(resourceType).equals(kind.getGroup()));
   }
 
   @Override
   public String getURI() {
     return String.format("/admission/%s/%s", Constants.VERSION, getName());
   }
+
+  private static class DecodedValidation {
+    private final String uid;
+    private final Status validationStatus;
+
+    DecodedValidation(String uid, Status validationStatus) {
+      this.uid = uid;
+      this.validationStatus = validationStatus;
+    }
+  }
+
+  /** AdmissionReview only containing the fields of the request required for the validation. */
+  public static class TypedAdmissionReview<T> {
+    private TypedAdmissionRequest<T> request;
+
+    public TypedAdmissionRequest<T> getRequest() {
+      return request;
+    }
+
+    public void setRequest(TypedAdmissionRequest<T> request) {
+      this.request = request;
+    }
+  }
+
+  public static class TypedAdmissionRequest<T> {
+    private String uid;
+    private GroupVersionKind kind;
+    private T object;
+
+    public String getUid() {
+      return uid;
+    }
+
+    public void setUid(String uid) {
+      this.uid = uid;
+    }
+
+    public GroupVersionKind getKind() {
+      return kind;
+    }
+
+    public void setKind(GroupVersionKind kind) {
+      this.kind = kind;
+    }
+
+    public T getObject() {
+      return object;
+    }
+
+    public void setObject(T object) {
+      this.object = object;
+    }
+  }
 }
@@ -16,6 +16,7 @@ package com.google.gerrit.k8s.operator.tasks.incomingrepl.dependent;
 
 import static com.google.gerrit.k8s.operator.tasks.incomingrepl.dependent.IncomingReplicationTaskConfigMap.CONFIG_FILE_NAME;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.gerrit.k8s.operator.api.model.cluster.GerritCluster;
 import com.google.gerrit.k8s.operator.api.model.shared.ContainerImageConfig;
 import com.google.gerrit.k8s.operator.api.model.shared.NfsWorkaroundConfig;
@@ -24,6 +25,7 @@ import com.google.gerrit.k8s.operator.cluster.GerritClusterLabelFactory;
 import com.google.gerrit.k8s.operator.components.GerritSecurityContext;
 import com.google.gerrit.k8s.operator.tasks.incomingrepl.IncomingReplicationTaskReconciler;
 import com.google.gerrit.k8s.operator.util.CRUDReconcileAddKubernetesDependentResource;
+import com.google.gerrit.k8s.operator.util.PodSpecOrdering;
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.ContainerBuilder;
 import io.fabric8.kubernetes.api.model.EnvVarBuilder;
@@ -80,7 +82,7 @@ public class IncomingReplicationTaskCronJob
             .withNewTemplate()
             .withNewMetadata()
             .withAnnotations(
-                Map.of(
+                ImmutableMap.of(
                     "sidecar.istio.io/inject",
                     "false",
                     "cluster-autoscaler.kubernetes.io/safe-to-evict",
@@ -91,7 +93,8 @@ public class IncomingReplicationTaskCronJob
             .withTolerations(incomingReplTask.getSpec().getTolerations())
             .withAffinity(incomingReplTask.getSpec().getAffinity())
             .addAllToImagePullSecrets(
-                incomingReplTask.getSpec().getContainerImages().getImagePullSecrets())
+                PodSpecOrdering.sortImagePullSecrets(
+                    incomingReplTask.getSpec().getContainerImages().getImagePullSecrets()))
             .withRestartPolicy("OnFailure")
             .withSecurityContext(GerritSecurityContext.forPod())
             .addAllToInitContainers(initContainers)
@@ -35,7 +35,19 @@ public abstract class CRUDReconcileAddKubernetesDependentResource<
 
   @Override
   public Result<R> match(R actualResource, R desired, P primary, Context<P> context) {
+    if (useSSA(context)) {
+      return super.match(actualResource, desired, primary, context);
+    }
     return GenericKubernetesResourceMatcher.match(
         desired, actualResource, false, false, true, context);
   }
+
+  @Override
+  public R update(R actual, R target, P primary, Context<P> context) {
+    if (useSSA(context)) {
+      ServerSideApplyMigration.migrate(
+          context.getClient(), actual, context.getControllerConfiguration().fieldManager());
+    }
+    return super.update(actual, target, primary, context);
+  }
 }
@@ -0,0 +1,106 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.util;
+
+import com.google.common.flogger.FluentLogger;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.javaoperatorsdk.operator.OperatorException;
+import io.javaoperatorsdk.operator.processing.event.Event;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.AbstractEventSource;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Event source triggering the reconciliation of primary resources at most once per coalescing
+ * window. The first event for a primary resource starts the window. Further events for the same
+ * primary resource that arrive until the window has passed are merged into the pending event, i.e.
+ * the primary resource is reconciled once with the state of the secondary resources at the end of
+ * the window.
+ */
+public class CoalescingEventSource extends AbstractEventSource {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+  private static final AtomicLong coalescedEvents = new AtomicLong();
+
+  private final Duration window;
+  private final Map<ResourceID, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+  private ScheduledExecutorService executor;
+
+  public CoalescingEventSource(Duration window) {
+    this.window = window;
+  }
+
+  /** Schedules the reconciliation of the given primary resources, unless already pending. */
+  public void trigger(Collection<ResourceID> primaryResourceIDs) {
+    for (ResourceID resourceID : primaryResourceIDs) {
+      trigger(resourceID);
+    }
+  }
+
+  public void trigger(ResourceID resourceID) {
+    if (!isRunning()) {
+      return;
+    }
+    boolean[] scheduled = {false};
+    pending.computeIfAbsent(
+        resourceID,
+        id -> {
+          scheduled[0] = true;
+          return executor.schedule(() -> fire(id), window.toMillis(), TimeUnit.MILLISECONDS);
+        });
+    if (!scheduled[0]) {
+      logger.atFine().log("Coalescing event for %s into pending event", resourceID);
+      coalescedEvents.incrementAndGet();
+    }
+  }
+
+  private void fire(ResourceID resourceID) {
+    pending.remove(resourceID);
+    if (isRunning()) {
+      getEventHandler().handleEvent(new Event(resourceID));
+    }
+  }
+
+  @Override
+  public void start() throws OperatorException {
+    executor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("coalescing-event-source-%d")
+                .setDaemon(true)
+                .build());
+    super.start();
+  }
+
+  @Override
+  public void stop() throws OperatorException {
+    super.stop();
+    pending.values().forEach(f -> f.cancel(false));
+    pending.clear();
+    executor.shutdownNow();
+  }
+
+  /** Number of events that were merged into an already pending event. */
+  public static long getCoalescedEvents() {
+    return coalescedEvents.get();
+  }
+}
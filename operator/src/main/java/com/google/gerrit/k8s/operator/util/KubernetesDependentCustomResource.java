@@ -39,6 +39,9 @@ public abstract class KubernetesDependentCustomResource<
 
   @Override
   public Result<R> match(R actualResource, R desired, P primary, Context<P> context) {
+    if (useSSA(context)) {
+      return super.match(actualResource, desired, primary, context);
+    }
     return GenericKubernetesResourceMatcher.match(
         desired, actualResource, true, false, true, context);
   }
@@ -0,0 +1,68 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.base.Strings;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.Secret;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Computes digests of the data of ConfigMaps and Secrets, i.e. of the files that are mounted into
+ * pods. In contrast to the resource version, the digest does not change if only the metadata of the
+ * resource is changed.
+ */
+public class MountedDataDigest {
+  public static final String PREFIX = "sha256:";
+
+  private MountedDataDigest() {}
+
+  public static String of(ConfigMap configMap) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    putAll(hasher, "data", configMap.getData());
+    putAll(hasher, "binaryData", configMap.getBinaryData());
+    return PREFIX + hasher.hash().toString();
+  }
+
+  public static String of(Secret secret) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    putAll(hasher, "data", secret.getData());
+    return PREFIX + hasher.hash().toString();
+  }
+
+  /**
+   * Whether the value was computed by this class. Older versions of the operator stored resource
+   * versions instead.
+   */
+  public static boolean isDigest(String value) {
+    return value != null && value.startsWith(PREFIX);
+  }
+
+  private static void putAll(Hasher hasher, String field, Map<String, String> entries) {
+    if (entries == null) {
+      return;
+    }
+    hasher.putString(field, UTF_8).putByte((byte) 0);
+    for (Map.Entry<String, String> entry : new TreeMap<>(entries).entrySet()) {
+      hasher.putString(entry.getKey(), UTF_8).putByte((byte) 0);
+      hasher.putString(Strings.nullToEmpty(entry.getValue()), UTF_8).putByte((byte) 0);
+    }
+  }
+}
@@ -0,0 +1,120 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.util;
+
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsFirst;
+
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.LocalObjectReference;
+import io.fabric8.kubernetes.api.model.PodSpec;
+import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.api.model.VolumeMount;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sorts the collections rendered into pod templates. Any change of the order of e.g. volumes in a
+ * pod template changes the template and thus causes a rollout of the pods. The order must thus only
+ * depend on the content of the collections and not on the order in which they were assembled.
+ *
+ * <p>Older versions of the operator did not render these collections in a canonical order. To not
+ * roll out all pods after an upgrade of the operator only to reorder them, the order of an existing
+ * pod template is kept, as long as the collections only differ in their order.
+ */
+public class PodSpecOrdering {
+  private static final Comparator<String> NULLS_FIRST = nullsFirst(naturalOrder());
+
+  private PodSpecOrdering() {}
+
+  public static List<Volume> sortVolumes(Collection<Volume> volumes) {
+    return volumes.stream()
+        .sorted(comparing(Volume::getName, NULLS_FIRST))
+        .collect(Collectors.toList());
+  }
+
+  public static List<LocalObjectReference> sortImagePullSecrets(
+      Collection<LocalObjectReference> imagePullSecrets) {
+    return imagePullSecrets.stream()
+        .sorted(comparing(LocalObjectReference::getName, NULLS_FIRST))
+        .collect(Collectors.toList());
+  }
+
+  public static List<VolumeMount> sortVolumeMounts(Collection<VolumeMount> volumeMounts) {
+    return volumeMounts.stream()
+        .sorted(
+            comparing(VolumeMount::getMountPath, NULLS_FIRST)
+                .thenComparing(VolumeMount::getName, NULLS_FIRST)
+                .thenComparing(VolumeMount::getSubPath, NULLS_FIRST))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Orders the volumes, volume mounts and image pull secrets of the desired pod spec like the ones
+   * of the existing pod spec, if they only differ in their order.
+   */
+  public static void keepExistingOrder(PodSpec desired, PodSpec existing) {
+    desired.setVolumes(
+        keepExistingOrder(desired.getVolumes(), existing.getVolumes(), Volume::getName));
+    desired.setImagePullSecrets(
+        keepExistingOrder(
+            desired.getImagePullSecrets(),
+            existing.getImagePullSecrets(),
+            LocalObjectReference::getName));
+    keepExistingOrderOfVolumeMounts(desired.getInitContainers(), existing.getInitContainers());
+    keepExistingOrderOfVolumeMounts(desired.getContainers(), existing.getContainers());
+  }
+
+  private static void keepExistingOrderOfVolumeMounts(
+      List<Container> desired, List<Container> existing) {
+    if (desired == null || existing == null) {
+      return;
+    }
+    Map<String, Container> existingByName =
+        existing.stream()
+            .collect(Collectors.toMap(Container::getName, Function.identity(), (a, b) -> a));
+    for (Container container : desired) {
+      Container existingContainer = existingByName.get(container.getName());
+      if (existingContainer != null) {
+        container.setVolumeMounts(
+            keepExistingOrder(
+                container.getVolumeMounts(),
+                existingContainer.getVolumeMounts(),
+                VolumeMount::getMountPath));
+      }
+    }
+  }
+
+  private static <T> List<T> keepExistingOrder(
+      List<T> desired, List<T> existing, Function<T, String> key) {
+    if (desired == null || existing == null || desired.size() != existing.size()) {
+      return desired;
+    }
+    List<String> existingKeys = existing.stream().map(key).collect(Collectors.toList());
+    Set<String> desiredKeys = desired.stream().map(key).collect(Collectors.toSet());
+    if (desiredKeys.size() != desired.size() || !desiredKeys.equals(Set.copyOf(existingKeys))) {
+      return desired;
+    }
+    return desired.stream()
+        .sorted(comparing(item -> existingKeys.indexOf(key.apply(item))))
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,65 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.util;
+
+import static com.google.gerrit.k8s.operator.cluster.GerritClusterLabelFactory.REFERENCED_SECRET_LABEL;
+
+import com.google.common.flogger.FluentLogger;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.base.PatchContext;
+import io.fabric8.kubernetes.client.dsl.base.PatchType;
+import java.util.Map;
+
+/**
+ * Secrets are provided by the user and thus do not carry the labels of resources managed by the
+ * operator. To still be able to only watch relevant Secrets, the operator labels Secrets that are
+ * referenced by its resources.
+ *
+ * <p>The label is never removed by the operator, since a Secret might be referenced by multiple
+ * resources, which are reconciled by different controllers.
+ */
+public class ReferencedSecretLabeler {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  private ReferencedSecretLabeler() {}
+
+  public static boolean isLabeled(Secret secret) {
+    Map<String, String> labels = secret.getMetadata().getLabels();
+    return labels != null && "true".equals(labels.get(REFERENCED_SECRET_LABEL));
+  }
+
+  /**
+   * Labels the Secret, if it is not labeled yet.
+   *
+   * @return the Secret as stored after labeling it
+   */
+  public static Secret ensureLabeled(KubernetesClient client, Secret secret) {
+    if (isLabeled(secret)) {
+      return secret;
+    }
+    String namespace = secret.getMetadata().getNamespace();
+    String name = secret.getMetadata().getName();
+    logger.atInfo().log("Labeling referenced Secret %s/%s", namespace, name);
+    return client
+        .secrets()
+        .inNamespace(namespace)
+        .withName(name)
+        .patch(
+            PatchContext.of(PatchType.JSON_MERGE),
+            String.format(
+                "{\"metadata\":{\"labels\":{\"%s\":\"true\"}}}", REFERENCED_SECRET_LABEL));
+  }
+}
@@ -0,0 +1,125 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.util;
+
+import com.google.common.flogger.FluentLogger;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.ResourceEventSource;
+import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Looks up resources by name in the cache of an informer event source of the current controller.
+ * Only if the resource is not cached, e.g. because it is not (yet) matched by the label selector of
+ * the informer, the resource is requested from the API server.
+ */
+public class SecondaryResourceLookup {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+  private static final AtomicLong directApiCalls = new AtomicLong();
+
+  private SecondaryResourceLookup() {}
+
+  public static <R extends HasMetadata, P extends HasMetadata> Optional<R> get(
+      Context<P> context,
+      Class<R> resourceType,
+      String eventSourceName,
+      String namespace,
+      String name) {
+    Optional<InformerEventSource<R, P>> eventSource =
+        getInformerEventSource(context, resourceType, eventSourceName);
+    if (eventSource.isPresent()) {
+      Optional<R> cached = eventSource.get().get(new ResourceID(name, namespace));
+      if (cached.isPresent()) {
+        return cached;
+      }
+    }
+
+    logger.atFine().log(
+        "%s %s/%s not found in cache of event source %s. Requesting it from the API server.",
+        resourceType.getSimpleName(), namespace, name, eventSourceName);
+    directApiCalls.incrementAndGet();
+    return Optional.ofNullable(
+        context.getClient().resources(resourceType).inNamespace(namespace).withName(name).get());
+  }
+
+  /**
+   * Lists the resources with the given labels in the cache of an informer event source of the
+   * current controller. Only if the event source is not available, the resources are requested from
+   * the API server.
+   */
+  public static <R extends HasMetadata, P extends HasMetadata> List<R> list(
+      Context<P> context,
+      Class<R> resourceType,
+      String eventSourceName,
+      String namespace,
+      Map<String, String> labels) {
+    Optional<InformerEventSource<R, P>> eventSource =
+        getInformerEventSource(context, resourceType, eventSourceName);
+    if (eventSource.isPresent()) {
+      return eventSource
+          .get()
+          .list(namespace, r -> hasLabels(r, labels))
+          .collect(Collectors.toList());
+    }
+
+    logger.atFine().log(
+        "Event source %s not available. Listing %s in namespace %s from the API server.",
+        eventSourceName, resourceType.getSimpleName(), namespace);
+    directApiCalls.incrementAndGet();
+    return context
+        .getClient()
+        .resources(resourceType)
+        .inNamespace(namespace)
+        .withLabels(labels)
+        .list()
+        .getItems();
+  }
+
+  /** Number of lookups that could not be served from an informer cache. */
+  public static long getDirectApiCalls() {
+    return directApiCalls.get();
+  }
+
+  private static boolean hasLabels(HasMetadata resource, Map<String, String> labels) {
+    Map<String, String> resourceLabels = resource.getMetadata().getLabels();
+    return resourceLabels != null && resourceLabels.entrySet().containsAll(labels.entrySet());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <R extends HasMetadata, P extends HasMetadata>
+      Optional<InformerEventSource<R, P>> getInformerEventSource(
+          Context<P> context, Class<R> resourceType, String eventSourceName) {
+    ResourceEventSource<R, P> eventSource;
+    try {
+      eventSource =
+          context.eventSourceRetriever().getResourceEventSourceFor(resourceType, eventSourceName);
+    } catch (IllegalArgumentException e) {
+      // The event sources are only available, if the controller was started.
+      return Optional.empty();
+    }
+    // Event sources of controllers, that were not started, e.g. in tests, have no cache yet.
+    if (eventSource instanceof InformerEventSource
+        && ((InformerEventSource<R, P>) eventSource).isRunning()) {
+      return Optional.of((InformerEventSource<R, P>) eventSource);
+    }
+    return Optional.empty();
+  }
+}
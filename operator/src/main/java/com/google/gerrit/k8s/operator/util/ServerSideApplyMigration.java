@@ -0,0 +1,155 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.util;
+
+import com.google.common.flogger.FluentLogger;
+import io.fabric8.kubernetes.api.model.FieldsV1;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntry;
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntryBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.base.PatchContext;
+import io.fabric8.kubernetes.client.dsl.base.PatchType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resources that were created or updated by the operator before server-side apply was enabled are
+ * owned by the field manager of the Kubernetes client using "Update" operations. Server-side apply
+ * would not remove fields owned by that field manager, if they are removed from the desired state.
+ * Thus, ownership of these fields is transferred to the field manager of the operator once, before
+ * the resource is applied for the first time.
+ */
+public class ServerSideApplyMigration {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  public static final String LEGACY_FIELD_MANAGER = "fabric8-kubernetes-client";
+  private static final String APPLY_OPERATION = "Apply";
+  private static final String UPDATE_OPERATION = "Update";
+
+  private ServerSideApplyMigration() {}
+
+  public static boolean isMigrationRequired(HasMetadata resource, String fieldManager) {
+    List<ManagedFieldsEntry> managedFields = resource.getMetadata().getManagedFields();
+    if (managedFields == null) {
+      return false;
+    }
+    boolean appliedByFieldManager = false;
+    boolean updatedByLegacyFieldManager = false;
+    for (ManagedFieldsEntry entry : managedFields) {
+      if (fieldManager.equals(entry.getManager()) && APPLY_OPERATION.equals(entry.getOperation())) {
+        appliedByFieldManager = true;
+      } else if (isLegacyEntry(entry)) {
+        updatedByLegacyFieldManager = true;
+      }
+    }
+    return updatedByLegacyFieldManager && !appliedByFieldManager;
+  }
+
+  public static void migrate(KubernetesClient client, HasMetadata resource, String fieldManager) {
+    if (!isMigrationRequired(resource, fieldManager)) {
+      return;
+    }
+
+    List<ManagedFieldsEntry> managedFields = new ArrayList<>();
+    Map<String, ManagedFieldsEntry> migratedEntries = new HashMap<>();
+    for (ManagedFieldsEntry entry : resource.getMetadata().getManagedFields()) {
+      if (!isLegacyEntry(entry)) {
+        managedFields.add(entry);
+        continue;
+      }
+      ManagedFieldsEntry migrated = migratedEntries.get(entry.getApiVersion());
+      if (migrated == null) {
+        migrated =
+            new ManagedFieldsEntryBuilder(entry)
+                .withManager(fieldManager)
+                .withOperation(APPLY_OPERATION)
+                .build();
+        migratedEntries.put(entry.getApiVersion(), migrated);
+        managedFields.add(migrated);
+      } else {
+        mergeInto(migrated, entry);
+      }
+    }
+
+    logger.atInfo().log(
+        "Transferring ownership of fields of %s %s/%s from %s to %s",
+        resource.getKind(),
+        resource.getMetadata().getNamespace(),
+        resource.getMetadata().getName(),
+        LEGACY_FIELD_MANAGER,
+        fieldManager);
+    client
+        .resource(resource)
+        .patch(
+            PatchContext.of(PatchType.JSON),
+            client
+                .getKubernetesSerialization()
+                .asJson(
+                    List.of(
+                        Map.of(
+                            "op",
+                            "replace",
+                            "path",
+                            "/metadata/managedFields",
+                            "value",
+                            managedFields))));
+  }
+
+  /**
+   * The API server only accepts a single entry per field manager, operation and API version. Thus,
+   * the fields of all legacy entries of an API version are merged into a single entry.
+   */
+  private static void mergeInto(ManagedFieldsEntry migrated, ManagedFieldsEntry entry) {
+    FieldsV1 fields = new FieldsV1();
+    fields.setAdditionalProperties(
+        mergeFields(getFields(migrated.getFieldsV1()), getFields(entry.getFieldsV1())));
+    migrated.setFieldsV1(fields);
+    if (entry.getTime() != null
+        && (migrated.getTime() == null || entry.getTime().compareTo(migrated.getTime()) > 0)) {
+      migrated.setTime(entry.getTime());
+    }
+  }
+
+  private static Map<String, Object> getFields(FieldsV1 fields) {
+    return fields == null ? Map.of() : fields.getAdditionalProperties();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> mergeFields(
+      Map<String, Object> fields, Map<String, Object> other) {
+    Map<String, Object> merged = new LinkedHashMap<>(fields);
+    for (Map.Entry<String, Object> field : other.entrySet()) {
+      Object value = merged.get(field.getKey());
+      if (value instanceof Map && field.getValue() instanceof Map) {
+        merged.put(
+            field.getKey(),
+            mergeFields((Map<String, Object>) value, (Map<String, Object>) field.getValue()));
+      } else {
+        merged.put(field.getKey(), field.getValue());
+      }
+    }
+    return merged;
+  }
+
+  private static boolean isLegacyEntry(ManagedFieldsEntry entry) {
+    return LEGACY_FIELD_MANAGER.equals(entry.getManager())
+        && UPDATE_OPERATION.equals(entry.getOperation())
+        && entry.getSubresource() == null;
+  }
+}
@@ -0,0 +1,80 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.util;
+
+import com.google.common.flogger.FluentLogger;
+import io.fabric8.kubernetes.client.CustomResource;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Every update of the status of a resource changes its resource version and triggers an event in
+ * all informers watching the resource, even if the content of the status did not change. Thus, the
+ * status is only updated, if it differs from the status the resource had before the reconciliation.
+ */
+public class StatusUpdates {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+  private static final AtomicLong skippedUpdates = new AtomicLong();
+
+  private StatusUpdates() {}
+
+  /**
+   * Returns a copy of the current status of the resource, which is not affected by changes applied
+   * to the status during the reconciliation.
+   */
+  public static <S> S snapshot(KubernetesClient client, CustomResource<?, S> resource) {
+    S status = resource.getStatus();
+    if (status == null) {
+      return null;
+    }
+    return client.getKubernetesSerialization().clone(status);
+  }
+
+  public static <S, P extends CustomResource<?, S>> UpdateControl<P> patchStatusIfChanged(
+      P resource, S previousStatus) {
+    if (isUnchanged(resource, previousStatus)) {
+      return UpdateControl.noUpdate();
+    }
+    return UpdateControl.patchStatus(resource);
+  }
+
+  public static <S, P extends CustomResource<?, S>> UpdateControl<P> updateStatusIfChanged(
+      P resource, S previousStatus) {
+    if (isUnchanged(resource, previousStatus)) {
+      return UpdateControl.noUpdate();
+    }
+    return UpdateControl.updateStatus(resource);
+  }
+
+  /** Number of status updates that were skipped, because the status did not change. */
+  public static long getSkippedUpdates() {
+    return skippedUpdates.get();
+  }
+
+  private static <S> boolean isUnchanged(CustomResource<?, S> resource, S previousStatus) {
+    if (!Objects.equals(resource.getStatus(), previousStatus)) {
+      return false;
+    }
+    logger.atFine().log(
+        "Status of %s %s/%s is unchanged. Skipping update.",
+        resource.getKind(),
+        resource.getMetadata().getNamespace(),
+        resource.getMetadata().getName());
+    skippedUpdates.incrementAndGet();
+    return true;
+  }
+}
@@ -0,0 +1,76 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.gerrit.k8s.operator.ControllerExecutorSettings.Priority;
+import com.google.gerrit.k8s.operator.gerrit.GerritReconciler;
+import com.google.gerrit.k8s.operator.gitgc.GitGarbageCollectionReconciler;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class ControllerExecutorSettingsTest {
+  private final GerritReconciler gerritReconciler = new GerritReconciler(null);
+  private final GitGarbageCollectionReconciler gitGcReconciler =
+      new GitGarbageCollectionReconciler(null);
+
+  @Test
+  public void defaultsDependOnPriority() {
+    ControllerExecutorSettings settings = createSettings(Map.of());
+
+    assertThat(settings.getPriority(gerritReconciler)).isEqualTo(Priority.HIGH);
+    assertThat(settings.getReconciliationThreads(gerritReconciler))
+        .isEqualTo(ControllerExecutorSettings.DEFAULT_THREADS);
+    assertThat(settings.getWorkflowThreads(gerritReconciler))
+        .isEqualTo(ControllerExecutorSettings.DEFAULT_THREADS);
+
+    assertThat(settings.getPriority(gitGcReconciler)).isEqualTo(Priority.LOW);
+    assertThat(settings.getReconciliationThreads(gitGcReconciler))
+        .isEqualTo(ControllerExecutorSettings.DEFAULT_LOW_PRIORITY_THREADS);
+    assertThat(settings.getWorkflowThreads(gitGcReconciler))
+        .isEqualTo(ControllerExecutorSettings.DEFAULT_LOW_PRIORITY_THREADS);
+  }
+
+  @Test
+  public void controllerSpecificSettingsOverrideDefaults() {
+    ControllerExecutorSettings settings =
+        createSettings(
+            Map.of(
+                "RECONCILIATION_THREADS", "20",
+                "LOW_PRIORITY_RECONCILIATION_THREADS", "4",
+                "GERRITRECONCILER_RECONCILIATION_THREADS", "30",
+                "GERRITRECONCILER_WORKFLOW_THREADS", "15"));
+
+    assertThat(settings.getReconciliationThreads(gerritReconciler)).isEqualTo(30);
+    assertThat(settings.getWorkflowThreads(gerritReconciler)).isEqualTo(15);
+    assertThat(settings.getReconciliationThreads(gitGcReconciler)).isEqualTo(4);
+    assertThat(settings.getWorkflowThreads(gitGcReconciler))
+        .isEqualTo(ControllerExecutorSettings.DEFAULT_LOW_PRIORITY_THREADS);
+  }
+
+  @Test
+  public void invalidThreadNumbersAreRejected() {
+    ControllerExecutorSettings settings = createSettings(Map.of("RECONCILIATION_THREADS", "0"));
+
+    assertThrows(
+        IllegalArgumentException.class, () -> settings.getReconciliationThreads(gerritReconciler));
+  }
+
+  private ControllerExecutorSettings createSettings(Map<String, String> env) {
+    return new ControllerExecutorSettings(env, OperatorModule.LOW_PRIORITY_RECONCILERS);
+  }
+}
@@ -0,0 +1,111 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.javaoperatorsdk.operator.RegisteredController;
+import io.javaoperatorsdk.operator.health.ControllerHealthInfo;
+import io.javaoperatorsdk.operator.health.InformerHealthIndicator;
+import io.javaoperatorsdk.operator.health.InformerWrappingEventSourceHealthIndicator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class ControllerReadinessTest {
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ControllerReadiness readiness = new ControllerReadiness(meterRegistry);
+
+  @Test
+  public void notReadyWithoutControllers() {
+    assertThat(readiness.isReady()).isFalse();
+  }
+
+  @Test
+  public void controllerIsReadyOnceStartedAndSynced() {
+    InformerHealthIndicator informer = informer(true, false, false);
+    readiness.register("gerrit", controller(informer));
+    readiness.register("gitgc", controller());
+    assertThat(readiness.isReady()).isFalse();
+
+    readiness.markStarted("gerrit");
+    readiness.markStarted("gitgc");
+    assertThat(readiness.getReadiness()).containsExactly("gerrit", false, "gitgc", true);
+    assertThat(readiness.isReady()).isFalse();
+    assertThat(
+            meterRegistry
+                .get("gerrit.operator.controller.ready")
+                .tag("controller", "gerrit")
+                .gauge()
+                .value())
+        .isEqualTo(0);
+
+    when(informer.hasSynced()).thenReturn(true);
+    when(informer.isWatching()).thenReturn(true);
+    assertThat(readiness.isReady()).isTrue();
+    assertThat(
+            meterRegistry
+                .get("gerrit.operator.controller.ready")
+                .tag("controller", "gerrit")
+                .gauge()
+                .value())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void informersThatAreNotRunningAreIgnored() {
+    readiness.register("gerrit", controller(informer(false, false, false)));
+    readiness.markStarted("gerrit");
+
+    assertThat(readiness.isReady()).isTrue();
+  }
+
+  @Test
+  public void controllerIsNotReadyIfInformerStoppedWatching() {
+    readiness.register("gerrit", controller(informer(true, true, false)));
+    readiness.markStarted("gerrit");
+
+    assertThat(readiness.isReady()).isFalse();
+  }
+
+  private static InformerHealthIndicator informer(
+      boolean running, boolean synced, boolean watching) {
+    InformerHealthIndicator informer = mock(InformerHealthIndicator.class);
+    when(informer.isRunning()).thenReturn(running);
+    when(informer.hasSynced()).thenReturn(synced);
+    when(informer.isWatching()).thenReturn(watching);
+    return informer;
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static RegisteredController<?> controller(InformerHealthIndicator... informers) {
+    Map<String, InformerHealthIndicator> informersByNamespace = new HashMap<>();
+    for (int i = 0; i < informers.length; i++) {
+      informersByNamespace.put("namespace-" + i, informers[i]);
+    }
+    InformerWrappingEventSourceHealthIndicator eventSource =
+        mock(InformerWrappingEventSourceHealthIndicator.class);
+    when(eventSource.informerHealthIndicators()).thenReturn(informersByNamespace);
+    ControllerHealthInfo healthInfo = mock(ControllerHealthInfo.class);
+    when(healthInfo.informerEventSourceHealthIndicators())
+        .thenReturn(Map.of("event-source", eventSource));
+    RegisteredController controller = mock(RegisteredController.class);
+    when(controller.getControllerHealthInfo()).thenReturn(healthInfo);
+    return controller;
+  }
+}
@@ -0,0 +1,48 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class EventCoalescingSettingsTest {
+  @Test
+  public void coalescingIsDisabledByDefault() {
+    EventCoalescingSettings settings = new EventCoalescingSettings(Map.of());
+
+    assertThat(settings.isEnabled()).isFalse();
+    assertThat(settings.getWindow()).isEqualTo(Duration.ZERO);
+  }
+
+  @Test
+  public void windowIsConfigurable() {
+    EventCoalescingSettings settings =
+        new EventCoalescingSettings(Map.of(EventCoalescingSettings.WINDOW_SECONDS, "15"));
+
+    assertThat(settings.isEnabled()).isTrue();
+    assertThat(settings.getWindow()).isEqualTo(Duration.ofSeconds(15));
+  }
+
+  @Test
+  public void negativeWindowIsRejected() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new EventCoalescingSettings(Map.of(EventCoalescingSettings.WINDOW_SECONDS, "-1")));
+  }
+}
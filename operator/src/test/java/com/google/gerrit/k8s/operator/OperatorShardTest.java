@@ -0,0 +1,114 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class OperatorShardTest {
+
+  @Test
+  public void shardIsReadFromEnv() {
+    assertThat(OperatorShard.fromEnv(Map.of()).isSharded()).isFalse();
+    assertThat(OperatorShard.fromEnv(Map.of("SHARD_COUNT", "3", "SHARD_INDEX", "1")).getIndex())
+        .isEqualTo(1);
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> OperatorShard.fromEnv(Map.of("SHARD_COUNT", "3", "SHARD_INDEX", "3")));
+  }
+
+  @Test
+  public void shardIndexIsOnlyDerivedFromPodNameIfEnabled() {
+    assertThat(
+            OperatorShard.fromEnv(
+                    Map.of(
+                        "SHARD_COUNT",
+                        "3",
+                        "SHARD_INDEX_FROM_POD_NAME",
+                        "true",
+                        "HOSTNAME",
+                        "gerrit-operator-2"))
+                .getIndex())
+        .isEqualTo(2);
+    assertThat(
+            OperatorShard.fromEnv(
+                    Map.of(
+                        "SHARD_COUNT",
+                        "3",
+                        "SHARD_INDEX_FROM_POD_NAME",
+                        "true",
+                        "POD_NAME",
+                        "gerrit-operator-1",
+                        "HOSTNAME",
+                        "gerrit-operator-2"))
+                .getIndex())
+        .isEqualTo(1);
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            OperatorShard.fromEnv(
+                Map.of(
+                    "SHARD_COUNT",
+                    "3",
+                    "SHARD_INDEX_FROM_POD_NAME",
+                    "true",
+                    "HOSTNAME",
+                    "gerrit-operator")));
+
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class,
+            () ->
+                OperatorShard.fromEnv(
+                    Map.of("SHARD_COUNT", "3", "HOSTNAME", "gerrit-operator-5d8f9c7b4-2")));
+    assertThat(e).hasMessageThat().contains("SHARD_INDEX is not set");
+  }
+
+  @Test
+  public void eachNamespaceIsAssignedToExactlyOneShard() {
+    List<String> namespaces = namespaces(1000);
+    int assigned = 0;
+    for (int i = 0; i < 4; i++) {
+      Set<String> shardNamespaces = new OperatorShard(i, 4).filter(namespaces);
+      assertThat(shardNamespaces.size()).isGreaterThan(150);
+      assigned += shardNamespaces.size();
+    }
+    assertThat(assigned).isEqualTo(namespaces.size());
+  }
+
+  @Test
+  public void addingShardOnlyMovesNamespacesToNewShard() {
+    List<String> namespaces = namespaces(1000);
+    for (int i = 0; i < 4; i++) {
+      Set<String> before = new OperatorShard(i, 4).filter(namespaces);
+      Set<String> after = new OperatorShard(i, 5).filter(namespaces);
+      assertThat(before).containsAtLeastElementsIn(after);
+    }
+  }
+
+  private static List<String> namespaces(int count) {
+    List<String> namespaces = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      namespaces.add("gerrit-" + i);
+    }
+    return namespaces;
+  }
+}
@@ -0,0 +1,190 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+import static org.mockito.Mockito.mock;
+
+import com.google.gerrit.k8s.operator.Constants.ClusterMode;
+import com.google.gerrit.k8s.operator.api.model.cluster.GerritCluster;
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gitgc.GitGarbageCollection;
+import com.google.gerrit.k8s.operator.api.model.indexer.GerritIndexer;
+import com.google.gerrit.k8s.operator.api.model.maintenance.GerritMaintenance;
+import com.google.gerrit.k8s.operator.api.model.network.GerritNetwork;
+import com.google.gerrit.k8s.operator.api.model.receiver.Receiver;
+import com.google.gerrit.k8s.operator.api.model.tasks.incomingrepl.IncomingReplicationTask;
+import com.google.gerrit.k8s.operator.scale.OperatorScaleTest;
+import com.google.gerrit.k8s.operator.util.CoalescingEventSource;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.util.Modules;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the operator against a mock API server and verifies that a burst of changes of a Secret
+ * referenced by Gerrits leads to at most one rollout per Gerrit.
+ */
+public class SecretEventCoalescingTest {
+  private static final String NAMESPACE = "gerrit";
+  private static final String SECRET = "gerrit-secure-config";
+  private static final int GERRITS = 2;
+  private static final int UPDATES = 5;
+  private static final Duration QUIET_PERIOD = Duration.ofSeconds(4);
+  private static final Duration MAX_DURATION = Duration.ofMinutes(2);
+
+  private KubernetesServer kubernetesServer;
+  private KubernetesClient client;
+  private GerritOperator operator;
+
+  @BeforeEach
+  public void setup() {
+    OperatorContext.createInstance(ClusterMode.HIGH_AVAILABILITY, "cluster.local");
+    kubernetesServer =
+        new KubernetesServer(
+            false,
+            true,
+            Stream.of(
+                    GerritCluster.class,
+                    Gerrit.class,
+                    GitGarbageCollection.class,
+                    GerritMaintenance.class,
+                    GerritNetwork.class,
+                    Receiver.class,
+                    IncomingReplicationTask.class,
+                    GerritIndexer.class)
+                .map(CustomResourceDefinitionContext::fromCustomResourceType)
+                .collect(Collectors.toList()));
+    kubernetesServer.before();
+    client = kubernetesServer.getClient();
+
+    Injector injector =
+        Guice.createInjector(
+            Modules.override(new OperatorModule(ClusterMode.HIGH_AVAILABILITY))
+                .with(
+                    new AbstractModule() {
+                      @Override
+                      protected void configure() {
+                        bind(KubernetesClient.class).toInstance(client);
+                        bind(LifecycleManager.class).toInstance(mock(LifecycleManager.class));
+                        bind(EventCoalescingSettings.class)
+                            .toInstance(
+                                new EventCoalescingSettings(
+                                    Map.of(EventCoalescingSettings.WINDOW_SECONDS, "2")));
+                      }
+                    }));
+    operator = injector.getInstance(GerritOperator.class);
+  }
+
+  @AfterEach
+  public void teardown() {
+    operator.shutdown();
+    kubernetesServer.after();
+  }
+
+  @Test
+  public void burstOfSecretUpdatesLeadsToSingleRollout() throws Exception {
+    client
+        .resource(
+            new NamespaceBuilder().withNewMetadata().withName(NAMESPACE).endMetadata().build())
+        .create();
+    client.resource(createSecret(Map.of(), 0)).inNamespace(NAMESPACE).create();
+    client
+        .resource(
+            ReconcilerUtils.loadYaml(
+                GerritCluster.class, OperatorScaleTest.class, "gerritcluster.yaml"))
+        .inNamespace(NAMESPACE)
+        .create();
+
+    KubernetesMockServer mockServer = kubernetesServer.getKubernetesMockServer();
+    operator.start();
+    awaitSettled(mockServer);
+
+    long coalesced = CoalescingEventSource.getCoalescedEvents();
+    for (int i = 1; i <= UPDATES; i++) {
+      int version = i;
+      client
+          .secrets()
+          .inNamespace(NAMESPACE)
+          .withName(SECRET)
+          .edit(s -> createSecret(s.getMetadata().getLabels(), version));
+    }
+
+    List<RecordedRequest> statefulSetWrites = awaitSettled(mockServer);
+    assertWithMessage("StatefulSet updates after a burst of Secret updates")
+        .that(statefulSetWrites.stream().map(r -> r.getMethod() + " " + r.getPath()).toList())
+        .hasSize(GERRITS);
+    assertThat(CoalescingEventSource.getCoalescedEvents() - coalesced)
+        .isEqualTo((long) GERRITS * (UPDATES - 1));
+  }
+
+  private static Secret createSecret(Map<String, String> labels, int version) {
+    return new SecretBuilder()
+        .withNewMetadata()
+        .withName(SECRET)
+        .withNamespace(NAMESPACE)
+        .withLabels(labels)
+        .endMetadata()
+        .withData(
+            Map.of(
+                "secure.config",
+                Base64.getEncoder().encodeToString(("version " + version).getBytes())))
+        .build();
+  }
+
+  /**
+   * Waits until the operator did not send any request for the quiet period and returns the requests
+   * writing StatefulSets.
+   */
+  private static List<RecordedRequest> awaitSettled(KubernetesMockServer mockServer)
+      throws InterruptedException {
+    List<RecordedRequest> statefulSetWrites = new ArrayList<>();
+    long deadline = System.nanoTime() + MAX_DURATION.toNanos();
+    long lastRequest = System.nanoTime();
+    while (System.nanoTime() < deadline) {
+      RecordedRequest request = mockServer.takeRequest(100, TimeUnit.MILLISECONDS);
+      if (request != null) {
+        lastRequest = System.nanoTime();
+        if (request.getPath().contains("/statefulsets/") && !request.getMethod().equals("GET")) {
+          statefulSetWrites.add(request);
+        }
+      } else if (System.nanoTime() - lastRequest > QUIET_PERIOD.toNanos()) {
+        return statefulSetWrites;
+      }
+    }
+    throw new AssertionError("Operator did not settle within " + MAX_DURATION);
+  }
+}
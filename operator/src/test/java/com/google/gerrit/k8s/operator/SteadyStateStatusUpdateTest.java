@@ -0,0 +1,215 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+import static org.mockito.Mockito.mock;
+
+import com.google.gerrit.k8s.operator.Constants.ClusterMode;
+import com.google.gerrit.k8s.operator.api.model.cluster.GerritCluster;
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gitgc.GitGarbageCollection;
+import com.google.gerrit.k8s.operator.api.model.indexer.GerritIndexer;
+import com.google.gerrit.k8s.operator.api.model.maintenance.GerritMaintenance;
+import com.google.gerrit.k8s.operator.api.model.network.GerritNetwork;
+import com.google.gerrit.k8s.operator.api.model.receiver.Receiver;
+import com.google.gerrit.k8s.operator.api.model.tasks.incomingrepl.IncomingReplicationTask;
+import com.google.gerrit.k8s.operator.scale.OperatorScaleTest;
+import com.google.gerrit.k8s.operator.util.StatusUpdates;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.util.Modules;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the operator against a mock API server and verifies that reconciliations of resources whose
+ * state did not change do not write the status of the resources.
+ */
+public class SteadyStateStatusUpdateTest {
+  private static final String NAMESPACE = "gerrit";
+  private static final String RECONCILE_TIMER = "operator.sdk.controllers.execution.reconcile";
+  private static final Duration QUIET_PERIOD = Duration.ofSeconds(2);
+  private static final Duration MAX_DURATION = Duration.ofMinutes(2);
+
+  private KubernetesServer kubernetesServer;
+  private KubernetesClient client;
+  private GerritOperator operator;
+  private PrometheusMeterRegistry meterRegistry;
+
+  @BeforeEach
+  public void setup() {
+    OperatorContext.createInstance(ClusterMode.HIGH_AVAILABILITY, "cluster.local");
+    kubernetesServer =
+        new KubernetesServer(
+            false,
+            true,
+            Stream.of(
+                    GerritCluster.class,
+                    Gerrit.class,
+                    GitGarbageCollection.class,
+                    GerritMaintenance.class,
+                    GerritNetwork.class,
+                    Receiver.class,
+                    IncomingReplicationTask.class,
+                    GerritIndexer.class)
+                .map(CustomResourceDefinitionContext::fromCustomResourceType)
+                .collect(Collectors.toList()));
+    kubernetesServer.before();
+    client = kubernetesServer.getClient();
+
+    Injector injector =
+        Guice.createInjector(
+            Modules.override(new OperatorModule(ClusterMode.HIGH_AVAILABILITY))
+                .with(
+                    new AbstractModule() {
+                      @Override
+                      protected void configure() {
+                        bind(KubernetesClient.class).toInstance(client);
+                        bind(LifecycleManager.class).toInstance(mock(LifecycleManager.class));
+                      }
+                    }));
+    meterRegistry = injector.getInstance(PrometheusMeterRegistry.class);
+    operator = injector.getInstance(GerritOperator.class);
+  }
+
+  @AfterEach
+  public void teardown() {
+    operator.shutdown();
+    kubernetesServer.after();
+  }
+
+  @Test
+  public void steadyStateReconciliationsDoNotWriteStatus() throws Exception {
+    client
+        .resource(
+            new NamespaceBuilder().withNewMetadata().withName(NAMESPACE).endMetadata().build())
+        .create();
+    client
+        .resource(
+            ReconcilerUtils.loadYaml(
+                GerritCluster.class, OperatorScaleTest.class, "gerritcluster.yaml"))
+        .inNamespace(NAMESPACE)
+        .create();
+    client
+        .resource(
+            ReconcilerUtils.loadYaml(
+                GitGarbageCollection.class, OperatorScaleTest.class, "gitgc.yaml"))
+        .inNamespace(NAMESPACE)
+        .create();
+
+    KubernetesMockServer mockServer = kubernetesServer.getKubernetesMockServer();
+    operator.start();
+    List<RecordedRequest> initialStatusWrites = awaitSettled(mockServer);
+    assertWithMessage("Status writes of the initial reconciliation")
+        .that(initialStatusWrites.stream().map(SteadyStateStatusUpdateTest::getResourceType))
+        .containsAtLeast("gerrits", "gerritclusters", "gitgcs");
+
+    long reconciliations = getReconciliations();
+    long skippedUpdates = StatusUpdates.getSkippedUpdates();
+
+    // Changes of the metadata of secondary resources trigger reconciliations of their primary
+    // resources, i.e. of the Gerrits (ConfigMaps), the GerritCluster (Gerrits) and the
+    // GitGarbageCollection (GerritCluster), without changing their desired state.
+    for (ConfigMap configMap : client.configMaps().inNamespace(NAMESPACE).list().getItems()) {
+      touch(configMap);
+    }
+    for (Gerrit gerrit : client.resources(Gerrit.class).inNamespace(NAMESPACE).list().getItems()) {
+      touch(gerrit);
+    }
+    touch(client.resources(GerritCluster.class).inNamespace(NAMESPACE).withName("gerrit").get());
+
+    List<RecordedRequest> steadyStateStatusWrites = awaitSettled(mockServer);
+    assertThat(getReconciliations()).isGreaterThan(reconciliations);
+    assertWithMessage("Status writes of steady-state reconciliations")
+        .that(steadyStateStatusWrites.stream().map(r -> r.getMethod() + " " + r.getPath()))
+        .isEmpty();
+    assertThat(StatusUpdates.getSkippedUpdates()).isGreaterThan(skippedUpdates);
+  }
+
+  private <T extends HasMetadata> void touch(T resource) {
+    client
+        .resource(resource)
+        .inNamespace(NAMESPACE)
+        .edit(
+            r -> {
+              r.getMetadata().getAnnotations().put("test/touched", "true");
+              return r;
+            });
+  }
+
+  /**
+   * Waits until the operator did not send any request for the quiet period and returns the requests
+   * writing the status subresource.
+   */
+  private static List<RecordedRequest> awaitSettled(KubernetesMockServer mockServer)
+      throws InterruptedException {
+    List<RecordedRequest> statusWrites = new ArrayList<>();
+    long deadline = System.nanoTime() + MAX_DURATION.toNanos();
+    long lastRequest = System.nanoTime();
+    while (System.nanoTime() < deadline) {
+      RecordedRequest request = mockServer.takeRequest(100, TimeUnit.MILLISECONDS);
+      if (request != null) {
+        lastRequest = System.nanoTime();
+        if (isStatusWrite(request)) {
+          statusWrites.add(request);
+        }
+      } else if (System.nanoTime() - lastRequest > QUIET_PERIOD.toNanos()) {
+        return statusWrites;
+      }
+    }
+    throw new AssertionError("Operator did not settle within " + MAX_DURATION);
+  }
+
+  private static boolean isStatusWrite(RecordedRequest request) {
+    return getPath(request).endsWith("/status") && !request.getMethod().equals("GET");
+  }
+
+  /** Returns the resource type of a request for a subresource of a namespaced resource. */
+  private static String getResourceType(RecordedRequest request) {
+    String[] segments = getPath(request).split("/");
+    return segments[segments.length - 3];
+  }
+
+  private static String getPath(RecordedRequest request) {
+    String path = request.getPath();
+    int queryStart = path.indexOf('?');
+    return queryStart >= 0 ? path.substring(0, queryStart) : path;
+  }
+
+  private long getReconciliations() {
+    return meterRegistry.find(RECONCILE_TIMER).timers().stream().mapToLong(Timer::count).sum();
+  }
+}
@@ -0,0 +1,266 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.gerrit;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritRollout.RolloutStrategy;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritRolloutStatus;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritRolloutStatus.RolloutPhase;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritSpec;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritStatus;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetUpdateStrategyBuilder;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class ProgressiveRolloutTest {
+  private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+  private static final String OLD_REVISION = "gerrit-1";
+  private static final String NEW_REVISION = "gerrit-2";
+
+  @Test
+  public void partitionIsTakenFromSpecWithoutProgressiveRollout() {
+    Gerrit gerrit = createGerrit();
+    gerrit.getSpec().getRollout().setStrategy(RolloutStrategy.KUBERNETES);
+    gerrit.getSpec().setUpdatePartition(1);
+
+    assertThat(ProgressiveRollout.getPartition(gerrit, 3)).isEqualTo(1);
+  }
+
+  @Test
+  public void podsAreHeldBackWithoutPendingRollout() {
+    Gerrit gerrit = createGerrit();
+    assertThat(ProgressiveRollout.getPartition(gerrit, 3)).isEqualTo(3);
+
+    GerritRolloutStatus status =
+        ProgressiveRollout.evaluate(gerrit, createStatefulSet(OLD_REVISION), List.of(), NOW);
+
+    assertThat(status.getPhase()).isEqualTo(RolloutPhase.COMPLETED);
+    assertThat(status.getPartition()).isEqualTo(3);
+    assertThat(status.getRevision()).isEqualTo(OLD_REVISION);
+    gerrit.getStatus().setRollout(status);
+    assertThat(ProgressiveRollout.getPartition(gerrit, 3)).isEqualTo(3);
+  }
+
+  @Test
+  public void newRevisionIsFirstRolledOutToCanary() {
+    Gerrit gerrit = createGerrit();
+
+    GerritRolloutStatus status =
+        ProgressiveRollout.evaluate(
+            gerrit,
+            createStatefulSet(NEW_REVISION),
+            List.of(
+                pod(0, OLD_REVISION, NOW.minusSeconds(3600)),
+                pod(1, OLD_REVISION, NOW.minusSeconds(3600)),
+                pod(2, OLD_REVISION, NOW.minusSeconds(3600))),
+            NOW);
+
+    assertThat(status.getPhase()).isEqualTo(RolloutPhase.PROGRESSING);
+    assertThat(status.getRevision()).isEqualTo(NEW_REVISION);
+    assertThat(status.getPartition()).isEqualTo(2);
+    assertThat(status.getStepStartedAt()).isEqualTo(NOW.toString());
+    assertThat(status.getMessage()).isEqualTo("Updating pod gerrit-2");
+    gerrit.getStatus().setRollout(status);
+    assertThat(ProgressiveRollout.getPartition(gerrit, 3)).isEqualTo(2);
+  }
+
+  @Test
+  public void nextPodIsOnlyUpdatedAfterWarmUp() {
+    Gerrit gerrit = createGerrit();
+    gerrit.getStatus().setRollout(progressing(2, NOW.minusSeconds(120)));
+    StatefulSet sts = createStatefulSet(NEW_REVISION);
+
+    GerritRolloutStatus warmingUp =
+        ProgressiveRollout.evaluate(
+            gerrit,
+            sts,
+            List.of(
+                pod(0, OLD_REVISION, NOW.minusSeconds(3600)),
+                pod(1, OLD_REVISION, NOW.minusSeconds(3600)),
+                pod(2, NEW_REVISION, NOW.minusSeconds(60))),
+            NOW);
+    assertThat(warmingUp.getPartition()).isEqualTo(2);
+    assertThat(warmingUp.getUpdatedReplicas()).isEqualTo(1);
+    assertThat(warmingUp.getMessage())
+        .isEqualTo("Warming up pod gerrit-2 until " + NOW.plusSeconds(240));
+
+    GerritRolloutStatus warm =
+        ProgressiveRollout.evaluate(
+            gerrit,
+            sts,
+            List.of(
+                pod(0, OLD_REVISION, NOW.minusSeconds(3600)),
+                pod(1, OLD_REVISION, NOW.minusSeconds(3600)),
+                pod(2, NEW_REVISION, NOW.minusSeconds(300))),
+            NOW);
+    assertThat(warm.getPhase()).isEqualTo(RolloutPhase.PROGRESSING);
+    assertThat(warm.getPartition()).isEqualTo(1);
+    assertThat(warm.getStepStartedAt()).isEqualTo(NOW.toString());
+  }
+
+  @Test
+  public void failingCanaryHaltsRollout() {
+    Gerrit gerrit = createGerrit();
+    gerrit.getStatus().setRollout(progressing(2, NOW.minusSeconds(300)));
+    StatefulSet sts = createStatefulSet(NEW_REVISION);
+    List<Pod> pods =
+        List.of(
+            pod(0, OLD_REVISION, NOW.minusSeconds(3600)),
+            pod(1, OLD_REVISION, NOW.minusSeconds(3600)),
+            pod(2, NEW_REVISION, null));
+
+    GerritRolloutStatus waiting = ProgressiveRollout.evaluate(gerrit, sts, pods, NOW);
+    assertThat(waiting.getPhase()).isEqualTo(RolloutPhase.PROGRESSING);
+    assertThat(waiting.getMessage()).isEqualTo("Waiting for pod gerrit-2 to become healthy");
+
+    GerritRolloutStatus failed =
+        ProgressiveRollout.evaluate(gerrit, sts, pods, NOW.plusSeconds(300));
+    assertThat(failed.getPhase()).isEqualTo(RolloutPhase.FAILED);
+    assertThat(failed.getPartition()).isEqualTo(2);
+
+    gerrit.getStatus().setRollout(failed);
+    assertThat(ProgressiveRollout.getPartition(gerrit, 3)).isEqualTo(2);
+    assertThat(ProgressiveRollout.evaluate(gerrit, sts, pods, NOW.plusSeconds(900)))
+        .isEqualTo(failed);
+
+    GerritRolloutStatus restarted =
+        ProgressiveRollout.evaluate(
+            gerrit, createStatefulSet("gerrit-3"), pods, NOW.plusSeconds(900));
+    assertThat(restarted.getPhase()).isEqualTo(RolloutPhase.PROGRESSING);
+    assertThat(restarted.getRevision()).isEqualTo("gerrit-3");
+    assertThat(restarted.getPartition()).isEqualTo(2);
+  }
+
+  @Test
+  public void rolloutStopsAtUpdatePartition() {
+    Gerrit gerrit = createGerrit();
+    gerrit.getSpec().setUpdatePartition(1);
+    gerrit.getStatus().setRollout(progressing(1, NOW.minusSeconds(900)));
+
+    GerritRolloutStatus status =
+        ProgressiveRollout.evaluate(
+            gerrit,
+            createStatefulSet(NEW_REVISION),
+            List.of(
+                pod(0, OLD_REVISION, NOW.minusSeconds(3600)),
+                pod(1, NEW_REVISION, NOW.minusSeconds(600)),
+                pod(2, NEW_REVISION, NOW.minusSeconds(900))),
+            NOW);
+
+    assertThat(status.getPhase()).isEqualTo(RolloutPhase.PROGRESSING);
+    assertThat(status.getPartition()).isEqualTo(1);
+    assertThat(status.getMessage()).isEqualTo("Paused at update partition 1");
+  }
+
+  @Test
+  public void rolloutIsCheckedAgainWhenStepIsAppliedAtEndOfWarmUpOrDeadline() {
+    Gerrit gerrit = createGerrit();
+    StatefulSet sts = createStatefulSet(NEW_REVISION);
+    GerritRolloutStatus rollout = progressing(2, NOW.minusSeconds(120));
+    assertThat(
+            ProgressiveRollout.getNextCheck(
+                gerrit, sts, List.of(pod(2, NEW_REVISION, null)), rollout, NOW))
+        .hasValue(NOW);
+
+    sts.getSpec()
+        .setUpdateStrategy(
+            new StatefulSetUpdateStrategyBuilder()
+                .withNewRollingUpdate()
+                .withPartition(2)
+                .endRollingUpdate()
+                .build());
+    assertThat(
+            ProgressiveRollout.getNextCheck(
+                gerrit, sts, List.of(pod(2, NEW_REVISION, NOW.minusSeconds(60))), rollout, NOW))
+        .hasValue(NOW.plusSeconds(240));
+    assertThat(
+            ProgressiveRollout.getNextCheck(
+                gerrit, sts, List.of(pod(2, NEW_REVISION, null)), rollout, NOW))
+        .hasValue(NOW.plusSeconds(480));
+    assertThat(
+            ProgressiveRollout.getNextCheck(
+                gerrit, sts, List.of(pod(2, NEW_REVISION, NOW.minusSeconds(300))), rollout, NOW))
+        .isEmpty();
+
+    rollout.setPhase(RolloutPhase.FAILED);
+    assertThat(
+            ProgressiveRollout.getNextCheck(
+                gerrit, sts, List.of(pod(2, NEW_REVISION, null)), rollout, NOW))
+        .isEmpty();
+  }
+
+  private static Gerrit createGerrit() {
+    GerritSpec spec = new GerritSpec();
+    spec.setReplicas(3);
+    spec.getRollout().setStrategy(RolloutStrategy.PROGRESSIVE);
+    Gerrit gerrit = new Gerrit();
+    gerrit.setMetadata(new ObjectMetaBuilder().withName("gerrit").withNamespace("gerrit").build());
+    gerrit.setSpec(spec);
+    gerrit.setStatus(new GerritStatus());
+    return gerrit;
+  }
+
+  private static GerritRolloutStatus progressing(int partition, Instant stepStartedAt) {
+    GerritRolloutStatus status = new GerritRolloutStatus();
+    status.setRevision(NEW_REVISION);
+    status.setPhase(RolloutPhase.PROGRESSING);
+    status.setPartition(partition);
+    status.setStepStartedAt(stepStartedAt.toString());
+    return status;
+  }
+
+  private static StatefulSet createStatefulSet(String updateRevision) {
+    return new StatefulSetBuilder()
+        .withNewMetadata()
+        .withName("gerrit")
+        .endMetadata()
+        .withNewSpec()
+        .withReplicas(3)
+        .endSpec()
+        .withNewStatus()
+        .withCurrentRevision(OLD_REVISION)
+        .withUpdateRevision(updateRevision)
+        .endStatus()
+        .build();
+  }
+
+  private static Pod pod(int ordinal, String revision, Instant readySince) {
+    PodBuilder pod =
+        new PodBuilder()
+            .withNewMetadata()
+            .withName("gerrit-" + ordinal)
+            .withLabels(Map.of(ProgressiveRollout.REVISION_LABEL, revision))
+            .endMetadata();
+    if (readySince != null) {
+      pod.withNewStatus()
+          .addNewCondition()
+          .withType("Ready")
+          .withStatus("True")
+          .withLastTransitionTime(readySince.toString())
+          .endCondition()
+          .endStatus();
+    }
+    return pod.build();
+  }
+}
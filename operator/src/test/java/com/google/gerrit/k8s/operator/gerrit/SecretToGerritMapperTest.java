@@ -0,0 +1,140 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.gerrit;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritModuleData;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritPlugin;
+import com.google.gerrit.k8s.operator.gerrit.GerritReconciler.SecretToGerritMapper;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+import io.javaoperatorsdk.operator.api.config.BaseConfigurationService;
+import io.javaoperatorsdk.operator.api.reconciler.EventSourceContext;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.IndexerResourceCache;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+public class SecretToGerritMapperTest {
+  private static final String NAMESPACE = "gerrit";
+
+  @Test
+  public void secretEventIsMappedToReferencingGerrits() {
+    Gerrit gerrit1 = gerrit("gerrit1", "shared", "plugin-data");
+    Gerrit gerrit2 = gerrit("gerrit2", "shared");
+    Gerrit gerrit3 = gerrit("gerrit3", "other");
+    Gerrit otherNamespace = gerrit("gerrit4", "shared");
+    otherNamespace.getMetadata().setNamespace("other");
+    KubernetesClient client = mock(KubernetesClient.class);
+    GerritReconciler reconciler = new GerritReconciler(client);
+    EventSourceContext<Gerrit> context =
+        new EventSourceContext<>(
+            new GerritCache(List.of(gerrit1, gerrit2, gerrit3, otherNamespace)),
+            new BaseConfigurationService().getConfigurationFor(reconciler),
+            client);
+    // Registers the index of referenced Secrets in the primary cache.
+    reconciler.prepareEventSources(context);
+    SecretToGerritMapper mapper = new SecretToGerritMapper(context);
+
+    assertThat(mapper.toPrimaryResourceIDs(secret("shared")))
+        .containsExactly(ResourceID.fromResource(gerrit1), ResourceID.fromResource(gerrit2));
+    assertThat(mapper.toPrimaryResourceIDs(secret("plugin-data")))
+        .containsExactly(ResourceID.fromResource(gerrit1));
+    assertThat(mapper.toPrimaryResourceIDs(secret("unreferenced"))).isEmpty();
+  }
+
+  private Gerrit gerrit(String name, String secretRef, String... moduleDataSecretRefs) {
+    Gerrit gerrit =
+        ReconcilerUtils.loadYaml(Gerrit.class, getClass(), "gerrit_single_primary.yaml");
+    gerrit.getMetadata().setName(name);
+    gerrit.getMetadata().setNamespace(NAMESPACE);
+    gerrit.getSpec().setSecretRef(secretRef);
+    List<GerritPlugin> plugins = new ArrayList<>();
+    for (String moduleDataSecretRef : moduleDataSecretRefs) {
+      GerritModuleData moduleData = new GerritModuleData();
+      moduleData.setSecretRef(moduleDataSecretRef);
+      GerritPlugin plugin = new GerritPlugin();
+      plugin.setName(moduleDataSecretRef);
+      plugin.setModuleData(moduleData);
+      plugins.add(plugin);
+    }
+    gerrit.getSpec().setPlugins(plugins);
+    return gerrit;
+  }
+
+  private static Secret secret(String name) {
+    return new SecretBuilder()
+        .withNewMetadata()
+        .withName(name)
+        .withNamespace(NAMESPACE)
+        .endMetadata()
+        .build();
+  }
+
+  /** Primary cache of Gerrits, that evaluates indexes on the fly. */
+  private static class GerritCache implements IndexerResourceCache<Gerrit> {
+    private final List<Gerrit> gerrits;
+    private final Map<String, Function<Gerrit, List<String>>> indexers = new HashMap<>();
+
+    GerritCache(List<Gerrit> gerrits) {
+      this.gerrits = gerrits;
+    }
+
+    @Override
+    public void addIndexers(Map<String, Function<Gerrit, List<String>>> indexers) {
+      this.indexers.putAll(indexers);
+    }
+
+    @Override
+    public List<Gerrit> byIndex(String indexName, String indexKey) {
+      return gerrits.stream()
+          .filter(g -> indexers.get(indexName).apply(g).contains(indexKey))
+          .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<Gerrit> get(ResourceID resourceID) {
+      return gerrits.stream().filter(g -> ResourceID.fromResource(g).equals(resourceID)).findAny();
+    }
+
+    @Override
+    public Stream<ResourceID> keys() {
+      return gerrits.stream().map(ResourceID::fromResource);
+    }
+
+    @Override
+    public Stream<Gerrit> list(Predicate<Gerrit> predicate) {
+      return gerrits.stream().filter(predicate);
+    }
+
+    @Override
+    public Stream<Gerrit> list(String namespace, Predicate<Gerrit> predicate) {
+      return list(g -> namespace.equals(g.getMetadata().getNamespace()) && predicate.test(g));
+    }
+  }
+}
@@ -0,0 +1,175 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.gerrit.config;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.gerrit.k8s.operator.gerrit.config.CacheProfile.MIB;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritCacheSizing;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritCacheSizing.Workload;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritSiteVolume;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritSiteVolume.VolumeType;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritSpec;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
+import org.eclipse.jgit.lib.Config;
+import org.junit.jupiter.api.Test;
+
+public class CacheProfileTest {
+  private static final OptionalLong HEAP = OptionalLong.of(4096 * MIB);
+  private static final Quantity SITE_SIZE = new Quantity("10Gi");
+
+  @Test
+  public void nothingIsSizedWithoutWorkload() {
+    CacheProfile profile = new CacheProfile(sizing(Workload.NONE), SITE_SIZE, new Config(), HEAP);
+
+    assertThat(profile.getOptions()).isEmpty();
+    assertThat(profile.getBudgets()).isEmpty();
+  }
+
+  @Test
+  public void reviewHeavyWorkloadPrefersDiffCaches() {
+    CacheProfile profile =
+        new CacheProfile(sizing(Workload.REVIEW_HEAVY), SITE_SIZE, new Config(), HEAP);
+
+    assertThat(profile.getBudgets())
+        .containsExactlyEntriesIn(
+            Map.ofEntries(
+                Map.entry("core.packedGitWindowSize", "8k"),
+                Map.entry("core.packedGitLimit", "409m"),
+                Map.entry("cache.diff_intraline.memoryLimit", "153m"),
+                Map.entry("cache.diff_intraline.diskLimit", "460m"),
+                Map.entry("cache.diff_summary.memoryLimit", "102m"),
+                Map.entry("cache.diff_summary.diskLimit", "307m"),
+                Map.entry("cache.gerrit_file_diff.memoryLimit", "307m"),
+                Map.entry("cache.gerrit_file_diff.diskLimit", "921m"),
+                Map.entry("cache.git_file_diff.memoryLimit", "307m"),
+                Map.entry("cache.git_file_diff.diskLimit", "921m"),
+                Map.entry("cache.git_modified_files.memoryLimit", "51m"),
+                Map.entry("cache.git_modified_files.diskLimit", "153m"),
+                Map.entry("cache.modified_files.memoryLimit", "102m"),
+                Map.entry("cache.modified_files.diskLimit", "307m")));
+  }
+
+  @Test
+  public void fetchHeavyWorkloadPrefersPackCache() {
+    CacheProfile profile =
+        new CacheProfile(sizing(Workload.FETCH_HEAVY), SITE_SIZE, new Config(), HEAP);
+
+    assertThat(profile.getBudgets())
+        .containsAtLeast(
+            "core.packedGitWindowSize", "64k",
+            "core.packedGitLimit", "1024m",
+            "cache.gerrit_file_diff.memoryLimit", "122m");
+  }
+
+  @Test
+  public void replicaWorkloadOnlySizesPackCache() {
+    CacheProfile profile =
+        new CacheProfile(sizing(Workload.REPLICA), SITE_SIZE, new Config(), HEAP);
+
+    assertThat(profile.getBudgets())
+        .containsExactly("core.packedGitWindowSize", "64k", "core.packedGitLimit", "1433m");
+  }
+
+  @Test
+  public void onlyDiskLimitsAreSizedWithoutKnownHeap() {
+    CacheProfile profile =
+        new CacheProfile(
+            sizing(Workload.REVIEW_HEAVY), SITE_SIZE, new Config(), OptionalLong.empty());
+
+    assertThat(profile.getBudgets().keySet().stream().filter(k -> k.endsWith("memoryLimit")))
+        .isEmpty();
+    assertThat(profile.getBudgets()).doesNotContainKey("core.packedGitLimit");
+    assertThat(profile.getBudgets()).containsEntry("cache.git_file_diff.diskLimit", "921m");
+  }
+
+  @Test
+  public void explicitOptionsWinAndAreReported() throws Exception {
+    Config baseConfig = new Config();
+    baseConfig.fromText(
+        "[core]\n  packedGitLimit = 1g\n[cache \"diff_summary\"]\n  memoryLimit = 5m\n");
+    CacheProfile profile =
+        new CacheProfile(sizing(Workload.REVIEW_HEAVY), SITE_SIZE, baseConfig, HEAP);
+
+    assertThat(
+            profile.getOptions().stream()
+                .map(o -> o.getSection() + "." + o.getSubSection() + "." + o.getKey())
+                .collect(Collectors.toList()))
+        .containsNoneOf("core.null.packedGitLimit", "cache.diff_summary.memoryLimit");
+    assertThat(profile.getBudgets())
+        .containsAtLeast("core.packedGitLimit", "1g", "cache.diff_summary.memoryLimit", "5m");
+  }
+
+  @Test
+  public void budgetsFollowResourcesOfGerrit() throws Exception {
+    GerritSpec spec = new GerritSpec();
+    spec.setConfigFiles(Map.of("gerrit.config", "[container]\n  javaOptions = -Xmx2g\n"));
+    spec.getSite().setSize(SITE_SIZE);
+    spec.setCacheSizing(sizing(Workload.REPLICA));
+    spec.setResources(
+        new ResourceRequirementsBuilder()
+            .withLimits(Map.of("memory", new Quantity("8Gi")))
+            .build());
+    Gerrit gerrit = new Gerrit();
+    gerrit.setSpec(spec);
+
+    assertThat(CacheProfile.of(gerrit).getBudgets()).containsEntry("core.packedGitLimit", "716m");
+  }
+
+  @Test
+  public void diskBudgetFollowsDedicatedCacheVolume() throws Exception {
+    GerritSpec spec = new GerritSpec();
+    spec.getSite().setSize(SITE_SIZE);
+    GerritSiteVolume cache = new GerritSiteVolume();
+    cache.setType(VolumeType.EMPTY_DIR);
+    cache.setSize(new Quantity("1Gi"));
+    spec.getSite().setCache(cache);
+    spec.setCacheSizing(sizing(Workload.REVIEW_HEAVY));
+    Gerrit gerrit = new Gerrit();
+    gerrit.setSpec(spec);
+
+    assertThat(CacheProfile.of(gerrit).getBudgets())
+        .containsEntry("cache.gerrit_file_diff.diskLimit", "92m");
+  }
+
+  @Test
+  public void malformedHeapSizeIsOnlyRejectedIfCachesAreSized() throws Exception {
+    GerritSpec spec = new GerritSpec();
+    spec.setConfigFiles(Map.of("gerrit.config", "[container]\n  javaOptions = -Xmx4x\n"));
+    spec.getSite().setSize(SITE_SIZE);
+    Gerrit gerrit = new Gerrit();
+    gerrit.setSpec(spec);
+
+    spec.setCacheSizing(sizing(Workload.NONE));
+    assertThat(CacheProfile.of(gerrit).getBudgets()).isEmpty();
+
+    spec.setCacheSizing(sizing(Workload.REVIEW_HEAVY));
+    InvalidGerritConfigException e =
+        assertThrows(InvalidGerritConfigException.class, () -> CacheProfile.of(gerrit));
+    assertThat(e).hasMessageThat().contains("-Xmx4x");
+  }
+
+  private static GerritCacheSizing sizing(Workload workload) {
+    GerritCacheSizing sizing = new GerritCacheSizing();
+    sizing.setWorkload(workload);
+    return sizing;
+  }
+}
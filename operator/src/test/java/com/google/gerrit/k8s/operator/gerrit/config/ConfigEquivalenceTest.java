@@ -0,0 +1,74 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.gerrit.config;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class ConfigEquivalenceTest {
+  private static final List<RequiredOption<?>> REQUIRED_OPTIONS =
+      List.of(
+          new RequiredOption<Set<String>>(
+              "plugins", "mandatory", Set.of("healthcheck", "high-availability")),
+          new RequiredOption<String>("gerrit", "basePath", "git"));
+
+  @Test
+  public void orderOfOptionsIsIgnored() {
+    assertThat(
+            ConfigEquivalence.isEquivalent(
+                "[gerrit]\n\tbasePath = git\n\tserverId = 1\n[cache]\n\tdirectory = cache\n",
+                "[cache]\n\tdirectory = cache\n[gerrit]\n\tserverId = 1\n\tbasePath = git\n",
+                REQUIRED_OPTIONS))
+        .isTrue();
+  }
+
+  @Test
+  public void orderOfValuesOfSetValuedRequiredOptionsIsIgnored() {
+    assertThat(
+            ConfigEquivalence.isEquivalent(
+                "[plugins]\n\tmandatory = high-availability\n\tmandatory = healthcheck\n",
+                "[plugins]\n\tmandatory = healthcheck\n\tmandatory = high-availability\n",
+                REQUIRED_OPTIONS))
+        .isTrue();
+  }
+
+  @Test
+  public void orderOfValuesOfOtherOptionsIsNotIgnored() {
+    assertThat(
+            ConfigEquivalence.isEquivalent(
+                "[container]\n\tjavaOptions = -Xmx4g\n\tjavaOptions = -Xmx8g\n",
+                "[container]\n\tjavaOptions = -Xmx8g\n\tjavaOptions = -Xmx4g\n",
+                REQUIRED_OPTIONS))
+        .isFalse();
+  }
+
+  @Test
+  public void changedValuesAreNotEquivalent() {
+    assertThat(
+            ConfigEquivalence.isEquivalent(
+                "[plugins]\n\tmandatory = healthcheck\n",
+                "[plugins]\n\tmandatory = healthcheck\n\tmandatory = high-availability\n",
+                REQUIRED_OPTIONS))
+        .isFalse();
+    assertThat(
+            ConfigEquivalence.isEquivalent(
+                "[gerrit]\n\tserverId = 1\n", "[gerrit]\n\tserverId = 2\n", REQUIRED_OPTIONS))
+        .isFalse();
+    assertThat(ConfigEquivalence.isEquivalent("[gerrit", "[gerrit]\n", REQUIRED_OPTIONS)).isFalse();
+  }
+}
@@ -15,15 +15,22 @@
 package com.google.gerrit.k8s.operator.gerrit.config;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.google.common.collect.ImmutableList;
 import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritCacheSizing.Workload;
 import com.google.gerrit.k8s.operator.api.model.gerrit.GerritSpec;
 import com.google.gerrit.k8s.operator.api.model.shared.IndexConfig;
 import com.google.gerrit.k8s.operator.api.model.shared.IndexType;
 import com.google.gerrit.k8s.operator.api.model.shared.IngressConfig;
 import com.google.gerrit.k8s.operator.api.model.shared.RemoteIndexConfig;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.assertj.core.util.Arrays;
@@ -33,7 +40,7 @@ import org.junit.jupiter.api.Test;
 public class GerritConfigBuilderTest {
 
   @Test
-  public void emptyGerritConfigContainsAllPresetConfiguration() {
+  public void emptyGerritConfigContainsAllPresetConfiguration() throws Exception {
     Gerrit gerrit = createGerrit("");
     ConfigBuilder cfgBuilder = new GerritConfigBuilder(gerrit);
     Config cfg = cfgBuilder.build();
@@ -50,10 +57,60 @@ public class GerritConfigBuilderTest {
     }
   }
 
+  @Test
+  public void missingValuesOfRequiredSetsAreAddedInSortedOrder() throws Exception {
+    String baseConfig = "[plugins]\n  mandatory = zookeeper-refdb\n";
+    Config cfg =
+        createConfigBuilder(
+                baseConfig, new LinkedHashSet<>(List.of("zookeeper-refdb", "multi-site", "a")))
+            .build();
+    Config reversedCfg =
+        createConfigBuilder(
+                baseConfig, new LinkedHashSet<>(List.of("a", "multi-site", "zookeeper-refdb")))
+            .build();
+
+    assertEquals(
+        List.of("zookeeper-refdb", "a", "multi-site"),
+        List.of(cfg.getStringList("plugins", null, "mandatory")));
+    assertEquals(cfg.toText(), reversedCfg.toText());
+  }
+
+  @Test
+  public void jvmProfileAddsDerivedJavaOptionsUnlessSetExplicitly() throws Exception {
+    Gerrit gerrit = createGerrit("[container]\n  javaOptions = -Xmx2g\n");
+    gerrit.getSpec().getJvmProfile().setEnabled(true);
+    gerrit
+        .getSpec()
+        .setResources(
+            new ResourceRequirementsBuilder()
+                .withLimits(Map.of("memory", new Quantity("8Gi"), "cpu", new Quantity("4")))
+                .build());
+
+    List<String> javaOptions =
+        List.of(
+            new GerritConfigBuilder(gerrit)
+                .build()
+                .getStringList("container", null, "javaOptions"));
+    assertEquals("-Xmx2g", javaOptions.get(0));
+    assertTrue(javaOptions.contains("-XX:+UseG1GC"));
+    assertTrue(javaOptions.contains("-XX:ActiveProcessorCount=4"));
+    assertTrue(javaOptions.stream().noneMatch(o -> o.startsWith("-Xms")));
+  }
+
   @Test
   public void invalidConfigValueIsRejected() {
     Gerrit gerrit = createGerrit("[gerrit]\n  basePath = invalid");
-    assertThrows(IllegalStateException.class, () -> new GerritConfigBuilder(gerrit).build());
+    assertThrows(InvalidGerritConfigException.class, () -> new GerritConfigBuilder(gerrit).build());
+  }
+
+  @Test
+  public void malformedHeapSizeIsRejectedIfCachesAreSized() {
+    Gerrit gerrit = createGerrit("[container]\n  javaOptions = -Xmx4x");
+    gerrit.getSpec().getCacheSizing().setWorkload(Workload.REVIEW_HEAVY);
+
+    GerritConfigBuilder builder = new GerritConfigBuilder(gerrit);
+    assertThrows(InvalidGerritConfigException.class, () -> builder.validate());
+    assertThrows(InvalidGerritConfigException.class, () -> builder.build());
   }
 
   @Test
@@ -63,7 +120,7 @@ public class GerritConfigBuilderTest {
   }
 
   @Test
-  public void canonicalWebUrlIsConfigured() {
+  public void canonicalWebUrlIsConfigured() throws Exception {
     IngressConfig ingressConfig = new IngressConfig();
     ingressConfig.setEnabled(true);
     ingressConfig.setHost("gerrit.example.com");
@@ -78,7 +135,7 @@ public class GerritConfigBuilderTest {
   }
 
   @Test
-  public void validElasticsearchConfigIsParsed() {
+  public void validElasticsearchConfigIsParsed() throws Exception {
     assertEsConfig("[elasticsearch]\n  codec = default");
     assertEsConfig("[elasticsearch]\n # test comment\n codec = default");
     assertEsConfig("[elasticsearch]\n codec = default # test comment");
@@ -107,7 +164,7 @@ public class GerritConfigBuilderTest {
                 .build());
   }
 
-  private void assertEsConfig(String esConfig) {
+  private void assertEsConfig(String esConfig) throws Exception {
     Gerrit gerrit = createGerritWithElasticSearch(esConfig);
     Config cfg = new GerritConfigBuilder(gerrit).build();
     assertTrue(cfg.getString("elasticsearch", null, "server").equals("http://es.example.com"));
@@ -115,7 +172,7 @@ public class GerritConfigBuilderTest {
   }
 
   @Test
-  public void validOpenSearchConfigIsParsed() {
+  public void validOpenSearchConfigIsParsed() throws Exception {
     assertOsConfig("[opensearch]\n  codec = default");
     assertOsConfig("[opensearch]\n # test comment\n codec = default");
     assertOsConfig("[opensearch]\n codec = default # test comment");
@@ -140,7 +197,7 @@ public class GerritConfigBuilderTest {
                 .build());
   }
 
-  private void assertOsConfig(String osConfig) {
+  private void assertOsConfig(String osConfig) throws Exception {
     Gerrit gerrit = createGerritWithOpenSearch(osConfig);
     Config cfg = new GerritConfigBuilder(gerrit).build();
     assertTrue(cfg.getString("opensearch", null, "server").equals("http://os.example.com"));
@@ -184,4 +241,12 @@ public class GerritConfigBuilderTest {
     gerrit.setSpec(gerritSpec);
     return gerrit;
   }
+
+  private static ConfigBuilder createConfigBuilder(
+      String baseConfig, Set<String> mandatoryPlugins) {
+    return new ConfigBuilder(
+        baseConfig,
+        ImmutableList.of(
+            new RequiredOption<Set<String>>("plugins", "mandatory", mandatoryPlugins))) {};
+  }
 }
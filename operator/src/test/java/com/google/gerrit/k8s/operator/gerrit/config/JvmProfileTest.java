@@ -0,0 +1,194 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.gerrit.config;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritJvmProfile;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritJvmProfile.GarbageCollector;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class JvmProfileTest {
+  @Test
+  public void noOptionsAreDerivedIfProfileIsDisabled() {
+    GerritJvmProfile profile = new GerritJvmProfile();
+
+    assertThat(new JvmProfile(profile, limits("8Gi", "4"), List.of()).getOptions()).isEmpty();
+  }
+
+  @Test
+  public void optionsAreDerivedFromLimits() {
+    assertThat(new JvmProfile(enabledProfile(), limits("8Gi", "4"), List.of()).getOptions())
+        .containsExactly(
+            "-XX:+UseG1GC",
+            "-XX:ActiveProcessorCount=4",
+            "-Xmx5530m",
+            "-Xms5530m",
+            "-XX:MaxDirectMemorySize=512m",
+            "-XX:MaxMetaspaceSize=512m");
+  }
+
+  @Test
+  public void zgcIsUsedForLargeHeaps() {
+    JvmProfile jvmProfile = new JvmProfile(enabledProfile(), limits("32Gi", "8"), List.of());
+
+    assertThat(jvmProfile.getGarbageCollector()).isEqualTo(GarbageCollector.ZGC);
+    assertThat(jvmProfile.getOptions())
+        .containsExactly(
+            "-XX:+UseZGC",
+            "-XX:ActiveProcessorCount=8",
+            "-Xmx23041m",
+            "-Xms23041m",
+            "-XX:MaxDirectMemorySize=1024m",
+            "-XX:MaxMetaspaceSize=512m");
+  }
+
+  @Test
+  public void g1IsUsedForLargeHeapsWithFewCpus() {
+    JvmProfile jvmProfile = new JvmProfile(enabledProfile(), limits("32Gi", "2"), List.of());
+
+    assertThat(jvmProfile.getGarbageCollector()).isEqualTo(GarbageCollector.G1);
+  }
+
+  @Test
+  public void configuredGarbageCollectorIsUsed() {
+    GerritJvmProfile profile = enabledProfile();
+    profile.setGarbageCollector(GarbageCollector.ZGC);
+
+    assertThat(new JvmProfile(profile, limits("8Gi", "4"), List.of()).getOptions())
+        .containsAtLeast("-XX:+UseZGC", "-Xmx5121m");
+  }
+
+  @Test
+  public void packCacheHeadroomReducesHeap() {
+    GerritJvmProfile profile = enabledProfile();
+    profile.setOffHeapPackCachePercentage(25);
+
+    assertThat(new JvmProfile(profile, limits("8Gi", "4"), List.of()).getOptions())
+        .containsAtLeast("-Xmx4301m", "-Xms4301m");
+  }
+
+  @Test
+  public void heapIsAtLeastAQuarterOfTheMemoryLimit() {
+    assertThat(new JvmProfile(enabledProfile(), limits("512Mi", "1"), List.of()).getOptions())
+        .containsAtLeast("-Xmx128m", "-Xms128m");
+  }
+
+  @Test
+  public void requestsAreUsedIfNoLimitsAreSet() {
+    ResourceRequirements resources =
+        new ResourceRequirementsBuilder()
+            .withRequests(Map.of("memory", new Quantity("8Gi"), "cpu", new Quantity("1500m")))
+            .build();
+
+    assertThat(new JvmProfile(enabledProfile(), resources, List.of()).getOptions())
+        .containsAtLeast("-XX:ActiveProcessorCount=2", "-Xmx5530m");
+  }
+
+  @Test
+  public void onlyGarbageCollectorIsSetWithoutResources() {
+    assertThat(new JvmProfile(enabledProfile(), null, List.of()).getOptions())
+        .containsExactly("-XX:+UseG1GC");
+  }
+
+  @Test
+  public void explicitOptionsWin() {
+    JvmProfile jvmProfile =
+        new JvmProfile(
+            enabledProfile(),
+            limits("8Gi", "4"),
+            List.of("-Xmx2g -XX:+UseZGC", "-XX:MaxMetaspaceSize=1g"));
+
+    assertThat(jvmProfile.getGarbageCollector()).isEqualTo(GarbageCollector.ZGC);
+    assertThat(jvmProfile.getOptions())
+        .containsExactly("-XX:ActiveProcessorCount=4", "-XX:MaxDirectMemorySize=512m");
+  }
+
+  @Test
+  public void heapIsNotSizedIfRamPercentageIsSet() {
+    assertThat(
+            new JvmProfile(enabledProfile(), limits("8Gi", "4"), List.of("-XX:MaxRAMPercentage=70"))
+                .getOptions())
+        .containsNoneOf("-Xmx5530m", "-Xms5530m");
+  }
+
+  @Test
+  public void effectiveHeapConsidersExplicitOptionsAndJvmDefaults() throws Exception {
+    assertThat(
+            new JvmProfile(new GerritJvmProfile(), limits("8Gi", "4"), List.of("-Xmx2g"))
+                .getEffectiveHeap())
+        .hasValue(2048 * JvmProfile.MIB);
+    assertThat(
+            new JvmProfile(
+                    new GerritJvmProfile(), limits("8Gi", "4"), List.of("-XX:MaxRAMPercentage=50"))
+                .getEffectiveHeap())
+        .hasValue(4096 * JvmProfile.MIB);
+    assertThat(
+            new JvmProfile(new GerritJvmProfile(), limits("8Gi", "4"), List.of())
+                .getEffectiveHeap())
+        .hasValue(2048 * JvmProfile.MIB);
+    assertThat(new JvmProfile(enabledProfile(), limits("8Gi", "4"), List.of()).getEffectiveHeap())
+        .hasValue(5530 * JvmProfile.MIB);
+    assertThat(new JvmProfile(enabledProfile(), null, List.of()).getEffectiveHeap()).isEmpty();
+  }
+
+  @Test
+  public void malformedHeapSizesAreRejected() {
+    for (String option :
+        List.of("-Xmx", "-Xmx4x", "-XmxG", "-Xmx-1g", "-Xmx99999999999999999999g")) {
+      InvalidGerritConfigException e =
+          assertThrows(
+              InvalidGerritConfigException.class,
+              () ->
+                  new JvmProfile(new GerritJvmProfile(), limits("8Gi", "4"), List.of(option))
+                      .getEffectiveHeap());
+      assertThat(e).hasMessageThat().contains(option + ".");
+    }
+    for (String option :
+        List.of("-XX:MaxRAMPercentage=", "-XX:MaxRAMPercentage=abc", "-XX:MaxRAMPercentage=150")) {
+      assertThrows(
+          InvalidGerritConfigException.class,
+          () ->
+              new JvmProfile(new GerritJvmProfile(), limits("8Gi", "4"), List.of(option))
+                  .getEffectiveHeap());
+    }
+  }
+
+  @Test
+  public void sizesAreParsedLikeTheJvm() throws Exception {
+    assertThat(JvmProfile.parseSize("-Xmx1073741824")).isEqualTo(1024 * JvmProfile.MIB);
+    assertThat(JvmProfile.parseSize("-Xmx1048576k")).isEqualTo(1024 * JvmProfile.MIB);
+    assertThat(JvmProfile.parseSize("-Xmx1024M")).isEqualTo(1024 * JvmProfile.MIB);
+    assertThat(JvmProfile.parseSize("-Xmx1G")).isEqualTo(1024 * JvmProfile.MIB);
+  }
+
+  private static GerritJvmProfile enabledProfile() {
+    GerritJvmProfile profile = new GerritJvmProfile();
+    profile.setEnabled(true);
+    return profile;
+  }
+
+  private static ResourceRequirements limits(String memory, String cpu) {
+    return new ResourceRequirementsBuilder()
+        .withLimits(Map.of("memory", new Quantity(memory), "cpu", new Quantity(cpu)))
+        .build();
+  }
+}
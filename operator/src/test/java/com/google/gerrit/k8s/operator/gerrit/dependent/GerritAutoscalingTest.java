@@ -0,0 +1,155 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.gerrit.dependent;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.gerrit.k8s.operator.Constants.ClusterMode;
+import com.google.gerrit.k8s.operator.OperatorContext;
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritAutoscalingMetric;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritTemplateSpec.GerritMode;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.HorizontalPodAutoscaler;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.MetricSpec;
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+@TestInstance(Lifecycle.PER_CLASS)
+public class GerritAutoscalingTest {
+
+  @BeforeAll
+  public void setup() {
+    OperatorContext.createInstance(ClusterMode.HIGH_AVAILABILITY, "cluster.local");
+  }
+
+  @Test
+  public void autoscalingIsOnlyActiveForReplicas() {
+    Gerrit gerrit = loadAutoscaledReplica();
+    GerritAutoscalingCondition condition = new GerritAutoscalingCondition();
+    assertThat(condition.isMet(null, gerrit, null)).isTrue();
+
+    gerrit.getSpec().setMode(GerritMode.PRIMARY);
+    assertThat(condition.isMet(null, gerrit, null)).isFalse();
+
+    gerrit.getSpec().setMode(GerritMode.REPLICA);
+    gerrit.getSpec().getAutoscaling().setEnabled(false);
+    assertThat(condition.isMet(null, gerrit, null)).isFalse();
+  }
+
+  @Test
+  public void horizontalPodAutoscalerTargetsStatefulSet() {
+    Gerrit gerrit = loadAutoscaledReplica();
+    GerritAutoscalingMetric metric = new GerritAutoscalingMetric();
+    metric.setName("http_server_jetty_threadpool_queued_jobs");
+    metric.setAverageValue(new Quantity("10"));
+    gerrit.getSpec().getAutoscaling().setMetrics(List.of(metric));
+
+    HorizontalPodAutoscaler hpa =
+        new GerritHorizontalPodAutoscaler().desired(gerrit, mockContext(Optional.empty()));
+
+    assertThat(hpa.getMetadata().getName()).isEqualTo(gerrit.getMetadata().getName());
+    assertThat(hpa.getSpec().getScaleTargetRef().getKind()).isEqualTo("StatefulSet");
+    assertThat(hpa.getSpec().getScaleTargetRef().getName())
+        .isEqualTo(GerritStatefulSet.getName(gerrit));
+    assertThat(hpa.getSpec().getMinReplicas()).isEqualTo(2);
+    assertThat(hpa.getSpec().getMaxReplicas()).isEqualTo(10);
+    assertThat(hpa.getSpec().getBehavior().getScaleDown().getStabilizationWindowSeconds())
+        .isEqualTo(300);
+
+    List<MetricSpec> metrics = hpa.getSpec().getMetrics();
+    assertThat(metrics).hasSize(2);
+    assertThat(metrics.get(0).getResource().getName()).isEqualTo("cpu");
+    assertThat(metrics.get(0).getResource().getTarget().getAverageUtilization()).isEqualTo(80);
+    assertThat(metrics.get(1).getPods().getMetric().getName())
+        .isEqualTo("http_server_jetty_threadpool_queued_jobs");
+    assertThat(metrics.get(1).getPods().getTarget().getAverageValue())
+        .isEqualTo(new Quantity("10"));
+  }
+
+  @Test
+  public void minReplicasDefaultToReplicas() {
+    Gerrit gerrit = loadAutoscaledReplica();
+    gerrit.getSpec().getAutoscaling().setMinReplicas(null);
+    gerrit.getSpec().setReplicas(3);
+
+    assertThat(GerritHorizontalPodAutoscaler.getMinReplicas(gerrit)).isEqualTo(3);
+  }
+
+  @Test
+  public void replicasOfStatefulSetAreNotOverwrittenIfAutoscaled() {
+    Gerrit gerrit = loadAutoscaledReplica();
+    StatefulSet existing =
+        new StatefulSetBuilder()
+            .withNewSpec()
+            .withReplicas(7)
+            .withNewTemplate()
+            .withNewMetadata()
+            .withAnnotations(Map.of())
+            .endMetadata()
+            .endTemplate()
+            .endSpec()
+            .build();
+
+    assertThat(
+            new GerritStatefulSet()
+                .desired(gerrit, mockContext(Optional.empty()))
+                .getSpec()
+                .getReplicas())
+        .isEqualTo(2);
+    assertThat(
+            new GerritStatefulSet()
+                .desired(gerrit, mockContext(Optional.of(existing)))
+                .getSpec()
+                .getReplicas())
+        .isEqualTo(7);
+
+    gerrit.getSpec().getAutoscaling().setEnabled(false);
+    assertThat(
+            new GerritStatefulSet()
+                .desired(gerrit, mockContext(Optional.of(existing)))
+                .getSpec()
+                .getReplicas())
+        .isEqualTo(1);
+  }
+
+  private Gerrit loadAutoscaledReplica() {
+    Gerrit gerrit =
+        ReconcilerUtils.loadYaml(Gerrit.class, getClass(), "../gerrit_single_primary.yaml");
+    gerrit.getSpec().setMode(GerritMode.REPLICA);
+    gerrit.getSpec().getAutoscaling().setEnabled(true);
+    gerrit.getSpec().getAutoscaling().setMinReplicas(2);
+    gerrit.getSpec().getAutoscaling().setMaxReplicas(10);
+    return gerrit;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Context<Gerrit> mockContext(Optional<StatefulSet> existing) {
+    Context<Gerrit> context = mock(Context.class);
+    when(context.getSecondaryResource(StatefulSet.class)).thenReturn(existing);
+    return context;
+  }
+}
@@ -0,0 +1,134 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.gerrit.dependent;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import com.google.gerrit.k8s.operator.Constants.ClusterMode;
+import com.google.gerrit.k8s.operator.OperatorContext;
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.gerrit.GerritReconciler;
+import io.fabric8.kubernetes.api.model.LocalObjectReference;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.fabric8.kubernetes.client.utils.KubernetesSerialization;
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+import io.javaoperatorsdk.operator.api.config.BaseConfigurationService;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.DefaultContext;
+import io.javaoperatorsdk.operator.processing.Controller;
+import io.javaoperatorsdk.operator.processing.retry.GenericRetry;
+import io.javaoperatorsdk.operator.processing.retry.GenericRetryExecution;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Renders the same Gerrit spec many times, each time assembling the unordered collections of the
+ * spec in a different order, and verifies that the rendered resources are byte-identical.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class GerritRenderingDeterminismTest {
+  private static final int RUNS = 100;
+
+  private final KubernetesServer kubernetesServer = new KubernetesServer();
+  private final KubernetesSerialization serialization = new KubernetesSerialization();
+
+  @BeforeAll
+  public void setup() {
+    OperatorContext.createInstance(ClusterMode.HIGH_AVAILABILITY, "cluster.local");
+    kubernetesServer.before();
+  }
+
+  @AfterAll
+  public void teardown() {
+    kubernetesServer.after();
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "../gerrit_single_primary.yaml",
+        "../gerrit_ha_primary.yaml",
+        "../gerrit_es_primary.yaml",
+        "../gerrit_modules_primary.yaml"
+      })
+  public void renderingIsIndependentOfCollectionOrder(String inputFile) {
+    Gerrit gerrit = ReconcilerUtils.loadYaml(Gerrit.class, getClass(), inputFile);
+    String expected = render(gerrit);
+
+    Random random = new Random(inputFile.hashCode());
+    for (int i = 0; i < RUNS; i++) {
+      assertWithMessage("Rendering of %s in run %s", inputFile, i)
+          .that(render(shuffle(gerrit, random)))
+          .isEqualTo(expected);
+    }
+  }
+
+  private String render(Gerrit gerrit) {
+    Context<Gerrit> context = getContext(gerrit);
+    StringBuilder rendered = new StringBuilder();
+    rendered.append(serialization.asYaml(new GerritConfigMap().desired(gerrit, context)));
+    rendered.append(serialization.asYaml(new GerritInitConfigMap().desired(gerrit, context)));
+    rendered.append(serialization.asYaml(new GerritStatefulSet().desired(gerrit, context)));
+    if (gerrit.getSpec().getFluentBitSidecar().isEnabled()) {
+      rendered.append(serialization.asYaml(new FluentBitConfigMap().desired(gerrit, context)));
+    }
+    return rendered.toString();
+  }
+
+  /**
+   * Returns a copy of the Gerrit, in which the entries of maps and sets are inserted in a random
+   * order.
+   */
+  private Gerrit shuffle(Gerrit gerrit, Random random) {
+    Gerrit copy = serialization.clone(gerrit);
+
+    List<LocalObjectReference> imagePullSecrets =
+        new ArrayList<>(copy.getSpec().getContainerImages().getImagePullSecrets());
+    Collections.shuffle(imagePullSecrets, random);
+    copy.getSpec().getContainerImages().setImagePullSecrets(new LinkedHashSet<>(imagePullSecrets));
+
+    List<Map.Entry<String, String>> configFiles =
+        new ArrayList<>(copy.getSpec().getConfigFiles().entrySet());
+    Collections.shuffle(configFiles, random);
+    Map<String, String> shuffledConfigFiles = new LinkedHashMap<>();
+    for (Map.Entry<String, String> configFile : configFiles) {
+      shuffledConfigFiles.put(configFile.getKey(), configFile.getValue());
+    }
+    copy.getSpec().setConfigFiles(shuffledConfigFiles);
+    return copy;
+  }
+
+  private Context<Gerrit> getContext(Gerrit primary) {
+    GerritReconciler reconciler = new GerritReconciler(kubernetesServer.getClient());
+    Controller<Gerrit> controller =
+        new Controller<Gerrit>(
+            reconciler,
+            new BaseConfigurationService().getConfigurationFor(reconciler),
+            kubernetesServer.getClient());
+    return new DefaultContext<Gerrit>(
+        new GenericRetryExecution(new GenericRetry()), controller, primary);
+  }
+}
@@ -0,0 +1,256 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.gerrit.dependent;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.gerrit.k8s.operator.Constants.ClusterMode;
+import com.google.gerrit.k8s.operator.OperatorContext;
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritStatus;
+import com.google.gerrit.k8s.operator.gerrit.GerritReconciler;
+import com.google.gerrit.k8s.operator.util.MountedDataDigest;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.event.EventSourceRetriever;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.eclipse.jgit.lib.Config;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GerritRestartTest {
+  private static final String RESTARTED_AT = "kubectl.kubernetes.io/restartedAt";
+
+  private KubernetesServer kubernetesServer;
+  private KubernetesClient client;
+  private Gerrit gerrit;
+  private ConfigMap configMap;
+  private ConfigMap initConfigMap;
+  private Secret secret;
+
+  @BeforeEach
+  public void setup() {
+    OperatorContext.createInstance(ClusterMode.HIGH_AVAILABILITY, "cluster.local");
+    kubernetesServer = new KubernetesServer(false, true);
+    kubernetesServer.before();
+    client = kubernetesServer.getClient();
+
+    gerrit = ReconcilerUtils.loadYaml(Gerrit.class, getClass(), "../gerrit_single_primary.yaml");
+    configMap =
+        client
+            .resource(
+                new ConfigMapBuilder()
+                    .withNewMetadata()
+                    .withName(GerritConfigMap.getName(gerrit))
+                    .withNamespace(gerrit.getMetadata().getNamespace())
+                    .endMetadata()
+                    .withData(Map.of("gerrit.config", "[gerrit]"))
+                    .build())
+            .create();
+    initConfigMap =
+        client
+            .resource(
+                new ConfigMapBuilder()
+                    .withNewMetadata()
+                    .withName(GerritInitConfigMap.getName(gerrit))
+                    .withNamespace(gerrit.getMetadata().getNamespace())
+                    .endMetadata()
+                    .withData(Map.of("gerrit-init.yaml", "plugins: []"))
+                    .build())
+            .create();
+    secret =
+        client
+            .resource(
+                new SecretBuilder()
+                    .withNewMetadata()
+                    .withName(gerrit.getSpec().getSecretRef())
+                    .withNamespace(gerrit.getMetadata().getNamespace())
+                    .endMetadata()
+                    .withData(Map.of("secure.config", "Zm9v"))
+                    .build())
+            .create();
+  }
+
+  @AfterEach
+  public void teardown() {
+    kubernetesServer.after();
+  }
+
+  @Test
+  public void unchangedDataDoesNotRestartGerrit() {
+    gerrit.setStatus(statusWithDigests());
+
+    assertThat(getRestartedAt(render())).isNull();
+  }
+
+  @Test
+  public void changedDataRestartsGerrit() {
+    gerrit.setStatus(statusWithDigests());
+    configMap.setData(Map.of("gerrit.config", "[cache]"));
+    client.resource(configMap).update();
+
+    assertThat(getRestartedAt(render())).isNotNull();
+  }
+
+  @Test
+  public void changedSecretRestartsGerrit() {
+    gerrit.setStatus(statusWithDigests());
+    secret.setData(Map.of("secure.config", "YmFy"));
+    client.resource(secret).update();
+
+    assertThat(getRestartedAt(render())).isNotNull();
+  }
+
+  @Test
+  public void metadataOnlyUpdatesDoNotRestartGerrit() {
+    gerrit.setStatus(statusWithDigests());
+    configMap.getMetadata().setAnnotations(Map.of("description", "updated"));
+    client.resource(configMap).update();
+    secret.getMetadata().setLabels(Map.of("gerritoperator.google.com/referenced", "true"));
+    client.resource(secret).update();
+
+    assertThat(getRestartedAt(render())).isNull();
+  }
+
+  @Test
+  public void legacyResourceVersionsAreMigratedWithoutRestart() {
+    GerritStatus status = new GerritStatus();
+    status
+        .getAppliedConfigMapVersions()
+        .put(GerritConfigMap.getName(gerrit), configMap.getMetadata().getResourceVersion());
+    status
+        .getAppliedConfigMapVersions()
+        .put(GerritInitConfigMap.getName(gerrit), initConfigMap.getMetadata().getResourceVersion());
+    status
+        .getAppliedSecretVersions()
+        .put(gerrit.getSpec().getSecretRef(), secret.getMetadata().getResourceVersion());
+    gerrit.setStatus(status);
+
+    assertThat(getRestartedAt(render())).isNull();
+
+    GerritReconciler reconciler = new GerritReconciler(client);
+    reconciler.addConfigMapsStatus(gerrit, getContext(), status);
+    reconciler.addSecretsStatus(gerrit, getContext(), status);
+    assertThat(status.getAppliedConfigMapVersions())
+        .containsExactly(
+            GerritConfigMap.getName(gerrit),
+            MountedDataDigest.of(configMap),
+            GerritInitConfigMap.getName(gerrit),
+            MountedDataDigest.of(initConfigMap));
+    assertThat(status.getAppliedSecretVersions())
+        .containsExactly(gerrit.getSpec().getSecretRef(), MountedDataDigest.of(secret));
+    assertThat(getRestartedAt(render())).isNull();
+  }
+
+  @Test
+  public void dataChangedSinceLegacyResourceVersionRestartsGerrit() {
+    GerritStatus status = new GerritStatus();
+    status
+        .getAppliedConfigMapVersions()
+        .put(GerritConfigMap.getName(gerrit), configMap.getMetadata().getResourceVersion());
+    status
+        .getAppliedConfigMapVersions()
+        .put(GerritInitConfigMap.getName(gerrit), initConfigMap.getMetadata().getResourceVersion());
+    status
+        .getAppliedSecretVersions()
+        .put(gerrit.getSpec().getSecretRef(), secret.getMetadata().getResourceVersion());
+    gerrit.setStatus(status);
+    configMap.setData(Map.of("gerrit.config", "[cache]"));
+    client.resource(configMap).update();
+
+    assertThat(getRestartedAt(render())).isNotNull();
+  }
+
+  @Test
+  public void configRenderedInLegacyOrderIsKept() throws Exception {
+    String desired =
+        new GerritConfigMap().desired(gerrit, getContext()).getData().get("gerrit.config");
+    Config legacy = new Config();
+    legacy.fromText(desired);
+    List<String> javaOptions =
+        new ArrayList<>(Arrays.asList(legacy.getStringList("container", null, "javaOptions")));
+    assertThat(javaOptions.size()).isGreaterThan(1);
+    Collections.reverse(javaOptions);
+    legacy.setStringList("container", null, "javaOptions", javaOptions);
+    configMap.setData(Map.of("gerrit.config", legacy.toText()));
+    configMap = client.resource(configMap).update();
+
+    assertThat(new GerritConfigMap().desired(gerrit, getContext()).getData())
+        .containsEntry("gerrit.config", legacy.toText());
+
+    legacy.setString("gerrit", null, "serverId", "changed");
+    configMap.setData(Map.of("gerrit.config", legacy.toText()));
+    configMap = client.resource(configMap).update();
+
+    assertThat(new GerritConfigMap().desired(gerrit, getContext()).getData())
+        .containsEntry("gerrit.config", desired);
+  }
+
+  private GerritStatus statusWithDigests() {
+    GerritStatus status = new GerritStatus();
+    status
+        .getAppliedConfigMapVersions()
+        .put(GerritConfigMap.getName(gerrit), MountedDataDigest.of(configMap));
+    status
+        .getAppliedConfigMapVersions()
+        .put(GerritInitConfigMap.getName(gerrit), MountedDataDigest.of(initConfigMap));
+    status
+        .getAppliedSecretVersions()
+        .put(gerrit.getSpec().getSecretRef(), MountedDataDigest.of(secret));
+    return status;
+  }
+
+  private static String getRestartedAt(StatefulSet sts) {
+    Map<String, String> annotations = sts.getSpec().getTemplate().getMetadata().getAnnotations();
+    return annotations == null ? null : annotations.get(RESTARTED_AT);
+  }
+
+  private StatefulSet render() {
+    return new GerritStatefulSet().desired(gerrit, getContext());
+  }
+
+  /**
+   * Context of a controller, that was not started. The ConfigMaps and Secrets are thus requested
+   * from the API server.
+   */
+  @SuppressWarnings("unchecked")
+  private Context<Gerrit> getContext() {
+    Context<Gerrit> context = mock(Context.class);
+    EventSourceRetriever<Gerrit> eventSourceRetriever = mock(EventSourceRetriever.class);
+    when(eventSourceRetriever.getResourceEventSourceFor(any(), anyString()))
+        .thenThrow(IllegalArgumentException.class);
+    when(context.eventSourceRetriever()).thenReturn(eventSourceRetriever);
+    when(context.getClient()).thenReturn(client);
+    when(context.getSecondaryResource(StatefulSet.class)).thenReturn(Optional.empty());
+    return context;
+  }
+}
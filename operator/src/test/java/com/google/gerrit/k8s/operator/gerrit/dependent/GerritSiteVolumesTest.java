@@ -0,0 +1,219 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.gerrit.dependent;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.gerrit.k8s.operator.Constants.ClusterMode;
+import com.google.gerrit.k8s.operator.OperatorContext;
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritSiteVolume;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritSiteVolume.VolumeType;
+import com.google.gerrit.k8s.operator.gerrit.GerritReconciler;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.api.model.VolumeMount;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+import io.javaoperatorsdk.operator.api.config.BaseConfigurationService;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.DefaultContext;
+import io.javaoperatorsdk.operator.processing.Controller;
+import io.javaoperatorsdk.operator.processing.retry.GenericRetry;
+import io.javaoperatorsdk.operator.processing.retry.GenericRetryExecution;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+@TestInstance(Lifecycle.PER_CLASS)
+public class GerritSiteVolumesTest {
+  private final KubernetesServer kubernetesServer = new KubernetesServer(false, true);
+
+  @BeforeAll
+  public void setup() {
+    OperatorContext.createInstance(ClusterMode.HIGH_AVAILABILITY, "cluster.local");
+    kubernetesServer.before();
+  }
+
+  @AfterAll
+  public void teardown() {
+    kubernetesServer.after();
+  }
+
+  @Test
+  public void onlySiteVolumeIsCreatedByDefault() {
+    StatefulSet sts = render(loadGerrit());
+
+    assertThat(getVolumeClaimTemplates(sts).keySet()).containsExactly("gerrit-site");
+    assertThat(getVolume(sts, "gerrit-cache")).isEmpty();
+    assertThat(getVolume(sts, "gerrit-index")).isEmpty();
+  }
+
+  @Test
+  public void persistentSiteVolumesAreAddedAsVolumeClaimTemplates() {
+    Gerrit gerrit = loadGerrit();
+    gerrit.getSpec().getSite().setCache(siteVolume(VolumeType.PERSISTENT, "local-nvme", "20Gi"));
+    gerrit.getSpec().getSite().setIndex(siteVolume(VolumeType.PERSISTENT, null, "5Gi"));
+
+    StatefulSet sts = render(gerrit);
+
+    Map<String, PersistentVolumeClaim> claims = getVolumeClaimTemplates(sts);
+    assertThat(claims.keySet()).containsExactly("gerrit-site", "gerrit-cache", "gerrit-index");
+    assertThat(claims.get("gerrit-cache").getSpec().getStorageClassName()).isEqualTo("local-nvme");
+    assertThat(claims.get("gerrit-cache").getSpec().getResources().getRequests().get("storage"))
+        .isEqualTo(new Quantity("20Gi"));
+    assertThat(claims.get("gerrit-index").getSpec().getStorageClassName()).isEqualTo("default");
+    assertThat(claims.get("gerrit-site").getSpec().getStorageClassName()).isEqualTo("default");
+    assertThat(getVolume(sts, "gerrit-cache")).isEmpty();
+    assertSiteVolumesMounted(sts);
+  }
+
+  @Test
+  public void ephemeralSiteVolumesAreAddedAsPodVolumes() {
+    Gerrit gerrit = loadGerrit();
+    gerrit.getSpec().getSite().setCache(siteVolume(VolumeType.EPHEMERAL, "local-nvme", "20Gi"));
+    gerrit.getSpec().getSite().setIndex(siteVolume(VolumeType.EMPTY_DIR, null, "5Gi"));
+
+    StatefulSet sts = render(gerrit);
+
+    assertThat(getVolumeClaimTemplates(sts).keySet()).containsExactly("gerrit-site");
+    Volume cache = getVolume(sts, "gerrit-cache").orElseThrow();
+    assertThat(cache.getEphemeral().getVolumeClaimTemplate().getSpec().getStorageClassName())
+        .isEqualTo("local-nvme");
+    assertThat(
+            cache
+                .getEphemeral()
+                .getVolumeClaimTemplate()
+                .getSpec()
+                .getResources()
+                .getRequests()
+                .get("storage"))
+        .isEqualTo(new Quantity("20Gi"));
+    Volume index = getVolume(sts, "gerrit-index").orElseThrow();
+    assertThat(index.getEmptyDir().getSizeLimit()).isEqualTo(new Quantity("5Gi"));
+    assertSiteVolumesMounted(sts);
+  }
+
+  @Test
+  public void statefulSetIsDeletedWithoutItsPodsIfVolumeClaimTemplatesChange() throws Exception {
+    Gerrit gerrit = loadGerrit();
+    StatefulSet existing = kubernetesServer.getClient().resource(render(gerrit)).create();
+
+    gerrit.getSpec().getSite().setCache(siteVolume(VolumeType.PERSISTENT, null, "20Gi"));
+    assertThat(GerritStatefulSet.haveVolumeClaimTemplatesChanged(existing, render(gerrit)))
+        .isTrue();
+
+    GerritStatefulSet.deleteOrphaningDependents(kubernetesServer.getClient(), existing);
+
+    RecordedRequest request;
+    do {
+      request = kubernetesServer.getKubernetesMockServer().takeRequest(1, TimeUnit.SECONDS);
+    } while (request != null && !request.getMethod().equals("DELETE"));
+    assertThat(request).isNotNull();
+    assertThat(request.getBody().readUtf8()).contains("\"propagationPolicy\":\"Orphan\"");
+    assertThat(kubernetesServer.getClient().resource(existing).get()).isNull();
+  }
+
+  @Test
+  public void volumeClaimTemplatesChangeWithSizeAndStorageClass() {
+    Gerrit gerrit = loadGerrit();
+    gerrit.getSpec().getSite().setCache(siteVolume(VolumeType.PERSISTENT, null, "20Gi"));
+    StatefulSet existing = render(gerrit);
+
+    gerrit.getSpec().getSite().setCache(siteVolume(VolumeType.PERSISTENT, null, "20480Mi"));
+    assertThat(GerritStatefulSet.haveVolumeClaimTemplatesChanged(existing, render(gerrit)))
+        .isFalse();
+
+    gerrit.getSpec().getSite().setCache(siteVolume(VolumeType.PERSISTENT, null, "30Gi"));
+    assertThat(GerritStatefulSet.haveVolumeClaimTemplatesChanged(existing, render(gerrit)))
+        .isTrue();
+
+    gerrit.getSpec().getSite().setCache(siteVolume(VolumeType.PERSISTENT, "local-nvme", "20Gi"));
+    assertThat(GerritStatefulSet.haveVolumeClaimTemplatesChanged(existing, render(gerrit)))
+        .isTrue();
+
+    gerrit.getSpec().getSite().setCache(siteVolume(VolumeType.EMPTY_DIR, null, "20Gi"));
+    assertThat(GerritStatefulSet.haveVolumeClaimTemplatesChanged(existing, render(gerrit)))
+        .isTrue();
+  }
+
+  private void assertSiteVolumesMounted(StatefulSet sts) {
+    List<Container> containers =
+        List.of(
+            sts.getSpec().getTemplate().getSpec().getInitContainers().stream()
+                .filter(c -> c.getName().equals("gerrit-init"))
+                .findFirst()
+                .orElseThrow(),
+            sts.getSpec().getTemplate().getSpec().getContainers().get(0));
+    for (Container container : containers) {
+      Map<String, String> mounts =
+          container.getVolumeMounts().stream()
+              .collect(Collectors.toMap(VolumeMount::getMountPath, VolumeMount::getName));
+      assertThat(mounts).containsEntry("/var/gerrit", "gerrit-site");
+      assertThat(mounts).containsEntry("/var/gerrit/cache", "gerrit-cache");
+      assertThat(mounts).containsEntry("/var/gerrit/index", "gerrit-index");
+    }
+  }
+
+  private static GerritSiteVolume siteVolume(
+      VolumeType type, String storageClassName, String size) {
+    GerritSiteVolume volume = new GerritSiteVolume();
+    volume.setType(type);
+    volume.setStorageClassName(storageClassName);
+    volume.setSize(new Quantity(size));
+    return volume;
+  }
+
+  private static Map<String, PersistentVolumeClaim> getVolumeClaimTemplates(StatefulSet sts) {
+    return sts.getSpec().getVolumeClaimTemplates().stream()
+        .collect(Collectors.toMap(pvc -> pvc.getMetadata().getName(), pvc -> pvc));
+  }
+
+  private static Optional<Volume> getVolume(StatefulSet sts, String name) {
+    return sts.getSpec().getTemplate().getSpec().getVolumes().stream()
+        .filter(v -> v.getName().equals(name))
+        .findFirst();
+  }
+
+  private Gerrit loadGerrit() {
+    return ReconcilerUtils.loadYaml(Gerrit.class, getClass(), "../gerrit_single_primary.yaml");
+  }
+
+  private StatefulSet render(Gerrit gerrit) {
+    return new GerritStatefulSet().desired(gerrit, getContext(gerrit));
+  }
+
+  private Context<Gerrit> getContext(Gerrit primary) {
+    GerritReconciler reconciler = new GerritReconciler(kubernetesServer.getClient());
+    Controller<Gerrit> controller =
+        new Controller<Gerrit>(
+            reconciler,
+            new BaseConfigurationService().getConfigurationFor(reconciler),
+            kubernetesServer.getClient());
+    return new DefaultContext<Gerrit>(
+        new GenericRetryExecution(new GenericRetry()), controller, primary);
+  }
+}
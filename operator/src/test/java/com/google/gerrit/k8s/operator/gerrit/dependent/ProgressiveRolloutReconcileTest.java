@@ -0,0 +1,177 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.gerrit.dependent;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.gerrit.k8s.operator.Constants.ClusterMode;
+import com.google.gerrit.k8s.operator.OperatorContext;
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritRollout.RolloutStrategy;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritRolloutStatus;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritRolloutStatus.RolloutPhase;
+import com.google.gerrit.k8s.operator.gerrit.GerritReconciler;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetStatusBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.managed.ManagedDependentResourceContext;
+import io.javaoperatorsdk.operator.processing.event.EventSourceRetriever;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Drives a progressive rollout through consecutive reconciliations. Between the reconciliations,
+ * the StatefulSet is rendered and applied like by the StatefulSet dependent and the pods are
+ * updated like by Kubernetes.
+ */
+public class ProgressiveRolloutReconcileTest {
+  private static final String OLD_REVISION = "gerrit-1";
+  private static final String NEW_REVISION = "gerrit-2";
+  private static final int REPLICAS = 3;
+
+  private KubernetesServer kubernetesServer;
+  private KubernetesClient client;
+  private Gerrit gerrit;
+  private StatefulSet sts;
+
+  @BeforeEach
+  public void setup() {
+    OperatorContext.createInstance(ClusterMode.HIGH_AVAILABILITY, "cluster.local");
+    kubernetesServer = new KubernetesServer(false, true);
+    kubernetesServer.before();
+    client = kubernetesServer.getClient();
+
+    gerrit = ReconcilerUtils.loadYaml(Gerrit.class, getClass(), "../gerrit_single_primary.yaml");
+    gerrit.getSpec().setReplicas(REPLICAS);
+    gerrit.getSpec().getRollout().setStrategy(RolloutStrategy.PROGRESSIVE);
+    gerrit.getSpec().getRollout().setWarmUpSeconds(0);
+    for (int ordinal = 0; ordinal < REPLICAS; ordinal++) {
+      applyPod(ordinal, OLD_REVISION);
+    }
+  }
+
+  @AfterEach
+  public void teardown() {
+    kubernetesServer.after();
+  }
+
+  @Test
+  public void eachStepIsAppliedToStatefulSetWithoutWaitingForDeadline() throws Exception {
+    applyStatefulSet(OLD_REVISION);
+    reconcile();
+    assertThat(gerrit.getStatus().getRollout().getPhase()).isEqualTo(RolloutPhase.COMPLETED);
+    assertThat(getAppliedPartition()).isEqualTo(REPLICAS);
+
+    applyStatefulSet(NEW_REVISION);
+    for (int partition = REPLICAS - 1; partition >= 0; partition--) {
+      UpdateControl<Gerrit> updateControl = reconcile();
+      GerritRolloutStatus rollout = gerrit.getStatus().getRollout();
+      assertThat(rollout.getPhase()).isEqualTo(RolloutPhase.PROGRESSING);
+      assertThat(rollout.getPartition()).isEqualTo(partition);
+      // The new step is only recorded in the status. The StatefulSet still uses the old partition.
+      assertThat(getAppliedPartition()).isEqualTo(partition + 1);
+      assertThat(updateControl.getScheduleDelay()).hasValue(0L);
+
+      applyStatefulSet(NEW_REVISION);
+      assertThat(getAppliedPartition()).isEqualTo(partition);
+      applyPod(partition, NEW_REVISION);
+    }
+
+    sts.setStatus(
+        new StatefulSetStatusBuilder()
+            .withCurrentRevision(NEW_REVISION)
+            .withUpdateRevision(NEW_REVISION)
+            .build());
+    UpdateControl<Gerrit> updateControl = reconcile();
+    assertThat(gerrit.getStatus().getRollout().getPhase()).isEqualTo(RolloutPhase.COMPLETED);
+    assertThat(updateControl.getScheduleDelay()).isEmpty();
+  }
+
+  private UpdateControl<Gerrit> reconcile() throws Exception {
+    // The status is updated in place, like the status of the resource in the primary cache.
+    return new GerritReconciler(client).reconcile(gerrit, getContext());
+  }
+
+  /** Renders the StatefulSet from the current state of the Gerrit like the dependent does. */
+  private void applyStatefulSet(String updateRevision) {
+    StatefulSet desired = new GerritStatefulSet().desired(gerrit, getContext());
+    desired.setStatus(
+        new StatefulSetStatusBuilder()
+            .withCurrentRevision(OLD_REVISION)
+            .withUpdateRevision(updateRevision)
+            .build());
+    sts = desired;
+  }
+
+  private int getAppliedPartition() {
+    return sts.getSpec().getUpdateStrategy().getRollingUpdate().getPartition();
+  }
+
+  /** Replaces the pod with the given ordinal by a ready pod of the given revision. */
+  private void applyPod(int ordinal, String revision) {
+    Map<String, String> labels = new HashMap<>(GerritStatefulSet.getSelectorLabels(gerrit));
+    labels.put("controller-revision-hash", revision);
+    Pod pod =
+        new PodBuilder()
+            .withNewMetadata()
+            .withName(GerritStatefulSet.getName(gerrit) + "-" + ordinal)
+            .withNamespace(gerrit.getMetadata().getNamespace())
+            .withLabels(labels)
+            .endMetadata()
+            .withNewStatus()
+            .addNewCondition()
+            .withType("Ready")
+            .withStatus("True")
+            .withLastTransitionTime(Instant.now().minusSeconds(1).toString())
+            .endCondition()
+            .endStatus()
+            .build();
+    client.resource(pod).delete();
+    client.resource(pod).create();
+  }
+
+  /**
+   * Context of a controller, that was not started. The pods are thus requested from the API server.
+   */
+  @SuppressWarnings("unchecked")
+  private Context<Gerrit> getContext() {
+    Context<Gerrit> context = mock(Context.class);
+    EventSourceRetriever<Gerrit> eventSourceRetriever = mock(EventSourceRetriever.class);
+    when(eventSourceRetriever.getResourceEventSourceFor(any(), anyString()))
+        .thenThrow(IllegalArgumentException.class);
+    when(context.eventSourceRetriever()).thenReturn(eventSourceRetriever);
+    when(context.getClient()).thenReturn(client);
+    when(context.getSecondaryResource(StatefulSet.class)).thenReturn(Optional.ofNullable(sts));
+    ManagedDependentResourceContext dependentContext = mock(ManagedDependentResourceContext.class);
+    when(dependentContext.getWorkflowReconcileResult()).thenReturn(Optional.empty());
+    when(context.managedDependentResourceContext()).thenReturn(dependentContext);
+    return context;
+  }
+}
@@ -0,0 +1,110 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.scale;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Counts the requests received by the mock API server by the verb used in Kubernetes RBAC rules,
+ * i.e. get, list, watch, create, update, patch and delete.
+ */
+public class ApiServerRequests {
+  private final Map<String, Long> byVerb = new TreeMap<>();
+  private final Map<String, Long> byVerbAndResource = new TreeMap<>();
+  private long total;
+
+  public void record(RecordedRequest request) {
+    String path = request.getPath();
+    if (path == null) {
+      return;
+    }
+    String query = "";
+    int queryStart = path.indexOf('?');
+    if (queryStart >= 0) {
+      query = path.substring(queryStart + 1);
+      path = path.substring(0, queryStart);
+    }
+    List<String> segments = getResourceSegments(path);
+    String verb = getVerb(request.getMethod(), segments, query);
+    String resource = segments.isEmpty() ? path : segments.get(0);
+
+    total++;
+    byVerb.merge(verb, 1L, Long::sum);
+    byVerbAndResource.merge(verb + " " + resource, 1L, Long::sum);
+  }
+
+  public long getTotal() {
+    return total;
+  }
+
+  public long get(String verb) {
+    return byVerb.getOrDefault(verb, 0L);
+  }
+
+  public Map<String, Long> getByVerb() {
+    return byVerb;
+  }
+
+  public Map<String, Long> getByVerbAndResource() {
+    return byVerbAndResource;
+  }
+
+  /**
+   * Returns the segments of the path following the API group and version, and the namespace, i.e.
+   * the resource type, the name and the subresource, if present.
+   */
+  private static List<String> getResourceSegments(String path) {
+    List<String> segments =
+        Arrays.stream(path.split("/")).filter(s -> !s.isEmpty()).collect(Collectors.toList());
+    if (segments.isEmpty()) {
+      return segments;
+    }
+    if (segments.get(0).equals("api")) {
+      segments = segments.subList(Math.min(2, segments.size()), segments.size());
+    } else if (segments.get(0).equals("apis")) {
+      segments = segments.subList(Math.min(3, segments.size()), segments.size());
+    }
+    if (segments.size() >= 3 && segments.get(0).equals("namespaces")) {
+      segments = segments.subList(2, segments.size());
+    }
+    return segments;
+  }
+
+  private static String getVerb(String method, List<String> segments, String query) {
+    boolean collection = segments.size() <= 1;
+    switch (method) {
+      case "GET":
+        if (query.contains("watch=true")) {
+          return "watch";
+        }
+        return collection ? "list" : "get";
+      case "POST":
+        return "create";
+      case "PUT":
+        return "update";
+      case "PATCH":
+        return "patch";
+      case "DELETE":
+        return collection ? "deletecollection" : "delete";
+      default:
+        return method.toLowerCase();
+    }
+  }
+}
@@ -0,0 +1,240 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.scale;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.flogger.FluentLogger;
+import com.google.gerrit.k8s.operator.Constants.ClusterMode;
+import com.google.gerrit.k8s.operator.GerritOperator;
+import com.google.gerrit.k8s.operator.LifecycleManager;
+import com.google.gerrit.k8s.operator.OperatorContext;
+import com.google.gerrit.k8s.operator.OperatorModule;
+import com.google.gerrit.k8s.operator.api.model.cluster.GerritCluster;
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gitgc.GitGarbageCollection;
+import com.google.gerrit.k8s.operator.api.model.indexer.GerritIndexer;
+import com.google.gerrit.k8s.operator.api.model.maintenance.GerritMaintenance;
+import com.google.gerrit.k8s.operator.api.model.network.GerritNetwork;
+import com.google.gerrit.k8s.operator.api.model.receiver.Receiver;
+import com.google.gerrit.k8s.operator.api.model.tasks.incomingrepl.IncomingReplicationTask;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.util.Modules;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the operator against a mock API server managing a large number of resources and measures the
+ * number of requests sent to the API server, the latency of reconciliations and the heap used by
+ * the operator. The results are written to a JSON report and compared against budgets.
+ *
+ * <p>The test is only run in the `scale-test` profile. It can be configured using the following
+ * system properties:
+ *
+ * <ul>
+ *   <li>`scaleTest.clusters`: Number of namespaces, each containing a GerritCluster with a primary
+ *       and a replica Gerrit and a GerritMaintenance, and a GitGarbageCollection (default: 100)
+ *   <li>`scaleTest.maxDurationSeconds`: Maximum time to wait for the operator to settle (default:
+ *       300)
+ *   <li>`scaleTest.report`: Path of the report (default: target/scale-test/report.json)
+ * </ul>
+ */
+public class OperatorScaleTest {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  private static final String RECONCILE_TIMER = "operator.sdk.controllers.execution.reconcile";
+  private static final Duration QUIET_PERIOD = Duration.ofSeconds(5);
+
+  private final int clusters = Integer.getInteger("scaleTest.clusters", 100);
+  private final Duration maxDuration =
+      Duration.ofSeconds(Integer.getInteger("scaleTest.maxDurationSeconds", 300));
+  private final Path reportFile =
+      Path.of(System.getProperty("scaleTest.report", "target/scale-test/report.json"));
+
+  private KubernetesServer kubernetesServer;
+  private KubernetesClient client;
+  private GerritOperator operator;
+  private PrometheusMeterRegistry meterRegistry;
+
+  @BeforeEach
+  public void setup() {
+    OperatorContext.createInstance(ClusterMode.HIGH_AVAILABILITY, "cluster.local");
+    kubernetesServer =
+        new KubernetesServer(
+            false,
+            true,
+            Stream.of(
+                    GerritCluster.class,
+                    Gerrit.class,
+                    GitGarbageCollection.class,
+                    GerritMaintenance.class,
+                    GerritNetwork.class,
+                    Receiver.class,
+                    IncomingReplicationTask.class,
+                    GerritIndexer.class)
+                .map(CustomResourceDefinitionContext::fromCustomResourceType)
+                .collect(Collectors.toList()));
+    kubernetesServer.before();
+    client = kubernetesServer.getClient();
+
+    Injector injector =
+        Guice.createInjector(
+            Modules.override(new OperatorModule(ClusterMode.HIGH_AVAILABILITY))
+                .with(
+                    new AbstractModule() {
+                      @Override
+                      protected void configure() {
+                        bind(KubernetesClient.class).toInstance(client);
+                        // Avoid shutdown hooks, since the operator is stopped by the test.
+                        bind(LifecycleManager.class).toInstance(mock(LifecycleManager.class));
+                      }
+                    }));
+    meterRegistry = injector.getInstance(PrometheusMeterRegistry.class);
+    meterRegistry.config().meterFilter(reconcileLatencyPercentiles());
+    operator = injector.getInstance(GerritOperator.class);
+  }
+
+  @AfterEach
+  public void teardown() {
+    operator.shutdown();
+    kubernetesServer.after();
+  }
+
+  @Test
+  public void operatorStaysWithinBudgets() throws Exception {
+    ScaleTestReport report = new ScaleTestReport(ScaleTestReport.loadBudgets("budgets.properties"));
+    createResources(report);
+
+    KubernetesMockServer mockServer = kubernetesServer.getKubernetesMockServer();
+    drainRequests(mockServer);
+
+    ApiServerRequests requests = new ApiServerRequests();
+    long start = System.nanoTime();
+    long lastRequest = start;
+    long deadline = start + maxDuration.toNanos();
+    boolean settled = false;
+    operator.start();
+    while (System.nanoTime() < deadline) {
+      RecordedRequest request = mockServer.takeRequest(100, TimeUnit.MILLISECONDS);
+      if (request != null) {
+        requests.record(request);
+        lastRequest = System.nanoTime();
+      } else if (System.nanoTime() - lastRequest > QUIET_PERIOD.toNanos()) {
+        settled = true;
+        break;
+      }
+    }
+
+    report.setSettled(settled);
+    report.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(lastRequest - start));
+    report.setRequests(requests);
+    addReconciliationMetrics(report);
+    System.gc();
+    report.setHeapUsedBytes(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+    report.write(reportFile);
+    logger.atInfo().log("Scale test report written to %s", reportFile.toAbsolutePath());
+
+    List<String> violations = report.getViolations();
+    assertWithMessage("Budget violations (see %s)", reportFile).that(violations).isEmpty();
+  }
+
+  private void createResources(ScaleTestReport report) {
+    GerritCluster clusterTemplate =
+        ReconcilerUtils.loadYaml(GerritCluster.class, getClass(), "gerritcluster.yaml");
+    GitGarbageCollection gitGcTemplate =
+        ReconcilerUtils.loadYaml(GitGarbageCollection.class, getClass(), "gitgc.yaml");
+    for (int i = 0; i < clusters; i++) {
+      String namespace = String.format("gerrit-%03d", i);
+      client
+          .resource(
+              new NamespaceBuilder().withNewMetadata().withName(namespace).endMetadata().build())
+          .create();
+      client.resource(clusterTemplate).inNamespace(namespace).create();
+      client.resource(gitGcTemplate).inNamespace(namespace).create();
+    }
+    report.setCreatedResources("GerritCluster", clusters);
+    report.setCreatedResources("Gerrit", clusters * clusterTemplate.getSpec().getGerrits().size());
+    report.setCreatedResources("GerritMaintenance", clusters);
+    report.setCreatedResources("GitGarbageCollection", clusters);
+  }
+
+  private void addReconciliationMetrics(ScaleTestReport report) {
+    long reconciliations = 0;
+    for (Timer timer : meterRegistry.find(RECONCILE_TIMER).timers()) {
+      reconciliations += timer.count();
+      Map<String, Double> percentiles = new LinkedHashMap<>();
+      for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+        percentiles.put(
+            String.format("p%d", Math.round(value.percentile() * 100)),
+            value.value(TimeUnit.MILLISECONDS));
+      }
+      percentiles.put("max", timer.max(TimeUnit.MILLISECONDS));
+      report.setReconciliationLatencies(timer.getId().getTag("controller"), percentiles);
+    }
+    report.setReconciliations(reconciliations);
+  }
+
+  private static void drainRequests(KubernetesMockServer mockServer) throws InterruptedException {
+    while (mockServer.takeRequest(100, TimeUnit.MILLISECONDS) != null) {}
+  }
+
+  /**
+   * Computes the percentiles of the reconciliation latency over the whole run instead of a sliding
+   * time window.
+   */
+  private static MeterFilter reconcileLatencyPercentiles() {
+    return new MeterFilter() {
+      @Override
+      public DistributionStatisticConfig configure(
+          Meter.Id id, DistributionStatisticConfig config) {
+        if (id.getName().equals(RECONCILE_TIMER)) {
+          return DistributionStatisticConfig.builder()
+              .percentiles(0.5, 0.95, 0.99)
+              .expiry(Duration.ofHours(1))
+              .bufferLength(1)
+              .build()
+              .merge(config);
+        }
+        return config;
+      }
+    };
+  }
+}
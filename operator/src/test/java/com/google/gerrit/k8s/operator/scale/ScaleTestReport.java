@@ -0,0 +1,161 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.scale;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Results of a scale test run. The results are compared against budgets, which are read from a
+ * properties file, and written as a JSON report.
+ *
+ * <p>Budgets for API requests are configured relative to the number of reconciliations, e.g.
+ * `requestsPerReconciliation.get = 0.5`, so that they do not depend on the number of resources used
+ * in the run. Further budgets are `reconciliationLatencyP95Millis` and `heapUsedMiB`.
+ */
+public class ScaleTestReport {
+  private static final String REQUESTS_PER_RECONCILIATION = "requestsPerReconciliation.";
+  private static final String LATENCY_P95 = "reconciliationLatencyP95Millis";
+  private static final String HEAP_USED = "heapUsedMiB";
+
+  private final Map<String, Integer> createdResources = new LinkedHashMap<>();
+  private final Map<String, Map<String, Double>> reconciliationLatencies = new LinkedHashMap<>();
+  private final Properties budgets;
+  private ApiServerRequests requests;
+  private long reconciliations;
+  private long durationMillis;
+  private long heapUsedBytes;
+  private boolean settled;
+
+  public ScaleTestReport(Properties budgets) {
+    this.budgets = budgets;
+  }
+
+  public static Properties loadBudgets(String resource) throws IOException {
+    Properties budgets = new Properties();
+    try (InputStream in = ScaleTestReport.class.getResourceAsStream(resource)) {
+      if (in == null) {
+        throw new IOException("Budgets not found: " + resource);
+      }
+      budgets.load(in);
+    }
+    return budgets;
+  }
+
+  public void setCreatedResources(String kind, int count) {
+    createdResources.put(kind, count);
+  }
+
+  public void setRequests(ApiServerRequests requests) {
+    this.requests = requests;
+  }
+
+  public void setReconciliations(long reconciliations) {
+    this.reconciliations = reconciliations;
+  }
+
+  /** Sets the percentiles of the reconciliation latency of a controller in milliseconds. */
+  public void setReconciliationLatencies(String controller, Map<String, Double> percentiles) {
+    reconciliationLatencies.put(controller, percentiles);
+  }
+
+  public void setDurationMillis(long durationMillis) {
+    this.durationMillis = durationMillis;
+  }
+
+  public void setHeapUsedBytes(long heapUsedBytes) {
+    this.heapUsedBytes = heapUsedBytes;
+  }
+
+  /** Whether the operator stopped sending requests before the end of the run. */
+  public void setSettled(boolean settled) {
+    this.settled = settled;
+  }
+
+  public double getRequestsPerReconciliation(String verb) {
+    long count = verb.equals("total") ? requests.getTotal() : requests.get(verb);
+    return reconciliations == 0 ? count : (double) count / reconciliations;
+  }
+
+  public List<String> getViolations() {
+    List<String> violations = new ArrayList<>();
+    if (!settled) {
+      violations.add("The operator did not settle before the end of the run");
+    }
+    if (reconciliations == 0) {
+      violations.add("No reconciliations were executed");
+    }
+    for (String key : budgets.stringPropertyNames()) {
+      double budget = Double.parseDouble(budgets.getProperty(key));
+      double actual;
+      if (key.startsWith(REQUESTS_PER_RECONCILIATION)) {
+        actual = getRequestsPerReconciliation(key.substring(REQUESTS_PER_RECONCILIATION.length()));
+      } else if (key.equals(LATENCY_P95)) {
+        actual =
+            reconciliationLatencies.values().stream()
+                .mapToDouble(p -> p.getOrDefault("p95", 0.0))
+                .max()
+                .orElse(0.0);
+      } else if (key.equals(HEAP_USED)) {
+        actual = heapUsedBytes / (1024.0 * 1024.0);
+      } else {
+        violations.add("Unknown budget: " + key);
+        continue;
+      }
+      if (actual > budget) {
+        violations.add(String.format("%s: %.2f exceeds budget of %.2f", key, actual, budget));
+      }
+    }
+    return violations;
+  }
+
+  public void write(Path file) throws IOException {
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("createdResources", createdResources);
+    report.put("durationMillis", durationMillis);
+    report.put("settled", settled);
+    report.put("reconciliations", reconciliations);
+    report.put("reconciliationLatencyMillis", reconciliationLatencies);
+
+    Map<String, Object> apiRequests = new LinkedHashMap<>();
+    apiRequests.put("total", requests.getTotal());
+    apiRequests.put("byVerb", requests.getByVerb());
+    apiRequests.put("byVerbAndResource", requests.getByVerbAndResource());
+    Map<String, Double> perReconciliation = new LinkedHashMap<>();
+    perReconciliation.put("total", getRequestsPerReconciliation("total"));
+    for (String verb : requests.getByVerb().keySet()) {
+      perReconciliation.put(verb, getRequestsPerReconciliation(verb));
+    }
+    apiRequests.put("perReconciliation", perReconciliation);
+    report.put("apiRequests", apiRequests);
+
+    report.put("heapUsedMiB", heapUsedBytes / (1024 * 1024));
+    report.put("budgets", new TreeMap<>(budgets));
+    report.put("violations", getViolations());
+
+    Files.createDirectories(file.getParent());
+    new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+  }
+}
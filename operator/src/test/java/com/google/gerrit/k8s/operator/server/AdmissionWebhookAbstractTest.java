@@ -29,6 +29,7 @@ import com.google.gerrit.k8s.operator.api.model.gerrit.GerritSpec;
 import com.google.gerrit.k8s.operator.api.model.gerrit.GerritTemplateSpec;
 import com.google.gerrit.k8s.operator.api.model.shared.GerritClusterIngressConfig;
 import com.google.gerrit.k8s.operator.test.TestAdmissionWebhookServer;
+import io.fabric8.kubernetes.api.model.GroupVersionKind;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
@@ -136,6 +137,11 @@ public abstract class AdmissionWebhookAbstractTest {
     http.setDoOutput(true);
 
     AdmissionRequest admissionReq = new AdmissionRequest();
+    admissionReq.setKind(
+        new GroupVersionKind(
+            HasMetadata.getGroup(customResource.getClass()),
+            HasMetadata.getKind(customResource.getClass()),
+            HasMetadata.getVersion(customResource.getClass())));
     admissionReq.setObject(customResource);
     AdmissionReview admissionReview = new AdmissionReview();
     admissionReview.setRequest(admissionReq);
@@ -0,0 +1,227 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.server;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.flogger.FluentLogger;
+import com.google.gerrit.k8s.operator.Constants;
+import com.google.gerrit.k8s.operator.Constants.ClusterMode;
+import com.google.gerrit.k8s.operator.ControllerReadiness;
+import com.google.gerrit.k8s.operator.OperatorContext;
+import com.google.gerrit.k8s.operator.admission.servlet.GerritAdmissionWebhook;
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritSpec;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritTemplateSpec.GerritMode;
+import io.fabric8.kubernetes.api.model.GroupVersionKind;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.admission.v1.AdmissionRequest;
+import io.fabric8.kubernetes.api.model.admission.v1.AdmissionReview;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Sends concurrent AdmissionReviews via TLS to the HTTP server of the operator and checks the 99th
+ * percentile of the latencies of the responses.
+ *
+ * <p>The test is only run in the `scale-test` profile. It can be configured using the following
+ * system properties:
+ *
+ * <ul>
+ *   <li>`loadTest.clients`: Number of concurrent clients (default: 50)
+ *   <li>`loadTest.requestsPerClient`: Number of requests sent by each client (default: 100)
+ *   <li>`loadTest.warmupRequestsPerClient`: Number of requests sent by each client before the
+ *       measurement, e.g. to establish the connections (default: 10)
+ *   <li>`loadTest.p99Millis`: Maximum 99th percentile of the latencies (default: 1000, i.e. a tenth
+ *       of the timeout of the webhooks)
+ * </ul>
+ *
+ * <p>The HTTP server and its keystore are configured using the environment as in production.
+ */
+public class AdmissionWebhookLoadTest {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final int clients = Integer.getInteger("loadTest.clients", 50);
+  private final int requestsPerClient = Integer.getInteger("loadTest.requestsPerClient", 100);
+  private final int warmupRequestsPerClient =
+      Integer.getInteger("loadTest.warmupRequestsPerClient", 10);
+  private final long p99Budget = Long.getLong("loadTest.p99Millis", 1000);
+
+  private final KubernetesServer kubernetesServer = new KubernetesServer(false, true);
+  private KeyStoreProvider keyStoreProvider;
+  private HttpServer server;
+  private SSLSocketFactory sslSocketFactory;
+  private byte[] admissionReview;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    OperatorContext.createInstance(ClusterMode.HIGH_AVAILABILITY, "cluster.local");
+    kubernetesServer.before();
+    keyStoreProvider =
+        new GeneratedKeyStoreProvider(
+            kubernetesServer.getClient(), "test", new KeyStoreSettings(System.getenv()));
+    PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    server =
+        new HttpServer(
+            keyStoreProvider,
+            Set.of(new GerritAdmissionWebhook(ClusterMode.HIGH_AVAILABILITY)),
+            new MetricsServlet(registry),
+            new HealthcheckServlet(new ControllerReadiness(registry)),
+            new HttpServerSettings(System.getenv(), 0));
+    server.start();
+
+    KeyStore trustStore =
+        KeyStore.getInstance(
+            keyStoreProvider.getKeyStorePath().toFile(),
+            keyStoreProvider.getKeyStorePassword().toCharArray());
+    TrustManagerFactory tmf =
+        TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+    tmf.init(trustStore);
+    SSLContext sslContext = SSLContext.getInstance("TLS");
+    sslContext.init(null, tmf.getTrustManagers(), null);
+    sslSocketFactory = sslContext.getSocketFactory();
+
+    admissionReview = MAPPER.writeValueAsBytes(createAdmissionReview());
+  }
+
+  @AfterEach
+  public void teardown() throws Exception {
+    server.stop();
+    kubernetesServer.after();
+  }
+
+  @Test
+  public void concurrentAdmissionReviewsAreAnsweredWithinBudget() throws Exception {
+    List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+    CyclicBarrier warmedUp = new CyclicBarrier(clients);
+    ExecutorService executor = Executors.newFixedThreadPool(clients);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int i = 0; i < clients; i++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  for (int r = 0; r < warmupRequestsPerClient; r++) {
+                    sendAdmissionReview();
+                  }
+                  warmedUp.await();
+                  for (int r = 0; r < requestsPerClient; r++) {
+                    latencies.add(sendAdmissionReview());
+                  }
+                  return null;
+                }));
+      }
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    List<Long> sorted = new ArrayList<>(latencies);
+    Collections.sort(sorted);
+    long p50 = percentile(sorted, 0.5);
+    long p99 = percentile(sorted, 0.99);
+    logger.atInfo().log(
+        "%d AdmissionReviews sent by %d clients: p50=%dms, p99=%dms, max=%dms",
+        sorted.size(), clients, p50, p99, sorted.get(sorted.size() - 1));
+
+    assertThat(sorted).hasSize(clients * requestsPerClient);
+    assertWithMessage("p99 latency of AdmissionReviews in ms").that(p99).isAtMost(p99Budget);
+  }
+
+  private long sendAdmissionReview() throws Exception {
+    HttpsURLConnection http =
+        (HttpsURLConnection)
+            new URL(
+                    String.format(
+                        "https://localhost:%d/admission/%s/%s",
+                        server.getLocalPort(), Constants.VERSION, Constants.GERRIT_KIND))
+                .openConnection();
+    http.setSSLSocketFactory(sslSocketFactory);
+    // The certificate is issued for the name of the Service of the operator.
+    http.setHostnameVerifier((hostname, session) -> true);
+    http.setRequestMethod("POST");
+    http.setRequestProperty("Content-Type", "application/json");
+    http.setDoOutput(true);
+
+    long start = System.nanoTime();
+    try (OutputStream os = http.getOutputStream()) {
+      os.write(admissionReview);
+    }
+    byte[] body;
+    try (InputStream is = http.getInputStream()) {
+      body = is.readAllBytes();
+    }
+    long latency = (System.nanoTime() - start) / 1_000_000;
+
+    assertThat(http.getResponseCode()).isEqualTo(200);
+    AdmissionReview response = MAPPER.readValue(body, AdmissionReview.class);
+    assertThat(response.getResponse().getAllowed()).isTrue();
+    return latency;
+  }
+
+  private static AdmissionReview createAdmissionReview() {
+    Gerrit gerrit = new Gerrit();
+    gerrit.setMetadata(new ObjectMetaBuilder().withName("gerrit").withNamespace("test").build());
+    GerritSpec gerritSpec = new GerritSpec();
+    gerritSpec.setMode(GerritMode.PRIMARY);
+    gerritSpec.setConfigFiles(Map.of("gerrit.config", "[container]\n  user = gerrit\n"));
+    gerrit.setSpec(gerritSpec);
+
+    AdmissionRequest admissionReq = new AdmissionRequest();
+    admissionReq.setUid("705ab4f5-6393-11e8-b7cc-42010a800002");
+    admissionReq.setKind(
+        new GroupVersionKind(
+            HasMetadata.getGroup(Gerrit.class),
+            HasMetadata.getKind(Gerrit.class),
+            HasMetadata.getVersion(Gerrit.class)));
+    admissionReq.setOperation("UPDATE");
+    admissionReq.setObject(gerrit);
+    admissionReq.setOldObject(gerrit);
+    AdmissionReview admissionReview = new AdmissionReview();
+    admissionReview.setRequest(admissionReq);
+    return admissionReview;
+  }
+
+  private static long percentile(List<Long> sorted, double percentile) {
+    return sorted.get((int) Math.ceil(percentile * sorted.size()) - 1);
+  }
+}
@@ -0,0 +1,109 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.server;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import java.io.ByteArrayInputStream;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GeneratedKeyStoreProviderTest {
+  private static final String NAMESPACE = "test";
+
+  private KubernetesServer kubernetesServer;
+  private KubernetesClient client;
+
+  @BeforeEach
+  public void setup() {
+    kubernetesServer = new KubernetesServer(false, true);
+    kubernetesServer.before();
+    client = kubernetesServer.getClient();
+  }
+
+  @AfterEach
+  public void teardown() {
+    kubernetesServer.after();
+  }
+
+  @Test
+  public void generatedKeyStoreIsStoredAndReused() throws Exception {
+    GeneratedKeyStoreProvider provider = new GeneratedKeyStoreProvider(client, NAMESPACE, ec());
+
+    Secret secret = getSecret();
+    assertThat(secret).isNotNull();
+    assertThat(secret.getData()).containsKey(GeneratedKeyStoreProvider.KEYSTORE_KEY);
+
+    GeneratedKeyStoreProvider restarted = new GeneratedKeyStoreProvider(client, NAMESPACE, ec());
+    assertThat(restarted.getCaBundle()).isEqualTo(provider.getCaBundle());
+    assertThat(restarted.getKeyStorePassword()).isEqualTo(provider.getKeyStorePassword());
+    assertThat(restarted.refresh()).isFalse();
+  }
+
+  @Test
+  public void keyStoreIsRenewedBeforeExpiry() throws Exception {
+    GeneratedKeyStoreProvider provider =
+        new GeneratedKeyStoreProvider(
+            client,
+            NAMESPACE,
+            new KeyStoreSettings(
+                Map.of(
+                    KeyStoreSettings.KEY_ALGORITHM, "EC",
+                    KeyStoreSettings.VALIDITY_DAYS, "10",
+                    KeyStoreSettings.RENEW_BEFORE_DAYS, "5")));
+    String previousCertificate = provider.getCaBundle();
+
+    GeneratedKeyStoreProvider renewing = new GeneratedKeyStoreProvider(client, NAMESPACE, ec());
+
+    assertThat(renewing.getCaBundle()).isNotEqualTo(previousCertificate);
+    assertThat(renewing.getCaBundle()).endsWith(previousCertificate);
+    assertThat(getSecret().getData())
+        .containsKey(GeneratedKeyStoreProvider.PREVIOUS_CERTIFICATE_KEY);
+
+    assertThat(provider.refresh()).isTrue();
+    assertThat(provider.getCaBundle()).isEqualTo(renewing.getCaBundle());
+  }
+
+  @Test
+  public void keyAlgorithmIsConfigurable() throws Exception {
+    GeneratedKeyStoreProvider ecProvider = new GeneratedKeyStoreProvider(client, NAMESPACE, ec());
+    assertThat(getCertificate(ecProvider).getPublicKey().getAlgorithm()).isEqualTo("EC");
+
+    GeneratedKeyStoreProvider rsaProvider =
+        new GeneratedKeyStoreProvider(client, NAMESPACE, new KeyStoreSettings(Map.of()));
+    assertThat(getCertificate(rsaProvider).getPublicKey().getAlgorithm()).isEqualTo("RSA");
+  }
+
+  static KeyStoreSettings ec() {
+    return new KeyStoreSettings(Map.of(KeyStoreSettings.KEY_ALGORITHM, "EC"));
+  }
+
+  private Secret getSecret() {
+    return client.secrets().inNamespace(NAMESPACE).withName(KeyStoreSettings.DEFAULT_SECRET).get();
+  }
+
+  private static X509Certificate getCertificate(KeyStoreProvider provider) throws Exception {
+    return (X509Certificate)
+        CertificateFactory.getInstance("X.509")
+            .generateCertificate(new ByteArrayInputStream(provider.getCertificate().getBytes()));
+  }
+}
@@ -17,15 +17,22 @@ package com.google.gerrit.k8s.operator.server;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.CacheStats;
 import com.google.gerrit.k8s.operator.Constants;
 import com.google.gerrit.k8s.operator.Constants.ClusterMode;
+import com.google.gerrit.k8s.operator.admission.servlet.GerritAdmissionWebhook;
+import com.google.gerrit.k8s.operator.api.model.cluster.GerritCluster;
 import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritTemplateSpec.GerritMode;
 import io.fabric8.kubernetes.api.model.DefaultKubernetesResourceList;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 import io.fabric8.kubernetes.api.model.admission.v1.AdmissionReview;
 import jakarta.servlet.http.HttpServletResponse;
 import java.net.HttpURLConnection;
+import java.util.Map;
 import org.eclipse.jgit.lib.Config;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -68,6 +75,87 @@ public class GerritAdmissionWebhookTest extends AdmissionWebhookAbstractTest {
     assertThat(response2.getResponse().getAllowed(), is(false));
   }
 
+  @Test
+  public void testValidationOfUnchangedSpecIsCached() throws Exception {
+    Config gerritConfig = new Config();
+    gerritConfig.setString("container", null, "user", "gerrit");
+    Gerrit gerrit = createGerrit("cached", gerritConfig);
+
+    CacheStats before = AdmissionValidationCache.getCache().stats();
+    HttpURLConnection http = sendAdmissionRequest(gerrit);
+    assertThat(http.getResponseCode(), is(equalTo(HttpServletResponse.SC_OK)));
+
+    gerrit.getMetadata().setLabels(Map.of("app", "gerrit"));
+    gerrit.getMetadata().setResourceVersion("2");
+    HttpURLConnection http2 = sendAdmissionRequest(gerrit);
+    AdmissionReview response2 =
+        new ObjectMapper().readValue(http2.getInputStream(), AdmissionReview.class);
+    assertThat(response2.getResponse().getAllowed(), is(true));
+
+    CacheStats stats = AdmissionValidationCache.getCache().stats().minus(before);
+    assertThat(stats.missCount(), is(equalTo(1L)));
+    assertThat(stats.hitCount(), is(equalTo(1L)));
+
+    gerrit.getSpec().setReplicas(gerrit.getSpec().getReplicas() + 1);
+    sendAdmissionRequest(gerrit).getResponseCode();
+    stats = AdmissionValidationCache.getCache().stats().minus(before);
+    assertThat(stats.missCount(), is(equalTo(2L)));
+  }
+
+  @Test
+  public void testAutoscalingValidated() throws Exception {
+    Config gerritConfig = new Config();
+    gerritConfig.setString("container", null, "user", "gerrit");
+    Gerrit gerrit = createGerrit("autoscaled", gerritConfig);
+    gerrit.getSpec().getAutoscaling().setEnabled(true);
+    gerrit.getSpec().getAutoscaling().setMaxReplicas(4);
+
+    AdmissionReview primaryResponse =
+        new ObjectMapper()
+            .readValue(sendAdmissionRequest(gerrit).getInputStream(), AdmissionReview.class);
+    assertThat(primaryResponse.getResponse().getAllowed(), is(false));
+    assertThat(
+        primaryResponse.getResponse().getStatus().getMessage(),
+        is(equalTo(GerritAdmissionWebhook.AUTOSCALING_NOT_SUPPORTED_MSG)));
+
+    gerrit.getSpec().setMode(GerritMode.REPLICA);
+    gerrit.getSpec().getAutoscaling().setMinReplicas(6);
+    AdmissionReview invalidResponse =
+        new ObjectMapper()
+            .readValue(sendAdmissionRequest(gerrit).getInputStream(), AdmissionReview.class);
+    assertThat(invalidResponse.getResponse().getAllowed(), is(false));
+    assertThat(
+        invalidResponse.getResponse().getStatus().getMessage(),
+        is(equalTo(GerritAdmissionWebhook.INVALID_AUTOSCALING_REPLICAS_MSG)));
+
+    gerrit.getSpec().getAutoscaling().setMinReplicas(2);
+    AdmissionReview validResponse =
+        new ObjectMapper()
+            .readValue(sendAdmissionRequest(gerrit).getInputStream(), AdmissionReview.class);
+    assertThat(validResponse.getResponse().getAllowed(), is(true));
+  }
+
+  @Test
+  public void testResourceOfOtherKindRejected() throws Exception {
+    GerritCluster cluster = new GerritCluster();
+    cluster.setMetadata(
+        new ObjectMetaBuilder().withName("gerrit").withNamespace(NAMESPACE).build());
+
+    HttpURLConnection http = sendAdmissionRequest(cluster);
+
+    AdmissionReview response =
+        new ObjectMapper().readValue(http.getInputStream(), AdmissionReview.class);
+
+    assertThat(http.getResponseCode(), is(equalTo(HttpServletResponse.SC_OK)));
+    assertThat(response.getApiVersion(), is(equalTo("admission.k8s.io/v1")));
+    assertThat(response.getKind(), is(equalTo("AdmissionReview")));
+    assertThat(response.getRequest(), is(nullValue()));
+    assertThat(response.getResponse().getAllowed(), is(false));
+    assertThat(
+        response.getResponse().getStatus().getCode(),
+        is(equalTo(HttpServletResponse.SC_BAD_REQUEST)));
+  }
+
   @Override
   protected String getCustomResource() {
     return Constants.GERRIT_KIND;
@@ -0,0 +1,98 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.server;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class HttpServerSettingsTest {
+
+  @Test
+  public void defaultsAreUsedIfUnset() {
+    HttpServerSettings settings = new HttpServerSettings(Map.of());
+
+    assertThat(settings.getPort()).isEqualTo(HttpServer.PORT);
+    assertThat(settings.getMinThreads()).isEqualTo(HttpServerSettings.DEFAULT_MIN_THREADS);
+    assertThat(settings.getMaxThreads()).isEqualTo(HttpServerSettings.DEFAULT_MAX_THREADS);
+    assertThat(settings.isVirtualThreads()).isFalse();
+    assertThat(settings.isHttp2()).isTrue();
+    assertThat(settings.isTlsSessionResumption()).isTrue();
+    assertThat(settings.getAcceptors()).isEqualTo(-1);
+    assertThat(settings.getSelectors()).isEqualTo(-1);
+    assertThat(settings.getAcceptQueueSize()).isEqualTo(0);
+    assertThat(settings.getIdleTimeout()).isEqualTo(HttpServerSettings.DEFAULT_IDLE_TIMEOUT);
+    assertThat(settings.getHttp2MaxConcurrentStreams())
+        .isEqualTo(HttpServerSettings.DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS);
+    assertThat(settings.getTlsSessionCacheSize()).isEqualTo(-1);
+    assertThat(settings.getTlsSessionTimeoutSeconds()).isEqualTo(-1);
+  }
+
+  @Test
+  public void settingsAreReadFromEnv() {
+    HttpServerSettings settings =
+        new HttpServerSettings(
+            Map.of(
+                HttpServerSettings.MIN_THREADS, "16",
+                HttpServerSettings.MAX_THREADS, "16",
+                HttpServerSettings.VIRTUAL_THREADS, "true",
+                HttpServerSettings.HTTP2, "false",
+                HttpServerSettings.TLS_SESSION_RESUMPTION, "false",
+                HttpServerSettings.IDLE_TIMEOUT_SECONDS, "60"));
+
+    assertThat(settings.getMinThreads()).isEqualTo(16);
+    assertThat(settings.getMaxThreads()).isEqualTo(16);
+    assertThat(settings.isVirtualThreads()).isTrue();
+    assertThat(settings.isHttp2()).isFalse();
+    assertThat(settings.isTlsSessionResumption()).isFalse();
+    assertThat(settings.getIdleTimeout()).isEqualTo(Duration.ofSeconds(60));
+  }
+
+  @Test
+  public void minThreadsMustNotExceedMaxThreads() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new HttpServerSettings(
+                Map.of(
+                    HttpServerSettings.MIN_THREADS, "20", HttpServerSettings.MAX_THREADS, "10")));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new HttpServerSettings(Map.of(HttpServerSettings.MIN_THREADS, "201")));
+  }
+
+  @Test
+  public void valuesBelowMinimumAreRejected() {
+    for (String key :
+        new String[] {
+          HttpServerSettings.MIN_THREADS,
+          HttpServerSettings.MAX_THREADS,
+          HttpServerSettings.IDLE_TIMEOUT_SECONDS,
+          HttpServerSettings.HTTP2_MAX_CONCURRENT_STREAMS
+        }) {
+      assertThrows(IllegalArgumentException.class, () -> new HttpServerSettings(Map.of(key, "0")));
+      assertThrows(IllegalArgumentException.class, () -> new HttpServerSettings(Map.of(key, "-1")));
+    }
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new HttpServerSettings(Map.of(HttpServerSettings.ACCEPT_QUEUE_SIZE, "-1")));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new HttpServerSettings(Map.of(HttpServerSettings.ACCEPTORS, "-2")));
+  }
+}
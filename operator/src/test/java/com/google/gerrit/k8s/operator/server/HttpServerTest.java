@@ -0,0 +1,176 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.server;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.gerrit.k8s.operator.ControllerReadiness;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.javaoperatorsdk.operator.RegisteredController;
+import io.javaoperatorsdk.operator.health.ControllerHealthInfo;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.io.DataInputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.security.KeyStore;
+import java.util.Map;
+import java.util.Set;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class HttpServerTest {
+  private static final String HTTP_2 = "h2";
+  private static final String HTTP_1_1 = "http/1.1";
+  private static final byte[] HTTP_2_PREFACE =
+      "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(US_ASCII);
+  private static final byte[] HTTP_2_EMPTY_SETTINGS_FRAME = {0, 0, 0, 4, 0, 0, 0, 0, 0};
+  private static final int HTTP_2_SETTINGS_FRAME_TYPE = 4;
+
+  private final KubernetesServer kubernetesServer = new KubernetesServer(false, true);
+  private HttpServer server;
+  private ControllerReadiness readiness;
+  private SSLContext sslContext;
+
+  @BeforeEach
+  public void setup() {
+    kubernetesServer.before();
+  }
+
+  @AfterEach
+  public void teardown() throws Exception {
+    server.stop();
+    kubernetesServer.after();
+  }
+
+  @Test
+  public void http2IsNegotiatedUsingAlpn() throws Exception {
+    startServer(Map.of());
+
+    try (SSLSocket socket = connect(HTTP_2, HTTP_1_1)) {
+      assertThat(socket.getApplicationProtocol()).isEqualTo(HTTP_2);
+
+      OutputStream out = socket.getOutputStream();
+      out.write(HTTP_2_PREFACE);
+      out.write(HTTP_2_EMPTY_SETTINGS_FRAME);
+      out.flush();
+
+      byte[] frameHeader = new byte[9];
+      new DataInputStream(socket.getInputStream()).readFully(frameHeader);
+      assertThat((int) frameHeader[3]).isEqualTo(HTTP_2_SETTINGS_FRAME_TYPE);
+    }
+  }
+
+  @Test
+  public void clientsWithoutHttp2FallBackToHttp11() throws Exception {
+    startServer(Map.of());
+
+    try (SSLSocket socket = connect(HTTP_1_1)) {
+      assertThat(socket.getApplicationProtocol()).isEqualTo(HTTP_1_1);
+    }
+    assertThat(getWithoutAlpn(HealthcheckServlet.LIVENESS_PATH))
+        .isEqualTo(HttpsURLConnection.HTTP_OK);
+  }
+
+  @Test
+  public void http2IsNotNegotiatedIfDisabled() throws Exception {
+    startServer(Map.of(HttpServerSettings.HTTP2, "false"));
+
+    try (SSLSocket socket = connect(HTTP_2, HTTP_1_1)) {
+      assertThat(socket.getApplicationProtocol()).isNotEqualTo(HTTP_2);
+    }
+    assertThat(getWithoutAlpn(HealthcheckServlet.LIVENESS_PATH))
+        .isEqualTo(HttpsURLConnection.HTTP_OK);
+  }
+
+  @Test
+  public void controllerReadinessDoesNotAffectProbes() throws Exception {
+    startServer(Map.of());
+    assertThat(getWithoutAlpn(HealthcheckServlet.CONTROLLERS_PATH))
+        .isEqualTo(HttpsURLConnection.HTTP_UNAVAILABLE);
+    assertThat(getWithoutAlpn(HealthcheckServlet.READINESS_PATH))
+        .isEqualTo(HttpsURLConnection.HTTP_OK);
+
+    ControllerHealthInfo healthInfo = mock(ControllerHealthInfo.class);
+    when(healthInfo.informerEventSourceHealthIndicators()).thenReturn(Map.of());
+    RegisteredController<?> controller = mock(RegisteredController.class);
+    when(controller.getControllerHealthInfo()).thenReturn(healthInfo);
+    readiness.register("gerrit", controller);
+    assertThat(getWithoutAlpn(HealthcheckServlet.CONTROLLERS_PATH))
+        .isEqualTo(HttpsURLConnection.HTTP_UNAVAILABLE);
+    assertThat(getWithoutAlpn(HealthcheckServlet.LIVENESS_PATH))
+        .isEqualTo(HttpsURLConnection.HTTP_OK);
+
+    readiness.markStarted("gerrit");
+    assertThat(getWithoutAlpn(HealthcheckServlet.CONTROLLERS_PATH))
+        .isEqualTo(HttpsURLConnection.HTTP_OK);
+  }
+
+  private void startServer(Map<String, String> env) throws Exception {
+    KeyStoreProvider keyStoreProvider =
+        new GeneratedKeyStoreProvider(
+            kubernetesServer.getClient(), "test", GeneratedKeyStoreProviderTest.ec());
+    PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    readiness = new ControllerReadiness(registry);
+    server =
+        new HttpServer(
+            keyStoreProvider,
+            Set.of(),
+            new MetricsServlet(registry),
+            new HealthcheckServlet(readiness),
+            new HttpServerSettings(env, 0));
+    server.start();
+
+    KeyStore trustStore =
+        KeyStore.getInstance(
+            keyStoreProvider.getKeyStorePath().toFile(),
+            keyStoreProvider.getKeyStorePassword().toCharArray());
+    TrustManagerFactory tmf =
+        TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+    tmf.init(trustStore);
+    sslContext = SSLContext.getInstance("TLS");
+    sslContext.init(null, tmf.getTrustManagers(), null);
+  }
+
+  private SSLSocket connect(String... applicationProtocols) throws Exception {
+    SSLSocket socket =
+        (SSLSocket) sslContext.getSocketFactory().createSocket("localhost", server.getLocalPort());
+    SSLParameters parameters = socket.getSSLParameters();
+    parameters.setApplicationProtocols(applicationProtocols);
+    socket.setSSLParameters(parameters);
+    socket.startHandshake();
+    return socket;
+  }
+
+  private int getWithoutAlpn(String path) throws Exception {
+    HttpsURLConnection http =
+        (HttpsURLConnection)
+            new URL(String.format("https://localhost:%d%s", server.getLocalPort(), path))
+                .openConnection();
+    http.setSSLSocketFactory(sslContext.getSocketFactory());
+    // The certificate is issued for the name of the Service of the operator.
+    http.setHostnameVerifier((hostname, session) -> true);
+    return http.getResponseCode();
+  }
+}
@@ -0,0 +1,88 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.server;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.metrics.MetricsModule;
+import com.google.inject.Guice;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.javaoperatorsdk.operator.api.config.ControllerConfiguration;
+import io.javaoperatorsdk.operator.api.reconciler.Constants;
+import io.javaoperatorsdk.operator.monitoring.micrometer.MicrometerMetrics;
+import io.javaoperatorsdk.operator.processing.Controller;
+import io.javaoperatorsdk.operator.processing.GroupVersionKind;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.controller.ResourceAction;
+import io.javaoperatorsdk.operator.processing.event.source.controller.ResourceEvent;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class MetricsServletTest {
+
+  @Test
+  public void metricsAreScrapedInPrometheusFormat() throws Exception {
+    PrometheusMeterRegistry registry =
+        Guice.createInjector(new MetricsModule()).getInstance(PrometheusMeterRegistry.class);
+    Gerrit gerrit = new Gerrit();
+    gerrit.setMetadata(new ObjectMetaBuilder().withName("gerrit").withNamespace("gerrit").build());
+    Map<String, Object> metadata =
+        Map.of(
+            Constants.CONTROLLER_NAME,
+            "gerrit",
+            Constants.RESOURCE_GVK_KEY,
+            GroupVersionKind.gvkFor(Gerrit.class));
+    MicrometerMetrics metrics = MicrometerMetrics.withoutPerResourceMetrics(registry);
+    metrics.controllerRegistered(controller("gerrit"));
+    metrics.receivedEvent(
+        new ResourceEvent(ResourceAction.UPDATED, ResourceID.fromResource(gerrit), gerrit),
+        metadata);
+    metrics.reconcileCustomResource(gerrit, null, metadata);
+    metrics.finishedReconciliation(gerrit, metadata);
+
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    StringWriter body = new StringWriter();
+    when(response.getWriter()).thenReturn(new PrintWriter(body));
+    new MetricsServlet(registry).doGet(mock(HttpServletRequest.class), response);
+
+    verify(response).setStatus(HttpServletResponse.SC_OK);
+    verify(response).setContentType("text/plain; version=0.0.4; charset=utf-8");
+    assertThat(body.toString()).contains("operator_sdk_events_received_total");
+    assertThat(body.toString()).contains("operator_sdk_reconciliations_started_total");
+    assertThat(body.toString()).contains("operator_sdk_reconciliations_success_total");
+    assertThat(body.toString()).contains("gerrit_operator_secondary_resource_lookups_direct_total");
+    assertThat(body.toString()).contains("gerrit_operator_secondary_events_coalesced_total");
+    assertThat(body.toString()).contains("gerrit_operator_status_updates_skipped_total");
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Controller<Gerrit> controller(String name) {
+    ControllerConfiguration<Gerrit> configuration = mock(ControllerConfiguration.class);
+    when(configuration.getName()).thenReturn(name);
+    when(configuration.getResourceClass()).thenReturn(Gerrit.class);
+    Controller<Gerrit> controller = mock(Controller.class);
+    when(controller.getConfiguration()).thenReturn(configuration);
+    return controller;
+  }
+}
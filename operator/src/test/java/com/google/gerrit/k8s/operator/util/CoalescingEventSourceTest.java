@@ -0,0 +1,84 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import io.javaoperatorsdk.operator.processing.event.Event;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CoalescingEventSourceTest {
+  private static final Duration WINDOW = Duration.ofMillis(500);
+  private static final ResourceID GERRIT = new ResourceID("gerrit", "gerrit");
+  private static final ResourceID REPLICA = new ResourceID("gerrit-replica", "gerrit");
+
+  private final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+  private CoalescingEventSource eventSource;
+
+  @BeforeEach
+  public void setup() {
+    eventSource = new CoalescingEventSource(WINDOW);
+    eventSource.setEventHandler(events::add);
+    eventSource.start();
+  }
+
+  @AfterEach
+  public void teardown() {
+    eventSource.stop();
+  }
+
+  @Test
+  public void burstOfEventsIsCoalescedPerPrimary() throws Exception {
+    long coalesced = CoalescingEventSource.getCoalescedEvents();
+
+    eventSource.trigger(List.of(GERRIT, REPLICA));
+    eventSource.trigger(GERRIT);
+    eventSource.trigger(GERRIT);
+    eventSource.trigger(REPLICA);
+
+    assertThat(events).isEmpty();
+    Event first = events.poll(WINDOW.toMillis() * 4, TimeUnit.MILLISECONDS);
+    Event second = events.poll(WINDOW.toMillis() * 4, TimeUnit.MILLISECONDS);
+    assertThat(List.of(first.getRelatedCustomResourceID(), second.getRelatedCustomResourceID()))
+        .containsExactly(GERRIT, REPLICA);
+    assertThat(events.poll(WINDOW.toMillis() * 2, TimeUnit.MILLISECONDS)).isNull();
+    assertThat(CoalescingEventSource.getCoalescedEvents() - coalesced).isEqualTo(3);
+  }
+
+  @Test
+  public void eventAfterWindowStartsNewWindow() throws Exception {
+    eventSource.trigger(GERRIT);
+    assertThat(events.poll(WINDOW.toMillis() * 4, TimeUnit.MILLISECONDS)).isNotNull();
+
+    eventSource.trigger(GERRIT);
+    assertThat(events.poll(WINDOW.toMillis() * 4, TimeUnit.MILLISECONDS)).isNotNull();
+  }
+
+  @Test
+  public void pendingEventsAreDroppedOnStop() throws Exception {
+    eventSource.trigger(GERRIT);
+    eventSource.stop();
+
+    assertThat(events.poll(WINDOW.toMillis() * 2, TimeUnit.MILLISECONDS)).isNull();
+  }
+}
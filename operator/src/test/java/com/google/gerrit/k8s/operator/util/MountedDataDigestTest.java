@@ -0,0 +1,113 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class MountedDataDigestTest {
+
+  @Test
+  public void digestDoesNotDependOnOrderOfKeys() {
+    Map<String, String> data = new LinkedHashMap<>();
+    data.put("gerrit.config", "[gerrit]");
+    data.put("replication.config", "[remote]");
+    Map<String, String> reversed = new LinkedHashMap<>();
+    reversed.put("replication.config", "[remote]");
+    reversed.put("gerrit.config", "[gerrit]");
+
+    assertThat(MountedDataDigest.of(configMap(data, null)))
+        .isEqualTo(MountedDataDigest.of(configMap(reversed, null)));
+    assertThat(MountedDataDigest.of(secret(data)))
+        .isEqualTo(MountedDataDigest.of(secret(reversed)));
+  }
+
+  @Test
+  public void digestChangesWithData() {
+    String digest = MountedDataDigest.of(configMap(Map.of("gerrit.config", "[gerrit]"), null));
+
+    assertThat(MountedDataDigest.isDigest(digest)).isTrue();
+    assertThat(MountedDataDigest.of(configMap(Map.of("gerrit.config", "[cache]"), null)))
+        .isNotEqualTo(digest);
+    assertThat(MountedDataDigest.of(secret(Map.of("secure.config", "Zm9v"))))
+        .isNotEqualTo(MountedDataDigest.of(secret(Map.of("secure.config", "YmFy"))));
+  }
+
+  @Test
+  public void binaryDataIsIncludedInDigest() {
+    Map<String, String> data = Map.of("gerrit.config", "[gerrit]");
+    String digest = MountedDataDigest.of(configMap(data, null));
+
+    String withBinaryData = MountedDataDigest.of(configMap(data, Map.of("logo.png", "iVBORw0K")));
+    assertThat(withBinaryData).isNotEqualTo(digest);
+    assertThat(MountedDataDigest.of(configMap(data, Map.of("logo.png", "R0lGODlh"))))
+        .isNotEqualTo(withBinaryData);
+    assertThat(MountedDataDigest.of(configMap(null, data)))
+        .isNotEqualTo(MountedDataDigest.of(configMap(data, null)));
+  }
+
+  @Test
+  public void digestDoesNotChangeWithMetadata() {
+    ConfigMap configMap = configMap(Map.of("gerrit.config", "[gerrit]"), null);
+    Secret secret = secret(Map.of("secure.config", "Zm9v"));
+    String configMapDigest = MountedDataDigest.of(configMap);
+    String secretDigest = MountedDataDigest.of(secret);
+
+    for (HasMetadata resource : List.of(configMap, secret)) {
+      resource.getMetadata().setResourceVersion("2");
+      resource.getMetadata().setLabels(Map.of("gerritoperator.google.com/referenced", "true"));
+      resource.getMetadata().setAnnotations(Map.of("description", "updated"));
+    }
+
+    assertThat(MountedDataDigest.of(configMap)).isEqualTo(configMapDigest);
+    assertThat(MountedDataDigest.of(secret)).isEqualTo(secretDigest);
+  }
+
+  @Test
+  public void resourceVersionsAreNotDigests() {
+    assertThat(MountedDataDigest.isDigest("12345")).isFalse();
+    assertThat(MountedDataDigest.isDigest(null)).isFalse();
+  }
+
+  private static ConfigMap configMap(Map<String, String> data, Map<String, String> binaryData) {
+    return new ConfigMapBuilder()
+        .withNewMetadata()
+        .withName("gerrit-configmap")
+        .withResourceVersion("1")
+        .endMetadata()
+        .withData(data)
+        .withBinaryData(binaryData)
+        .build();
+  }
+
+  private static Secret secret(Map<String, String> data) {
+    return new SecretBuilder()
+        .withNewMetadata()
+        .withName("gerrit-secure-config")
+        .withResourceVersion("1")
+        .endMetadata()
+        .withData(data)
+        .build();
+  }
+}
@@ -0,0 +1,85 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.LocalObjectReference;
+import io.fabric8.kubernetes.api.model.PodSpec;
+import io.fabric8.kubernetes.api.model.PodSpecBuilder;
+import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.api.model.VolumeMount;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class PodSpecOrderingTest {
+
+  @Test
+  public void existingOrderIsKeptIfOnlyOrderDiffers() {
+    PodSpec desired = podSpec(new String[] {"a", "b", "c"}, new String[] {"/a", "/b"}, "x", "y");
+    PodSpec existing = podSpec(new String[] {"c", "a", "b"}, new String[] {"/b", "/a"}, "y", "x");
+
+    PodSpecOrdering.keepExistingOrder(desired, existing);
+
+    assertThat(volumeNames(desired)).isEqualTo("c,a,b");
+    assertThat(mountPaths(desired)).isEqualTo("/b,/a");
+    assertThat(pullSecrets(desired)).isEqualTo("y,x");
+  }
+
+  @Test
+  public void canonicalOrderIsUsedIfContentDiffers() {
+    PodSpec desired = podSpec(new String[] {"a", "b", "c"}, new String[] {"/a", "/b"}, "x", "y");
+    PodSpec existing = podSpec(new String[] {"c", "a"}, new String[] {"/c", "/a"}, "y", "z");
+
+    PodSpecOrdering.keepExistingOrder(desired, existing);
+
+    assertThat(volumeNames(desired)).isEqualTo("a,b,c");
+    assertThat(mountPaths(desired)).isEqualTo("/a,/b");
+    assertThat(pullSecrets(desired)).isEqualTo("x,y");
+  }
+
+  private static PodSpec podSpec(String[] volumes, String[] mountPaths, String... pullSecrets) {
+    PodSpecBuilder podSpec = new PodSpecBuilder();
+    for (String volume : volumes) {
+      podSpec.addNewVolume().withName(volume).withNewEmptyDir().endEmptyDir().endVolume();
+    }
+    for (String pullSecret : pullSecrets) {
+      podSpec.addNewImagePullSecret(pullSecret);
+    }
+    ContainerBuilder container = new ContainerBuilder().withName("gerrit");
+    for (String mountPath : mountPaths) {
+      container.addNewVolumeMount().withName("a").withMountPath(mountPath).endVolumeMount();
+    }
+    podSpec.addToContainers(container.build());
+    return podSpec.build();
+  }
+
+  private static String volumeNames(PodSpec podSpec) {
+    return podSpec.getVolumes().stream().map(Volume::getName).collect(Collectors.joining(","));
+  }
+
+  private static String mountPaths(PodSpec podSpec) {
+    return podSpec.getContainers().get(0).getVolumeMounts().stream()
+        .map(VolumeMount::getMountPath)
+        .collect(Collectors.joining(","));
+  }
+
+  private static String pullSecrets(PodSpec podSpec) {
+    return podSpec.getImagePullSecrets().stream()
+        .map(LocalObjectReference::getName)
+        .collect(Collectors.joining(","));
+  }
+}
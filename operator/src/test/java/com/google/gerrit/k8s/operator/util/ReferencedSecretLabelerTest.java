@@ -0,0 +1,187 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.util;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.gerrit.k8s.operator.Constants.ClusterMode;
+import com.google.gerrit.k8s.operator.OperatorContext;
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritModuleData;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritPlugin;
+import com.google.gerrit.k8s.operator.api.model.gerrit.GerritStatus;
+import com.google.gerrit.k8s.operator.api.model.receiver.Receiver;
+import com.google.gerrit.k8s.operator.gerrit.GerritReconciler;
+import com.google.gerrit.k8s.operator.receiver.ReceiverReconciler;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.event.EventSourceRetriever;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ReferencedSecretLabelerTest {
+  private static final String NAMESPACE = "gerrit";
+
+  private KubernetesServer kubernetesServer;
+  private KubernetesClient client;
+
+  @BeforeEach
+  public void setup() {
+    OperatorContext.createInstance(ClusterMode.HIGH_AVAILABILITY, "cluster.local");
+    kubernetesServer = new KubernetesServer(false, true);
+    kubernetesServer.before();
+    client = kubernetesServer.getClient();
+  }
+
+  @AfterEach
+  public void teardown() {
+    kubernetesServer.after();
+  }
+
+  @Test
+  public void secretsReferencedByGerritAreLabeled() {
+    createSecret("gerrit-secure-config");
+    createSecret("plugin-data");
+    createSecret("unreferenced");
+    Gerrit gerrit = gerrit("gerrit", "gerrit-secure-config", "plugin-data");
+
+    new GerritReconciler(client).addSecretsStatus(gerrit, getContext(), new GerritStatus());
+
+    assertThat(isLabeled("gerrit-secure-config")).isTrue();
+    assertThat(isLabeled("plugin-data")).isTrue();
+    assertThat(isLabeled("unreferenced")).isFalse();
+  }
+
+  @Test
+  public void secretReferencedByReceiverIsLabeled() throws Exception {
+    Receiver receiver =
+        ReconcilerUtils.loadYaml(Receiver.class, getClass(), "../receiver/receiver.yaml");
+    createSecret(receiver.getSpec().getCredentialSecretRef());
+
+    ReceiverReconciler reconciler = new ReceiverReconciler(client);
+    reconciler.reconcile(receiver, mock(Context.class));
+
+    Secret secret =
+        client
+            .secrets()
+            .inNamespace(NAMESPACE)
+            .withName(receiver.getSpec().getCredentialSecretRef())
+            .get();
+    assertThat(ReferencedSecretLabeler.isLabeled(secret)).isTrue();
+    assertThat(receiver.getStatus().getAppliedCredentialSecretVersion())
+        .isEqualTo(secret.getMetadata().getResourceVersion());
+
+    takeRequests();
+    reconciler.reconcile(receiver, mock(Context.class));
+    assertThat(takeRequests()).containsExactly("GET", "GET");
+  }
+
+  @Test
+  public void labelIsKeptWhileSecretIsReferenced() throws Exception {
+    createSecret("shared");
+    Gerrit gerrit1 = gerrit("gerrit1", "shared");
+    Gerrit gerrit2 = gerrit("gerrit2", "shared");
+    GerritReconciler reconciler = new GerritReconciler(client);
+    reconciler.addSecretsStatus(gerrit1, getContext(), new GerritStatus());
+    reconciler.addSecretsStatus(gerrit2, getContext(), new GerritStatus());
+    assertThat(isLabeled("shared")).isTrue();
+
+    gerrit1.getSpec().setSecretRef(null);
+    reconciler.addSecretsStatus(gerrit1, getContext(), new GerritStatus());
+    takeRequests();
+    reconciler.addSecretsStatus(gerrit2, getContext(), new GerritStatus());
+
+    assertThat(takeRequests()).doesNotContain("PATCH");
+    assertThat(isLabeled("shared")).isTrue();
+  }
+
+  private Gerrit gerrit(String name, String secretRef, String... moduleDataSecretRefs) {
+    Gerrit gerrit =
+        ReconcilerUtils.loadYaml(Gerrit.class, getClass(), "../gerrit/gerrit_single_primary.yaml");
+    gerrit.getMetadata().setName(name);
+    gerrit.getMetadata().setNamespace(NAMESPACE);
+    gerrit.getSpec().setSecretRef(secretRef);
+    List<GerritPlugin> plugins = new ArrayList<>();
+    for (String moduleDataSecretRef : moduleDataSecretRefs) {
+      GerritModuleData moduleData = new GerritModuleData();
+      moduleData.setSecretRef(moduleDataSecretRef);
+      GerritPlugin plugin = new GerritPlugin();
+      plugin.setName(moduleDataSecretRef);
+      plugin.setModuleData(moduleData);
+      plugins.add(plugin);
+    }
+    gerrit.getSpec().setPlugins(plugins);
+    return gerrit;
+  }
+
+  private static Secret secret(String name) {
+    return new SecretBuilder()
+        .withNewMetadata()
+        .withName(name)
+        .withNamespace(NAMESPACE)
+        .endMetadata()
+        .withData(Map.of("secret", "Zm9v"))
+        .build();
+  }
+
+  private void createSecret(String name) {
+    client.resource(secret(name)).create();
+  }
+
+  private List<String> takeRequests() throws InterruptedException {
+    List<String> methods = new ArrayList<>();
+    RecordedRequest request;
+    while ((request =
+            kubernetesServer.getKubernetesMockServer().takeRequest(100, TimeUnit.MILLISECONDS))
+        != null) {
+      methods.add(request.getMethod());
+    }
+    return methods;
+  }
+
+  private boolean isLabeled(String name) {
+    return ReferencedSecretLabeler.isLabeled(
+        client.secrets().inNamespace(NAMESPACE).withName(name).get());
+  }
+
+  /**
+   * Context of a controller, that was not started. The Secrets are thus requested from the API
+   * server.
+   */
+  @SuppressWarnings("unchecked")
+  private Context<Gerrit> getContext() {
+    Context<Gerrit> context = mock(Context.class);
+    EventSourceRetriever<Gerrit> eventSourceRetriever = mock(EventSourceRetriever.class);
+    when(eventSourceRetriever.getResourceEventSourceFor(any(), anyString()))
+        .thenThrow(IllegalArgumentException.class);
+    when(context.eventSourceRetriever()).thenReturn(eventSourceRetriever);
+    when(context.getClient()).thenReturn(client);
+    return context;
+  }
+}
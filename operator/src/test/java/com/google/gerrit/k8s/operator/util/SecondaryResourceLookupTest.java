@@ -0,0 +1,133 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.util;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.gerrit.k8s.operator.api.model.gerrit.Gerrit;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.event.EventSourceRetriever;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SecondaryResourceLookupTest {
+  private static final String EVENT_SOURCE = "secret-event-source";
+  private static final String NAMESPACE = "gerrit";
+
+  private KubernetesServer kubernetesServer;
+  private KubernetesClient client;
+  private InformerEventSource<Secret, Gerrit> eventSource;
+  private Context<Gerrit> context;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    kubernetesServer = new KubernetesServer(false, true);
+    kubernetesServer.before();
+    client = kubernetesServer.getClient();
+
+    eventSource = mock(InformerEventSource.class);
+    when(eventSource.isRunning()).thenReturn(true);
+    when(eventSource.get(any())).thenReturn(Optional.empty());
+    EventSourceRetriever<Gerrit> eventSourceRetriever = mock(EventSourceRetriever.class);
+    when(eventSourceRetriever.getResourceEventSourceFor(any(), anyString()))
+        .thenThrow(IllegalArgumentException.class);
+    doReturn(eventSource)
+        .when(eventSourceRetriever)
+        .getResourceEventSourceFor(Secret.class, EVENT_SOURCE);
+    context = mock(Context.class);
+    when(context.eventSourceRetriever()).thenReturn(eventSourceRetriever);
+    when(context.getClient()).thenReturn(client);
+  }
+
+  @AfterEach
+  public void teardown() {
+    kubernetesServer.after();
+  }
+
+  @Test
+  public void cachedResourceIsNotRequestedFromApiServer() {
+    Secret cached = secret("cached");
+    when(eventSource.get(ResourceID.fromResource(cached))).thenReturn(Optional.of(cached));
+    long directApiCalls = SecondaryResourceLookup.getDirectApiCalls();
+    int requests = kubernetesServer.getKubernetesMockServer().getRequestCount();
+
+    assertThat(lookup("cached")).hasValue(cached);
+    assertThat(SecondaryResourceLookup.getDirectApiCalls()).isEqualTo(directApiCalls);
+    assertThat(kubernetesServer.getKubernetesMockServer().getRequestCount()).isEqualTo(requests);
+  }
+
+  @Test
+  public void uncachedResourceIsRequestedFromApiServer() {
+    Secret secret = client.resource(secret("uncached")).create();
+    long directApiCalls = SecondaryResourceLookup.getDirectApiCalls();
+
+    Optional<Secret> result = lookup("uncached");
+
+    assertThat(result).isPresent();
+    assertThat(result.get().getMetadata().getUid()).isEqualTo(secret.getMetadata().getUid());
+    assertThat(SecondaryResourceLookup.getDirectApiCalls()).isEqualTo(directApiCalls + 1);
+  }
+
+  @Test
+  public void missingResourceIsEmpty() {
+    long directApiCalls = SecondaryResourceLookup.getDirectApiCalls();
+
+    assertThat(lookup("missing")).isEmpty();
+    assertThat(SecondaryResourceLookup.getDirectApiCalls()).isEqualTo(directApiCalls + 1);
+  }
+
+  @Test
+  public void resourceIsRequestedFromApiServerIfEventSourceIsNotAvailable() {
+    client.resource(secret("uncached")).create();
+    when(eventSource.isRunning()).thenReturn(false);
+    long directApiCalls = SecondaryResourceLookup.getDirectApiCalls();
+
+    assertThat(lookup("uncached")).isPresent();
+    assertThat(
+            SecondaryResourceLookup.get(
+                context, Secret.class, "unknown-event-source", NAMESPACE, "uncached"))
+        .isPresent();
+    assertThat(SecondaryResourceLookup.getDirectApiCalls()).isEqualTo(directApiCalls + 2);
+  }
+
+  private Optional<Secret> lookup(String name) {
+    return SecondaryResourceLookup.get(context, Secret.class, EVENT_SOURCE, NAMESPACE, name);
+  }
+
+  private static Secret secret(String name) {
+    return new SecretBuilder()
+        .withNewMetadata()
+        .withName(name)
+        .withNamespace(NAMESPACE)
+        .endMetadata()
+        .withData(Map.of("secret", "Zm9v"))
+        .build();
+  }
+}
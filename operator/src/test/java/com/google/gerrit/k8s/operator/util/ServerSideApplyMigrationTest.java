@@ -0,0 +1,177 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.gerrit.k8s.operator.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.FieldsV1;
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntry;
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntryBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ServerSideApplyMigrationTest {
+  private static final String FIELD_MANAGER = "gerritreconciler";
+  private static final String OTHER_FIELD_MANAGER = "kubectl-edit";
+
+  private KubernetesServer kubernetesServer;
+  private KubernetesClient client;
+
+  @BeforeEach
+  public void setup() {
+    kubernetesServer = new KubernetesServer(false, true);
+    kubernetesServer.before();
+    client = kubernetesServer.getClient();
+  }
+
+  @AfterEach
+  public void teardown() {
+    kubernetesServer.after();
+  }
+
+  @Test
+  public void clientSideAppliedResourceIsMigrated() {
+    ConfigMap configMap =
+        create(
+            managedFields(ServerSideApplyMigration.LEGACY_FIELD_MANAGER, "Update", null),
+            managedFields(OTHER_FIELD_MANAGER, "Update", null));
+    assertThat(ServerSideApplyMigration.isMigrationRequired(configMap, FIELD_MANAGER)).isTrue();
+
+    ServerSideApplyMigration.migrate(client, configMap, FIELD_MANAGER);
+
+    ConfigMap migrated = client.resource(configMap).get();
+    assertThat(migrated.getMetadata().getManagedFields())
+        .containsExactly(
+            managedFields(FIELD_MANAGER, "Apply", null),
+            managedFields(OTHER_FIELD_MANAGER, "Update", null));
+    assertThat(ServerSideApplyMigration.isMigrationRequired(migrated, FIELD_MANAGER)).isFalse();
+  }
+
+  @Test
+  public void multipleLegacyEntriesAreMergedIntoSingleEntry() {
+    ConfigMap configMap =
+        create(
+            managedFields(
+                ServerSideApplyMigration.LEGACY_FIELD_MANAGER,
+                "Update",
+                null,
+                Map.of("f:data", Map.of("f:gerrit.config", Map.of()))),
+            managedFields(OTHER_FIELD_MANAGER, "Update", null),
+            managedFields(
+                ServerSideApplyMigration.LEGACY_FIELD_MANAGER,
+                "Update",
+                null,
+                Map.of(
+                    "f:data",
+                    Map.of("f:secure.config", Map.of()),
+                    "f:metadata",
+                    Map.of("f:labels", Map.of()))));
+
+    ServerSideApplyMigration.migrate(client, configMap, FIELD_MANAGER);
+
+    ConfigMap migrated = client.resource(configMap).get();
+    assertThat(migrated.getMetadata().getManagedFields())
+        .containsExactly(
+            managedFields(
+                FIELD_MANAGER,
+                "Apply",
+                null,
+                Map.of(
+                    "f:data",
+                    Map.of("f:gerrit.config", Map.of(), "f:secure.config", Map.of()),
+                    "f:metadata",
+                    Map.of("f:labels", Map.of()))),
+            managedFields(OTHER_FIELD_MANAGER, "Update", null));
+  }
+
+  @Test
+  public void migrationIsOnlyDoneOnce() {
+    ConfigMap configMap =
+        create(managedFields(ServerSideApplyMigration.LEGACY_FIELD_MANAGER, "Update", null));
+    ServerSideApplyMigration.migrate(client, configMap, FIELD_MANAGER);
+    ConfigMap migrated = client.resource(configMap).get();
+
+    int requests = kubernetesServer.getKubernetesMockServer().getRequestCount();
+    ServerSideApplyMigration.migrate(client, migrated, FIELD_MANAGER);
+
+    assertThat(kubernetesServer.getKubernetesMockServer().getRequestCount()).isEqualTo(requests);
+    assertThat(client.resource(configMap).get().getMetadata().getManagedFields())
+        .isEqualTo(migrated.getMetadata().getManagedFields());
+  }
+
+  @Test
+  public void fieldsOfOtherManagersAreNotMigrated() {
+    ConfigMap configMap =
+        create(
+            managedFields(OTHER_FIELD_MANAGER, "Update", null),
+            managedFields(ServerSideApplyMigration.LEGACY_FIELD_MANAGER, "Update", "status"));
+
+    assertThat(ServerSideApplyMigration.isMigrationRequired(configMap, FIELD_MANAGER)).isFalse();
+    int requests = kubernetesServer.getKubernetesMockServer().getRequestCount();
+    ServerSideApplyMigration.migrate(client, configMap, FIELD_MANAGER);
+
+    assertThat(kubernetesServer.getKubernetesMockServer().getRequestCount()).isEqualTo(requests);
+  }
+
+  @Test
+  public void resourceAlreadyAppliedByOperatorIsNotMigrated() {
+    ConfigMap configMap =
+        create(
+            managedFields(FIELD_MANAGER, "Apply", null),
+            managedFields(ServerSideApplyMigration.LEGACY_FIELD_MANAGER, "Update", null));
+
+    assertThat(ServerSideApplyMigration.isMigrationRequired(configMap, FIELD_MANAGER)).isFalse();
+  }
+
+  private ConfigMap create(ManagedFieldsEntry... managedFields) {
+    return client
+        .resource(
+            new ConfigMapBuilder()
+                .withNewMetadata()
+                .withName("gerrit-configmap")
+                .withNamespace("gerrit")
+                .withManagedFields(managedFields)
+                .endMetadata()
+                .withData(Map.of("gerrit.config", "[gerrit]"))
+                .build())
+        .create();
+  }
+
+  private static ManagedFieldsEntry managedFields(
+      String manager, String operation, String subresource) {
+    return managedFields(
+        manager, operation, subresource, Map.of("f:data", Map.of("f:gerrit.config", Map.of())));
+  }
+
+  private static ManagedFieldsEntry managedFields(
+      String manager, String operation, String subresource, Map<String, Object> fieldsV1) {
+    FieldsV1 fields = new FieldsV1();
+    fields.setAdditionalProperties(fieldsV1);
+    return new ManagedFieldsEntryBuilder()
+        .withManager(manager)
+        .withOperation(operation)
+        .withSubresource(subresource)
+        .withApiVersion("v1")
+        .withFieldsType("FieldsV1")
+        .withFieldsV1(fields)
+        .build();
+  }
+}